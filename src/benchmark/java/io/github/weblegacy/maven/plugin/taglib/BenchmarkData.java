@@ -0,0 +1,127 @@
+/*
+ * The MIT License
+ * Copyright © 2004-2014 Fabrizio Giustina
+ * Copyright © 2022-2026 Web-Legacy
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package io.github.weblegacy.maven.plugin.taglib;
+
+import java.io.File;
+import java.io.IOException;
+import org.apache.maven.monitor.logging.DefaultLog;
+import org.apache.maven.plugin.logging.Log;
+import org.codehaus.plexus.logging.Logger;
+import org.codehaus.plexus.logging.console.ConsoleLogger;
+
+/**
+ * Creates the synthetic input of the benchmarks with the {@link TaglibCorpusGenerator}.
+ *
+ * @author Stefan Graff
+ *
+ * @version 3.1.0
+ */
+public final class BenchmarkData {
+
+    /**
+     * The seed of all generated inputs, so every run measures the same input.
+     */
+    public static final long SEED = 20260101L;
+
+    /**
+     * Don't instantiate.
+     */
+    private BenchmarkData() {
+        // unused
+    }
+
+    /**
+     * Creates a corpus generator for the benchmarks.
+     *
+     * @param tags       the number of tags
+     * @param attributes the number of attributes per tag
+     * @param html       whether the descriptions contain html markup
+     *
+     * @return the corpus generator
+     */
+    public static TaglibCorpusGenerator generator(int tags, int attributes, boolean html) {
+        final TaglibCorpusGenerator generator = new TaglibCorpusGenerator(SEED);
+        generator.setTags(tags);
+        generator.setAttributesPerTag(attributes);
+        generator.setFunctions(Math.max(1, tags / 10));
+        generator.setHtmlDescriptions(html);
+        return generator;
+    }
+
+    /**
+     * Creates the content of a tld with the given number of tags.
+     *
+     * @param tags       the number of tags
+     * @param attributes the number of attributes per tag
+     * @param html       whether the descriptions contain html markup
+     *
+     * @return the content of the tld
+     */
+    public static byte[] createTld(int tags, int attributes, boolean html) {
+        return generator(tags, attributes, html).createTld();
+    }
+
+    /**
+     * Writes tld files into a directory.
+     *
+     * @param dir   the directory
+     * @param count the number of tld files
+     * @param tags  the number of tags per tld file
+     *
+     * @throws IOException if an I/O error occurs
+     */
+    public static void writeTlds(File dir, int count, int tags) throws IOException {
+        for (int i = 0; i < count; i++) {
+            final TaglibCorpusGenerator generator = new TaglibCorpusGenerator(SEED + i);
+            generator.setTags(tags);
+            generator.setAttributesPerTag(3);
+            generator.writeTld(new File(dir, "corpus" + i + ".tld"));
+        }
+    }
+
+    /**
+     * Writes tag-files into a directory.
+     *
+     * @param dir   the directory
+     * @param count the number of tag-files
+     *
+     * @throws IOException if an I/O error occurs
+     */
+    public static void writeTagDir(File dir, int count) throws IOException {
+        final TaglibCorpusGenerator generator = new TaglibCorpusGenerator(SEED);
+        generator.setTagFiles(count);
+        generator.setDirectoryDepth(0);
+        generator.writeTagFiles(dir);
+    }
+
+    /**
+     * Creates a log, which discards all messages, so logging doesn't distort the measurements.
+     *
+     * @return the log
+     */
+    public static Log quietLog() {
+        return new DefaultLog(new ConsoleLogger(Logger.LEVEL_DISABLED, "benchmark"));
+    }
+}
@@ -0,0 +1,132 @@
+/*
+ * The MIT License
+ * Copyright © 2004-2014 Fabrizio Giustina
+ * Copyright © 2022-2026 Web-Legacy
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package io.github.weblegacy.maven.plugin.taglib;
+
+import io.github.weblegacy.maven.plugin.taglib.checker.Tld;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.apache.maven.reporting.MavenReportException;
+import org.codehaus.plexus.util.FileUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmark of {@link AbstractReportMojoEx#loadTldFiles()}.
+ *
+ * @author Stefan Graff
+ *
+ * @version 3.1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LoadTldFilesBenchmark {
+
+    /**
+     * The number of tld files.
+     */
+    @Param({"150"})
+    public int tlds;
+
+    /**
+     * The number of threads to load the tld files.
+     */
+    @Param({"1", "4"})
+    public int threads;
+
+    /**
+     * Whether the tld cache is used.
+     */
+    @Param({"false", "true"})
+    public boolean useCache;
+
+    /**
+     * The temporary directory of the tld files.
+     */
+    private File tempDir;
+
+    /**
+     * The mojo, which loads the tld files.
+     */
+    private TagreferenceMojo mojo;
+
+    /**
+     * Creates the tld files and the mojo.
+     *
+     * @throws IOException if the tld files could not be written
+     */
+    @Setup
+    public void setup() throws IOException {
+        tempDir = Files.createTempDirectory("taglib-bench").toFile();
+
+        final File srcDir = new File(tempDir, "META-INF");
+        BenchmarkData.writeTlds(srcDir, tlds, 50);
+
+        mojo = new TagreferenceMojo();
+        mojo.srcDir = srcDir;
+        mojo.threads = threads;
+        mojo.useCache = useCache;
+        mojo.cacheDirectory = new File(tempDir, "cache");
+        mojo.setLog(BenchmarkData.quietLog());
+    }
+
+    /**
+     * Deletes the tld files.
+     *
+     * @throws IOException if the tld files could not be deleted
+     */
+    @TearDown
+    public void tearDown() throws IOException {
+        FileUtils.deleteDirectory(tempDir);
+    }
+
+    /**
+     * Loads all tld files.
+     *
+     * @return the loaded tld files
+     *
+     * @throws MavenReportException if the tld files could not be loaded
+     */
+    @Benchmark
+    public List<Tld> loadTldFiles() throws MavenReportException {
+        return mojo.loadTldFiles();
+    }
+}
@@ -0,0 +1,104 @@
+/*
+ * The MIT License
+ * Copyright © 2004-2014 Fabrizio Giustina
+ * Copyright © 2022-2026 Web-Legacy
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package io.github.weblegacy.maven.plugin.taglib;
+
+import io.github.weblegacy.maven.plugin.taglib.checker.Tld;
+import io.github.weblegacy.maven.plugin.taglib.checker.TldStreamParser;
+import java.io.ByteArrayInputStream;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import org.apache.maven.doxia.sink.impl.SinkAdapter;
+import org.apache.maven.plugin.logging.Log;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmark of the {@link TagreferenceRenderer} with and without parsing of the html
+ * descriptions.
+ *
+ * @author Stefan Graff
+ *
+ * @version 3.1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TagreferenceRendererBenchmark {
+
+    /**
+     * The number of tags of the tld.
+     */
+    @Param({"100", "2000"})
+    public int tags;
+
+    /**
+     * Whether the html descriptions are parsed.
+     */
+    @Param({"false", "true"})
+    public boolean parseHtml;
+
+    /**
+     * The tlds to render.
+     */
+    private Tld[] tlds;
+
+    /**
+     * The log, which discards all messages.
+     */
+    private Log log;
+
+    /**
+     * Parses the tld.
+     *
+     * @throws Exception if the setup fails
+     */
+    @Setup
+    public void setup() throws Exception {
+        tlds = new Tld[] {new TldStreamParser().parse(
+                new ByteArrayInputStream(BenchmarkData.createTld(tags, 3, true)), "bench.tld")};
+        log = BenchmarkData.quietLog();
+    }
+
+    /**
+     * Renders the tag reference.
+     */
+    @Benchmark
+    public void render() {
+        new TagreferenceRenderer(new SinkAdapter(), Locale.ENGLISH, tlds, parseHtml, log)
+                .render();
+    }
+}
@@ -0,0 +1,150 @@
+/*
+ * The MIT License
+ * Copyright © 2004-2014 Fabrizio Giustina
+ * Copyright © 2022-2026 Web-Legacy
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package io.github.weblegacy.maven.plugin.taglib;
+
+import io.github.weblegacy.maven.plugin.taglib.util.XmlHelper;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+import javax.xml.parsers.DocumentBuilder;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.codehaus.plexus.util.FileUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.w3c.dom.Document;
+
+/**
+ * Benchmark of the tld generation over large tag directories, as DOM-document with
+ * {@link TldGenerateMojo#getTldDocument(Taglib, DocumentBuilder)} and streamed with
+ * {@link TldWriter}.
+ *
+ * @author Stefan Graff
+ *
+ * @version 3.1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TldGenerateBenchmark {
+
+    /**
+     * The number of tag-files in the tag directory.
+     */
+    @Param({"100", "2000"})
+    public int tagFiles;
+
+    /**
+     * The temporary directory of the tag-files.
+     */
+    private File tempDir;
+
+    /**
+     * The taglib to generate.
+     */
+    private Taglib taglib;
+
+    /**
+     * The mojo, which generates the tld.
+     */
+    private TldGenerateMojo mojo;
+
+    /**
+     * The document builder of the generated tld.
+     */
+    private DocumentBuilder documentBuilder;
+
+    /**
+     * Creates the tag-files and the mojo.
+     *
+     * @throws IOException            if the tag-files could not be written
+     * @throws MojoExecutionException if the document builder could not be created
+     */
+    @Setup
+    public void setup() throws IOException, MojoExecutionException {
+        tempDir = Files.createTempDirectory("taglib-bench").toFile();
+
+        final File tagDir = new File(tempDir, "META-INF/tags/bench");
+        BenchmarkData.writeTagDir(tagDir, tagFiles);
+
+        taglib = new Taglib();
+        taglib.setTagdir(tagDir);
+        taglib.setShortName("bench");
+        taglib.setUri("http://example.org/bench");
+        taglib.setDescription("Benchmark taglib");
+
+        mojo = new TldGenerateMojo();
+        mojo.setLog(BenchmarkData.quietLog());
+        documentBuilder = XmlHelper.getDocumentBuilder();
+    }
+
+    /**
+     * Deletes the tag-files.
+     *
+     * @throws IOException if the tag-files could not be deleted
+     */
+    @TearDown
+    public void tearDown() throws IOException {
+        FileUtils.deleteDirectory(tempDir);
+    }
+
+    /**
+     * Generates the tld of the tag directory.
+     *
+     * @return the generated tld
+     */
+    @Benchmark
+    public Document getTldDocument() {
+        return mojo.getTldDocument(taglib, documentBuilder);
+    }
+
+    /**
+     * Writes the tld of the tag directory with the streaming writer.
+     *
+     * @return the size of the written tld
+     *
+     * @throws IOException if the tld could not be written
+     */
+    @Benchmark
+    public int writeTld() throws IOException {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        mojo.generateTaglib(taglib, new TldWriter(out));
+        return out.size();
+    }
+}
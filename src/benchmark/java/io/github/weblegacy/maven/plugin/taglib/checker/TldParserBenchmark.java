@@ -0,0 +1,116 @@
+/*
+ * The MIT License
+ * Copyright © 2004-2014 Fabrizio Giustina
+ * Copyright © 2022-2026 Web-Legacy
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package io.github.weblegacy.maven.plugin.taglib.checker;
+
+import io.github.weblegacy.maven.plugin.taglib.BenchmarkData;
+import io.github.weblegacy.maven.plugin.taglib.util.XmlHelper;
+import java.io.ByteArrayInputStream;
+import java.util.concurrent.TimeUnit;
+import javax.xml.parsers.DocumentBuilder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmark of the tld parsers on small, medium and huge tld files.
+ *
+ * @author Stefan Graff
+ *
+ * @version 3.1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TldParserBenchmark {
+
+    /**
+     * The number of tags of the tld. Linear scaling gives about eight times the time for 20000
+     * tags as for 2500 tags.
+     */
+    @Param({"10", "1000", "2500", "20000"})
+    public int tags;
+
+    /**
+     * The content of the tld.
+     */
+    private byte[] tld;
+
+    /**
+     * The document builder of the DOM-based parser.
+     */
+    private DocumentBuilder documentBuilder;
+
+    /**
+     * The streaming parser.
+     */
+    private TldStreamParser streamParser;
+
+    /**
+     * Creates the tld.
+     *
+     * @throws Exception if the setup fails
+     */
+    @Setup
+    public void setup() throws Exception {
+        tld = BenchmarkData.createTld(tags, 3, false);
+        documentBuilder = XmlHelper.getDocumentBuilder();
+        streamParser = new TldStreamParser();
+    }
+
+    /**
+     * Parses the tld with the DOM-based {@link TldParser}.
+     *
+     * @return the parsed tld
+     *
+     * @throws Exception if the tld could not be parsed
+     */
+    @Benchmark
+    public Tld domParser() throws Exception {
+        return TldParser.parse(documentBuilder.parse(new ByteArrayInputStream(tld)), "bench.tld");
+    }
+
+    /**
+     * Parses the tld with the {@link TldStreamParser}.
+     *
+     * @return the parsed tld
+     *
+     * @throws Exception if the tld could not be parsed
+     */
+    @Benchmark
+    public Tld streamParser() throws Exception {
+        return streamParser.parse(new ByteArrayInputStream(tld), "bench.tld");
+    }
+}
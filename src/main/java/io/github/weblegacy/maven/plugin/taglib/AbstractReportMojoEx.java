@@ -25,20 +25,13 @@
 package io.github.weblegacy.maven.plugin.taglib;
 
 import io.github.weblegacy.maven.plugin.taglib.checker.Tld;
-import io.github.weblegacy.maven.plugin.taglib.checker.TldParser;
-import io.github.weblegacy.maven.plugin.taglib.util.XmlHelper;
+import io.github.weblegacy.maven.plugin.taglib.checker.TldCache;
+import io.github.weblegacy.maven.plugin.taglib.checker.TldStreamParser;
 import java.io.File;
 import java.io.IOException;
-import java.text.MessageFormat;
-import java.util.ArrayList;
 import java.util.List;
-import javax.xml.parsers.DocumentBuilder;
-import org.apache.maven.plugin.MojoExecutionException;
 import org.apache.maven.plugins.annotations.Parameter;
 import org.apache.maven.reporting.MavenReportException;
-import org.codehaus.plexus.util.FileUtils;
-import org.w3c.dom.Document;
-import org.xml.sax.SAXException;
 
 /**
  * An extended abstract class for the {@code Mojo}s of this plugin.
@@ -55,58 +48,52 @@ public abstract class AbstractReportMojoEx extends AbstractReportMojo {
     protected File srcDir;
 
     /**
-     * Loads all tld files from the {@code srcDir}.
+     * Number of threads used to load the tld files and to validate their tags. A value less than
+     * {@code 1} uses one thread per available processor. The tld files and the results are always
+     * in the same order, regardless of the number of threads.
+     *
+     * @since 3.1.0
+     */
+    @Parameter(property = "taglib.threads", defaultValue = "1")
+    protected int threads;
+
+    /**
+     * Whether the parsed tld files are cached in the {@code cacheDirectory}. Unchanged tld files
+     * are then loaded from the cache instead of being parsed again. The validation caches the
+     * class index of unchanged classpath jars and the results of tags and functions, whose
+     * declaration and classes are unchanged, as well.
+     *
+     * @since 3.1.0
+     */
+    @Parameter(property = "taglib.cache", defaultValue = "true")
+    protected boolean useCache;
+
+    /**
+     * Directory of the cache of the parsed tld files, the classpath index and the validation
+     * results.
+     *
+     * @since 3.1.0
+     */
+    @Parameter(defaultValue = "${project.build.directory}/taglib-cache")
+    protected File cacheDirectory;
+
+    /**
+     * Loads all tld files from the {@code srcDir}. The files are read with the
+     * {@link TldStreamParser}, so no DOM is built for them. With more than one {@code threads}
+     * the files are parsed concurrently, each worker thread with its own parser. If
+     * {@code useCache} is set, unchanged tld files are loaded from the {@link TldCache}.
      *
      * @return all loaded tld files
      *
      * @throws MavenReportException if an error occurs during execution
      */
     protected List<Tld> loadTldFiles() throws MavenReportException {
-        if (!srcDir.isDirectory()) {
-            throw new MavenReportException(MessageFormat.format(
-                    Messages.getString("Taglib.notadir"), srcDir.getAbsolutePath()));
-        }
-
-        getLog().debug(MessageFormat.format(
-                Messages.getString("Taglib.validating"), srcDir.getAbsolutePath()));
-
-        final DocumentBuilder builder;
-        try {
-            builder = XmlHelper.getDocumentBuilder();
-        } catch (MojoExecutionException e) {
-            throw new MavenReportException(e.getMessage(), e);
-        }
-
-        final String searchprefix = dontRecurseIntoSubdirs ? "" : "**/";
-
-        final List<File> tlds;
         try {
-            tlds = FileUtils.getFiles(srcDir, searchprefix + "*.tld", null);
+            return TldLoader.load(getLog(), srcDir, dontRecurseIntoSubdirs, threads,
+                    useCache ? cacheDirectory : null);
         } catch (IOException e) {
             throw new MavenReportException(e.getMessage(), e);
         }
-
-        final List<Tld> tldList = new ArrayList<>(tlds.size());
-        for (File current : tlds) {
-            final Document tldDoc;
-            try {
-                tldDoc = builder.parse(current);
-            } catch (IOException | SAXException e) {
-                throw new MavenReportException(MessageFormat.format(
-                        Messages.getString("Taglib.errorwhileparsing"),
-                        current.getAbsolutePath()), e);
-            }
-
-            final Tld tld = TldParser.parse(tldDoc, current.getName());
-            tldList.add(tld);
-        }
-
-        if (tldList.isEmpty()) {
-            getLog().info(MessageFormat.format(
-                    Messages.getString("Taglib.notldfound"), srcDir.getAbsolutePath()));
-        }
-
-        return tldList;
     }
 
     @Override
@@ -0,0 +1,259 @@
+/*
+ * The MIT License
+ * Copyright © 2004-2014 Fabrizio Giustina
+ * Copyright © 2022-2026 Web-Legacy
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package io.github.weblegacy.maven.plugin.taglib;
+
+import io.github.weblegacy.maven.plugin.taglib.checker.Tld;
+import io.github.weblegacy.maven.plugin.taglib.util.ProjectClassLoaders;
+import io.github.weblegacy.maven.plugin.taglib.validation.ValidationCheck;
+import io.github.weblegacy.maven.plugin.taglib.validation.ValidationError;
+import io.github.weblegacy.maven.plugin.taglib.validation.ValidationResult;
+import java.io.File;
+import java.io.IOException;
+import java.text.MessageFormat;
+import java.util.ArrayList;
+import java.util.List;
+import javax.inject.Inject;
+import org.apache.maven.execution.MavenSession;
+import org.apache.maven.plugin.AbstractMojo;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugin.MojoFailureException;
+import org.apache.maven.plugins.annotations.LifecyclePhase;
+import org.apache.maven.plugins.annotations.Mojo;
+import org.apache.maven.plugins.annotations.Parameter;
+import org.apache.maven.plugins.annotations.ResolutionScope;
+import org.apache.maven.project.MavenProject;
+
+/**
+ * Validates the tag handler, TagExtraInfo and EL function classes of the tld files like the
+ * {@code validate} report and fails the build, if a check reaches the {@code failOnSeverity}.
+ * No report is rendered, so the goal needs no site.
+ *
+ * @author Stefan Graff
+ *
+ * @since 3.1.0
+ */
+@Mojo(name = "check", defaultPhase = LifecyclePhase.VERIFY,
+        requiresDependencyResolution = ResolutionScope.COMPILE)
+public class CheckMojo extends AbstractMojo {
+
+    /**
+     * Directory containing tld files. Subdirectories are also processed, unless the
+     * {@code dontRecurseIntoSubdirs} parameter is set.
+     */
+    @Parameter(alias = "taglib.src.dir", defaultValue = "src/main/resources/META-INF")
+    private File srcDir;
+
+    /**
+     * Don't recurse into subdirectories of {@code srcDir}.
+     */
+    @Parameter
+    private boolean dontRecurseIntoSubdirs;
+
+    /**
+     * The output directory and the compile classpath of the project, which contain the validated
+     * classes.
+     */
+    @Parameter(defaultValue = "${project.compileClasspathElements}", readonly = true,
+            required = true)
+    private List<String> classpathElements;
+
+    /**
+     * Number of threads used to load the tld files and to validate their tags. A value less than
+     * {@code 1} uses one thread per available processor.
+     */
+    @Parameter(property = "taglib.threads", defaultValue = "1")
+    private int threads;
+
+    /**
+     * Whether the parsed tld files, the classpath index and the validation results are cached in
+     * the {@code cacheDirectory}.
+     */
+    @Parameter(property = "taglib.cache", defaultValue = "true")
+    private boolean useCache;
+
+    /**
+     * Directory of the caches, shared with the {@code validate} report.
+     */
+    @Parameter(defaultValue = "${project.build.directory}/taglib-cache")
+    private File cacheDirectory;
+
+    /**
+     * How the classes are validated, {@code reflection} or {@code bytecode}, see the
+     * {@code validationMode} of the {@code validate} report.
+     */
+    @Parameter(property = "taglib.validationMode", defaultValue = TaglibValidator.REFLECTION)
+    private String validationMode;
+
+    /**
+     * The timeout in seconds to load, initialize and instantiate a tag handler, TagExtraInfo or
+     * EL function class in {@code reflection} mode. A class, which blocks longer, is reported as
+     * error and the validation continues with the next class. With a timeout, which is the
+     * default, every class is inspected on one of {@code threads} worker threads, each blocking
+     * class adds one worker to replace the worker left behind. A value less than {@code 1}
+     * validates the classes on the build threads without timeout.
+     */
+    @Parameter(property = "taglib.validationTimeout", defaultValue = "30")
+    private int validationTimeout;
+
+    /**
+     * The lowest level of a check, which fails the build: {@code error}, {@code warning} or
+     * {@code info}.
+     */
+    @Parameter(property = "taglib.failOnSeverity", defaultValue = "error")
+    private String failOnSeverity;
+
+    /**
+     * Whether the validation stops at the first tag or function with a check, which reaches the
+     * {@code failOnSeverity}. Otherwise all checks are validated and reported before the build
+     * fails.
+     */
+    @Parameter(property = "taglib.failFast", defaultValue = "false")
+    private boolean failFast;
+
+    /**
+     * Skips the check.
+     */
+    @Parameter(property = "taglib.check.skip", defaultValue = "false")
+    private boolean skip;
+
+    /**
+     * The current project.
+     */
+    @Parameter(defaultValue = "${project}", readonly = true, required = true)
+    private MavenProject project;
+
+    /**
+     * The current session.
+     */
+    @Parameter(defaultValue = "${session}", readonly = true, required = true)
+    private MavenSession session;
+
+    /**
+     * Provider of the class-loaders of the projects.
+     */
+    private final ProjectClassLoaders classLoaders;
+
+    /**
+     * Entry-point of this MoJo.
+     *
+     * @param classLoaders provider of the class-loaders of the projects
+     */
+    @Inject
+    public CheckMojo(final ProjectClassLoaders classLoaders) {
+        this.classLoaders = classLoaders;
+    }
+
+    @Override
+    public void execute() throws MojoExecutionException, MojoFailureException {
+        if (skip) {
+            getLog().info(Messages.getString("Check.skipped"));
+            return;
+        }
+
+        final int failLevel = getFailLevel();
+
+        final List<File> classpath = new ArrayList<>(classpathElements.size());
+        for (String classpathElement : classpathElements) {
+            classpath.add(new File(classpathElement));
+        }
+
+        final List<ValidationResult> results;
+        try {
+            final File cache = useCache ? cacheDirectory : null;
+            final List<Tld> tldList = TldLoader.load(getLog(), srcDir, dontRecurseIntoSubdirs,
+                    threads, cache);
+            final TaglibValidator.ClassLoaderProvider classLoader = apiElements
+                    -> classLoaders.get(session, project, classpath, apiElements, getLog());
+            results = new TaglibValidator(getLog(), classpath, validationMode, threads, cache,
+                    classLoader, validationTimeout).validate(tldList, failFast ? failLevel : 0);
+        } catch (IllegalArgumentException | IOException e) {
+            throw new MojoExecutionException(e.getMessage(), e);
+        }
+
+        int failures = 0;
+        for (ValidationResult result : results) {
+            for (ValidationCheck check : ValidationCheck.of(result)) {
+                if (check.getLevel() >= failLevel) {
+                    failures++;
+                }
+                log(check);
+            }
+        }
+
+        if (failures > 0) {
+            throw new MojoFailureException(MessageFormat.format(
+                    Messages.getString("Check.failed"), failures, failOnSeverity));
+        }
+    }
+
+    /**
+     * Returns the level of the configured {@code failOnSeverity}.
+     *
+     * @return the level, see {@link ValidationError}
+     *
+     * @throws MojoExecutionException if the severity is unknown
+     */
+    private int getFailLevel() throws MojoExecutionException {
+        switch (failOnSeverity) {
+            case "error":
+                return ValidationError.LEVEL_ERROR;
+            case "warning":
+                return ValidationError.LEVEL_WARNING;
+            case "info":
+                return ValidationError.LEVEL_INFO;
+            default:
+                throw new MojoExecutionException("Invalid \"failOnSeverity\" parameter "
+                        + failOnSeverity + ", expected error, warning or info");
+        }
+    }
+
+    /**
+     * Logs a failed check with the log-level matching its level.
+     *
+     * @param check the check
+     */
+    private void log(ValidationCheck check) {
+        if (check.getLevel() == 0) {
+            return;
+        }
+
+        final String message = MessageFormat.format(Messages.getString("Check.message"),
+                check.getTld(), check.getTag(),
+                check.getAttribute() == null ? check.getClassName() : check.getAttribute(),
+                check.getMessage());
+
+        switch (check.getLevel()) {
+            case ValidationError.LEVEL_ERROR:
+                getLog().error(message);
+                break;
+            case ValidationError.LEVEL_WARNING:
+                getLog().warn(message);
+                break;
+            default:
+                getLog().info(message);
+                break;
+        }
+    }
+}
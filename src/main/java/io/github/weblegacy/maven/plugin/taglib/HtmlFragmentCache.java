@@ -0,0 +1,268 @@
+/*
+ * The MIT License
+ * Copyright © 2004-2014 Fabrizio Giustina
+ * Copyright © 2022-2026 Web-Legacy
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package io.github.weblegacy.maven.plugin.taglib;
+
+import java.io.StringReader;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.apache.maven.doxia.module.xhtml5.Xhtml5Parser;
+import org.apache.maven.doxia.parser.ParseException;
+import org.apache.maven.doxia.sink.EmptyLocator;
+import org.apache.maven.doxia.sink.Locator;
+import org.apache.maven.doxia.sink.Sink;
+import org.apache.maven.doxia.sink.SinkEventAttributes;
+import org.apache.maven.doxia.sink.impl.SinkEventAttributeSet;
+
+/**
+ * Parses html fragments with a single {@link Xhtml5Parser} and keeps the sink events of the
+ * recently parsed fragments in a LRU cache. A fragment seen before is not parsed again, its
+ * recorded sink events are replayed to the target sink.
+ *
+ * @author Stefan Graff
+ */
+final class HtmlFragmentCache {
+
+    /**
+     * The parser of all fragments.
+     */
+    private final Xhtml5Parser parser = new Xhtml5Parser();
+
+    /**
+     * The recorded sink events by their fragment, in access order.
+     */
+    private final Map<String, List<SinkEvent>> events;
+
+    /**
+     * Number of fragments, which were parsed.
+     */
+    private int parsed;
+
+    /**
+     * Number of fragments, which were replayed from the cache.
+     */
+    private int replayed;
+
+    /**
+     * The class-constructor.
+     *
+     * @param maxEntries the maximum number of fragments kept in the cache
+     */
+    HtmlFragmentCache(final int maxEntries) {
+        this.events = new LinkedHashMap<>(16, 0.75f, true) {
+
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, List<SinkEvent>> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    /**
+     * Emits the sink events of a html fragment to a sink. The fragment is parsed only, if it is
+     * not in the cache.
+     *
+     * @param html the html fragment
+     * @param sink the target sink
+     *
+     * @throws ParseException if the fragment could not be parsed, the events up to the error are
+     *                        emitted then
+     */
+    void render(String html, Sink sink) throws ParseException {
+        List<SinkEvent> recorded = events.get(html);
+        if (recorded == null) {
+            recorded = new ArrayList<>();
+            try {
+                parser.parse(new StringReader(html), newRecordingSink(recorded));
+            } catch (ParseException e) {
+                // emit the events up to the error, like a direct parse into the sink
+                replay(recorded, sink);
+                throw e;
+            }
+            events.put(html, recorded);
+            parsed++;
+        } else {
+            replayed++;
+        }
+
+        replay(recorded, sink);
+    }
+
+    /**
+     * Replays recorded sink events to a sink.
+     *
+     * @param recorded the recorded events
+     * @param sink     the target sink
+     */
+    private static void replay(List<SinkEvent> recorded, Sink sink) {
+        for (SinkEvent event : recorded) {
+            event.replay(sink);
+        }
+    }
+
+    /**
+     * Returns the number of fragments, which were parsed.
+     *
+     * @return the number of parsed fragments
+     */
+    int getParsed() {
+        return parsed;
+    }
+
+    /**
+     * Returns the number of fragments, which were replayed from the cache.
+     *
+     * @return the number of replayed fragments
+     */
+    int getReplayed() {
+        return replayed;
+    }
+
+    /**
+     * Creates a sink recording all events without a result. The document locator of the parser
+     * is not recorded, but returned by the sink.
+     *
+     * @param recorded the list of the recorded events
+     *
+     * @return the recording sink
+     */
+    static Sink newRecordingSink(List<SinkEvent> recorded) {
+        return (Sink) Proxy.newProxyInstance(Sink.class.getClassLoader(),
+                new Class<?>[] {Sink.class}, new Recorder(recorded));
+    }
+
+    /**
+     * The invocation handler of a recording sink.
+     */
+    private static final class Recorder implements InvocationHandler {
+
+        /**
+         * The list of the recorded events.
+         */
+        private final List<SinkEvent> recorded;
+
+        /**
+         * The document locator set by the parser.
+         */
+        private Locator locator = EmptyLocator.INSTANCE;
+
+        /**
+         * The class-constructor.
+         *
+         * @param recorded the list of the recorded events
+         */
+        Recorder(List<SinkEvent> recorded) {
+            this.recorded = recorded;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) {
+            switch (method.getName()) {
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "RecordingSink[events=" + recorded.size() + "]";
+                case "setDocumentLocator":
+                    locator = args[0] == null ? EmptyLocator.INSTANCE : (Locator) args[0];
+                    return null;
+                case "getDocumentLocator":
+                    return locator;
+                default:
+                    break;
+            }
+
+            if (method.getReturnType() != Void.TYPE) {
+                throw new UnsupportedOperationException(method.toString());
+            }
+            recorded.add(new SinkEvent(method, args));
+            return null;
+        }
+    }
+
+    /**
+     * A recorded sink event.
+     */
+    static final class SinkEvent {
+
+        /**
+         * The method of the event.
+         */
+        private final Method method;
+
+        /**
+         * The arguments of the event, could be {@code null}.
+         */
+        private final Object[] args;
+
+        /**
+         * The class-constructor.
+         *
+         * @param method the method of the event
+         * @param args   the arguments of the event, could be {@code null}
+         */
+        SinkEvent(Method method, Object[] args) {
+            this.method = method;
+            this.args = args;
+        }
+
+        /**
+         * Replays this event to a sink. The attributes are copied, as a sink may modify them.
+         *
+         * @param sink the target sink
+         */
+        void replay(Sink sink) {
+            Object[] arguments = args;
+            if (args != null) {
+                arguments = args.clone();
+                for (int i = 0; i < arguments.length; i++) {
+                    if (arguments[i] instanceof SinkEventAttributes) {
+                        arguments[i] = new SinkEventAttributeSet(
+                                (SinkEventAttributes) arguments[i]);
+                    }
+                }
+            }
+
+            try {
+                method.invoke(sink, arguments);
+            } catch (IllegalAccessException e) {
+                throw new IllegalStateException(e);
+            } catch (InvocationTargetException e) {
+                if (e.getCause() instanceof RuntimeException) {
+                    throw (RuntimeException) e.getCause();
+                }
+                throw new IllegalStateException(e.getCause());
+            }
+        }
+    }
+}
@@ -0,0 +1,292 @@
+/*
+ * The MIT License
+ * Copyright © 2004-2014 Fabrizio Giustina
+ * Copyright © 2022-2026 Web-Legacy
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package io.github.weblegacy.maven.plugin.taglib;
+
+import io.github.weblegacy.maven.plugin.taglib.checker.Tld;
+import io.github.weblegacy.maven.plugin.taglib.util.ClassPath;
+import io.github.weblegacy.maven.plugin.taglib.util.ClassPathIndex;
+import io.github.weblegacy.maven.plugin.taglib.util.JspCheck;
+import io.github.weblegacy.maven.plugin.taglib.util.ProjectClassLoaders.ProjectClassLoader;
+import io.github.weblegacy.maven.plugin.taglib.validation.ClassFileInspector;
+import io.github.weblegacy.maven.plugin.taglib.validation.ReflectionInspector;
+import io.github.weblegacy.maven.plugin.taglib.validation.ValidationCache;
+import io.github.weblegacy.maven.plugin.taglib.validation.ValidationEngine;
+import io.github.weblegacy.maven.plugin.taglib.validation.ValidationResult;
+import java.io.File;
+import java.io.IOException;
+import java.text.MessageFormat;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import org.apache.maven.plugin.logging.Log;
+
+/**
+ * Validates the tag handler, TagExtraInfo and EL function classes of tlds against the classpath
+ * of a project. Used by the validation report and by the {@code check} goal.
+ *
+ * @author Stefan Graff
+ */
+final class TaglibValidator {
+
+    /**
+     * Validation-mode, which loads and instantiates the classes.
+     */
+    static final String REFLECTION = "reflection";
+
+    /**
+     * Validation-mode, which reads the class-files only.
+     */
+    static final String BYTECODE = "bytecode";
+
+    /**
+     * The logger.
+     */
+    private final Log log;
+
+    /**
+     * The output directory and the compile classpath of the project.
+     */
+    private final List<File> classpathElements;
+
+    /**
+     * The validation-mode, {@link #REFLECTION} or {@link #BYTECODE}.
+     */
+    private final String mode;
+
+    /**
+     * The configured number of threads.
+     */
+    private final int threads;
+
+    /**
+     * The directory of the caches, {@code null} for no cache.
+     */
+    private final File cacheDirectory;
+
+    /**
+     * Provides the class-loader of the project in {@link #REFLECTION} mode.
+     */
+    private final ClassLoaderProvider classLoaderProvider;
+
+    /**
+     * The timeout in seconds to load and instantiate a class in {@link #REFLECTION} mode.
+     */
+    private final int timeout;
+
+    /**
+     * Provides the class-loader of the project.
+     */
+    @FunctionalInterface
+    interface ClassLoaderProvider {
+
+        /**
+         * Returns the class-loader of the project.
+         *
+         * @param apiElements the jars of the classpath, which supply the servlet-, jsp- and
+         *                    el-API and may be loaded by a shared parent class-loader
+         *
+         * @return the class-loader of the project
+         *
+         * @throws IOException if the class-loader could not be created
+         */
+        ClassLoader get(List<File> apiElements) throws IOException;
+    }
+
+    /**
+     * Creates a validator.
+     *
+     * @param log               the logger
+     * @param classpathElements the output directory and the compile classpath of the project
+     * @param mode              the validation-mode, {@link #REFLECTION} or {@link #BYTECODE}
+     * @param threads           the configured number of threads
+     * @param cacheDirectory    the directory of the caches, {@code null} for no cache
+     * @param classLoader       provides the class-loader of the project, only called in
+     *                          {@link #REFLECTION} mode
+     * @param timeout           the timeout in seconds to load and instantiate a class in
+     *                          {@link #REFLECTION} mode, {@code 0} for no timeout
+     *
+     * @throws IllegalArgumentException if the validation-mode is unknown
+     */
+    TaglibValidator(Log log, List<File> classpathElements, String mode, int threads,
+            File cacheDirectory, ClassLoaderProvider classLoader, int timeout) {
+
+        if (!BYTECODE.equals(mode) && !REFLECTION.equals(mode)) {
+            throw new IllegalArgumentException("Invalid \"validationMode\" parameter "
+                    + mode + ", expected " + REFLECTION + " or " + BYTECODE);
+        }
+
+        this.log = log;
+        this.classpathElements = classpathElements;
+        this.mode = mode;
+        this.threads = threads;
+        this.cacheDirectory = cacheDirectory;
+        this.classLoaderProvider = classLoader;
+        this.timeout = timeout;
+    }
+
+    /**
+     * Validates the tlds.
+     *
+     * @param tldList   the tlds to validate
+     * @param stopLevel the level of a result, which stops the validation of further items, see
+     *                  {@link ValidationEngine#validate(Tld[], int)}
+     *
+     * @return the validation results
+     *
+     * @throws IOException if the classpath could not be indexed or read
+     */
+    List<ValidationResult> validate(List<Tld> tldList, int stopLevel) throws IOException {
+        final File indexDirectory = cacheDirectory == null ? null
+                : new File(cacheDirectory, "classpath");
+        final ClassPathIndex index = ClassPathIndex.build(classpathElements, indexDirectory);
+        log.debug(MessageFormat.format(Messages.getString("Validate.classpath.index"),
+                index.size(), classpathElements.size(), index.getCachedJars()));
+
+        try (ClassPath classPath = cacheDirectory == null ? null
+                : new ClassPath(classpathElements)) {
+            final ValidationCache cache = classPath == null ? null : new ValidationCache(
+                    new File(cacheDirectory, "validation.bin"), classPath, mode);
+
+            final List<ValidationResult> results;
+            if (BYTECODE.equals(mode)) {
+                results = validateClassFiles(tldList, index, cache, stopLevel);
+            } else {
+                results = validateClasses(tldList, index, cache, stopLevel);
+            }
+
+            if (cache != null) {
+                storeCache(cache);
+            }
+            return results;
+        }
+    }
+
+    /**
+     * Validates the tlds by loading the classes with the class-loader of the project.
+     *
+     * @param tldList   the tlds to validate
+     * @param index     the index of the classpath
+     * @param cache     the cache of the validation results, may be {@code null}
+     * @param stopLevel the level of a result, which stops the validation
+     *
+     * @return the validation results
+     *
+     * @throws IOException if the class-loader of the project could not be created
+     */
+    private List<ValidationResult> validateClasses(List<Tld> tldList, ClassPathIndex index,
+            ValidationCache cache, int stopLevel) throws IOException {
+
+        final ClassLoader projectClassLoader = classLoaderProvider.get(getApiElements(index));
+
+        final List<ValidationResult> results;
+        try (ReflectionInspector inspector = new ReflectionInspector(log, projectClassLoader,
+                index, timeout, threads)) {
+            results = new ValidationEngine(inspector, index, cache, threads)
+                    .validate(tldList.toArray(Tld[]::new), stopLevel);
+            inspector.logStatistics();
+        }
+
+        if (projectClassLoader instanceof ProjectClassLoader) {
+            final ProjectClassLoader classLoader = (ProjectClassLoader) projectClassLoader;
+            log.debug(MessageFormat.format(Messages.getString("Validate.classloader"),
+                    classLoader.getLoadedClasses(), classLoader.getUses()));
+        }
+        return results;
+    }
+
+    /**
+     * Returns the jars of the classpath supplying the servlet-, jsp- and el-API. The jars are
+     * only shared, if all of them contain nothing but API packages. A jar bundling the API with
+     * an implementation, like {@code tomcat-embed-jasper}, refers to classes of other jars of the
+     * project, which a shared class-loader can't resolve, so the whole classpath is loaded by the
+     * class-loader of the project then.
+     *
+     * @param index the index of the classpath
+     *
+     * @return the jars to share, empty if no jar may be shared
+     */
+    private List<File> getApiElements(ClassPathIndex index) {
+        final Set<File> apiElements = new LinkedHashSet<>();
+        for (String apiClass : JspCheck.getApiClasses()) {
+            final File location = index.getLocation(apiClass);
+            if (location != null && location.isFile()) {
+                apiElements.add(location);
+            }
+        }
+
+        for (File apiElement : apiElements) {
+            for (String packageName : index.getPackages(apiElement)) {
+                if (!JspCheck.isApiPackage(packageName)) {
+                    log.debug(MessageFormat.format(Messages.getString("Validate.classloader.mixed"),
+                            apiElement.getAbsolutePath(), packageName));
+                    return Collections.emptyList();
+                }
+            }
+        }
+        return new ArrayList<>(apiElements);
+    }
+
+    /**
+     * Validates the tlds by reading the class-files from the classpath of the project.
+     *
+     * @param tldList   the tlds to validate
+     * @param index     the index of the classpath
+     * @param cache     the cache of the validation results, may be {@code null}
+     * @param stopLevel the level of a result, which stops the validation
+     *
+     * @return the validation results
+     *
+     * @throws IOException if the classpath could not be closed
+     */
+    private List<ValidationResult> validateClassFiles(List<Tld> tldList, ClassPathIndex index,
+            ValidationCache cache, int stopLevel) throws IOException {
+
+        try (ClassFileInspector inspector = new ClassFileInspector(log, classpathElements,
+                index)) {
+            return new ValidationEngine(inspector, index, cache, threads)
+                    .validate(tldList.toArray(Tld[]::new), stopLevel);
+        }
+    }
+
+    /**
+     * Stores the cache of the validation results. A cache, which could not be written, is only
+     * reported as warning.
+     *
+     * @param cache the cache of the validation results
+     */
+    private void storeCache(ValidationCache cache) {
+        try {
+            cache.store();
+        } catch (IOException e) {
+            log.warn(MessageFormat.format(Messages.getString("Validate.cache.writeerror"),
+                    cacheDirectory.getAbsolutePath(), e.getMessage()));
+        }
+
+        log.debug(MessageFormat.format(Messages.getString("Validate.cache.hits"),
+                cache.getHits(), cache.getLookups(), cacheDirectory.getAbsolutePath()));
+    }
+}
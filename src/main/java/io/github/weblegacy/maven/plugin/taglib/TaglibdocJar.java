@@ -24,10 +24,17 @@
 
 package io.github.weblegacy.maven.plugin.taglib;
 
+import io.github.weblegacy.maven.plugin.taglib.util.BuildManifest;
 import java.io.File;
 import java.io.IOException;
 import java.nio.file.Files;
+import java.nio.file.attribute.FileTime;
+import java.text.MessageFormat;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.format.DateTimeParseException;
 import javax.inject.Inject;
+import org.apache.commons.lang3.StringUtils;
 import org.apache.maven.artifact.handler.ArtifactHandler;
 import org.apache.maven.plugin.AbstractMojo;
 import org.apache.maven.plugin.MojoExecutionException;
@@ -40,6 +47,7 @@ import org.apache.maven.project.MavenProjectHelper;
 import org.codehaus.plexus.archiver.ArchiverException;
 import org.codehaus.plexus.archiver.jar.JarArchiver;
 import org.codehaus.plexus.archiver.util.DefaultFileSet;
+import org.codehaus.plexus.util.FileUtils;
 
 /**
  * Generates a jar containing the tlddoc generated documentation. The generated jar is
@@ -51,6 +59,12 @@ import org.codehaus.plexus.archiver.util.DefaultFileSet;
 @Execute(goal = "taglibdoc")
 public class TaglibdocJar extends AbstractMojo {
 
+    /**
+     * Version of the fingerprint manifest, must be incremented whenever the generated jar
+     * changes for the same inputs.
+     */
+    private static final String MANIFEST_VERSION = "1";
+
     /**
      * TldDoc output dir.
      */
@@ -77,6 +91,49 @@ public class TaglibdocJar extends AbstractMojo {
     @Parameter(property = "attach", defaultValue = "true")
     private boolean attach = true;
 
+    /**
+     * Whether the archiving is skipped if the files of {@code tldDocDir}, the jar itself and the
+     * archive options are unchanged since the last run. The existing jar is attached then.
+     *
+     * @since 3.1.0
+     */
+    @Parameter(property = "taglib.incremental", defaultValue = "true")
+    private boolean incremental;
+
+    /**
+     * The fingerprint manifest of the last run, used by the {@code incremental} mode.
+     *
+     * @since 3.1.0
+     */
+    @Parameter(defaultValue = "${project.build.directory}/taglib-cache/taglibdocjar.properties")
+    private File manifestFile;
+
+    /**
+     * Timestamp for reproducible jars, either formatted as ISO 8601
+     * {@code yyyy-MM-dd'T'HH:mm:ssXXX} or as an int representing seconds since the epoch. All
+     * entries get this timestamp and are added in the order of their names. A value with less
+     * than two characters disables the reproducible jar.
+     *
+     * @since 3.1.0
+     */
+    @Parameter(defaultValue = "${project.build.outputTimestamp}")
+    private String outputTimestamp;
+
+    /**
+     * Whether the entries of the jar are compressed. Set this to false to only store the
+     * entries, which is faster for local builds.
+     *
+     * @since 3.1.0
+     */
+    @Parameter(property = "taglib.jar.compress", defaultValue = "true")
+    private boolean compress;
+
+    /**
+     * The version of this plugin, part of the fingerprint manifest.
+     */
+    @Parameter(defaultValue = "${plugin.version}", readonly = true)
+    private String pluginVersion;
+
     /**
      * Maven Project Helper.
      */
@@ -121,17 +178,90 @@ public class TaglibdocJar extends AbstractMojo {
             throw new MojoExecutionException("tlddoc files not found.");
         }
 
-        if (!Files.deleteIfExists(tlddocJar.toPath())) {
-            throw new MojoExecutionException("tlddocJar could not deleted.");
+        final FileTime timestamp = parseOutputTimestamp(outputTimestamp);
+
+        BuildManifest manifest = null;
+        if (incremental) {
+            manifest = createManifest(tdldocDir, timestamp);
+            if (manifest.isUpToDate(BuildManifest.load(manifestFile))) {
+                getLog().info(MessageFormat.format(Messages.getString("TaglibdocJar.uptodate"),
+                        tlddocJar.getAbsolutePath()));
+                return tlddocJar;
+            }
+            BuildManifest.delete(manifestFile);
         }
 
+        Files.deleteIfExists(tlddocJar.toPath());
+
         JarArchiver archiver = new JarArchiver();
 
         archiver.addFileSet(DefaultFileSet.fileSet(tdldocDir));
         archiver.setDestFile(tlddocJar);
+        archiver.setCompress(compress);
+        if (timestamp != null) {
+            archiver.configureReproducibleBuild(timestamp);
+        }
         archiver.createArchive();
 
+        if (manifest != null) {
+            manifest.putFile(BuildManifest.OUTPUT_PREFIX + tlddocJar.getAbsolutePath(),
+                    tlddocJar);
+            manifest.store(manifestFile);
+        }
+
         return tlddocJar;
     }
 
+    /**
+     * Creates the fingerprint manifest of the inputs of the archive: the archive options and the
+     * files of the tlddoc output dir.
+     *
+     * @param tdldocDir the tlddoc output dir
+     * @param timestamp the timestamp of the entries, {@code null} for no reproducible jar
+     *
+     * @return the fingerprint manifest of the inputs
+     *
+     * @throws IOException if a file could not be read
+     */
+    private BuildManifest createManifest(File tdldocDir, FileTime timestamp) throws IOException {
+        final BuildManifest manifest = new BuildManifest();
+        manifest.put("manifest", MANIFEST_VERSION);
+        manifest.put("pluginVersion", pluginVersion);
+        manifest.put("tldDocDir", tdldocDir.getAbsolutePath());
+        manifest.put("timestamp", timestamp == null ? null : timestamp.toString());
+        manifest.put("compress", Boolean.toString(compress));
+
+        for (String file : FileUtils.getFileNames(tdldocDir, "**/*", null, false)) {
+            manifest.putFile("input:" + file.replace(File.separatorChar, '/'),
+                    new File(tdldocDir, file));
+        }
+
+        return manifest;
+    }
+
+    /**
+     * Parses the timestamp for reproducible jars.
+     *
+     * @param outputTimestamp the timestamp as ISO 8601 date or as seconds since the epoch
+     *
+     * @return the timestamp or {@code null}, if the value has less than two characters
+     *
+     * @throws MojoExecutionException if the timestamp is invalid
+     */
+    private static FileTime parseOutputTimestamp(String outputTimestamp)
+            throws MojoExecutionException {
+        if (outputTimestamp == null || outputTimestamp.length() < 2) {
+            return null;
+        }
+
+        try {
+            if (StringUtils.isNumeric(outputTimestamp)) {
+                return FileTime.from(Instant.ofEpochSecond(Long.parseLong(outputTimestamp)));
+            }
+            return FileTime.from(OffsetDateTime.parse(outputTimestamp).toInstant());
+        } catch (NumberFormatException | DateTimeParseException e) {
+            throw new MojoExecutionException(MessageFormat.format(
+                    Messages.getString("TaglibdocJar.invalidtimestamp"), outputTimestamp), e);
+        }
+    }
 }
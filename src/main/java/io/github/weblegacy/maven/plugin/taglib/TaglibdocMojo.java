@@ -24,15 +24,20 @@
 
 package io.github.weblegacy.maven.plugin.taglib;
 
+import io.github.weblegacy.maven.plugin.taglib.util.BuildManifest;
+import io.github.weblegacy.maven.plugin.taglib.util.Parallel;
+import io.github.weblegacy.maven.plugin.taglib.util.XsltTemplates;
 import io.github.weblegacy.tlddoc.main.GeneratorException;
 import io.github.weblegacy.tlddoc.main.TldDocGenerator;
 import java.io.File;
 import java.io.IOException;
 import java.text.MessageFormat;
-import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Locale;
 import java.util.Set;
+import javax.inject.Inject;
+import org.apache.maven.execution.MavenSession;
 import org.apache.maven.plugin.MojoExecutionException;
 import org.apache.maven.plugins.annotations.Mojo;
 import org.apache.maven.plugins.annotations.Parameter;
@@ -47,6 +52,12 @@ import org.codehaus.plexus.util.FileUtils;
 @Mojo(name = "taglibdoc")
 public class TaglibdocMojo extends AbstractReportMojo {
 
+    /**
+     * Version of the fingerprint manifest, must be incremented whenever the generated
+     * documentation changes for the same inputs.
+     */
+    private static final String MANIFEST_VERSION = "1";
+
     /**
      * The title for tlddoc generated documentation.
      */
@@ -72,6 +83,71 @@ public class TaglibdocMojo extends AbstractReportMojo {
     @Parameter
     private File xsltDir;
 
+    /**
+     * Whether the generation is skipped if the tld and tag files, the custom xsl files, the
+     * {@code title} and the version of this plugin are unchanged since the last run. The
+     * {@code tldDocDir} is left untouched then.
+     *
+     * @since 3.1.0
+     */
+    @Parameter(property = "taglib.incremental", defaultValue = "true")
+    private boolean incremental;
+
+    /**
+     * The fingerprint manifest of the last run, used by the {@code incremental} mode.
+     *
+     * @since 3.1.0
+     */
+    @Parameter(defaultValue = "${project.build.directory}/taglib-cache/taglibdoc.properties")
+    private File manifestFile;
+
+    /**
+     * Number of threads used to render the pages of the taglibs. With more than one thread every
+     * tld file and every tag directory is rendered separately on a bounded pool, the shared
+     * overview and index pages are rendered in a final merge step. A value less than {@code 1}
+     * uses one thread per available processor.
+     *
+     * @since 3.1.0
+     */
+    @Parameter(property = "taglib.threads", defaultValue = "1")
+    private int threads;
+
+    /**
+     * The build directory of the project, which contains the staging directory of the rendering
+     * with more than one thread.
+     *
+     * @since 3.1.0
+     */
+    @Parameter(defaultValue = "${project.build.directory}", readonly = true)
+    private File buildDirectory;
+
+    /**
+     * The version of this plugin, part of the fingerprint manifest.
+     */
+    @Parameter(defaultValue = "${plugin.version}", readonly = true)
+    private String pluginVersion;
+
+    /**
+     * The current session.
+     */
+    @Parameter(defaultValue = "${session}", readonly = true, required = true)
+    private MavenSession session;
+
+    /**
+     * Provider of the caches of the compiled xsl stylesheets.
+     */
+    private final XsltTemplates templates;
+
+    /**
+     * Entry-point of this MoJo.
+     *
+     * @param templates provider of the caches of the compiled xsl stylesheets
+     */
+    @Inject
+    public TaglibdocMojo(final XsltTemplates templates) {
+        this.templates = templates;
+    }
+
     @Override
     protected void executeReport(Locale locale) throws MavenReportException {
         try {
@@ -83,51 +159,149 @@ public class TaglibdocMojo extends AbstractReportMojo {
             getLog().debug(MessageFormat.format(
                     Messages.getString("Taglib.generating.tlddoc"), srcDir.getAbsolutePath()));
 
-            TldDocGenerator generator = new TldDocGenerator();
-            generator.setOutputDirectory(tldDocDir.toPath());
-            generator.setQuiet(true);
-            generator.setWindowTitle(this.title);
-            if (xsltDir != null) {
-                generator.setXsltDirectory(xsltDir.toPath());
-            }
-
             final String searchprefix = dontRecurseIntoSubdirs ? "" : "**/";
 
+            final List<File> tlds;
+            final List<File> tags;
+            BuildManifest manifest = null;
             try {
-                // handle tlds
-                List<File> tlds = FileUtils.getFiles(srcDir, searchprefix + "*.tld", null);
-                for (File tld : tlds) {
-                    generator.addTld(tld.toPath());
-                }
-
-                // handle tag files. Add any directory containing .tag or .tagx files
-                List<File> tags = FileUtils.getFiles(srcDir, searchprefix + "*.tag", null);
+                tlds = FileUtils.getFiles(srcDir, searchprefix + "*.tld", null);
+                tags = FileUtils.getFiles(srcDir, searchprefix + "*.tag", null);
                 tags.addAll(FileUtils.getFiles(srcDir, searchprefix + "*.tagx", null));
 
-                if (!tags.isEmpty()) {
-                    Set<File> directories = new HashSet<>();
-                    for (File tag : tags) {
-                        directories.add(tag.getParentFile());
-                    }
-                    for (File directory : directories) {
-                        generator.addTagDir(directory.toPath());
+                if (incremental) {
+                    manifest = createManifest(tlds, tags);
+                    if (manifest.isUpToDate(BuildManifest.load(manifestFile))) {
+                        getLog().info(MessageFormat.format(
+                                Messages.getString("Taglib.generating.tlddoc.uptodate"),
+                                tldDocDir.getAbsolutePath()));
+                        return;
                     }
+                    BuildManifest.delete(manifestFile);
                 }
             } catch (IOException e) {
                 throw new MojoExecutionException(e.getMessage(), e);
             }
 
+            // handle tag files. Add any directory containing .tag or .tagx files
+            final Set<File> directories = new LinkedHashSet<>();
+            for (File tag : tags) {
+                directories.add(tag.getParentFile());
+            }
+
+            // compile every stylesheet only once per session
+            final XsltTemplates.Cache cache = templates.get(session);
+            final Thread thread = Thread.currentThread();
+            final ClassLoader contextClassLoader = thread.getContextClassLoader();
+            thread.setContextClassLoader(cache.newContextClassLoader(contextClassLoader));
             try {
-                generator.generate();
+                final boolean partitioned = Parallel.threads(threads) > 1
+                        && tlds.size() + directories.size() > 1;
+                final String missingXslt = TldDocPartitions.missingXslt();
+                if (partitioned && missingXslt != null) {
+                    getLog().warn(MessageFormat.format(
+                            Messages.getString("Taglib.generating.tlddoc.serial"), missingXslt));
+                }
+                if (partitioned && missingXslt == null) {
+                    TldDocPartitions.generate(getLog(), tldDocDir, title, xsltDir, tlds,
+                            directories, threads, buildDirectory);
+                } else {
+                    generate(tlds, directories);
+                }
             } catch (GeneratorException e) {
                 getLog().error(MessageFormat.format(Messages.getString("Taglib.exception"),
                         e.getClass(), e.getMessage()), e);
+                return;
+            } catch (IOException e) {
+                throw new MojoExecutionException(e.getMessage(), e);
+            } finally {
+                thread.setContextClassLoader(contextClassLoader);
+                getLog().debug(MessageFormat.format(Messages.getString("Taglib.xslt.cache"),
+                        cache.getCompiled(), cache.getReused()));
+            }
+
+            if (manifest != null) {
+                try {
+                    manifest.putFile(BuildManifest.OUTPUT_PREFIX
+                            + new File(tldDocDir, "index.html").getAbsolutePath(),
+                            new File(tldDocDir, "index.html"));
+                    manifest.store(manifestFile);
+                } catch (IOException e) {
+                    throw new MojoExecutionException(e.getMessage(), e);
+                }
             }
         } catch (MojoExecutionException e) {
             throw new MavenReportException(e.getMessage(), e);
         }
     }
 
+    /**
+     * Generates the documentation of all taglibs with a single {@link TldDocGenerator}.
+     *
+     * @param tlds        the tld files
+     * @param directories the directories containing tag files
+     *
+     * @throws GeneratorException if tlddoc fails
+     */
+    private void generate(List<File> tlds, Set<File> directories) throws GeneratorException {
+        TldDocGenerator generator = new TldDocGenerator();
+        generator.setOutputDirectory(tldDocDir.toPath());
+        generator.setQuiet(true);
+        generator.setWindowTitle(this.title);
+        if (xsltDir != null) {
+            generator.setXsltDirectory(xsltDir.toPath());
+        }
+
+        // handle tlds
+        for (File tld : tlds) {
+            generator.addTld(tld.toPath());
+        }
+
+        for (File directory : directories) {
+            generator.addTagDir(directory.toPath());
+        }
+
+        generator.generate();
+    }
+
+    /**
+     * Creates the fingerprint manifest of the inputs of the generation: the configuration, the
+     * tld and tag files and the custom xsl files.
+     *
+     * @param tlds the tld files
+     * @param tags the tag files
+     *
+     * @return the fingerprint manifest of the inputs
+     *
+     * @throws IOException if an input could not be read
+     */
+    private BuildManifest createManifest(List<File> tlds, List<File> tags) throws IOException {
+        final BuildManifest manifest = new BuildManifest();
+        manifest.put("manifest", MANIFEST_VERSION);
+        manifest.put("pluginVersion", pluginVersion);
+        manifest.put("title", title);
+        manifest.put("tldDocDir", tldDocDir.getAbsolutePath());
+        manifest.put("srcDir", srcDir.getAbsolutePath());
+
+        for (File tld : tlds) {
+            manifest.putFile("input:" + tld.getAbsolutePath(), tld);
+        }
+        for (File tag : tags) {
+            manifest.putFile("input:" + tag.getAbsolutePath(), tag);
+        }
+
+        if (xsltDir != null) {
+            manifest.put("xsltDir", xsltDir.getAbsolutePath());
+            if (xsltDir.isDirectory()) {
+                for (File xslt : FileUtils.getFiles(xsltDir, "**/*", null)) {
+                    manifest.putFile("xslt:" + xslt.getAbsolutePath(), xslt);
+                }
+            }
+        }
+
+        return manifest;
+    }
+
     @Override
     @Deprecated
     public String getOutputName() {
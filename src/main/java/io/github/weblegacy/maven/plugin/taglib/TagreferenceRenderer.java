@@ -31,11 +31,9 @@ import io.github.weblegacy.maven.plugin.taglib.checker.TagFile;
 import io.github.weblegacy.maven.plugin.taglib.checker.TagVariable;
 import io.github.weblegacy.maven.plugin.taglib.checker.Tld;
 import io.github.weblegacy.maven.plugin.taglib.checker.TldItem;
-import java.io.StringReader;
 import java.text.MessageFormat;
 import java.util.Locale;
 import org.apache.commons.lang3.StringUtils;
-import org.apache.maven.doxia.module.xhtml5.Xhtml5Parser;
 import org.apache.maven.doxia.parser.ParseException;
 import org.apache.maven.doxia.sink.Sink;
 import org.apache.maven.doxia.util.HtmlTools;
@@ -58,6 +56,11 @@ public class TagreferenceRenderer extends AbstractMavenTaglibReportRenderer {
      */
     private static final String CLOSE_DIV = "</div>";
 
+    /**
+     * Maximum number of parsed descriptions kept in the {@link HtmlFragmentCache}.
+     */
+    private static final int HTML_CACHE_SIZE = 512;
+
     /**
      * The list of Tld to check.
      */
@@ -73,6 +76,11 @@ public class TagreferenceRenderer extends AbstractMavenTaglibReportRenderer {
      */
     private final Log log;
 
+    /**
+     * The parsed descriptions, {@code null} if {@code parseHtml} is {@code false}.
+     */
+    private final HtmlFragmentCache htmlCache;
+
     /**
      * The class-constructor.
      *
@@ -89,6 +97,7 @@ public class TagreferenceRenderer extends AbstractMavenTaglibReportRenderer {
         this.tlds = tlds;
         this.parseHtml = parseHtml;
         this.log = log;
+        this.htmlCache = parseHtml ? new HtmlFragmentCache(HTML_CACHE_SIZE) : null;
     }
 
     @Override
@@ -125,6 +134,11 @@ public class TagreferenceRenderer extends AbstractMavenTaglibReportRenderer {
         }
 
         sink.body_();
+
+        if (htmlCache != null) {
+            log.debug(MessageFormat.format(Messages.getString("Tagreference.htmlcache"),
+                    htmlCache.getParsed(), htmlCache.getReplayed()));
+        }
     }
 
     /**
@@ -500,13 +514,14 @@ public class TagreferenceRenderer extends AbstractMavenTaglibReportRenderer {
     }
 
     /**
-     * Writes the description to the report and checks for valid html-code.
+     * Writes the description to the report and checks for valid html-code. A description is
+     * parsed only once, repeated descriptions are replayed from the {@link HtmlFragmentCache}.
      *
      * @param description the description
      */
     private void parseHtml(String description) {
         try {
-            new Xhtml5Parser().parse(new StringReader(OPEN_DIV + description + CLOSE_DIV), sink);
+            htmlCache.render(OPEN_DIV + description + CLOSE_DIV, sink);
         } catch (ParseException e) {
             log.error(description, e);
         }
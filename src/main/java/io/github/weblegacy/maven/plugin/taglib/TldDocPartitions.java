@@ -0,0 +1,281 @@
+/*
+ * The MIT License
+ * Copyright © 2004-2014 Fabrizio Giustina
+ * Copyright © 2022-2026 Web-Legacy
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package io.github.weblegacy.maven.plugin.taglib;
+
+import io.github.weblegacy.maven.plugin.taglib.util.Parallel;
+import io.github.weblegacy.tlddoc.main.GeneratorException;
+import io.github.weblegacy.tlddoc.main.TldDocGenerator;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.MessageFormat;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import org.apache.maven.plugin.logging.Log;
+import org.codehaus.plexus.util.FileUtils;
+
+/**
+ * Generates the tlddoc documentation partitioned by taglib. Every tld file and every tag
+ * directory is rendered by its own {@link TldDocGenerator} on a bounded pool, the shared overview
+ * and index pages are rendered in a merge step over all taglibs.
+ *
+ * <p>The {@link TldDocGenerator} renders the overview and the per-taglib pages in one run. Both
+ * steps are separated by custom xsl directories, which replace the stylesheets of the other step
+ * with a stylesheet producing an empty page. The per-taglib pages are rendered into a staging
+ * directory and moved into the output directory afterwards.</p>
+ *
+ * <p>The names of the stylesheets are those of tlddoc 2.0.0. The partitioning must not be used,
+ * if {@link #missingXslt()} reports a stylesheet, which tlddoc does not provide.</p>
+ *
+ * @author Stefan Graff
+ */
+final class TldDocPartitions {
+
+    /**
+     * The stylesheets of the shared overview and index pages.
+     */
+    private static final String[] OVERVIEW_XSLTS = {
+        "index.html.xsl", "help-doc.html.xsl", "overview-frame.html.xsl",
+        "alltags-frame.html.xsl", "alltags-noframe.html.xsl", "overview-summary.html.xsl"
+    };
+
+    /**
+     * The stylesheets of the per-taglib pages.
+     */
+    private static final String[] TAGLIB_XSLTS = {
+        "tld-frame.html.xsl", "tld-summary.html.xsl", "tag.html.xsl", "function.html.xsl"
+    };
+
+    /**
+     * The resource path of the stylesheets of tlddoc.
+     */
+    private static final String TLDDOC_RESOURCES = "/io/github/weblegacy/tlddoc/resources/";
+
+    /**
+     * The first stylesheet, which tlddoc does not provide, or {@code null} if all are provided.
+     */
+    private static final String MISSING_XSLT = findMissingXslt();
+
+    /**
+     * A stylesheet producing an empty page.
+     */
+    private static final String EMPTY_XSLT = "<xsl:stylesheet version=\"1.0\""
+            + " xmlns:xsl=\"http://www.w3.org/1999/XSL/Transform\">"
+            + "<xsl:template match=\"/\"/></xsl:stylesheet>";
+
+    /**
+     * Don't instantiate.
+     */
+    private TldDocPartitions() {
+        // unused
+    }
+
+    /**
+     * Returns the first stylesheet separating the overview and the per-taglib pages, which is not
+     * provided by tlddoc. A different version of tlddoc would render these pages in both steps.
+     *
+     * @return the name of the stylesheet or {@code null} if tlddoc provides all stylesheets
+     */
+    static String missingXslt() {
+        return MISSING_XSLT;
+    }
+
+    /**
+     * Looks up the stylesheets separating the overview and the per-taglib pages in the resources
+     * of tlddoc.
+     *
+     * @return the name of the first missing stylesheet or {@code null} if all are found
+     */
+    private static String findMissingXslt() {
+        final List<String> names = new ArrayList<>(List.of(OVERVIEW_XSLTS));
+        names.addAll(List.of(TAGLIB_XSLTS));
+        for (String name : names) {
+            if (TldDocGenerator.class.getResource(TLDDOC_RESOURCES + name) == null) {
+                return name;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Generates the tlddoc documentation of the given tld files and tag directories. The merge
+     * step runs first, so duplicate taglibs are reported before the per-taglib pages are
+     * rendered concurrently.
+     *
+     * @param log       the logger
+     * @param outputDir the output directory of the documentation
+     * @param title     the window title of the documentation
+     * @param xsltDir   the directory containing custom xsl files, could be {@code null}
+     * @param tlds      the tld files
+     * @param tagDirs   the directories containing tag files
+     * @param threads   the configured number of threads, see {@link Parallel#threads(int)}
+     * @param workDir   the directory of the temporary staging directory
+     *
+     * @throws IOException        if the staging directory could not be written
+     * @throws GeneratorException if tlddoc fails for a taglib
+     */
+    static void generate(Log log, File outputDir, String title, File xsltDir, List<File> tlds,
+            Collection<File> tagDirs, int threads, File workDir)
+            throws IOException, GeneratorException {
+
+        final List<Path> partitions = new ArrayList<>(tlds.size() + tagDirs.size());
+        final List<Path> allTlds = new ArrayList<>(tlds.size());
+        for (File tld : tlds) {
+            allTlds.add(tld.toPath());
+        }
+        partitions.addAll(allTlds);
+        final List<Path> allTagDirs = new ArrayList<>(tagDirs.size());
+        for (File tagDir : tagDirs) {
+            allTagDirs.add(tagDir.toPath());
+        }
+        partitions.addAll(allTagDirs);
+
+        log.debug(MessageFormat.format(Messages.getString("Taglib.generating.tlddoc.partitions"),
+                partitions.size(), Math.min(Parallel.threads(threads), partitions.size())));
+
+        final Path output = outputDir.toPath().toAbsolutePath();
+        Files.createDirectories(output);
+        final Path work = workDir.toPath().toAbsolutePath();
+        Files.createDirectories(work);
+        final Path staging = Files.createTempDirectory(work, "tlddoc-");
+        try {
+            final Path overviewXslt = createXsltDir(staging.resolve("xslt-overview"), xsltDir,
+                    TAGLIB_XSLTS);
+            final Path taglibXslt = createXsltDir(staging.resolve("xslt-taglib"), xsltDir,
+                    OVERVIEW_XSLTS);
+
+            // merge step: the overview and index pages over all taglibs, empty per-taglib pages
+            generate(output, title, overviewXslt, allTlds, allTagDirs);
+
+            final List<Integer> indexes = new ArrayList<>(partitions.size());
+            for (int i = 0; i < partitions.size(); i++) {
+                indexes.add(i);
+            }
+
+            Parallel.map(threads, indexes, index -> {
+                final Path partition = partitions.get(index);
+                final Path partitionDir = staging.resolve("taglib-" + index);
+                if (index < allTlds.size()) {
+                    generate(partitionDir, title, taglibXslt, List.of(partition), List.of());
+                } else {
+                    generate(partitionDir, title, taglibXslt, List.of(), List.of(partition));
+                }
+                moveTaglibDirs(partitionDir, output);
+                return null;
+            });
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof GeneratorException) {
+                throw (GeneratorException) e.getCause();
+            }
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            throw new GeneratorException(e.getCause());
+        } finally {
+            FileUtils.deleteDirectory(staging.toFile());
+        }
+    }
+
+    /**
+     * Runs tlddoc for the given tld files and tag directories.
+     *
+     * @param outputDir the output directory
+     * @param title     the window title
+     * @param xsltDir   the directory containing the xsl files
+     * @param tlds      the tld files
+     * @param tagDirs   the directories containing tag files
+     *
+     * @throws GeneratorException if tlddoc fails
+     */
+    private static void generate(Path outputDir, String title, Path xsltDir, List<Path> tlds,
+            List<Path> tagDirs) throws GeneratorException {
+
+        final TldDocGenerator generator = new TldDocGenerator();
+        generator.setOutputDirectory(outputDir);
+        generator.setQuiet(true);
+        generator.setWindowTitle(title);
+        generator.setXsltDirectory(xsltDir);
+        for (Path tld : tlds) {
+            generator.addTld(tld);
+        }
+        for (Path tagDir : tagDirs) {
+            generator.addTagDir(tagDir);
+        }
+        generator.generate();
+    }
+
+    /**
+     * Creates a directory with the custom xsl files and a stylesheet producing an empty page for
+     * each of the given stylesheets.
+     *
+     * @param dir     the directory to create
+     * @param xsltDir the directory containing custom xsl files, could be {@code null}
+     * @param empty   the names of the stylesheets producing an empty page
+     *
+     * @return the created directory
+     *
+     * @throws IOException if the directory could not be written
+     */
+    private static Path createXsltDir(Path dir, File xsltDir, String[] empty)
+            throws IOException {
+
+        Files.createDirectories(dir);
+        if (xsltDir != null && xsltDir.isDirectory()) {
+            FileUtils.copyDirectory(xsltDir, dir.toFile());
+        }
+        for (String name : empty) {
+            Files.write(dir.resolve(name), EMPTY_XSLT.getBytes(StandardCharsets.UTF_8));
+        }
+        return dir;
+    }
+
+    /**
+     * Moves the per-taglib directories of a partition into the output directory, replacing the
+     * empty pages of the merge step.
+     *
+     * @param partitionDir the output directory of the partition
+     * @param outputDir    the output directory of the documentation
+     *
+     * @throws IOException if a directory could not be moved
+     */
+    private static void moveTaglibDirs(Path partitionDir, Path outputDir) throws IOException {
+        final List<Path> taglibDirs = new ArrayList<>();
+        try (DirectoryStream<Path> entries = Files.newDirectoryStream(partitionDir,
+                Files::isDirectory)) {
+            entries.forEach(taglibDirs::add);
+        }
+
+        for (Path taglibDir : taglibDirs) {
+            final Path target = outputDir.resolve(taglibDir.getFileName().toString());
+            FileUtils.deleteDirectory(target.toFile());
+            Files.move(taglibDir, target);
+        }
+    }
+}
@@ -24,26 +24,37 @@
 
 package io.github.weblegacy.maven.plugin.taglib;
 
-import io.github.weblegacy.maven.plugin.taglib.util.XmlHelper;
+import io.github.weblegacy.maven.plugin.taglib.util.BuildManifest;
+import io.github.weblegacy.maven.plugin.taglib.util.ClassFile;
+import io.github.weblegacy.maven.plugin.taglib.util.ClassPath;
+import io.github.weblegacy.maven.plugin.taglib.util.Digests;
+import io.github.weblegacy.maven.plugin.taglib.util.Parallel;
 import io.github.weblegacy.tlddoc.tagfileparser.Attribute;
 import io.github.weblegacy.tlddoc.tagfileparser.Directive;
 import io.github.weblegacy.tlddoc.tagfileparser.javacc.ParseException;
 import io.github.weblegacy.tlddoc.tagfileparser.javacc.TagFile;
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.FileInputStream;
-import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
 import java.text.MessageFormat;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
 import javax.xml.parsers.DocumentBuilder;
 import org.apache.commons.beanutils.PropertyUtils;
 import org.apache.maven.plugin.AbstractMojo;
@@ -52,10 +63,8 @@ import org.apache.maven.plugin.MojoFailureException;
 import org.apache.maven.plugins.annotations.LifecyclePhase;
 import org.apache.maven.plugins.annotations.Mojo;
 import org.apache.maven.plugins.annotations.Parameter;
+import org.apache.maven.plugins.annotations.ResolutionScope;
 import org.codehaus.plexus.util.FileUtils;
-import org.jdom2.input.DOMBuilder;
-import org.jdom2.output.Format;
-import org.jdom2.output.XMLOutputter;
 import org.w3c.dom.Document;
 import org.w3c.dom.Element;
 
@@ -64,9 +73,26 @@ import org.w3c.dom.Element;
  *
  * @author Fabrizio Giustina
  */
-@Mojo(name = "tldgenerate", defaultPhase = LifecyclePhase.GENERATE_RESOURCES)
+@Mojo(name = "tldgenerate", defaultPhase = LifecyclePhase.GENERATE_RESOURCES,
+        requiresDependencyResolution = ResolutionScope.COMPILE)
 public class TldGenerateMojo extends AbstractMojo {
 
+    /**
+     * Version of the fingerprint manifest, must be incremented whenever the generated tld files
+     * change for the same inputs.
+     */
+    private static final String MANIFEST_VERSION = "3";
+
+    /**
+     * Function mode, which loads the function classes with reflection.
+     */
+    private static final String REFLECTION = "reflection";
+
+    /**
+     * Function mode, which reads the class-files of the function classes.
+     */
+    private static final String BYTECODE = "bytecode";
+
     /**
      * Directory containing tag files. Subdirectories are also processed.
      */
@@ -110,11 +136,69 @@ public class TldGenerateMojo extends AbstractMojo {
     @Parameter
     private List<Taglib> taglibs;
 
+    /**
+     * Number of threads used to parse the tag files of all taglibs. A value less than {@code 1}
+     * uses one thread per available processor.
+     *
+     * @since 3.1.0
+     */
+    @Parameter(property = "taglib.threads", defaultValue = "1")
+    private int threads;
+
+    /**
+     * How the public static methods of the {@code functionClasses} are discovered:
+     * <ul>
+     * <li>{@code reflection}: the classes are loaded and initialized with the class-loader of the
+     * plugin, project classes are not visible.</li>
+     * <li>{@code bytecode}: the class-files are read from the output directory and the compile
+     * classpath of the project, without loading the classes. The goal has to run after the
+     * classes are compiled, e.g. bound to the phase {@code process-classes}; it fails if a
+     * class-file of a function class is not found.</li>
+     * </ul>
+     *
+     * @since 3.1.0
+     */
+    @Parameter(property = "taglib.functionMode", defaultValue = REFLECTION)
+    private String functionMode;
+
+    /**
+     * The output directory and the compile classpath of the project, which are searched for
+     * function classes in {@code bytecode} mode.
+     *
+     * @since 3.1.0
+     */
+    @Parameter(defaultValue = "${project.compileClasspathElements}", readonly = true,
+            required = true)
+    private List<String> classpathElements;
+
+    /**
+     * Whether the generation is skipped if the tag files, the function classes and the
+     * configuration are unchanged since the last run. Unchanged tld files are never rewritten,
+     * regardless of this parameter.
+     *
+     * @since 3.1.0
+     */
+    @Parameter(property = "taglib.incremental", defaultValue = "true")
+    private boolean incremental;
+
+    /**
+     * The fingerprint manifest of the last run, used by the {@code incremental} mode.
+     *
+     * @since 3.1.0
+     */
+    @Parameter(defaultValue = "${project.build.directory}/taglib-cache/tldgenerate.properties")
+    private File manifestFile;
+
     @Override
     public void execute() throws MojoExecutionException, MojoFailureException {
         getLog().debug(MessageFormat.format(Messages.getString("Taglib.generating.tld"),
                 tagDir.getAbsolutePath()));
 
+        if (!REFLECTION.equals(functionMode) && !BYTECODE.equals(functionMode)) {
+            throw new MojoExecutionException("Invalid \"functionMode\" parameter "
+                    + functionMode + ", expected " + REFLECTION + " or " + BYTECODE);
+        }
+
         try {
             generateTlds();
         } catch (IOException e) {
@@ -175,25 +259,139 @@ public class TldGenerateMojo extends AbstractMojo {
             }
         }
 
+        if (BYTECODE.equals(functionMode)) {
+            checkFunctionClasses(taglibsList);
+        }
+
+        BuildManifest manifest = null;
+        if (incremental) {
+            manifest = createManifest(taglibsList);
+            if (manifest.isUpToDate(BuildManifest.load(manifestFile))) {
+                getLog().info(MessageFormat.format(Messages.getString("Taglib.generating.uptodate"),
+                        outputDir.getAbsolutePath()));
+                return;
+            }
+            BuildManifest.delete(manifestFile);
+        }
+
         try {
+            List<File> tagFiles = new ArrayList<>();
+            for (Taglib taglib : taglibsList) {
+                tagFiles.addAll(getTagFiles(taglib));
+            }
+            Map<File, List<Attribute>> tagFileElements = parseTagFiles(tagFiles);
+
             for (Taglib taglib : taglibsList) {
-                doTaglib(taglib);
+                doTaglib(taglib, tagFileElements, manifest);
             }
         } catch (IOException | MojoExecutionException e) {
             throw new MojoExecutionException(e.getMessage(), e);
         }
+
+        if (manifest != null) {
+            manifest.store(manifestFile);
+        }
+    }
+
+    /**
+     * Creates the fingerprint manifest of the inputs of the generation: the configuration, the
+     * tag files and the function classes of all taglibs.
+     *
+     * @param taglibsList the taglibs to generate
+     *
+     * @return the fingerprint manifest of the inputs
+     *
+     * @throws IOException if an input could not be read
+     */
+    private BuildManifest createManifest(List<Taglib> taglibsList) throws IOException {
+        final BuildManifest manifest = new BuildManifest();
+        manifest.put("manifest", MANIFEST_VERSION);
+        manifest.put("version", version);
+        manifest.put("outputDir", outputDir.getAbsolutePath());
+        manifest.put("functionMode", functionMode);
+
+        for (int i = 0; i < taglibsList.size(); i++) {
+            final Taglib taglib = taglibsList.get(i);
+            final String prefix = "taglib." + i + '.';
+
+            manifest.put(prefix + "shortName", taglib.getShortName());
+            manifest.put(prefix + "uri", taglib.getUri());
+            manifest.put(prefix + "description", taglib.getDescription());
+            manifest.put(prefix + "outputname", taglib.getOutputname());
+
+            final File dir = taglib.getTagdir();
+            if (dir != null) {
+                manifest.put(prefix + "tagdir", dir.getAbsolutePath());
+                for (File file : getTagFiles(taglib)) {
+                    manifest.putFile(prefix + "tagfile." + file.getName(), file);
+                }
+            }
+
+            final String[] functionClasses = taglib.getFunctionClasses();
+            if (functionClasses != null) {
+                try (ClassPath classPath = BYTECODE.equals(functionMode) ? newClassPath() : null) {
+                    for (int k = 0; k < functionClasses.length; k++) {
+                        manifest.put(prefix + "functionClass." + k + '.' + functionClasses[k],
+                                classFingerprint(functionClasses[k], classPath));
+                    }
+                }
+            }
+        }
+
+        return manifest;
+    }
+
+    /**
+     * Returns the fingerprint of the class-file of a function class.
+     *
+     * @param className the name of the function class
+     * @param classPath the class path of the project in {@code bytecode} mode, {@code null} to
+     *                  use the class-loader of the plugin
+     *
+     * @return the content hash of the class-file or an empty string if the class-file was not
+     *         found
+     *
+     * @throws IOException if the class-file could not be read
+     */
+    private String classFingerprint(String className, ClassPath classPath) throws IOException {
+        if (classPath != null) {
+            final String hash = classPath.sha256(className);
+            return hash == null ? "" : hash;
+        }
+
+        final ClassLoader classLoader = TldGenerateMojo.class.getClassLoader();
+        try (InputStream in = classLoader.getResourceAsStream(
+                className.replace('.', '/') + ".class")) {
+
+            return in == null ? "" : Digests.sha256(in);
+        }
+    }
+
+    /**
+     * Tests if a file is a tag file.
+     *
+     * @param file the file to test
+     *
+     * @return {@code true} if the file is a {@code .tag} or {@code .tagx} file
+     */
+    private static boolean isTagFile(File file) {
+        final String name = file.getName().toLowerCase();
+        return !file.isDirectory() && (name.endsWith(".tag") || name.endsWith(".tagx"));
     }
 
     /**
      * Generate tld-file from the taglib.
      *
-     * @param taglib the taglib
+     * @param taglib          the taglib
+     * @param tagFileElements the parsed sub-elements of the tag files, see
+     *                        {@link #parseTagFiles(List)}
+     * @param manifest        the fingerprint manifest to add the output to, may be {@code null}
      *
      * @throws MojoExecutionException if an error occurs during execution
      * @throws IOException            if an I/O error occurs
      */
-    private void doTaglib(Taglib taglib) throws MojoExecutionException, IOException {
-        Document doc = getTldDocument(taglib, XmlHelper.getDocumentBuilder());
+    private void doTaglib(Taglib taglib, Map<File, List<Attribute>> tagFileElements,
+            BuildManifest manifest) throws MojoExecutionException, IOException {
 
         if (taglib.getShortName() == null) {
             throw new MojoExecutionException("Missing \"shortName\" parameter for taglib "
@@ -217,9 +415,17 @@ public class TldGenerateMojo extends AbstractMojo {
         getLog().info(MessageFormat.format(Messages.getString("Taglib.generating.file"),
                 tldName, taglib.getShortName()));
 
-        try (FileOutputStream fos = new FileOutputStream(outputFile)) {
-            XMLOutputter outputter = new XMLOutputter(Format.getPrettyFormat());
-            outputter.output(new DOMBuilder().build(doc), fos);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        generateTaglib(taglib, tagFileElements, new TldWriter(out));
+        byte[] content = out.toByteArray();
+
+        if (!BuildManifest.writeIfChanged(outputFile, content)) {
+            getLog().debug(MessageFormat.format(Messages.getString("Taglib.generating.unchanged"),
+                    outputFile.getAbsolutePath()));
+        }
+
+        if (manifest != null) {
+            manifest.putOutput(outputFile, content);
         }
     }
 
@@ -232,12 +438,48 @@ public class TldGenerateMojo extends AbstractMojo {
      * @return generated tld-xml
      */
     protected Document getTldDocument(Taglib taglib, DocumentBuilder documentBuilder) {
-        Document result = documentBuilder.newDocument();
+        DocumentHandler handler = new DocumentHandler(documentBuilder.newDocument());
+        try {
+            generateTaglib(taglib, handler);
+        } catch (IOException e) {
+            // the document handler does no I/O
+            throw new UncheckedIOException(e);
+        }
+        return handler.result;
+    }
 
-        Element taglibElement = createRootTaglibNode(result, taglib.getDescription(),
-                taglib.getShortName(), taglib.getUri());
+    /**
+     * Read whole taglib-files and pass the content of the tld to a handler, while the tag files
+     * and function classes are discovered.
+     *
+     * @param taglib  the taglib
+     * @param handler the handler of the tld content
+     *
+     * @throws IOException if the tag files could not be parsed or the handler fails to process
+     *                     the content
+     */
+    void generateTaglib(Taglib taglib, TldHandler handler) throws IOException {
+        generateTaglib(taglib, parseTagFiles(getTagFiles(taglib)), handler);
+    }
+
+    /**
+     * Pass the content of the tld to a handler, while the function classes are discovered.
+     *
+     * @param taglib          the taglib
+     * @param tagFileElements the parsed sub-elements of the tag files, see
+     *                        {@link #parseTagFiles(List)}
+     * @param handler         the handler of the tld content
+     *
+     * @throws IOException if the handler fails to process the content
+     */
+    private void generateTaglib(Taglib taglib, Map<File, List<Attribute>> tagFileElements,
+            TldHandler handler) throws IOException {
 
-        if (taglib.getTagdir() != null && taglib.getTagdir().isDirectory()) {
+        handler.startTaglib(taglib.getDescription(), version, taglib.getShortName(),
+                taglib.getUri());
+
+        List<File> tagFiles = getTagFiles(taglib);
+        if (!tagFiles.isEmpty()) {
             String path = taglib.getTagdir().getAbsolutePath().replace(File.separatorChar, '/');
             int index = path.indexOf("/META-INF/");
             if (index != -1) {
@@ -249,144 +491,307 @@ public class TldGenerateMojo extends AbstractMojo {
                 path += "/";
             }
 
-            File[] files = taglib.getTagdir().listFiles();
-            if (files == null) {
-                files = new File[0];
-            }
-            for (File tag : files) {
-                if (!tag.isDirectory()
-                        && (tag.getName().toLowerCase().endsWith(".tag")
-                        || tag.getName().toLowerCase().endsWith(".tagx"))) {
-
-                    String tagName = tag.getName().substring(0, tag.getName().lastIndexOf('.'));
-                    String tagPath = path + tag.getName();
-
-                    Element tagFileElement = result.createElement("tag-file");
-                    Element nameElement = result.createElement("name");
-                    nameElement.appendChild(result.createTextNode(tagName));
-                    tagFileElement.appendChild(nameElement);
-                    Element pathElement = result.createElement("path");
-                    pathElement.appendChild(result.createTextNode(tagPath));
-                    tagFileElement.appendChild(pathElement);
-                    taglibElement.appendChild(tagFileElement);
-
-                    // tag-file Subelements
-                    // * description  (optional) A description of the tag.
-                    // * display-name (optional) Name intended to be displayed by tools.
-                    // * icon         (optional) Icon that can be used by tools.
-                    // * name                    The unique tag name.
-                    // * path                    Where to find the tag file implementing this tag,
-                    //                           relative to the root of the web application or the
-                    //                           root of the JAR file for a tag library packaged in
-                    //                           a JAR. This must begin with /WEB-INF/tags/ if the
-                    //                           tag file resides in the WAR, or /META-INF/tags/ if
-                    //                           the tag file resides in a JAR.
-                    // example        (optional) Informal description of an example use of the tag.
-                    // tag-extension  (optional) Extensions that provide extra information about the
-                    //                           tag for tools.
-                    try (InputStream is = new FileInputStream(tag)) {
-                        TagFile tagFile = TagFile.parse(is);
-
-                        for (Directive directive : tagFile.getDirectives()) {
-                            if ("tag".equals(directive.getDirectiveName())) {
-                                for (Attribute attribute : directive.getAttributes()) {
-                                    if ("description".equals(attribute.getName())
-                                            || "display-name".equals(attribute.getName())
-                                            || "example".equals(attribute.getName())) {
-
-                                        Element element = result.createElement(attribute.getName());
-                                        element.appendChild(
-                                                result.createTextNode(attribute.getValue()));
-                                        tagFileElement.appendChild(element);
-                                    }
-                                }
-                            }
-                        }
-                    } catch (IOException | ParseException e) {
-                        getLog().error(e);
+            for (File tag : tagFiles) {
+                String tagName = tag.getName().substring(0, tag.getName().lastIndexOf('.'));
+                String tagPath = path + tag.getName();
+
+                handler.startTagFile(tagName, tagPath);
+
+                List<Attribute> elements = tagFileElements.get(tag);
+                if (elements != null) {
+                    for (Attribute attribute : elements) {
+                        handler.tagFileElement(attribute.getName(), attribute.getValue());
                     }
                 }
+
+                handler.endTagFile();
             }
         }
 
-        Map<String, Integer> duplicateFunctions = new HashMap<>();
-
         if (taglib.getFunctionClasses() != null) {
-            for (String functionClassString : taglib.getFunctionClasses()) {
-                Class<?> functionClass;
-                try {
-                    functionClass = Class.forName(functionClassString);
-                } catch (ClassNotFoundException e) {
-                    getLog().error(
-                            "Unable to load function class "
-                            + functionClassString
-                            + ": "
-                            + e.getClass().getName()
-                            + " "
-                            + e.getMessage(),
-                            e);
-                    continue;
+            List<Function> functions = new ArrayList<>();
+            if (BYTECODE.equals(functionMode)) {
+                try (ClassPath classPath = newClassPath()) {
+                    for (String functionClassString : taglib.getFunctionClasses()) {
+                        addFunctions(functions, functionClassString, classPath);
+                    }
                 }
-                Method[] declaredMethods = functionClass.getDeclaredMethods();
+            } else {
+                for (String functionClassString : taglib.getFunctionClasses()) {
+                    addFunctions(functions, functionClassString);
+                }
+            }
 
-                for (Method method : declaredMethods) {
-                    if (!Modifier.isStatic(method.getModifiers())
-                            || !Modifier.isPublic(method.getModifiers())) {
-                        // not a public static method
-                        continue;
-                    }
+            Map<String, Integer> duplicateFunctions = new HashMap<>();
+
+            for (Function function : functions) {
+                String functionName = function.name;
 
-                    Element tagFileElement = result.createElement("function");
+                if (duplicateFunctions.containsKey(functionName)) {
+                    int currentNum = duplicateFunctions.get(functionName);
+                    duplicateFunctions.put(functionName, currentNum + 1);
+                    functionName = functionName + currentNum;
+                } else {
+                    duplicateFunctions.put(functionName, 1);
+                }
 
-                    String functionName = method.getName();
+                StringBuilder parameterTypesString = new StringBuilder();
+                List<String> parameterTypes = function.parameterTypes;
 
-                    if (duplicateFunctions.containsKey(functionName)) {
-                        int currentNum = duplicateFunctions.get(functionName);
-                        duplicateFunctions.put(functionName, currentNum + 1);
-                        functionName = functionName + currentNum;
-                    } else {
-                        duplicateFunctions.put(functionName, 1);
+                for (int p = 0; p < parameterTypes.size(); p++) {
+                    parameterTypesString.append(nonPrimitiveName(parameterTypes.get(p)));
+                    if (parameterTypes.size() - 1 > p) {
+                        parameterTypesString.append(", ");
                     }
+                }
+
+                handler.function(functionName, function.className,
+                        nonPrimitiveName(function.returnType)
+                        + " "
+                        + function.name
+                        + "("
+                        + parameterTypesString.toString()
+                        + ")");
+            }
+        }
 
-                    Element nameElement = result.createElement("name");
-                    nameElement.appendChild(result.createTextNode(functionName));
-                    tagFileElement.appendChild(nameElement);
+        handler.endTaglib();
+    }
+
+    /**
+     * Adds the public static methods of a function class, which is loaded with the class-loader
+     * of the plugin.
+     *
+     * @param functions           the functions to add to
+     * @param functionClassString the name of the function class
+     */
+    private void addFunctions(List<Function> functions, String functionClassString) {
+        Class<?> functionClass;
+        try {
+            functionClass = Class.forName(functionClassString);
+        } catch (ClassNotFoundException e) {
+            getLog().error(
+                    "Unable to load function class "
+                    + functionClassString
+                    + ": "
+                    + e.getClass().getName()
+                    + " "
+                    + e.getMessage(),
+                    e);
+            return;
+        }
 
-                    Element classElement = result.createElement("function-class");
-                    classElement.appendChild(result.createTextNode(
-                            method.getDeclaringClass().getName()));
-                    tagFileElement.appendChild(classElement);
+        List<Function> classFunctions = new ArrayList<>();
+        for (Method method : functionClass.getDeclaredMethods()) {
+            if (!Modifier.isStatic(method.getModifiers())
+                    || !Modifier.isPublic(method.getModifiers())) {
+                // not a public static method
+                continue;
+            }
 
-                    StringBuilder parameterTypesString = new StringBuilder();
-                    Class<?>[] parameterTypes = method.getParameterTypes();
+            List<String> parameterTypes = new ArrayList<>();
+            for (Class<?> param : method.getParameterTypes()) {
+                parameterTypes.add(param.getCanonicalName());
+            }
 
-                    for (int p = 0; p < parameterTypes.length; p++) {
-                        Class<?> param = parameterTypes[p];
-                        parameterTypesString.append(nonPrimitiveName(param.getCanonicalName()));
-                        if (parameterTypes.length - 1 > p) {
-                            parameterTypesString.append(", ");
-                        }
+            classFunctions.add(new Function(method.getName(),
+                    MethodType.methodType(method.getReturnType(), method.getParameterTypes())
+                            .toMethodDescriptorString(),
+                    method.getDeclaringClass().getName(),
+                    method.getReturnType().getCanonicalName(), parameterTypes));
+        }
+
+        classFunctions.sort(null);
+        functions.addAll(classFunctions);
+    }
+
+    /**
+     * Adds the public static methods of a function class, which are read from its class-file
+     * without loading the class.
+     *
+     * @param functions           the functions to add to
+     * @param functionClassString the name of the function class
+     * @param classPath           the class path of the project
+     *
+     * @throws IOException if the class-file could not be read
+     */
+    private void addFunctions(List<Function> functions, String functionClassString,
+            ClassPath classPath) throws IOException {
+
+        ClassFile classFile = classPath.load(functionClassString);
+        if (classFile == null) {
+            throw new IOException(functionClassNotFound(functionClassString));
+        }
+
+        List<Function> classFunctions = new ArrayList<>();
+        for (ClassFile.MethodInfo method : classFile.getMethods()) {
+            if (method.isPublicStatic()) {
+                classFunctions.add(new Function(method.getName(), method.getDescriptor(),
+                        classFile.getName(), method.getReturnType(),
+                        method.getParameterTypes()));
+            }
+        }
+
+        classFunctions.sort(null);
+        functions.addAll(classFunctions);
+    }
+
+    /**
+     * Checks that the class-files of all function classes are found in {@code bytecode} mode,
+     * before anything is generated or recorded in the manifest.
+     *
+     * @param taglibsList the taglibs to generate
+     *
+     * @throws MojoExecutionException if a class-file of a function class was not found
+     * @throws IOException            if a class-file could not be read
+     */
+    private void checkFunctionClasses(List<Taglib> taglibsList)
+            throws MojoExecutionException, IOException {
+
+        try (ClassPath classPath = newClassPath()) {
+            for (Taglib taglib : taglibsList) {
+                final String[] functionClasses = taglib.getFunctionClasses();
+                if (functionClasses == null) {
+                    continue;
+                }
+                for (String functionClass : functionClasses) {
+                    if (classPath.load(functionClass) == null) {
+                        throw new MojoExecutionException(functionClassNotFound(functionClass));
                     }
+                }
+            }
+        }
+    }
 
-                    Element signatureElement = result.createElement("function-signature");
-                    signatureElement.appendChild(result.createTextNode(nonPrimitiveName(method
-                            .getReturnType()
-                            .getCanonicalName())
-                            + " "
-                            + method.getName()
-                            + "("
-                            + parameterTypesString.toString()
-                            + ")"));
-                    tagFileElement.appendChild(signatureElement);
+    /**
+     * Returns the error message of a function class, whose class-file was not found.
+     *
+     * @param className the name of the function class
+     *
+     * @return the error message
+     */
+    private String functionClassNotFound(String className) {
+        return "Unable to load function class " + className + ": class-file not found in "
+                + classpathElements + ". With functionMode \"" + BYTECODE
+                + "\" the goal has to run after the classes are compiled, e.g. in phase"
+                + " process-classes";
+    }
 
-                    taglibElement.appendChild(tagFileElement);
+    /**
+     * Creates the class path of the project, which is searched in {@code bytecode} mode.
+     *
+     * @return the class path
+     */
+    private ClassPath newClassPath() {
+        List<File> elements = new ArrayList<>();
+        if (classpathElements != null) {
+            for (String element : classpathElements) {
+                elements.add(new File(element));
+            }
+        }
+        return new ClassPath(elements);
+    }
 
+    /**
+     * Returns the tag files of a taglib, sorted by name.
+     *
+     * @param taglib the taglib
+     *
+     * @return the tag files, never {@code null}
+     */
+    private static List<File> getTagFiles(Taglib taglib) {
+        List<File> tagFiles = new ArrayList<>();
+
+        File[] files = taglib.getTagdir() == null ? null : taglib.getTagdir().listFiles();
+        if (files != null) {
+            for (File file : files) {
+                if (isTagFile(file)) {
+                    tagFiles.add(file);
                 }
+            }
+        }
+
+        tagFiles.sort(Comparator.comparing(File::getName));
+        return tagFiles;
+    }
 
+    /**
+     * Parses the tag files concurrently and returns the sub-elements of their {@code tag-file}
+     * elements. A tag file, which could not be parsed, is logged and has no sub-elements.
+     *
+     * @param tagFiles the tag files to parse
+     *
+     * @return the sub-elements per tag file in the order of the tag directives
+     *
+     * @throws IOException if the parsing was interrupted
+     */
+    private Map<File, List<Attribute>> parseTagFiles(List<File> tagFiles) throws IOException {
+        List<List<Attribute>> results;
+        try {
+            results = Parallel.map(threads, tagFiles, this::parseTagFile);
+        } catch (ExecutionException e) {
+            final Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IOException(cause);
+        }
+
+        Map<File, List<Attribute>> tagFileElements = new HashMap<>();
+        for (int i = 0; i < tagFiles.size(); i++) {
+            tagFileElements.put(tagFiles.get(i), results.get(i));
+        }
+        return tagFileElements;
+    }
+
+    /**
+     * Parses a tag file and returns the sub-elements of its {@code tag-file} element.
+     *
+     * @param tag the tag file
+     *
+     * @return the sub-elements in the order of the tag directives
+     */
+    private List<Attribute> parseTagFile(File tag) {
+        // tag-file Subelements
+        // * description  (optional) A description of the tag.
+        // * display-name (optional) Name intended to be displayed by tools.
+        // * icon         (optional) Icon that can be used by tools.
+        // * name                    The unique tag name.
+        // * path                    Where to find the tag file implementing this tag,
+        //                           relative to the root of the web application or the
+        //                           root of the JAR file for a tag library packaged in
+        //                           a JAR. This must begin with /WEB-INF/tags/ if the
+        //                           tag file resides in the WAR, or /META-INF/tags/ if
+        //                           the tag file resides in a JAR.
+        // example        (optional) Informal description of an example use of the tag.
+        // tag-extension  (optional) Extensions that provide extra information about the
+        //                           tag for tools.
+        List<Attribute> elements = new ArrayList<>();
+
+        try (InputStream is = new BufferedInputStream(new FileInputStream(tag))) {
+            TagFile tagFile = TagFile.parse(is);
+
+            for (Directive directive : tagFile.getDirectives()) {
+                if ("tag".equals(directive.getDirectiveName())) {
+                    for (Attribute attribute : directive.getAttributes()) {
+                        if ("description".equals(attribute.getName())
+                                || "display-name".equals(attribute.getName())
+                                || "example".equals(attribute.getName())) {
+
+                            elements.add(attribute);
+                        }
+                    }
+                }
             }
+        } catch (IOException | ParseException e) {
+            getLog().error(e);
+            return Collections.emptyList();
         }
 
-        return result;
+        return elements;
     }
 
     private String nonPrimitiveName(String string) {
@@ -453,4 +858,143 @@ public class TldGenerateMojo extends AbstractMojo {
 
         return taglibElement;
     }
+
+    /**
+     * Builds the tld content as DOM-document.
+     */
+    private final class DocumentHandler implements TldHandler {
+
+        /**
+         * The resulting tld-xml.
+         */
+        private final Document result;
+
+        /**
+         * The root-element of the tld-xml.
+         */
+        private Element taglibElement;
+
+        /**
+         * The current {@code tag-file} element.
+         */
+        private Element tagFileElement;
+
+        /**
+         * Creates a handler.
+         *
+         * @param result the empty document to fill
+         */
+        DocumentHandler(Document result) {
+            this.result = result;
+        }
+
+        @Override
+        public void startTaglib(String description, String version, String shortName,
+                String uri) {
+
+            taglibElement = createRootTaglibNode(result, description, shortName, uri);
+        }
+
+        @Override
+        public void startTagFile(String name, String path) {
+            tagFileElement = result.createElement("tag-file");
+            tagFileElement.appendChild(createElement("name", name));
+            tagFileElement.appendChild(createElement("path", path));
+            taglibElement.appendChild(tagFileElement);
+        }
+
+        @Override
+        public void tagFileElement(String name, String value) {
+            tagFileElement.appendChild(createElement(name, value));
+        }
+
+        @Override
+        public void endTagFile() {
+            tagFileElement = null;
+        }
+
+        @Override
+        public void function(String name, String functionClass, String signature) {
+            Element functionElement = result.createElement("function");
+            functionElement.appendChild(createElement("name", name));
+            functionElement.appendChild(createElement("function-class", functionClass));
+            functionElement.appendChild(createElement("function-signature", signature));
+            taglibElement.appendChild(functionElement);
+        }
+
+        @Override
+        public void endTaglib() {
+            // nothing to do
+        }
+
+        /**
+         * Creates an element with text content.
+         *
+         * @param name  the name of the element
+         * @param value the text of the element
+         *
+         * @return the element
+         */
+        private Element createElement(String name, String value) {
+            Element element = result.createElement(name);
+            element.appendChild(result.createTextNode(value));
+            return element;
+        }
+    }
+
+    /**
+     * A public static method of a function class.
+     */
+    private static final class Function implements Comparable<Function> {
+
+        /**
+         * The name of the method.
+         */
+        private final String name;
+
+        /**
+         * The descriptor of the method, which orders overloaded methods.
+         */
+        private final String descriptor;
+
+        /**
+         * The binary name of the declaring class.
+         */
+        private final String className;
+
+        /**
+         * The canonical name of the return type.
+         */
+        private final String returnType;
+
+        /**
+         * The canonical names of the parameter types.
+         */
+        private final List<String> parameterTypes;
+
+        /**
+         * Creates a function.
+         *
+         * @param name           the name of the method
+         * @param descriptor     the descriptor of the method
+         * @param className      the binary name of the declaring class
+         * @param returnType     the canonical name of the return type
+         * @param parameterTypes the canonical names of the parameter types
+         */
+        Function(String name, String descriptor, String className, String returnType,
+                List<String> parameterTypes) {
+
+            this.name = name;
+            this.descriptor = descriptor;
+            this.className = className;
+            this.returnType = returnType;
+            this.parameterTypes = parameterTypes;
+        }
+
+        @Override
+        public int compareTo(Function other) {
+            int result = name.compareTo(other.name);
+            return result != 0 ? result : descriptor.compareTo(other.descriptor);
+        }
+    }
 }
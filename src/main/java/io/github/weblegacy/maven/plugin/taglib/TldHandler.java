@@ -0,0 +1,94 @@
+/*
+ * The MIT License
+ * Copyright © 2004-2014 Fabrizio Giustina
+ * Copyright © 2022-2026 Web-Legacy
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package io.github.weblegacy.maven.plugin.taglib;
+
+import java.io.IOException;
+
+/**
+ * Receives the content of a generated tld in document order, while the tag files and function
+ * classes of a taglib are discovered.
+ *
+ * @author Stefan Graff
+ */
+interface TldHandler {
+
+    /**
+     * Starts the {@code taglib} root element with its header elements.
+     *
+     * @param description description of the taglib
+     * @param version     version of the taglib
+     * @param shortName   short-name of the taglib
+     * @param uri         uri of the taglib
+     *
+     * @throws IOException if an I/O error occurs
+     */
+    void startTaglib(String description, String version, String shortName, String uri)
+            throws IOException;
+
+    /**
+     * Starts a {@code tag-file} element with its {@code name} and {@code path} elements.
+     *
+     * @param name the name of the tag
+     * @param path the path of the tag file
+     *
+     * @throws IOException if an I/O error occurs
+     */
+    void startTagFile(String name, String path) throws IOException;
+
+    /**
+     * Adds a sub-element to the current {@code tag-file} element.
+     *
+     * @param name  the name of the element
+     * @param value the text of the element
+     *
+     * @throws IOException if an I/O error occurs
+     */
+    void tagFileElement(String name, String value) throws IOException;
+
+    /**
+     * Ends the current {@code tag-file} element.
+     *
+     * @throws IOException if an I/O error occurs
+     */
+    void endTagFile() throws IOException;
+
+    /**
+     * Adds a {@code function} element.
+     *
+     * @param name          the name of the function
+     * @param functionClass the name of the class of the function
+     * @param signature     the signature of the function
+     *
+     * @throws IOException if an I/O error occurs
+     */
+    void function(String name, String functionClass, String signature) throws IOException;
+
+    /**
+     * Ends the {@code taglib} root element.
+     *
+     * @throws IOException if an I/O error occurs
+     */
+    void endTaglib() throws IOException;
+}
@@ -0,0 +1,142 @@
+/*
+ * The MIT License
+ * Copyright © 2004-2014 Fabrizio Giustina
+ * Copyright © 2022-2026 Web-Legacy
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package io.github.weblegacy.maven.plugin.taglib;
+
+import io.github.weblegacy.maven.plugin.taglib.checker.Tld;
+import io.github.weblegacy.maven.plugin.taglib.checker.TldCache;
+import io.github.weblegacy.maven.plugin.taglib.checker.TldStreamParser;
+import io.github.weblegacy.maven.plugin.taglib.util.Parallel;
+import java.io.File;
+import java.io.IOException;
+import java.text.MessageFormat;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.xml.stream.XMLStreamException;
+import org.apache.maven.plugin.logging.Log;
+import org.codehaus.plexus.util.FileUtils;
+
+/**
+ * Loads the tld files of a directory for the report and the build goals of this plugin.
+ *
+ * @author Stefan Graff
+ */
+final class TldLoader {
+
+    /**
+     * Don't instantiate.
+     */
+    private TldLoader() {
+        // unused
+    }
+
+    /**
+     * Loads all tld files from a directory. The files are read with the {@link TldStreamParser},
+     * so no DOM is built for them. With more than one {@code threads} the files are parsed
+     * concurrently, each worker thread with its own parser. If a cache directory is given,
+     * unchanged tld files are loaded from the {@link TldCache}.
+     *
+     * @param log                    the logger
+     * @param srcDir                 the directory containing the tld files
+     * @param dontRecurseIntoSubdirs whether the subdirectories of {@code srcDir} are skipped
+     * @param threads                the configured number of threads
+     * @param cacheDirectory         the directory of the cache, {@code null} for no cache
+     *
+     * @return all loaded tld files, sorted by their path
+     *
+     * @throws IOException if {@code srcDir} is not a directory or a tld file could not be parsed
+     */
+    static List<Tld> load(Log log, File srcDir, boolean dontRecurseIntoSubdirs, int threads,
+            File cacheDirectory) throws IOException {
+
+        if (!srcDir.isDirectory()) {
+            throw new IOException(MessageFormat.format(
+                    Messages.getString("Taglib.notadir"), srcDir.getAbsolutePath()));
+        }
+
+        log.debug(MessageFormat.format(
+                Messages.getString("Taglib.validating"), srcDir.getAbsolutePath()));
+
+        final String searchprefix = dontRecurseIntoSubdirs ? "" : "**/";
+
+        final List<File> tlds = FileUtils.getFiles(srcDir, searchprefix + "*.tld", null);
+        Collections.sort(tlds);
+
+        final ThreadLocal<TldStreamParser> parsers = ThreadLocal.withInitial(TldStreamParser::new);
+
+        final TldCache cache = cacheDirectory == null ? null : new TldCache(cacheDirectory);
+        final AtomicInteger cacheHits = new AtomicInteger();
+
+        final List<Tld> tldList;
+        try {
+            tldList = Parallel.map(threads, tlds, current -> {
+                try {
+                    if (cache == null) {
+                        return parsers.get().parse(current);
+                    }
+
+                    final TldCache.Key key = TldCache.Key.of(current);
+                    Tld tld = cache.get(key);
+                    if (tld != null) {
+                        cacheHits.incrementAndGet();
+                        return tld;
+                    }
+
+                    tld = parsers.get().parse(current);
+                    try {
+                        cache.put(key, tld);
+                    } catch (IOException e) {
+                        log.warn(MessageFormat.format(
+                                Messages.getString("Taglib.cache.writeerror"),
+                                current.getAbsolutePath(), e.getMessage()));
+                    }
+                    return tld;
+                } catch (IOException | XMLStreamException e) {
+                    throw new IOException(MessageFormat.format(
+                            Messages.getString("Taglib.errorwhileparsing"),
+                            current.getAbsolutePath()), e);
+                }
+            });
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            throw new IOException(e.getMessage(), e);
+        }
+
+        if (cache != null) {
+            log.debug(MessageFormat.format(Messages.getString("Taglib.cache.hits"),
+                    cacheHits.get(), tldList.size(), cacheDirectory.getAbsolutePath()));
+        }
+
+        if (tldList.isEmpty()) {
+            log.info(MessageFormat.format(
+                    Messages.getString("Taglib.notldfound"), srcDir.getAbsolutePath()));
+        }
+
+        return tldList;
+    }
+}
@@ -0,0 +1,233 @@
+/*
+ * The MIT License
+ * Copyright © 2004-2014 Fabrizio Giustina
+ * Copyright © 2022-2026 Web-Legacy
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package io.github.weblegacy.maven.plugin.taglib;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Writes a generated tld directly to a stream, without building a document in memory. The output
+ * is byte-compatible with the pretty format of JDOM, which was used before: UTF-8, CRLF line
+ * separators, an indent of two spaces, trimmed text and {@code <name />} for empty elements.
+ *
+ * @author Stefan Graff
+ */
+final class TldWriter implements TldHandler {
+
+    /**
+     * The line separator.
+     */
+    private static final String EOL = "\r\n";
+
+    /**
+     * The namespace of the tld.
+     */
+    private static final String NAMESPACE = "http://java.sun.com/xml/ns/javaee";
+
+    /**
+     * The start-tag of the root element.
+     */
+    private static final String TAGLIB_START = "<taglib xmlns=\"" + NAMESPACE + "\""
+            + " xmlns:xsi=\"http://www.w3.org/2001/XMLSchema-instance\" version=\"2.1\""
+            + " xsi:schemaLocation=\"" + NAMESPACE + " " + NAMESPACE
+            + "/web-jsptaglibrary_2_1.xsd\">";
+
+    /**
+     * The writer of the output.
+     */
+    private final Writer out;
+
+    /**
+     * Creates a writer.
+     *
+     * @param out the stream of the tld, which is not closed by this writer
+     */
+    TldWriter(OutputStream out) {
+        this.out = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+    }
+
+    @Override
+    public void startTaglib(String description, String version, String shortName, String uri)
+            throws IOException {
+
+        out.write("<?xml version=\"1.0\" encoding=\"UTF-8\"?>");
+        out.write(EOL);
+        out.write(TAGLIB_START);
+        out.write(EOL);
+        element(1, "description", description);
+        element(1, "tlib-version", version);
+        element(1, "short-name", shortName);
+        element(1, "uri", uri);
+    }
+
+    @Override
+    public void startTagFile(String name, String path) throws IOException {
+        out.write("  <tag-file>");
+        out.write(EOL);
+        element(2, "name", name);
+        element(2, "path", path);
+    }
+
+    @Override
+    public void tagFileElement(String name, String value) throws IOException {
+        element(2, name, value);
+    }
+
+    @Override
+    public void endTagFile() throws IOException {
+        out.write("  </tag-file>");
+        out.write(EOL);
+    }
+
+    @Override
+    public void function(String name, String functionClass, String signature)
+            throws IOException {
+
+        out.write("  <function>");
+        out.write(EOL);
+        element(2, "name", name);
+        element(2, "function-class", functionClass);
+        element(2, "function-signature", signature);
+        out.write("  </function>");
+        out.write(EOL);
+    }
+
+    @Override
+    public void endTaglib() throws IOException {
+        out.write("</taglib>");
+        out.write(EOL);
+        out.flush();
+    }
+
+    /**
+     * Writes an element with text content on its own line.
+     *
+     * @param level the indent level
+     * @param name  the name of the element
+     * @param value the text of the element, {@code null} is written as empty element
+     *
+     * @throws IOException if an I/O error occurs
+     */
+    private void element(int level, String name, String value) throws IOException {
+        for (int i = 0; i < level; i++) {
+            out.write("  ");
+        }
+
+        final String text = trim(value);
+        out.write('<');
+        out.write(name);
+        if (text.isEmpty()) {
+            out.write(" />");
+        } else {
+            out.write('>');
+            escape(text);
+            out.write("</");
+            out.write(name);
+            out.write('>');
+        }
+        out.write(EOL);
+    }
+
+    /**
+     * Removes the xml whitespace at both ends of a text.
+     *
+     * @param value the text, may be {@code null}
+     *
+     * @return the trimmed text, never {@code null}
+     */
+    private static String trim(String value) {
+        if (value == null) {
+            return "";
+        }
+
+        int start = 0;
+        int end = value.length();
+        while (start < end && isWhitespace(value.charAt(start))) {
+            start++;
+        }
+        while (end > start && isWhitespace(value.charAt(end - 1))) {
+            end--;
+        }
+        return value.substring(start, end);
+    }
+
+    /**
+     * Tests if a character is xml whitespace.
+     *
+     * @param c the character
+     *
+     * @return {@code true} for space, tab, carriage return and line feed
+     */
+    private static boolean isWhitespace(char c) {
+        return c == ' ' || c == '\t' || c == '\r' || c == '\n';
+    }
+
+    /**
+     * Writes escaped text content. Line feeds are written as line separator, carriage returns
+     * and supplementary characters as character references.
+     *
+     * @param text the text
+     *
+     * @throws IOException if an I/O error occurs
+     */
+    private void escape(String text) throws IOException {
+        final int length = text.length();
+        for (int i = 0; i < length; i++) {
+            final char c = text.charAt(i);
+            switch (c) {
+                case '<':
+                    out.write("&lt;");
+                    break;
+                case '>':
+                    out.write("&gt;");
+                    break;
+                case '&':
+                    out.write("&amp;");
+                    break;
+                case '\r':
+                    out.write("&#xD;");
+                    break;
+                case '\n':
+                    out.write(EOL);
+                    break;
+                default:
+                    if (Character.isHighSurrogate(c) && i + 1 < length
+                            && Character.isLowSurrogate(text.charAt(i + 1))) {
+                        out.write("&#x");
+                        out.write(Integer.toHexString(Character.toCodePoint(c,
+                                text.charAt(++i))));
+                        out.write(';');
+                    } else {
+                        out.write(c);
+                    }
+                    break;
+            }
+        }
+    }
+}
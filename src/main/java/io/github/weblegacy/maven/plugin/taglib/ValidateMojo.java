@@ -25,17 +25,23 @@
 package io.github.weblegacy.maven.plugin.taglib;
 
 import io.github.weblegacy.maven.plugin.taglib.checker.Tld;
+import io.github.weblegacy.maven.plugin.taglib.util.ProjectClassLoaders;
+import io.github.weblegacy.maven.plugin.taglib.validation.JUnitExporter;
+import io.github.weblegacy.maven.plugin.taglib.validation.JsonLinesExporter;
+import io.github.weblegacy.maven.plugin.taglib.validation.SarifExporter;
+import io.github.weblegacy.maven.plugin.taglib.validation.ValidationExporter;
+import io.github.weblegacy.maven.plugin.taglib.validation.ValidationResult;
 import java.io.File;
-import java.net.MalformedURLException;
-import java.net.URL;
-import java.net.URLClassLoader;
-import java.security.AccessController;
-import java.security.PrivilegedAction;
+import java.io.IOException;
+import java.text.MessageFormat;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Locale;
+import javax.inject.Inject;
 import org.apache.maven.artifact.DependencyResolutionRequiredException;
+import org.apache.maven.execution.MavenSession;
 import org.apache.maven.plugins.annotations.Mojo;
+import org.apache.maven.plugins.annotations.Parameter;
 import org.apache.maven.reporting.MavenReportException;
 
 /**
@@ -46,6 +52,79 @@ import org.apache.maven.reporting.MavenReportException;
 @Mojo(name = "validate")
 public class ValidateMojo extends AbstractReportMojoEx {
 
+    /**
+     * How the tag handler, TagExtraInfo and EL function classes are validated:
+     * <ul>
+     * <li>{@code reflection}: the classes are loaded, initialized and instantiated with the
+     * class-loader of the project.</li>
+     * <li>{@code bytecode}: the class-files are read from the output directory and the compile
+     * classpath of the project, no class is loaded, initialized or instantiated.</li>
+     * </ul>
+     *
+     * @since 3.1.0
+     */
+    @Parameter(property = "taglib.validationMode", defaultValue = TaglibValidator.REFLECTION)
+    private String validationMode;
+
+    /**
+     * The timeout in seconds to load, initialize and instantiate a tag handler, TagExtraInfo or
+     * EL function class in {@code reflection} mode. A class, which blocks longer, is reported as
+     * error and the validation continues with the next class. With a timeout, which is the
+     * default, every class is inspected on one of {@code threads} worker threads, each blocking
+     * class adds one worker to replace the worker left behind. A value less than {@code 1}
+     * validates the classes on the build threads without timeout.
+     *
+     * @since 3.1.0
+     */
+    @Parameter(property = "taglib.validationTimeout", defaultValue = "30")
+    private int validationTimeout;
+
+    /**
+     * The machine-readable formats, in which the validation results are exported to the
+     * {@code exportDirectory} besides the report:
+     * <ul>
+     * <li>{@code json}: the failed checks as JSON Lines in {@code taglib-validation.jsonl}</li>
+     * <li>{@code sarif}: the failed checks as SARIF 2.1.0 log in
+     * {@code taglib-validation.sarif}</li>
+     * <li>{@code junit}: all checks as JUnit XML report in
+     * {@code TEST-taglib-validation.xml}</li>
+     * </ul>
+     *
+     * @since 3.1.0
+     */
+    @Parameter(property = "taglib.exportFormats")
+    private List<String> exportFormats;
+
+    /**
+     * Directory of the exported validation results.
+     *
+     * @since 3.1.0
+     */
+    @Parameter(property = "taglib.exportDirectory",
+            defaultValue = "${project.build.directory}/taglib-validation")
+    private File exportDirectory;
+
+    /**
+     * The current session.
+     */
+    @Parameter(defaultValue = "${session}", readonly = true, required = true)
+    private MavenSession session;
+
+    /**
+     * Provider of the class-loaders of the projects.
+     */
+    private final ProjectClassLoaders classLoaders;
+
+    /**
+     * Entry-point of this MoJo.
+     *
+     * @param classLoaders provider of the class-loaders of the projects
+     */
+    @Inject
+    public ValidateMojo(final ProjectClassLoaders classLoaders) {
+        this.classLoaders = classLoaders;
+    }
+
     @Override
     public String getName(Locale locale) {
         return Messages.getString(locale, "Validate.name");
@@ -73,24 +152,70 @@ public class ValidateMojo extends AbstractReportMojoEx {
             throw new MavenReportException(e.getMessage(), e);
         }
 
-        final List<URL> urls = new ArrayList<>(classPathStrings.size());
+        final List<File> classpathElements = new ArrayList<>(classPathStrings.size());
         for (String classPathString : classPathStrings) {
-            try {
-                urls.add(new File(classPathString).toURI().toURL());
-            } catch (MalformedURLException e) {
-                throw new MavenReportException(e.getMessage(), e);
-            }
+            classpathElements.add(new File(classPathString));
+        }
+
+        final List<ValidationResult> results;
+        try {
+            final TaglibValidator.ClassLoaderProvider classLoader = apiElements
+                    -> classLoaders.get(session, project, classpathElements, apiElements, getLog());
+            results = new TaglibValidator(getLog(), classpathElements, validationMode, threads,
+                    useCache ? cacheDirectory : null, classLoader, validationTimeout)
+                    .validate(tldList, 0);
+        } catch (IllegalArgumentException | IOException e) {
+            throw new MavenReportException(e.getMessage(), e);
         }
 
-        URLClassLoader projectClassLoader = AccessController.doPrivileged(
-                (PrivilegedAction<URLClassLoader>) ()
-                -> new URLClassLoader(urls.toArray(URL[]::new), null)
-        );
+        if (exportFormats != null) {
+            for (String exportFormat : exportFormats) {
+                export(exportFormat, results);
+            }
+        }
 
-        ValidateRenderer r = new ValidateRenderer(getSink(), locale,
-                tldList.toArray(Tld[]::new), getLog(),
-                projectClassLoader);
+        ValidateRenderer r = new ValidateRenderer(getSink(), locale, results);
 
         r.render();
     }
+
+    /**
+     * Exports the validation results in a machine-readable format.
+     *
+     * @param format  the format of the export
+     * @param results the validation results
+     *
+     * @throws MavenReportException if the format is unknown or the export could not be written
+     */
+    private void export(String format, List<ValidationResult> results)
+            throws MavenReportException {
+
+        final File file;
+        switch (format) {
+            case "json":
+                file = new File(exportDirectory, "taglib-validation.jsonl");
+                break;
+            case "sarif":
+                file = new File(exportDirectory, "taglib-validation.sarif");
+                break;
+            case "junit":
+                file = new File(exportDirectory, "TEST-taglib-validation.xml");
+                break;
+            default:
+                throw new MavenReportException("Invalid \"exportFormats\" parameter " + format
+                        + ", expected json, sarif or junit");
+        }
+
+        getLog().debug(MessageFormat.format(Messages.getString("Validate.exporting"), format,
+                file.getAbsolutePath()));
+
+        try (ValidationExporter exporter = "json".equals(format) ? new JsonLinesExporter(file)
+                : "sarif".equals(format) ? new SarifExporter(file) : new JUnitExporter(file)) {
+            for (ValidationResult result : results) {
+                exporter.export(result);
+            }
+        } catch (IOException e) {
+            throw new MavenReportException(e.getMessage(), e);
+        }
+    }
 }
@@ -24,28 +24,23 @@
 
 package io.github.weblegacy.maven.plugin.taglib;
 
-import io.github.weblegacy.maven.plugin.taglib.checker.ElFunction;
-import io.github.weblegacy.maven.plugin.taglib.checker.Tag;
-import io.github.weblegacy.maven.plugin.taglib.checker.TagAttribute;
 import io.github.weblegacy.maven.plugin.taglib.checker.Tld;
-import io.github.weblegacy.maven.plugin.taglib.util.JspCheck;
-import io.github.weblegacy.maven.plugin.taglib.util.JspClass;
-import java.lang.reflect.Array;
-import java.lang.reflect.InvocationTargetException;
-import java.lang.reflect.Method;
+import io.github.weblegacy.maven.plugin.taglib.validation.ValidationError;
+import io.github.weblegacy.maven.plugin.taglib.validation.ValidationResult;
+import io.github.weblegacy.maven.plugin.taglib.validation.ValidationResult.AttributeResult;
+import io.github.weblegacy.maven.plugin.taglib.validation.ValidationResult.ClassResult;
+import io.github.weblegacy.maven.plugin.taglib.validation.ValidationResult.FunctionResult;
+import io.github.weblegacy.maven.plugin.taglib.validation.ValidationResult.TagResult;
+import java.io.File;
 import java.text.MessageFormat;
-import java.util.ArrayList;
 import java.util.List;
 import java.util.Locale;
-import org.apache.commons.beanutils.PropertyUtils;
 import org.apache.commons.lang3.StringUtils;
-import org.apache.commons.lang3.Strings;
 import org.apache.maven.doxia.sink.Sink;
-import org.apache.maven.plugin.logging.Log;
 import org.apache.maven.reporting.AbstractMavenReportRenderer;
 
 /**
- * Validates tag handler classes fount in tlds.
+ * Renders the validation results of tag handler classes fount in tlds.
  *
  * @author Fabrizio Giustina
  */
@@ -92,45 +87,24 @@ public class ValidateRenderer extends AbstractMavenTaglibReportRenderer {
     private static final String IMAGE_SUCCESS_SRC = Messages.getString("Validate.image.success");
 
     /**
-     * List of TLDs to check.
+     * The validation results of the TLDs.
      */
-    private final Tld[] tlds;
-
-    /**
-     * For logging.
-     */
-    private final Log log;
-
-    /**
-     * The class-loader for the project.
-     */
-    private final ClassLoader projectClassLoader;
-
-    /**
-     * Utility to check for the loaded Jsp-Classes.
-     */
-    private final JspCheck jspCheck;
+    private final List<ValidationResult> results;
 
     /**
      * The class-constructor.
      *
-     * @param sink               the sink to use.
-     * @param locale             the wanted locale to return the report's description, could be
-     *                           <code>null</code>.
-     * @param tlds               list of TLDs to check.
-     * @param log                the logger that has been injected into this mojo.
-     * @param projectClassLoader ClassLoader for all compile-classpaths
+     * @param sink    the sink to use.
+     * @param locale  the wanted locale to return the report's description, could be
+     *                <code>null</code>.
+     * @param results the validation results of the TLDs, see
+     *                {@link io.github.weblegacy.maven.plugin.taglib.validation.ValidationEngine}
      */
-    public ValidateRenderer(final Sink sink, final Locale locale, final Tld[] tlds, final Log log,
-            final ClassLoader projectClassLoader) {
+    public ValidateRenderer(final Sink sink, final Locale locale,
+            final List<ValidationResult> results) {
 
         super(sink, locale);
-        this.tlds = tlds;
-        this.log = log;
-        this.projectClassLoader = projectClassLoader;
-
-        // Load all jsp-classes for all namespaces.
-        this.jspCheck = new JspCheck(log, projectClassLoader);
+        this.results = results;
     }
 
     @Override
@@ -139,13 +113,7 @@ public class ValidateRenderer extends AbstractMavenTaglibReportRenderer {
     }
 
     /**
-     * Check the given tld. Assure that:
-     * <ul>
-     * <li>Any tag class is loadable</li>
-     * <li>the tag class has a setter for any of the declared attribute</li>
-     * <li>the type declared in the dtd for an attribute (if any) matches the type accepted by the
-     * getter</li>
-     * </ul>
+     * Renders the validation results of all TLDs.
      *
      * @see AbstractMavenReportRenderer#renderBody()
      */
@@ -157,7 +125,8 @@ public class ValidateRenderer extends AbstractMavenTaglibReportRenderer {
         paragraph(getMessageString("Validate.intro2"));
 
         sink.list();
-        for (Tld tld : tlds) {
+        for (ValidationResult result : results) {
+            Tld tld = result.getTld();
 
             sink.listItem();
             sink.link("#" + tld.getFilename());
@@ -173,53 +142,43 @@ public class ValidateRenderer extends AbstractMavenTaglibReportRenderer {
 
         endSection();
 
-        for (Tld tld : tlds) {
-            checkTld(tld);
+        for (ValidationResult result : results) {
+            renderTld(result);
         }
 
         sink.body_();
     }
 
     /**
-     * Checks a single tld and returns validation results.
+     * Renders the validation results of a single tld.
      *
-     * @param tld Tld
+     * @param result the validation results of the tld
      */
-    private void checkTld(Tld tld) {
+    private void renderTld(ValidationResult result) {
+        Tld tld = result.getTld();
+
         // new section for each tld
         sink.anchor(tld.getFilename());
         sink.anchor_();
         startSection(StringUtils.defaultIfEmpty(tld.getName(),
                 tld.getShortname()) + ' ' + tld.getFilename());
 
-        doTags(tld.getTags(), tld.getShortname());
-        doFunctions(tld.getFunctions(), tld.getShortname());
+        for (TagResult tag : result.getTags()) {
+            renderTag(tld.getShortname(), tag);
+        }
+        renderFunctions(result.getFunctions(), tld.getShortname());
 
         endSection();
     }
 
     /**
-     * Checks the tags and returns validation results.
+     * Renders the validation results of the functions.
      *
-     * @param tags      tags of the Tld
+     * @param functions the validation results of the functions of the Tld
      * @param shortname shortname of the Tld
      */
-    private void doTags(Tag[] tags, String shortname) {
-        if (tags != null && tags.length > 0) {
-            for (Tag tldItem : tags) {
-                checkTag(shortname, tldItem);
-            }
-        }
-    }
-
-    /**
-     * Checks the functions and returns validation results.
-     *
-     * @param tags      functions of the Tld
-     * @param shortname shortname of the Tld
-     */
-    private void doFunctions(ElFunction[] tags, String shortname) {
-        if (tags != null && tags.length > 0) {
+    private void renderFunctions(List<FunctionResult> functions, String shortname) {
+        if (!functions.isEmpty()) {
 
             startSection("EL functions");
 
@@ -232,8 +191,8 @@ public class ValidateRenderer extends AbstractMavenTaglibReportRenderer {
                 getMessageString("Validate.header.signature")
             });
 
-            for (ElFunction tldItem : tags) {
-                checkFunction(shortname, tldItem);
+            for (FunctionResult function : functions) {
+                renderFunction(shortname, function);
             }
 
             endTable();
@@ -243,80 +202,45 @@ public class ValidateRenderer extends AbstractMavenTaglibReportRenderer {
     }
 
     /**
-     * Checks a function and returns the validation result.
+     * Renders the validation result of a function.
      *
      * @param prefix prefix of the function
-     * @param tag    the function
+     * @param result the validation result of the function
      */
-    private void checkFunction(String prefix, ElFunction tag) {
-        String className = tag.getFunctionClass();
-
-        boolean found = true;
-
-        ClassLoader currentClassLoader = Thread.currentThread().getContextClassLoader();
-        Thread.currentThread().setContextClassLoader(this.projectClassLoader);
-
-        try {
-            Class<?> functionClass = Class.forName(className, true, this.projectClassLoader);
-
-            String fullSignature = tag.getFunctionSignature();
-            String paramsString = tag.getParameters();
-            String returnvalue = null;
-
-            String methodName = StringUtils.trim(StringUtils.substringBefore(fullSignature, "("));
-            if (Strings.CS.contains(methodName, " ")) {
-                returnvalue = StringUtils.substringBefore(methodName, " ");
-                methodName = StringUtils.substringAfter(methodName, " ");
-            }
-
-            String[] params = StringUtils.split(paramsString, ",");
-
-            List<Class<?>> parClasses = new ArrayList<>(params.length);
-
-            for (String stringClass : params) {
-                parClasses.add(Class.forName(StringUtils.trim(stringClass), true,
-                        this.projectClassLoader));
-            }
-
-            Method method = functionClass.getMethod(methodName,
-                    parClasses.toArray(Class<?>[]::new));
-
-            Class<?> returnType = method.getReturnType();
-
-            if (!(returnvalue == null || returnType.getCanonicalName().equals(returnvalue))) {
-                found = false;
-            }
-        } catch (ClassNotFoundException | NoSuchMethodException | SecurityException e) {
-            found = false;
-        }
-
-        Thread.currentThread().setContextClassLoader(currentClassLoader);
-
+    private void renderFunction(String prefix, FunctionResult result) {
         sink.tableRow();
 
         sink.tableCell();
-        figure(found ? ICO_SUCCESS : ICO_ERROR);
+        figure(result.isFound() ? ICO_SUCCESS : ICO_ERROR);
         sink.tableCell_();
 
-        tableCell(prefix + ":" + tag.getName() + "()");
-        tableCell(className);
-        tableCell(tag.getFunctionSignature());
+        tableCell(prefix + ":" + result.getFunction().getName() + "()");
+        if (result.getError() == null) {
+            tableCell(result.getFunction().getFunctionClass());
+        } else {
+            sink.tableCell();
+            sink.text(result.getFunction().getFunctionClass());
+            sink.lineBreak();
+            sink.bold();
+            sink.text(getErrorText(result.getError()));
+            sink.bold_();
+            sink.tableCell_();
+        }
+        tableCell(result.getFunction().getFunctionSignature());
 
         sink.tableRow_();
     }
 
     /**
-     * Checks a single tag and returns validation results.
+     * Renders the validation results of a single tag.
      *
      * @param prefix prefix of the tag
-     * @param tag    Tag
+     * @param result the validation results of the tag
      */
-    private void checkTag(String prefix, Tag tag) {
+    private void renderTag(String prefix, TagResult result) {
 
         // new subsection for each tag
-        startSection("<" + prefix + ":" + tag.getName() + ">");
-
-        String className = tag.getTagClass();
+        startSection("<" + prefix + ":" + result.getTag().getName() + ">");
 
         startTable();
 
@@ -327,61 +251,15 @@ public class ValidateRenderer extends AbstractMavenTaglibReportRenderer {
             getMessageString("Validate.header.class")
         });
 
-        boolean found = true;
-        boolean loadable = true;
-        boolean extend;
-
-        Object tagObject = null;
-        ClassLoader currentClassLoader = Thread.currentThread().getContextClassLoader();
-        Thread.currentThread().setContextClassLoader(this.projectClassLoader);
-
-        try {
-            Class<?> tagClass = Class.forName(className, true, this.projectClassLoader);
-
-            // extend only true, if tagClass derives from TagSupport or derives from SimpleTag
-            extend = jspCheck.check(JspClass.TAG_SUPPORT, tagClass)
-                    || jspCheck.check(JspClass.SIMPLE_TAG, tagClass);
-
-            try {
-                tagObject = tagClass.getDeclaredConstructor().newInstance();
-            } catch (IllegalAccessException | IllegalArgumentException | InstantiationException
-                    | NoSuchMethodException | SecurityException | InvocationTargetException e) {
-                loadable = false;
-            }
-        } catch (ClassNotFoundException | NoClassDefFoundError e) {
-            found = false;
-            loadable = false;
-            extend = false;
-        }
-
-        Thread.currentThread().setContextClassLoader(currentClassLoader);
-
-        sink.tableRow();
-
-        sink.tableCell();
-        figure(found ? ICO_SUCCESS : ICO_ERROR);
-        sink.tableCell_();
-
-        sink.tableCell();
-        figure(loadable ? ICO_SUCCESS : ICO_ERROR);
-        sink.tableCell_();
-
-        sink.tableCell();
-        figure(extend ? ICO_SUCCESS : ICO_ERROR);
-        sink.tableCell_();
-
-        tableCell(className);
+        renderClass(result.getTagClass());
 
-        sink.tableRow_();
-
-        if (tag.getTeiClass() != null) {
-            checkTeiClass(tag.getTeiClass());
+        if (result.getTeiClass() != null) {
+            renderClass(result.getTeiClass());
         }
 
         endTable();
 
-        TagAttribute[] attributes = tag.getAttributes();
-        if (tagObject != null && attributes.length > 0) {
+        if (!result.getAttributes().isEmpty()) {
 
             startTable();
             tableHeader(new String[]{
@@ -391,8 +269,8 @@ public class ValidateRenderer extends AbstractMavenTaglibReportRenderer {
                 getMessageString("Validate.header.tagdeclares")
             });
 
-            for (TagAttribute attribute : attributes) {
-                checkAttribute(tagObject, attribute);
+            for (AttributeResult attribute : result.getAttributes()) {
+                renderAttribute(attribute);
             }
 
             endTable();
@@ -401,159 +279,88 @@ public class ValidateRenderer extends AbstractMavenTaglibReportRenderer {
     }
 
     /**
-     * Check a declared TagExtraInfo class.
+     * Renders the validation result of a tag handler or TagExtraInfo class.
      *
-     * @param className TEI class name
+     * @param result the validation result of the class
      */
-    private void checkTeiClass(String className) {
-
-        boolean found = true;
-        boolean loadable = true;
-        boolean extend;
-
-        Class<?> teiClass;
-        try {
-            teiClass = Class.forName(className, true, this.projectClassLoader);
-
-            extend = jspCheck.check(JspClass.TAG_EXTRA_INFO, teiClass);
-
-            try {
-                teiClass.getDeclaredConstructor().newInstance();
-            } catch (IllegalAccessException | IllegalArgumentException | InstantiationException
-                    | NoSuchMethodException | SecurityException | InvocationTargetException e) {
-                loadable = false;
-            }
-        } catch (ClassNotFoundException | NoClassDefFoundError e) {
-            found = false;
-            loadable = false;
-            extend = false;
-        }
-
+    private void renderClass(ClassResult result) {
         sink.tableRow();
 
         sink.tableCell();
-        figure(found ? ICO_SUCCESS : ICO_ERROR);
+        figure(result.isFound() ? ICO_SUCCESS : ICO_ERROR);
         sink.tableCell_();
 
         sink.tableCell();
-        figure(loadable ? ICO_SUCCESS : ICO_ERROR);
+        figure(result.isLoadable() ? ICO_SUCCESS : ICO_ERROR);
         sink.tableCell_();
 
         sink.tableCell();
-        figure(extend ? ICO_SUCCESS : ICO_ERROR);
+        figure(result.isExtend() ? ICO_SUCCESS : ICO_ERROR);
         sink.tableCell_();
 
-        sink.tableCell();
-        sink.text(className);
-        sink.tableCell_();
+        if (result.getLocation() == null && result.getError() == null) {
+            tableCell(result.getClassName());
+        } else {
+            sink.tableCell();
+            sink.text(result.getClassName());
+            if (result.getLocation() != null) {
+                sink.lineBreak();
+                sink.text(MessageFormat.format(getMessageString("Validate.location"),
+                        new File(result.getLocation()).getName()));
+            }
+            if (result.getError() != null) {
+                sink.lineBreak();
+                sink.bold();
+                sink.text(getErrorText(result.getError()));
+                sink.bold_();
+            }
+            sink.tableCell_();
+        }
 
         sink.tableRow_();
     }
 
     /**
-     * Checks a single attribute and returns validation results.
+     * Renders the validation result of a single attribute.
      *
-     * @param tag       tag handler instance
-     * @param attribute TagAttribute
+     * @param result the validation result of the attribute
      */
-    private void checkAttribute(Object tag, TagAttribute attribute) {
-
-        String tldType = attribute.getType();
-        String tldName = attribute.getName();
-        Class<?> tagType = null;
-        String tagTypeName = null;
-
-        List<ValidationError> validationErrors = new ArrayList<>(3);
-
-        if (!PropertyUtils.isWriteable(tag, tldName)) {
-            validationErrors.add(new ValidationError(ValidationError.LEVEL_ERROR,
-                    getMessageString("Validate.error.setternotfound")));
-        }
-
-        // don't check if setter is missing
-        if (validationErrors.isEmpty()) {
+    private void renderAttribute(AttributeResult result) {
 
-            try {
-                tagType = PropertyUtils.getPropertyType(tag, tldName);
-            } catch (IllegalAccessException | NoSuchMethodException | InvocationTargetException e) {
-                // should never happen, since we already checked the writable property
-                log.warn(e);
-            }
-            tagTypeName = tagType == null ? StringUtils.EMPTY : tagType.getName();
-
-            if (tldType != null && tagType != null) {
-                Class<?> tldTypeClass = getClassFromName(tldType);
-
-                if (!tagType.isAssignableFrom(tldTypeClass)) {
-
-                    validationErrors.add(new ValidationError(ValidationError.LEVEL_ERROR,
-                            MessageFormat.format(
-                                    getMessageString("Validate.error.attributetypemismatch"),
-                                    tldType, tagType.getName())));
-                }
-            }
-        }
-
-        // don't check if we already know type is different
-        if (validationErrors.isEmpty()) {
-
-            if (tldType != null && tagType != null && !tldType.equals(tagType.getName())) {
-                validationErrors.add(new ValidationError(ValidationError.LEVEL_WARNING,
-                        MessageFormat.format(
-                                getMessageString("Validate.error.attributetypeinexactmatch"),
-                                tldType, tagType.getName())));
-            } else if (tldType == null && !String.class.equals(tagType)) {
-                validationErrors.add(new ValidationError(ValidationError.LEVEL_INFO,
-                        getMessageString("Validate.error.attributetype")));
-            }
-        }
+        String tldType = result.getAttribute().getType();
 
         sink.tableRow();
 
         sink.tableCell();
 
-        boolean errors = false;
-        boolean warnings = false;
-        boolean infos = false;
-        for (ValidationError error : validationErrors) {
-            switch (error.getLevel()) {
-                case ValidationError.LEVEL_ERROR:
-                    errors = true;
-                    break;
-                case ValidationError.LEVEL_WARNING:
-                    warnings = true;
-                    break;
-                case ValidationError.LEVEL_INFO:
-                    infos = true;
-                    break;
-                default:
-                    break;
-            }
-        }
-
         final int figure;
-        if (errors) {
-            figure = ICO_ERROR;
-        } else if (warnings) {
-            figure = ICO_WARNING;
-        } else if (infos) {
-            figure = ICO_INFO;
-        } else {
-            figure = ICO_SUCCESS;
+        switch (result.getLevel()) {
+            case ValidationError.LEVEL_ERROR:
+                figure = ICO_ERROR;
+                break;
+            case ValidationError.LEVEL_WARNING:
+                figure = ICO_WARNING;
+                break;
+            case ValidationError.LEVEL_INFO:
+                figure = ICO_INFO;
+                break;
+            default:
+                figure = ICO_SUCCESS;
+                break;
         }
 
         figure(figure);
         sink.tableCell_();
 
         sink.tableCell();
-        sink.text(tldName);
+        sink.text(result.getAttribute().getName());
 
-        for (ValidationError error : validationErrors) {
+        for (ValidationError error : result.getErrors()) {
             sink.lineBreak();
             if (error.getLevel() == ValidationError.LEVEL_ERROR) {
                 sink.bold();
             }
-            sink.text(error.getText());
+            sink.text(getErrorText(error));
             if (error.getLevel() == ValidationError.LEVEL_ERROR) {
                 sink.bold_();
 
@@ -568,12 +375,25 @@ public class ValidateRenderer extends AbstractMavenTaglibReportRenderer {
         }
         sink.tableCell_();
 
-        tableCell(StringUtils.substringAfter(tagTypeName, "java.lang."));
+        tableCell(StringUtils.substringAfter(result.getTagType(), "java.lang."));
 
         sink.tableRow_();
 
     }
 
+    /**
+     * Returns the text of a validation message in the locale of the report.
+     *
+     * @param error the validation message
+     *
+     * @return the text of the message
+     */
+    private String getErrorText(ValidationError error) {
+        Object[] arguments = error.getArguments();
+        return arguments.length == 0 ? getMessageString(error.getKey())
+                : MessageFormat.format(getMessageString(error.getKey()), arguments);
+    }
+
     private void figure(int type) {
         String text;
         String src;
@@ -604,162 +424,4 @@ public class ValidateRenderer extends AbstractMavenTaglibReportRenderer {
         sink.figureCaption_();
         sink.figure_();
     }
-
-    /**
-     * Returns a class from its name, handling primitives.
-     *
-     * @param className clss name
-     *
-     * @return Class istantiated using Class.forName or the matching primitive.
-     */
-    private Class<?> getClassFromName(String className) {
-
-        Class<?> tldTypeClass = tryGettingPrimitiveClass(className);
-
-        if (tldTypeClass == null) {
-            // not a primitive type
-            try {
-                if (isArrayClassName(className)) {
-                    tldTypeClass = getArrayClass(className);
-                } else {
-                    tldTypeClass = Class.forName(className, true, this.projectClassLoader);
-                }
-            } catch (ClassNotFoundException e) {
-                log.error(MessageFormat.format(
-                        Messages.getString("Validate.error.unabletofindclass"), className));
-            }
-        }
-        return tldTypeClass;
-    }
-
-    private Class<?> tryGettingPrimitiveClass(String className) {
-        if (className == null) {
-            return null;
-        }
-
-        switch (className) {
-            case "byte":
-                return byte.class;
-            case "short":
-                return int.class;
-            case "int":
-                return int.class;
-            case "long":
-                return long.class;
-            case "float":
-                return double.class;
-            case "double":
-                return double.class;
-            case "boolean":
-                return boolean.class;
-            case "char":
-                return char.class;
-            default:
-                return null;
-        }
-    }
-
-    /**
-     * Tests if the given {@code className} as an array.
-     *
-     * @param className the className to test
-     *
-     * @return {@code true} if the given {@code className} as an array
-     */
-    private boolean isArrayClassName(String className) {
-        return className.endsWith("[]");
-    }
-
-    /**
-     * Gets the class of an array with the elements of {@code className}.
-     *
-     * @param className elements-class of the array
-     *
-     * @return the array-class
-     *
-     * @throws ClassNotFoundException if the class is not found
-     */
-    private Class<?> getArrayClass(String className) throws ClassNotFoundException {
-        String elementClassName = Strings.CS.replace(className, "[]", "");
-        Class<?> elementClass = tryGettingPrimitiveClass(elementClassName);
-        if (elementClass == null) {
-            elementClass = Class.forName(elementClassName);
-        }
-        return Array.newInstance(elementClass, 0).getClass();
-    }
-
-    static class ValidationError {
-
-        /**
-         * Level of validation is information.
-         */
-        public static final int LEVEL_INFO = 1;
-
-        /**
-         * Level of validation is warning.
-         */
-        public static final int LEVEL_WARNING = 2;
-
-        /**
-         * Level of validation is error.
-         */
-        public static final int LEVEL_ERROR = 3;
-
-        /**
-         * The level of the validation.
-         */
-        private int level;
-
-        /**
-         * The text of the validation.
-         */
-        private String text;
-
-        /**
-         * The class-constructor.
-         *
-         * @param level the level of the validation
-         * @param text  the text of the validation
-         */
-        public ValidationError(int level, String text) {
-            this.level = level;
-            this.text = text;
-        }
-
-        /**
-         * Getter for {@code level}.
-         *
-         * @return Returns the level.
-         */
-        public int getLevel() {
-            return this.level;
-        }
-
-        /**
-         * Setter for {@code level}.
-         *
-         * @param level The level to set.
-         */
-        public void setLevel(int level) {
-            this.level = level;
-        }
-
-        /**
-         * Getter for {@code text}.
-         *
-         * @return Returns the text.
-         */
-        public String getText() {
-            return this.text;
-        }
-
-        /**
-         * Setter for {@code text}.
-         *
-         * @param text The text to set.
-         */
-        public void setText(String text) {
-            this.text = text;
-        }
-    }
 }
@@ -0,0 +1,178 @@
+/*
+ * The MIT License
+ * Copyright © 2004-2014 Fabrizio Giustina
+ * Copyright © 2022-2026 Web-Legacy
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package io.github.weblegacy.maven.plugin.taglib.checker;
+
+import java.util.Set;
+import java.util.TreeSet;
+import org.apache.commons.lang3.Strings;
+
+/**
+ * Collects the content of a tld file while it is parsed. The sorted collections are only
+ * converted to the arrays of the model once in {@link #build()}, so building a tld with many tags
+ * takes linear time.
+ *
+ * @author Stefan Graff
+ */
+final class TldBuilder {
+
+    /**
+     * The tld under construction.
+     */
+    private final Tld tld = new Tld();
+
+    /**
+     * The tags of the tld.
+     */
+    private final Set<Tag> tags = new TreeSet<>();
+
+    /**
+     * The EL functions of the tld.
+     */
+    private final Set<ElFunction> functions = new TreeSet<>();
+
+    /**
+     * The tag-files of the tld.
+     */
+    private final Set<TagFile> tagfiles = new TreeSet<>();
+
+    /**
+     * Creates a builder for a tld file.
+     *
+     * @param tldName of the tld file
+     */
+    TldBuilder(String tldName) {
+        tld.setFilename(tldName);
+    }
+
+    /**
+     * Returns the tld under construction to set its simple properties.
+     *
+     * @return the tld under construction
+     */
+    Tld tld() {
+        return tld;
+    }
+
+    /**
+     * Adds a tag.
+     *
+     * @param tag the tag
+     */
+    void addTag(Tag tag) {
+        tags.add(tag);
+    }
+
+    /**
+     * Adds an EL function.
+     *
+     * @param function the EL function
+     */
+    void addFunction(ElFunction function) {
+        functions.add(function);
+    }
+
+    /**
+     * Adds a tag-file.
+     *
+     * @param tagfile the tag-file
+     */
+    void addTagFile(TagFile tagfile) {
+        tagfiles.add(tagfile);
+    }
+
+    /**
+     * Freezes the collected content into the arrays of the tld.
+     *
+     * @return the tld
+     */
+    Tld build() {
+        tld.setTags(tags.toArray(Tag[]::new));
+        tld.setFunctions(functions.toArray(ElFunction[]::new));
+        tld.setTagfiles(tagfiles.toArray(TagFile[]::new));
+
+        return tld;
+    }
+
+    /**
+     * Collects the content of a {@code tag} element.
+     */
+    static final class TagBuilder {
+
+        /**
+         * The tag under construction.
+         */
+        private final Tag tag = new Tag();
+
+        /**
+         * The attributes of the tag.
+         */
+        private final Set<TagAttribute> attributes = new TreeSet<>();
+
+        /**
+         * The variables of the tag.
+         */
+        private final Set<TagVariable> variables = new TreeSet<>();
+
+        /**
+         * Returns the tag under construction to set its simple properties.
+         *
+         * @return the tag under construction
+         */
+        Tag tag() {
+            return tag;
+        }
+
+        /**
+         * Adds an attribute.
+         *
+         * @param attribute the attribute
+         */
+        void addAttribute(TagAttribute attribute) {
+            attributes.add(attribute);
+        }
+
+        /**
+         * Adds a variable.
+         *
+         * @param variable the variable
+         */
+        void addVariable(TagVariable variable) {
+            variables.add(variable);
+        }
+
+        /**
+         * Freezes the collected content into the arrays of the tag.
+         *
+         * @return the tag
+         */
+        Tag build() {
+            tag.setAttributes(attributes.toArray(TagAttribute[]::new));
+            tag.setVariables(variables.toArray(TagVariable[]::new));
+            tag.setDeprecated(Strings.CS.contains(tag.getDescription(), "@deprecated"));
+
+            return tag;
+        }
+    }
+}
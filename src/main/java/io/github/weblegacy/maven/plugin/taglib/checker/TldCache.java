@@ -0,0 +1,507 @@
+/*
+ * The MIT License
+ * Copyright © 2004-2014 Fabrizio Giustina
+ * Copyright © 2022-2026 Web-Legacy
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package io.github.weblegacy.maven.plugin.taglib.checker;
+
+import io.github.weblegacy.maven.plugin.taglib.util.Digests;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Objects;
+
+/**
+ * A persistent cache of parsed {@link Tld} models. Every tld file is stored in its own compact
+ * binary cache file, so the cache may be used concurrently by several threads. An entry is only
+ * valid if path, size, last modification time and content hash of the tld file are unchanged.
+ *
+ * @author Stefan Graff
+ */
+public final class TldCache {
+
+    /**
+     * Magic number at the beginning of each cache file.
+     */
+    private static final int MAGIC = 0x544c4443;
+
+    /**
+     * Version of the binary format, must be incremented on every change of the format or the
+     * model.
+     */
+    private static final int FORMAT_VERSION = 1;
+
+    /**
+     * Marker for {@code null}-values of strings and arrays.
+     */
+    private static final int NULL = -1;
+
+    /**
+     * Directory of the cache files.
+     */
+    private final Path directory;
+
+    /**
+     * Creates a cache in the given directory.
+     *
+     * @param directory the directory of the cache files, will be created if necessary
+     */
+    public TldCache(File directory) {
+        this.directory = directory.toPath();
+    }
+
+    /**
+     * Returns the cached model of a tld file.
+     *
+     * @param key the key of the tld file
+     *
+     * @return the cached model or {@code null} if there is no valid entry for the key
+     */
+    public Tld get(Key key) {
+        final Path cacheFile = cacheFile(key);
+
+        try (DataInputStream in = new DataInputStream(
+                new BufferedInputStream(Files.newInputStream(cacheFile)))) {
+
+            if (in.readInt() != MAGIC || in.readInt() != FORMAT_VERSION) {
+                return null;
+            }
+
+            final Key cachedKey = new Key(readString(in), in.readLong(), in.readLong(),
+                    readString(in));
+            if (!key.equals(cachedKey)) {
+                return null;
+            }
+
+            return readTld(in);
+        } catch (NoSuchFileException e) {
+            return null;
+        } catch (IOException | RuntimeException e) {
+            // A damaged cache file is treated like a missing one
+            return null;
+        }
+    }
+
+    /**
+     * Stores the model of a tld file. The cache file is written to a temporary file first and
+     * then moved, so a concurrent reader never sees a partially written file.
+     *
+     * @param key the key of the tld file
+     * @param tld the model of the tld file
+     *
+     * @throws IOException if the cache file could not be written
+     */
+    public void put(Key key, Tld tld) throws IOException {
+        Files.createDirectories(directory);
+
+        final Path cacheFile = cacheFile(key);
+        final Path tempFile = Files.createTempFile(directory, "tld", ".tmp");
+        try {
+            try (DataOutputStream out = new DataOutputStream(
+                    new BufferedOutputStream(Files.newOutputStream(tempFile)))) {
+                out.writeInt(MAGIC);
+                out.writeInt(FORMAT_VERSION);
+                writeString(out, key.path);
+                out.writeLong(key.size);
+                out.writeLong(key.lastModified);
+                writeString(out, key.hash);
+                writeTld(out, tld);
+            }
+
+            Files.move(tempFile, cacheFile, StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(tempFile);
+        }
+    }
+
+    /**
+     * Returns the cache file of a key. The name of the file is derived from the path of the tld
+     * file.
+     *
+     * @param key the key of the tld file
+     *
+     * @return the cache file
+     */
+    private Path cacheFile(Key key) {
+        return directory.resolve(
+                Digests.sha256(key.path.getBytes(StandardCharsets.UTF_8)) + ".bin");
+    }
+
+    /**
+     * Writes the model of a tld file.
+     *
+     * @param out the output stream
+     * @param tld the model of the tld file
+     *
+     * @throws IOException if an I/O error occurs
+     */
+    private static void writeTld(DataOutputStream out, Tld tld) throws IOException {
+        writeString(out, tld.getName());
+        writeString(out, tld.getShortname());
+        writeString(out, tld.getFilename());
+        writeString(out, tld.getTlibversion());
+        writeString(out, tld.getUri());
+        writeString(out, tld.getInfo());
+
+        final Tag[] tags = tld.getTags();
+        writeLength(out, tags);
+        if (tags != null) {
+            for (Tag tag : tags) {
+                writeTag(out, tag);
+            }
+        }
+
+        final TagFile[] tagfiles = tld.getTagfiles();
+        writeLength(out, tagfiles);
+        if (tagfiles != null) {
+            for (TagFile tagfile : tagfiles) {
+                writeItem(out, tagfile);
+                writeString(out, tagfile.getPath());
+            }
+        }
+
+        final ElFunction[] functions = tld.getFunctions();
+        writeLength(out, functions);
+        if (functions != null) {
+            for (ElFunction function : functions) {
+                writeItem(out, function);
+                writeString(out, function.getFunctionClass());
+                writeString(out, function.getFunctionSignature());
+                writeString(out, function.getParameters());
+            }
+        }
+    }
+
+    /**
+     * Reads the model of a tld file.
+     *
+     * @param in the input stream
+     *
+     * @return the model of the tld file
+     *
+     * @throws IOException if an I/O error occurs
+     */
+    private static Tld readTld(DataInputStream in) throws IOException {
+        final Tld tld = new Tld();
+        tld.setName(readString(in));
+        tld.setShortname(readString(in));
+        tld.setFilename(readString(in));
+        tld.setTlibversion(readString(in));
+        tld.setUri(readString(in));
+        tld.setInfo(readString(in));
+
+        int length = in.readInt();
+        if (length != NULL) {
+            final Tag[] tags = new Tag[length];
+            for (int i = 0; i < length; i++) {
+                tags[i] = readTag(in);
+            }
+            tld.setTags(tags);
+        }
+
+        length = in.readInt();
+        if (length != NULL) {
+            final TagFile[] tagfiles = new TagFile[length];
+            for (int i = 0; i < length; i++) {
+                final TagFile tagfile = new TagFile();
+                readItem(in, tagfile);
+                tagfile.setPath(readString(in));
+                tagfiles[i] = tagfile;
+            }
+            tld.setTagfiles(tagfiles);
+        }
+
+        length = in.readInt();
+        if (length != NULL) {
+            final ElFunction[] functions = new ElFunction[length];
+            for (int i = 0; i < length; i++) {
+                final ElFunction function = new ElFunction();
+                readItem(in, function);
+                function.setFunctionClass(readString(in));
+                function.setFunctionSignature(readString(in));
+                function.setParameters(readString(in));
+                functions[i] = function;
+            }
+            tld.setFunctions(functions);
+        }
+
+        return tld;
+    }
+
+    /**
+     * Writes a tag.
+     *
+     * @param out the output stream
+     * @param tag the tag
+     *
+     * @throws IOException if an I/O error occurs
+     */
+    private static void writeTag(DataOutputStream out, Tag tag) throws IOException {
+        writeItem(out, tag);
+        writeString(out, tag.getTagClass());
+        writeString(out, tag.getTeiClass());
+        writeString(out, tag.getBodycontent());
+
+        final TagAttribute[] attributes = tag.getAttributes();
+        writeLength(out, attributes);
+        if (attributes != null) {
+            for (TagAttribute attribute : attributes) {
+                writeString(out, attribute.getName());
+                writeString(out, attribute.getType());
+                writeString(out, attribute.getDescription());
+                out.writeBoolean(attribute.isRequired());
+                out.writeBoolean(attribute.isDeprecated());
+                out.writeBoolean(attribute.isRtexprvalue());
+            }
+        }
+
+        final TagVariable[] variables = tag.getVariables();
+        writeLength(out, variables);
+        if (variables != null) {
+            for (TagVariable variable : variables) {
+                writeString(out, variable.getNameGiven());
+                writeString(out, variable.getNameFromAttribute());
+                writeString(out, variable.getType());
+                writeString(out, variable.getScope());
+                writeString(out, variable.getDescription());
+                out.writeBoolean(variable.isDeprecated());
+            }
+        }
+    }
+
+    /**
+     * Reads a tag.
+     *
+     * @param in the input stream
+     *
+     * @return the tag
+     *
+     * @throws IOException if an I/O error occurs
+     */
+    private static Tag readTag(DataInputStream in) throws IOException {
+        final Tag tag = new Tag();
+        readItem(in, tag);
+        tag.setTagClass(readString(in));
+        tag.setTeiClass(readString(in));
+        tag.setBodycontent(readString(in));
+
+        int length = in.readInt();
+        if (length != NULL) {
+            final TagAttribute[] attributes = new TagAttribute[length];
+            for (int i = 0; i < length; i++) {
+                final TagAttribute attribute = new TagAttribute();
+                attribute.setName(readString(in));
+                attribute.setType(readString(in));
+                attribute.setDescription(readString(in));
+                attribute.setRequired(in.readBoolean());
+                attribute.setDeprecated(in.readBoolean());
+                attribute.setRtexprvalue(in.readBoolean());
+                attributes[i] = attribute;
+            }
+            tag.setAttributes(attributes);
+        }
+
+        length = in.readInt();
+        if (length != NULL) {
+            final TagVariable[] variables = new TagVariable[length];
+            for (int i = 0; i < length; i++) {
+                final TagVariable variable = new TagVariable();
+                variable.setNameGiven(readString(in));
+                variable.setNameFromAttribute(readString(in));
+                variable.setType(readString(in));
+                variable.setScope(readString(in));
+                variable.setDescription(readString(in));
+                variable.setDeprecated(in.readBoolean());
+                variables[i] = variable;
+            }
+            tag.setVariables(variables);
+        }
+
+        return tag;
+    }
+
+    /**
+     * Writes the common properties of an item.
+     *
+     * @param out  the output stream
+     * @param item the item
+     *
+     * @throws IOException if an I/O error occurs
+     */
+    private static void writeItem(DataOutputStream out, TldItem item) throws IOException {
+        writeString(out, item.getName());
+        writeString(out, item.getDescription());
+        writeString(out, item.getExample());
+        out.writeBoolean(item.isDeprecated());
+    }
+
+    /**
+     * Reads the common properties of an item.
+     *
+     * @param in   the input stream
+     * @param item the item to fill
+     *
+     * @throws IOException if an I/O error occurs
+     */
+    private static void readItem(DataInputStream in, TldItem item) throws IOException {
+        item.setName(readString(in));
+        item.setDescription(readString(in));
+        item.setExample(readString(in));
+        item.setDeprecated(in.readBoolean());
+    }
+
+    /**
+     * Writes the length of an array or {@link #NULL}.
+     *
+     * @param out   the output stream
+     * @param array the array
+     *
+     * @throws IOException if an I/O error occurs
+     */
+    private static void writeLength(DataOutputStream out, Object[] array) throws IOException {
+        out.writeInt(array == null ? NULL : array.length);
+    }
+
+    /**
+     * Writes a string as length-prefixed UTF-8 bytes. Unlike
+     * {@link DataOutputStream#writeUTF(String)} the length of the string is not limited.
+     *
+     * @param out   the output stream
+     * @param value the string or {@code null}
+     *
+     * @throws IOException if an I/O error occurs
+     */
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(NULL);
+        } else {
+            final byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            out.writeInt(bytes.length);
+            out.write(bytes);
+        }
+    }
+
+    /**
+     * Reads a string written by {@link #writeString(DataOutputStream, String)}.
+     *
+     * @param in the input stream
+     *
+     * @return the string or {@code null}
+     *
+     * @throws IOException if an I/O error occurs
+     */
+    private static String readString(DataInputStream in) throws IOException {
+        final int length = in.readInt();
+        if (length == NULL) {
+            return null;
+        }
+
+        final byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * The key of a tld file in the cache.
+     */
+    public static final class Key {
+
+        /**
+         * The absolute path of the tld file.
+         */
+        private final String path;
+
+        /**
+         * The size of the tld file.
+         */
+        private final long size;
+
+        /**
+         * The last modification time of the tld file.
+         */
+        private final long lastModified;
+
+        /**
+         * The SHA-256 hash of the content of the tld file.
+         */
+        private final String hash;
+
+        /**
+         * Creates a key.
+         *
+         * @param path         the absolute path of the tld file
+         * @param size         the size of the tld file
+         * @param lastModified the last modification time of the tld file
+         * @param hash         the SHA-256 hash of the content of the tld file
+         */
+        private Key(String path, long size, long lastModified, String hash) {
+            this.path = path;
+            this.size = size;
+            this.lastModified = lastModified;
+            this.hash = hash;
+        }
+
+        /**
+         * Creates the key of a tld file.
+         *
+         * @param file the tld file
+         *
+         * @return the key
+         *
+         * @throws IOException if the tld file could not be read
+         */
+        public static Key of(File file) throws IOException {
+            final long size = file.length();
+            final long lastModified = file.lastModified();
+
+            return new Key(file.getAbsolutePath(), size, lastModified, Digests.sha256(file));
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof Key)) {
+                return false;
+            }
+
+            final Key other = (Key) obj;
+            return size == other.size && lastModified == other.lastModified
+                    && Objects.equals(path, other.path) && Objects.equals(hash, other.hash);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(path, size, lastModified, hash);
+        }
+    }
+}
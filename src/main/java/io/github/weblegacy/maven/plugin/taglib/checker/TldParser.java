@@ -25,8 +25,6 @@
 package io.github.weblegacy.maven.plugin.taglib.checker;
 
 import io.github.weblegacy.maven.plugin.taglib.util.XmlHelper;
-import java.util.Set;
-import java.util.TreeSet;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.Strings;
 import org.w3c.dom.Document;
@@ -58,11 +56,8 @@ public final class TldParser {
      */
     public static Tld parse(Document tldDoc, String tldName) {
 
-        Tld tld = new Tld();
-        tld.setFilename(tldName);
-        Set<Tag> tags = new TreeSet<>();
-        Set<ElFunction> functions = new TreeSet<>();
-        Set<TagFile> tagfiles = new TreeSet<>();
+        TldBuilder builder = new TldBuilder(tldName);
+        Tld tld = builder.tld();
 
         NodeList tagList = tldDoc.getElementsByTagName("taglib").item(0).getChildNodes();
 
@@ -112,32 +107,28 @@ public final class TldParser {
                     case "tag":
                     {
                         Tag tag = parseTag(tagNode);
-                        tags.add(tag);
+                        builder.addTag(tag);
                         break;
                     }
                     case "function":
                     {
                         ElFunction tag = parseFunction(tagNode);
-                        functions.add(tag);
+                        builder.addFunction(tag);
                         break;
                     }
                     case "tag-file":
                     {
                         TagFile tag = parseTagFile(tagNode);
-                        tagfiles.add(tag);
+                        builder.addTagFile(tag);
                         break;
                     }
                     default:
                         break;
                 }
             }
-
-            tld.setTags(tags.toArray(Tag[]::new));
-            tld.setFunctions(functions.toArray(ElFunction[]::new));
-            tld.setTagfiles(tagfiles.toArray(TagFile[]::new));
         }
 
-        return tld;
+        return builder.build();
     }
 
     /**
@@ -236,9 +227,8 @@ public final class TldParser {
      * @return a Tag instance
      */
     private static Tag parseTag(Node tagNode) {
-        Tag tag = new Tag();
-        Set<TagAttribute> attributes = new TreeSet<>();
-        Set<TagVariable> variables = new TreeSet<>();
+        TldBuilder.TagBuilder builder = new TldBuilder.TagBuilder();
+        Tag tag = builder.tag();
         NodeList tagAttributes = tagNode.getChildNodes();
 
         for (int k = 0; k < tagAttributes.getLength(); k++) {
@@ -275,23 +265,19 @@ public final class TldParser {
                         break;
                     case "attribute":
                         TagAttribute attribute = parseTagAttribute(tagAttribute);
-                        attributes.add(attribute);
+                        builder.addAttribute(attribute);
                         break;
                     case "variable":
                         TagVariable variable = parseTagVariable(tagAttribute);
-                        variables.add(variable);
+                        builder.addVariable(variable);
                         break;
                     default:
                         break;
                 }
             }
-            tag.setAttributes(attributes.toArray(TagAttribute[]::new));
-            tag.setVariables(variables.toArray(TagVariable[]::new));
         }
 
-        tag.setDeprecated(Strings.CS.contains(tag.getDescription(), "@deprecated"));
-
-        return tag;
+        return builder.build();
     }
 
     /**
@@ -0,0 +1,505 @@
+/*
+ * The MIT License
+ * Copyright © 2004-2014 Fabrizio Giustina
+ * Copyright © 2022-2026 Web-Legacy
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package io.github.weblegacy.maven.plugin.taglib.checker;
+
+import io.github.weblegacy.maven.plugin.taglib.util.XmlHelper;
+import java.io.BufferedInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.Strings;
+
+/**
+ * Reads a tld file with a pull-parser and generates a Tld object in one pass, without building a
+ * DOM. It produces the same model as {@link TldParser} and takes in account the same different
+ * versions of the tlds.
+ *
+ * <p>An instance is not thread-safe, use one parser per thread.</p>
+ *
+ * @author Stefan Graff
+ */
+public final class TldStreamParser {
+
+    /**
+     * The factory for the stream readers of this parser.
+     */
+    private final XMLInputFactory factory;
+
+    /**
+     * Creates a new parser.
+     */
+    public TldStreamParser() {
+        this.factory = XmlHelper.getXmlInputFactory();
+    }
+
+    /**
+     * Parse a Tld object from a file.
+     *
+     * @param tldFile the tld file
+     *
+     * @return Tld instance
+     *
+     * @throws IOException        if an I/O error occurs
+     * @throws XMLStreamException if the tld file is not well-formed
+     */
+    public Tld parse(File tldFile) throws IOException, XMLStreamException {
+        try (InputStream in = new BufferedInputStream(Files.newInputStream(tldFile.toPath()))) {
+            return parse(in, tldFile.getName());
+        }
+    }
+
+    /**
+     * Parse a Tld object from a stream.
+     *
+     * @param in      the stream with the content of the tld
+     * @param tldName of the tld file
+     *
+     * @return Tld instance
+     *
+     * @throws XMLStreamException if the tld is not well-formed
+     */
+    public Tld parse(InputStream in, String tldName) throws XMLStreamException {
+        final XMLStreamReader reader = factory.createXMLStreamReader(in);
+        try {
+            return parse(reader, tldName);
+        } finally {
+            reader.close();
+        }
+    }
+
+    /**
+     * Parse a Tld object from the first {@code taglib} element of the reader.
+     *
+     * @param reader  the stream reader
+     * @param tldName of the tld file
+     *
+     * @return Tld instance
+     *
+     * @throws XMLStreamException if the tld is not well-formed
+     */
+    private static Tld parse(XMLStreamReader reader, String tldName) throws XMLStreamException {
+        TldBuilder builder = new TldBuilder(tldName);
+        Tld tld = builder.tld();
+
+        if (nextTaglib(reader)) {
+            while (nextChild(reader)) {
+                switch (reader.getLocalName()) {
+                    case "shortname":
+                    case "short-name":
+                        tld.setShortname(readText(reader));
+                        break;
+                    case "display-name":
+                        tld.setName(readText(reader));
+                        break;
+                    case "info":
+                    case "description":
+                        tld.setInfo(readTextContent(reader));
+                        break;
+                    case "tlib-version":
+                    case "tlibversion":
+                        tld.setTlibversion(readText(reader));
+                        break;
+                    case "uri":
+                        tld.setUri(readText(reader));
+                        break;
+                    case "tag":
+                        builder.addTag(parseTag(reader));
+                        break;
+                    case "function":
+                        builder.addFunction(parseFunction(reader));
+                        break;
+                    case "tag-file":
+                        builder.addTagFile(parseTagFile(reader));
+                        break;
+                    default:
+                        skipElement(reader);
+                        break;
+                }
+            }
+        }
+
+        return builder.build();
+    }
+
+    /**
+     * Parse a {@code tag-file} element.
+     *
+     * @param reader the stream reader positioned on the start of the element
+     *
+     * @return a Tag-File instance
+     *
+     * @throws XMLStreamException if the tld is not well-formed
+     */
+    private static TagFile parseTagFile(XMLStreamReader reader) throws XMLStreamException {
+        TagFile tag = new TagFile();
+
+        while (nextChild(reader)) {
+            switch (reader.getLocalName()) {
+                case "name":
+                    tag.setName(readText(reader));
+                    break;
+                case "description":
+                    tag.setDescription(readTextContent(reader));
+                    break;
+                case "path":
+                    tag.setPath(readText(reader));
+                    break;
+                case "example":
+                    tag.setExample(readTextContent(reader));
+                    break;
+                default:
+                    skipElement(reader);
+                    break;
+            }
+        }
+
+        tag.setDeprecated(Strings.CS.contains(tag.getDescription(), "@deprecated"));
+
+        return tag;
+    }
+
+    /**
+     * Parse a {@code function} element.
+     *
+     * @param reader the stream reader positioned on the start of the element
+     *
+     * @return a ElFunction instance
+     *
+     * @throws XMLStreamException if the tld is not well-formed
+     */
+    private static ElFunction parseFunction(XMLStreamReader reader) throws XMLStreamException {
+        ElFunction tag = new ElFunction();
+
+        while (nextChild(reader)) {
+            switch (reader.getLocalName()) {
+                case "name":
+                    tag.setName(readText(reader));
+                    break;
+                case "description":
+                    tag.setDescription(readTextContent(reader));
+                    break;
+                case "example":
+                    tag.setExample(readTextContent(reader));
+                    break;
+                case "function-class":
+                    tag.setFunctionClass(StringUtils.trim(readTextContent(reader)));
+                    break;
+                case "function-signature":
+                    String signature = readTextContent(reader);
+                    tag.setFunctionSignature(signature);
+                    tag.setParameters(StringUtils.substringBetween(signature, "(", ")"));
+                    break;
+                default:
+                    skipElement(reader);
+                    break;
+            }
+        }
+
+        tag.setDeprecated(Strings.CS.contains(tag.getDescription(), "@deprecated"));
+
+        return tag;
+    }
+
+    /**
+     * Parse a {@code tag} element.
+     *
+     * @param reader the stream reader positioned on the start of the element
+     *
+     * @return a Tag instance
+     *
+     * @throws XMLStreamException if the tld is not well-formed
+     */
+    private static Tag parseTag(XMLStreamReader reader) throws XMLStreamException {
+        TldBuilder.TagBuilder builder = new TldBuilder.TagBuilder();
+        Tag tag = builder.tag();
+
+        while (nextChild(reader)) {
+            switch (reader.getLocalName()) {
+                case "name":
+                    tag.setName(readText(reader));
+                    break;
+                case "description":
+                case "info":
+                    tag.setDescription(readTextContent(reader));
+                    break;
+                case "tag-class":
+                case "tagclass":
+                    tag.setTagClass(StringUtils.trim(readText(reader)));
+                    break;
+                case "body-content":
+                case "bodycontent":
+                    tag.setBodycontent(readText(reader));
+                    break;
+                case "example":
+                    tag.setExample(readTextContent(reader));
+                    break;
+                case "tei-class":
+                case "teiclass":
+                    tag.setTeiClass(StringUtils.trim(readText(reader)));
+                    break;
+                case "attribute":
+                    builder.addAttribute(parseTagAttribute(reader));
+                    break;
+                case "variable":
+                    builder.addVariable(parseTagVariable(reader));
+                    break;
+                default:
+                    skipElement(reader);
+                    break;
+            }
+        }
+
+        return builder.build();
+    }
+
+    /**
+     * Parse an {@code attribute} element.
+     *
+     * @param reader the stream reader positioned on the start of the element
+     *
+     * @return TagAttribute instance
+     *
+     * @throws XMLStreamException if the tld is not well-formed
+     */
+    private static TagAttribute parseTagAttribute(XMLStreamReader reader)
+            throws XMLStreamException {
+
+        TagAttribute attribute = new TagAttribute();
+
+        while (nextChild(reader)) {
+            final String name = reader.getLocalName();
+            final String value = readText(reader);
+
+            // empty elements are ignored, like the DOM-based parser does
+            if (value == null) {
+                continue;
+            }
+
+            switch (name) {
+                case "name":
+                    attribute.setName(value);
+                    break;
+                case "type":
+                    attribute.setType(StringUtils.trim(value));
+                    break;
+                case "description":
+                    attribute.setDescription(value);
+                    break;
+                case "required":
+                    attribute.setRequired(Strings.CS.contains(StringUtils.lowerCase(value),
+                            "true"));
+                    break;
+                case "rtexprvalue":
+                    attribute.setRtexprvalue(Strings.CS.contains(StringUtils.lowerCase(value),
+                            "true"));
+                    break;
+                default:
+                    break;
+            }
+        }
+
+        attribute.setDeprecated(Strings.CS.contains(attribute.getDescription(), "@deprecated"));
+
+        return attribute;
+    }
+
+    /**
+     * Parse a {@code variable} element.
+     *
+     * @param reader the stream reader positioned on the start of the element
+     *
+     * @return TagVariable instance
+     *
+     * @throws XMLStreamException if the tld is not well-formed
+     */
+    private static TagVariable parseTagVariable(XMLStreamReader reader)
+            throws XMLStreamException {
+
+        TagVariable variable = new TagVariable();
+
+        while (nextChild(reader)) {
+            final String name = reader.getLocalName();
+            final String value = readText(reader);
+
+            // empty elements are ignored, like the DOM-based parser does
+            if (value == null) {
+                continue;
+            }
+
+            switch (name) {
+                case "name-given":
+                    variable.setNameGiven(value);
+                    break;
+                case "name-from-attribute":
+                    variable.setNameFromAttribute(value);
+                    break;
+                case "variable-class":
+                    variable.setType(value);
+                    break;
+                case "scope":
+                    variable.setScope(value);
+                    break;
+                case "description":
+                case "info":
+                    variable.setDescription(value);
+                    break;
+                default:
+                    break;
+            }
+        }
+
+        variable.setDeprecated(Strings.CS.contains(variable.getDescription(), "@deprecated"));
+
+        return variable;
+    }
+
+    /**
+     * Moves the reader to the start of the first {@code taglib} element.
+     *
+     * @param reader the stream reader
+     *
+     * @return {@code true} if a {@code taglib} element was found
+     *
+     * @throws XMLStreamException if the tld is not well-formed
+     */
+    private static boolean nextTaglib(XMLStreamReader reader) throws XMLStreamException {
+        while (reader.hasNext()) {
+            if (reader.next() == XMLStreamConstants.START_ELEMENT
+                    && "taglib".equals(reader.getLocalName())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Moves the reader to the start of the next child element of the current element.
+     *
+     * @param reader the stream reader
+     *
+     * @return {@code true} if the reader is positioned on a child element, {@code false} if the
+     *         end of the current element is reached
+     *
+     * @throws XMLStreamException if the tld is not well-formed
+     */
+    private static boolean nextChild(XMLStreamReader reader) throws XMLStreamException {
+        while (reader.hasNext()) {
+            switch (reader.next()) {
+                case XMLStreamConstants.START_ELEMENT:
+                    return true;
+                case XMLStreamConstants.END_ELEMENT:
+                    return false;
+                default:
+                    break;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Reads the text content of the current element and moves the reader to its end. Text inside
+     * of nested elements is ignored.
+     *
+     * @param reader the stream reader positioned on the start of the element
+     *
+     * @return the text content or {@code null} if the element has no text
+     *
+     * @throws XMLStreamException if the tld is not well-formed
+     */
+    private static String readText(XMLStreamReader reader) throws XMLStreamException {
+        StringBuilder buf = null;
+        int depth = 1;
+
+        while (depth > 0) {
+            switch (reader.next()) {
+                case XMLStreamConstants.START_ELEMENT:
+                    depth++;
+                    break;
+                case XMLStreamConstants.END_ELEMENT:
+                    depth--;
+                    break;
+                case XMLStreamConstants.CHARACTERS:
+                case XMLStreamConstants.CDATA:
+                case XMLStreamConstants.SPACE:
+                    if (depth == 1) {
+                        if (buf == null) {
+                            buf = new StringBuilder(reader.getTextLength());
+                        }
+                        buf.append(reader.getTextCharacters(), reader.getTextStart(),
+                                reader.getTextLength());
+                    }
+                    break;
+                default:
+                    break;
+            }
+        }
+
+        return buf == null ? null : buf.toString();
+    }
+
+    /**
+     * Reads the text content of the current element and moves the reader to its end, like
+     * {@link XmlHelper#getTextContent(org.w3c.dom.Node)} does for a DOM-node.
+     *
+     * @param reader the stream reader positioned on the start of the element
+     *
+     * @return the text content, never {@code null}
+     *
+     * @throws XMLStreamException if the tld is not well-formed
+     */
+    private static String readTextContent(XMLStreamReader reader) throws XMLStreamException {
+        return StringUtils.defaultString(readText(reader));
+    }
+
+    /**
+     * Skips the current element with all its content.
+     *
+     * @param reader the stream reader positioned on the start of the element
+     *
+     * @throws XMLStreamException if the tld is not well-formed
+     */
+    private static void skipElement(XMLStreamReader reader) throws XMLStreamException {
+        int depth = 1;
+
+        while (depth > 0) {
+            switch (reader.next()) {
+                case XMLStreamConstants.START_ELEMENT:
+                    depth++;
+                    break;
+                case XMLStreamConstants.END_ELEMENT:
+                    depth--;
+                    break;
+                default:
+                    break;
+            }
+        }
+    }
+}
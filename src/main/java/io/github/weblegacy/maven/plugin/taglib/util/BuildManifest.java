@@ -0,0 +1,216 @@
+/*
+ * The MIT License
+ * Copyright © 2004-2014 Fabrizio Giustina
+ * Copyright © 2022-2026 Web-Legacy
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package io.github.weblegacy.maven.plugin.taglib.util;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Properties;
+import java.util.TreeMap;
+
+/**
+ * A fingerprint manifest of the inputs and outputs of a goal. Each entry maps a key, e.g. the
+ * path of an input file, to a fingerprint, e.g. the content hash of the file. A goal stores the
+ * manifest after a successful run and may skip the next run if the manifest of the current inputs
+ * is unchanged.
+ *
+ * <p>The manifest is stored as a properties file.</p>
+ *
+ * @author Stefan Graff
+ */
+public final class BuildManifest {
+
+    /**
+     * Prefix of the keys of output files.
+     */
+    public static final String OUTPUT_PREFIX = "output:";
+
+    /**
+     * The entries sorted by key.
+     */
+    private final Map<String, String> entries = new TreeMap<>();
+
+    /**
+     * Adds an entry.
+     *
+     * @param key   the key
+     * @param value the fingerprint, {@code null} is stored as empty string
+     */
+    public void put(String key, String value) {
+        entries.put(key, value == null ? "" : value);
+    }
+
+    /**
+     * Adds an entry for the content of a file. A missing file has an empty fingerprint.
+     *
+     * @param key  the key
+     * @param file the file
+     *
+     * @throws IOException if the file could not be read
+     */
+    public void putFile(String key, File file) throws IOException {
+        put(key, file.isFile() ? Digests.sha256(file) : "");
+    }
+
+    /**
+     * Adds an entry for an output file.
+     *
+     * @param file    the output file
+     * @param content the content of the output file
+     */
+    public void putOutput(File file, byte[] content) {
+        put(OUTPUT_PREFIX + file.getAbsolutePath(), Digests.sha256(content));
+    }
+
+    /**
+     * Tests if this manifest, which only contains the current inputs, matches a stored manifest
+     * and all output files of the stored manifest are unchanged.
+     *
+     * @param stored the stored manifest, may be {@code null}
+     *
+     * @return {@code true} if the goal is up-to-date
+     *
+     * @throws IOException if an output file could not be read
+     */
+    public boolean isUpToDate(BuildManifest stored) throws IOException {
+        if (stored == null) {
+            return false;
+        }
+
+        final Map<String, String> storedInputs = new TreeMap<>();
+        for (Map.Entry<String, String> entry : stored.entries.entrySet()) {
+            final String key = entry.getKey();
+            if (key.startsWith(OUTPUT_PREFIX)) {
+                final File output = new File(key.substring(OUTPUT_PREFIX.length()));
+                if (!output.isFile() || !entry.getValue().equals(Digests.sha256(output))) {
+                    return false;
+                }
+            } else {
+                storedInputs.put(key, entry.getValue());
+            }
+        }
+
+        return storedInputs.equals(entries);
+    }
+
+    /**
+     * Loads a manifest.
+     *
+     * @param file the manifest file
+     *
+     * @return the manifest or {@code null} if there is no manifest file
+     *
+     * @throws IOException if the manifest file could not be read
+     */
+    public static BuildManifest load(File file) throws IOException {
+        final Properties properties = new Properties();
+
+        try (Reader reader = Files.newBufferedReader(file.toPath(), StandardCharsets.UTF_8)) {
+            properties.load(reader);
+        } catch (NoSuchFileException e) {
+            return null;
+        }
+
+        final BuildManifest manifest = new BuildManifest();
+        for (String key : properties.stringPropertyNames()) {
+            manifest.entries.put(key, properties.getProperty(key));
+        }
+
+        return manifest;
+    }
+
+    /**
+     * Stores this manifest.
+     *
+     * @param file the manifest file
+     *
+     * @throws IOException if the manifest file could not be written
+     */
+    public void store(File file) throws IOException {
+        Files.createDirectories(file.getAbsoluteFile().getParentFile().toPath());
+
+        final Properties properties = new Properties();
+        properties.putAll(entries);
+
+        try (Writer writer = Files.newBufferedWriter(file.toPath(), StandardCharsets.UTF_8)) {
+            properties.store(writer, null);
+        }
+    }
+
+    /**
+     * Deletes a manifest file, so the next run of the goal is never skipped.
+     *
+     * @param file the manifest file
+     *
+     * @throws IOException if the manifest file could not be deleted
+     */
+    public static void delete(File file) throws IOException {
+        Files.deleteIfExists(file.toPath());
+    }
+
+    /**
+     * Writes a file only if its content changed, so the modification time of an unchanged file
+     * is kept.
+     *
+     * @param file    the file
+     * @param content the new content of the file
+     *
+     * @return {@code true} if the file was written
+     *
+     * @throws IOException if the file could not be read or written
+     */
+    public static boolean writeIfChanged(File file, byte[] content) throws IOException {
+        if (file.isFile() && file.length() == content.length
+                && Arrays.equals(Files.readAllBytes(file.toPath()), content)) {
+            return false;
+        }
+
+        Files.write(file.toPath(), content);
+        return true;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof BuildManifest)) {
+            return false;
+        }
+        return entries.equals(((BuildManifest) obj).entries);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(entries);
+    }
+}
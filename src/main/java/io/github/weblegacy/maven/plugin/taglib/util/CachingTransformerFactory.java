@@ -0,0 +1,162 @@
+/*
+ * The MIT License
+ * Copyright © 2004-2014 Fabrizio Giustina
+ * Copyright © 2022-2026 Web-Legacy
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package io.github.weblegacy.maven.plugin.taglib.util;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Objects;
+import javax.xml.transform.ErrorListener;
+import javax.xml.transform.Source;
+import javax.xml.transform.Templates;
+import javax.xml.transform.Transformer;
+import javax.xml.transform.TransformerConfigurationException;
+import javax.xml.transform.TransformerFactory;
+import javax.xml.transform.URIResolver;
+import javax.xml.transform.stream.StreamSource;
+
+/**
+ * A {@link TransformerFactory} compiling the stylesheets through the {@link XsltTemplates.Cache}
+ * of the current context class-loader. Stylesheets are taken from the cache, if they are given as
+ * {@link StreamSource} with an {@link InputStream}, no {@link URIResolver} is set and no feature,
+ * attribute or {@link ErrorListener} differs from the defaults. All other requests are delegated
+ * to the default factory of the platform.
+ *
+ * <p>This factory is instantiated by {@link TransformerFactory#newInstance()} while a context
+ * class-loader of {@link XsltTemplates.Cache#newContextClassLoader(ClassLoader)} is set.</p>
+ *
+ * @author Stefan Graff
+ */
+public class CachingTransformerFactory extends TransformerFactory {
+
+    /**
+     * The default factory of the platform.
+     */
+    private final TransformerFactory delegate = TransformerFactory.newDefaultInstance();
+
+    /**
+     * The cache of the compiled stylesheets, {@code null} to compile every stylesheet.
+     */
+    private final XsltTemplates.Cache cache;
+
+    /**
+     * The default error listener of the platform.
+     */
+    private final ErrorListener defaultErrorListener = delegate.getErrorListener();
+
+    /**
+     * Whether a feature, an attribute or the error listener was changed, so the compiled
+     * stylesheets may differ from the cached ones.
+     */
+    private boolean customized;
+
+    /**
+     * The class-constructor, takes the cache of the current context class-loader.
+     */
+    public CachingTransformerFactory() {
+        final ClassLoader contextClassLoader = Thread.currentThread().getContextClassLoader();
+        cache = contextClassLoader instanceof XsltTemplates.CacheClassLoader
+                ? ((XsltTemplates.CacheClassLoader) contextClassLoader).getCache() : null;
+    }
+
+    @Override
+    public Transformer newTransformer(Source source) throws TransformerConfigurationException {
+        return newTemplates(source).newTransformer();
+    }
+
+    @Override
+    public Transformer newTransformer() throws TransformerConfigurationException {
+        return delegate.newTransformer();
+    }
+
+    @Override
+    public Templates newTemplates(Source source) throws TransformerConfigurationException {
+        if (cache == null || customized || delegate.getURIResolver() != null
+                || !(source instanceof StreamSource)
+                || ((StreamSource) source).getInputStream() == null) {
+            return delegate.newTemplates(source);
+        }
+
+        final byte[] stylesheet;
+        try (InputStream in = ((StreamSource) source).getInputStream()) {
+            stylesheet = in.readAllBytes();
+        } catch (IOException e) {
+            throw new TransformerConfigurationException(e);
+        }
+
+        final StreamSource copy = new StreamSource(new ByteArrayInputStream(stylesheet),
+                source.getSystemId());
+        return cache.get(stylesheet, source.getSystemId(), copy, delegate);
+    }
+
+    @Override
+    public Source getAssociatedStylesheet(Source source, String media, String title,
+            String charset) throws TransformerConfigurationException {
+        return delegate.getAssociatedStylesheet(source, media, title, charset);
+    }
+
+    @Override
+    public void setURIResolver(URIResolver resolver) {
+        delegate.setURIResolver(resolver);
+    }
+
+    @Override
+    public URIResolver getURIResolver() {
+        return delegate.getURIResolver();
+    }
+
+    @Override
+    public void setFeature(String name, boolean value) throws TransformerConfigurationException {
+        customized |= value != delegate.getFeature(name);
+        delegate.setFeature(name, value);
+    }
+
+    @Override
+    public boolean getFeature(String name) {
+        return delegate.getFeature(name);
+    }
+
+    @Override
+    public void setAttribute(String name, Object value) {
+        customized |= !Objects.equals(value, delegate.getAttribute(name));
+        delegate.setAttribute(name, value);
+    }
+
+    @Override
+    public Object getAttribute(String name) {
+        return delegate.getAttribute(name);
+    }
+
+    @Override
+    public void setErrorListener(ErrorListener listener) {
+        customized |= listener != defaultErrorListener;
+        delegate.setErrorListener(listener);
+    }
+
+    @Override
+    public ErrorListener getErrorListener() {
+        return delegate.getErrorListener();
+    }
+}
@@ -0,0 +1,468 @@
+/*
+ * The MIT License
+ * Copyright © 2004-2014 Fabrizio Giustina
+ * Copyright © 2022-2026 Web-Legacy
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package io.github.weblegacy.maven.plugin.taglib.util;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The declarations of a class read straight from its class-file, without loading the class. Only
+ * the class header and the method declarations are read, all attributes are skipped.
+ *
+ * @author Stefan Graff
+ */
+public final class ClassFile {
+
+    /**
+     * The magic number of class-files.
+     */
+    private static final int MAGIC = 0xCAFEBABE;
+
+    /**
+     * The names of the primitive types by their descriptor.
+     */
+    private static final Map<Character, String> PRIMITIVES = Map.of('B', "byte", 'C', "char",
+            'D', "double", 'F', "float", 'I', "int", 'J', "long", 'S', "short", 'Z', "boolean",
+            'V', "void");
+
+    /**
+     * The access flags of the class.
+     */
+    private final int access;
+
+    /**
+     * The binary name of the class.
+     */
+    private final String name;
+
+    /**
+     * The binary name of the superclass, {@code null} for {@code java.lang.Object}.
+     */
+    private final String superName;
+
+    /**
+     * The binary names of the directly implemented interfaces.
+     */
+    private final List<String> interfaces;
+
+    /**
+     * The declared methods, constructors and initializers.
+     */
+    private final List<MethodInfo> methods;
+
+    /**
+     * Creates the declarations of a class.
+     *
+     * @param access     the access flags of the class
+     * @param name       the binary name of the class
+     * @param superName  the binary name of the superclass
+     * @param interfaces the binary names of the directly implemented interfaces
+     * @param methods    the declared methods
+     */
+    private ClassFile(int access, String name, String superName, List<String> interfaces,
+            List<MethodInfo> methods) {
+
+        this.access = access;
+        this.name = name;
+        this.superName = superName;
+        this.interfaces = Collections.unmodifiableList(interfaces);
+        this.methods = Collections.unmodifiableList(methods);
+    }
+
+    /**
+     * Reads the declarations of a class from its class-file.
+     *
+     * @param in the content of the class-file, which is not closed
+     *
+     * @return the declarations of the class
+     *
+     * @throws IOException if the class-file could not be read or is malformed
+     */
+    public static ClassFile read(InputStream in) throws IOException {
+        final DataInputStream data = new DataInputStream(new BufferedInputStream(in));
+        if (data.readInt() != MAGIC) {
+            throw new IOException("Not a class-file");
+        }
+        data.readUnsignedShort(); // minor version
+        data.readUnsignedShort(); // major version
+
+        final int constantCount = data.readUnsignedShort();
+        final String[] utf8 = new String[constantCount];
+        final int[] classIndex = new int[constantCount];
+        for (int i = 1; i < constantCount; i++) {
+            final int tag = data.readUnsignedByte();
+            switch (tag) {
+                case 1: // Utf8
+                    utf8[i] = data.readUTF();
+                    break;
+                case 7: // Class
+                    classIndex[i] = data.readUnsignedShort();
+                    break;
+                case 8: // String
+                case 16: // MethodType
+                case 19: // Module
+                case 20: // Package
+                    data.skipBytes(2);
+                    break;
+                case 15: // MethodHandle
+                    data.skipBytes(3);
+                    break;
+                case 3: // Integer
+                case 4: // Float
+                case 9: // Fieldref
+                case 10: // Methodref
+                case 11: // InterfaceMethodref
+                case 12: // NameAndType
+                case 17: // Dynamic
+                case 18: // InvokeDynamic
+                    data.skipBytes(4);
+                    break;
+                case 5: // Long
+                case 6: // Double
+                    data.skipBytes(8);
+                    i++;
+                    break;
+                default:
+                    throw new IOException("Unknown constant pool tag " + tag);
+            }
+        }
+
+        final int access = data.readUnsignedShort();
+        final String name = className(utf8, classIndex, data.readUnsignedShort());
+        final String superName = className(utf8, classIndex, data.readUnsignedShort());
+
+        final int interfaceCount = data.readUnsignedShort();
+        final List<String> interfaces = new ArrayList<>(interfaceCount);
+        for (int i = 0; i < interfaceCount; i++) {
+            interfaces.add(className(utf8, classIndex, data.readUnsignedShort()));
+        }
+
+        final int fieldCount = data.readUnsignedShort();
+        for (int i = 0; i < fieldCount; i++) {
+            data.skipBytes(6);
+            skipAttributes(data);
+        }
+
+        final int methodCount = data.readUnsignedShort();
+        final List<MethodInfo> methods = new ArrayList<>(methodCount);
+        for (int i = 0; i < methodCount; i++) {
+            final int methodAccess = data.readUnsignedShort();
+            final String methodName = utf8[data.readUnsignedShort()];
+            final String descriptor = utf8[data.readUnsignedShort()];
+            skipAttributes(data);
+            methods.add(new MethodInfo(methodAccess, methodName, descriptor));
+        }
+
+        return new ClassFile(access, name, superName, interfaces, methods);
+    }
+
+    /**
+     * Returns the binary name of a class constant.
+     *
+     * @param utf8       the Utf8 constants
+     * @param classIndex the name indexes of the Class constants
+     * @param index      the index of the Class constant, {@code 0} for none
+     *
+     * @return the binary name or {@code null} for index {@code 0}
+     */
+    private static String className(String[] utf8, int[] classIndex, int index) {
+        return index == 0 ? null : utf8[classIndex[index]].replace('/', '.');
+    }
+
+    /**
+     * Skips the attributes of a field or method.
+     *
+     * @param data the class-file
+     *
+     * @throws IOException if the class-file could not be read
+     */
+    private static void skipAttributes(DataInputStream data) throws IOException {
+        final int count = data.readUnsignedShort();
+        for (int i = 0; i < count; i++) {
+            data.skipBytes(2);
+            skipFully(data, data.readInt());
+        }
+    }
+
+    /**
+     * Skips exactly the given number of bytes.
+     *
+     * @param data  the class-file
+     * @param count the number of bytes to skip
+     *
+     * @throws IOException if the class-file ends before
+     */
+    private static void skipFully(DataInputStream data, int count) throws IOException {
+        if (count < 0) {
+            throw new IOException("Malformed attribute length " + Integer.toUnsignedLong(count));
+        }
+        if (data.skipBytes(count) != count) {
+            throw new EOFException();
+        }
+    }
+
+    /**
+     * Returns the access flags of the class.
+     *
+     * @return the access flags, see {@link Modifier}
+     */
+    public int getAccess() {
+        return access;
+    }
+
+    /**
+     * Returns the binary name of the class.
+     *
+     * @return the binary name, e.g. {@code java.util.Map$Entry}
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Returns the binary name of the superclass.
+     *
+     * @return the binary name, {@code null} for {@code java.lang.Object}
+     */
+    public String getSuperName() {
+        return superName;
+    }
+
+    /**
+     * Returns the directly implemented interfaces.
+     *
+     * @return the binary names of the interfaces
+     */
+    public List<String> getInterfaces() {
+        return interfaces;
+    }
+
+    /**
+     * Returns the declared methods including constructors and initializers.
+     *
+     * @return the declared methods in the order of the class-file
+     */
+    public List<MethodInfo> getMethods() {
+        return methods;
+    }
+
+    /**
+     * The declaration of a method in a class-file.
+     */
+    public static final class MethodInfo {
+
+        /**
+         * The access flags of the method.
+         */
+        private final int access;
+
+        /**
+         * The name of the method.
+         */
+        private final String name;
+
+        /**
+         * The descriptor of the method.
+         */
+        private final String descriptor;
+
+        /**
+         * The canonical names of the parameter types.
+         */
+        private final List<String> parameterTypes;
+
+        /**
+         * The binary names of the parameter types.
+         */
+        private final List<String> parameterClassNames;
+
+        /**
+         * The canonical name of the return type.
+         */
+        private final String returnType;
+
+        /**
+         * Creates the declaration of a method.
+         *
+         * @param access     the access flags of the method
+         * @param name       the name of the method
+         * @param descriptor the descriptor of the method
+         *
+         * @throws IOException if the descriptor is malformed
+         */
+        MethodInfo(int access, String name, String descriptor) throws IOException {
+            this.access = access;
+            this.name = name;
+            this.descriptor = descriptor;
+
+            final List<String> types = new ArrayList<>();
+            final List<String> classNames = new ArrayList<>();
+            final int[] pos = {1};
+            while (pos[0] < descriptor.length() && descriptor.charAt(pos[0]) != ')') {
+                final int start = pos[0];
+                types.add(typeName(descriptor, pos));
+                classNames.add(className(descriptor.substring(start, pos[0])));
+            }
+            pos[0]++;
+            this.parameterTypes = Collections.unmodifiableList(types);
+            this.parameterClassNames = Collections.unmodifiableList(classNames);
+            this.returnType = typeName(descriptor, pos);
+        }
+
+        /**
+         * Converts one type of a descriptor into its binary name, as returned by
+         * {@link Class#getName()}.
+         *
+         * @param type the type of a descriptor
+         *
+         * @return the binary name of the type
+         */
+        private static String className(String type) {
+            if (type.charAt(0) == 'L') {
+                return type.substring(1, type.length() - 1).replace('/', '.');
+            }
+            if (type.charAt(0) == '[') {
+                return type.replace('/', '.');
+            }
+            return PRIMITIVES.get(type.charAt(0));
+        }
+
+        /**
+         * Parses one type of a descriptor into its canonical name. The {@code $} of nested
+         * classes is replaced by a dot, as the class-file of the method does not tell nested
+         * classes apart from names containing a {@code $}.
+         *
+         * @param descriptor the descriptor
+         * @param pos        the position of the type, which is advanced behind the type
+         *
+         * @return the canonical name of the type
+         *
+         * @throws IOException if the descriptor is malformed
+         */
+        private static String typeName(String descriptor, int[] pos) throws IOException {
+            if (pos[0] >= descriptor.length()) {
+                throw new IOException("Malformed descriptor " + descriptor);
+            }
+
+            final char c = descriptor.charAt(pos[0]++);
+            switch (c) {
+                case 'B':
+                case 'C':
+                case 'D':
+                case 'F':
+                case 'I':
+                case 'J':
+                case 'S':
+                case 'Z':
+                case 'V':
+                    return PRIMITIVES.get(c);
+                case '[':
+                    return typeName(descriptor, pos) + "[]";
+                case 'L':
+                    final int end = descriptor.indexOf(';', pos[0]);
+                    if (end == -1) {
+                        throw new IOException("Malformed descriptor " + descriptor);
+                    }
+                    final String type = descriptor.substring(pos[0], end).replace('/', '.')
+                            .replace('$', '.');
+                    pos[0] = end + 1;
+                    return type;
+                default:
+                    throw new IOException("Malformed descriptor " + descriptor);
+            }
+        }
+
+        /**
+         * Returns the access flags of the method.
+         *
+         * @return the access flags, see {@link Modifier}
+         */
+        public int getAccess() {
+            return access;
+        }
+
+        /**
+         * Returns the name of the method.
+         *
+         * @return the name, {@code <init>} for constructors
+         */
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * Returns the descriptor of the method.
+         *
+         * @return the descriptor, e.g. {@code (Ljava/lang/String;I)Z}
+         */
+        public String getDescriptor() {
+            return descriptor;
+        }
+
+        /**
+         * Returns the parameter types of the method.
+         *
+         * @return the canonical names of the parameter types
+         */
+        public List<String> getParameterTypes() {
+            return parameterTypes;
+        }
+
+        /**
+         * Returns the binary names of the parameter types of the method.
+         *
+         * @return the names of the parameter types, as returned by {@link Class#getName()}
+         */
+        public List<String> getParameterClassNames() {
+            return parameterClassNames;
+        }
+
+        /**
+         * Returns the return type of the method.
+         *
+         * @return the canonical name of the return type
+         */
+        public String getReturnType() {
+            return returnType;
+        }
+
+        /**
+         * Tests if the method is public and static.
+         *
+         * @return {@code true} if the method is public and static
+         */
+        public boolean isPublicStatic() {
+            return Modifier.isPublic(access) && Modifier.isStatic(access);
+        }
+    }
+}
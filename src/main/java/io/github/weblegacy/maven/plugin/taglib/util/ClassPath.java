@@ -0,0 +1,258 @@
+/*
+ * The MIT License
+ * Copyright © 2004-2014 Fabrizio Giustina
+ * Copyright © 2022-2026 Web-Legacy
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package io.github.weblegacy.maven.plugin.taglib.util;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.jar.JarFile;
+import java.util.zip.ZipEntry;
+
+/**
+ * Looks up class-files in class directories and jars without loading the classes. Classes which
+ * are not found there are looked up in the platform classes of the running JVM. The read
+ * declarations of the recently read class-files are kept in a LRU cache for the lifetime of the
+ * plugin, so the modules of a reactor build share the results for their common jars, while a
+ * long-lived build daemon keeps only a bounded number of entries. The class path may be used by
+ * several threads at once.
+ *
+ * @author Stefan Graff
+ */
+public final class ClassPath implements Closeable {
+
+    /**
+     * The maximum number of class-files kept in the cache.
+     */
+    private static final int MAX_CACHE_ENTRIES = 10_000;
+
+    /**
+     * The cached declarations, by location, size and last modification of the class-file, in
+     * access order.
+     */
+    private static final Map<String, ClassFile> CACHE = Collections.synchronizedMap(
+            new LinkedHashMap<>(16, 0.75f, true) {
+
+                private static final long serialVersionUID = 1L;
+
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, ClassFile> eldest) {
+                    return size() > MAX_CACHE_ENTRIES;
+                }
+            });
+
+    /**
+     * The class directories and jars in search order.
+     */
+    private final List<File> elements;
+
+    /**
+     * The opened jars.
+     */
+    private final Map<File, JarFile> jars = new HashMap<>();
+
+    /**
+     * Creates a class path.
+     *
+     * @param elements the class directories and jars in search order, missing elements are
+     *                 ignored
+     */
+    public ClassPath(List<File> elements) {
+        this.elements = new ArrayList<>(elements);
+    }
+
+    /**
+     * Reads the declarations of a class.
+     *
+     * @param className the binary name of the class
+     *
+     * @return the declarations of the class or {@code null} if no class-file was found
+     *
+     * @throws IOException if the class-file could not be read
+     */
+    public ClassFile load(String className) throws IOException {
+        final Located located = locate(className);
+        if (located == null) {
+            return null;
+        }
+
+        ClassFile classFile = CACHE.get(located.key);
+        if (classFile == null) {
+            try (InputStream in = located.source.open()) {
+                classFile = ClassFile.read(in);
+            }
+            CACHE.put(located.key, classFile);
+        }
+        return classFile;
+    }
+
+    /**
+     * Returns the content hash of the class-file of a class.
+     *
+     * @param className the binary name of the class
+     *
+     * @return the content hash or {@code null} if no class-file was found
+     *
+     * @throws IOException if the class-file could not be read
+     */
+    public String sha256(String className) throws IOException {
+        final Located located = locate(className);
+        if (located == null) {
+            return null;
+        }
+
+        try (InputStream in = located.source.open()) {
+            return Digests.sha256(in);
+        }
+    }
+
+    /**
+     * Looks up the first class-file of a class in the class path.
+     *
+     * @param className the binary name of the class
+     *
+     * @return the found class-file or {@code null} if no class-file was found
+     *
+     * @throws IOException if a jar could not be opened
+     */
+    private synchronized Located locate(String className) throws IOException {
+        final String entryName = className.replace('.', '/') + ".class";
+
+        for (File element : elements) {
+            if (element.isDirectory()) {
+                final File file = new File(element, entryName);
+                if (file.isFile()) {
+                    return new Located(file.getAbsolutePath() + '@' + file.length() + ':'
+                            + file.lastModified(), () -> Files.newInputStream(file.toPath()));
+                }
+            } else if (element.isFile()) {
+                final JarFile jar = openJar(element);
+                final ZipEntry entry = jar.getEntry(entryName);
+                if (entry != null) {
+                    return new Located(element.getAbsolutePath() + '@' + element.length() + ':'
+                            + element.lastModified() + '!' + entryName,
+                            () -> jar.getInputStream(entry));
+                }
+            }
+        }
+
+        final URL platform = ClassLoader.getPlatformClassLoader().getResource(entryName);
+        if (platform != null) {
+            return new Located(platform + "@" + Runtime.version(), platform::openStream);
+        }
+
+        return null;
+    }
+
+    /**
+     * Returns the opened jar of a class path element.
+     *
+     * @param element the jar file
+     *
+     * @return the opened jar
+     *
+     * @throws IOException if the jar could not be opened
+     */
+    private JarFile openJar(File element) throws IOException {
+        JarFile jar = jars.get(element);
+        if (jar == null) {
+            jar = new JarFile(element);
+            jars.put(element, jar);
+        }
+        return jar;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        IOException exception = null;
+        for (JarFile jar : jars.values()) {
+            try {
+                jar.close();
+            } catch (IOException e) {
+                if (exception == null) {
+                    exception = e;
+                } else {
+                    exception.addSuppressed(e);
+                }
+            }
+        }
+        jars.clear();
+
+        if (exception != null) {
+            throw exception;
+        }
+    }
+
+    /**
+     * The source of a class-file.
+     */
+    @FunctionalInterface
+    private interface Source {
+
+        /**
+         * Opens the class-file.
+         *
+         * @return the content of the class-file
+         *
+         * @throws IOException if the class-file could not be opened
+         */
+        InputStream open() throws IOException;
+    }
+
+    /**
+     * A class-file found in the class path.
+     */
+    private static final class Located {
+
+        /**
+         * The cache key of the class-file.
+         */
+        private final String key;
+
+        /**
+         * The source of the class-file.
+         */
+        private final Source source;
+
+        /**
+         * Creates a found class-file.
+         *
+         * @param key    the cache key of the class-file, by location, size and last modification
+         * @param source the source of the class-file
+         */
+        Located(String key, Source source) {
+            this.key = key;
+            this.source = source;
+        }
+    }
+}
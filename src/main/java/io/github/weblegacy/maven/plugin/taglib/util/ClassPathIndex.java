@@ -0,0 +1,348 @@
+/*
+ * The MIT License
+ * Copyright © 2004-2014 Fabrizio Giustina
+ * Copyright © 2022-2026 Web-Legacy
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package io.github.weblegacy.maven.plugin.taglib.util;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+/**
+ * An index of all classes of a class path, which maps the binary name of a class to the class
+ * path element supplying it. The index is built in one pass over the central directories of the
+ * jars and the class directories. The class names of a jar may be persisted in a cache directory
+ * and are reused as long as path, size and last modification time of the jar are unchanged.
+ * Class directories are always scanned.
+ *
+ * @author Stefan Graff
+ */
+public final class ClassPathIndex {
+
+    /**
+     * Magic number at the beginning of each cache file.
+     */
+    private static final int MAGIC = 0x43504958;
+
+    /**
+     * Version of the binary format, must be incremented on every change of the format.
+     */
+    private static final int FORMAT_VERSION = 1;
+
+    /**
+     * Suffix of class-files.
+     */
+    private static final String CLASS_SUFFIX = ".class";
+
+    /**
+     * The class path elements by binary class name, the first element of the class path wins.
+     */
+    private final Map<String, File> classes = new HashMap<>();
+
+    /**
+     * The packages of all classes by class path element.
+     */
+    private final Map<File, Set<String>> packages = new HashMap<>();
+
+    /**
+     * The number of jars, whose class names were read from the cache.
+     */
+    private int cachedJars;
+
+    /**
+     * Don't instantiate, use {@link #build(List, File)}.
+     */
+    private ClassPathIndex() {
+        // unused
+    }
+
+    /**
+     * Builds the index of a class path.
+     *
+     * @param classpathElements the class directories and jars of the class path in order
+     * @param cacheDirectory    the directory of the cached class names of the jars, {@code null}
+     *                          to read all jars
+     *
+     * @return the index
+     *
+     * @throws IOException if a jar or a class directory could not be read
+     */
+    public static ClassPathIndex build(List<File> classpathElements, File cacheDirectory)
+            throws IOException {
+
+        final ClassPathIndex index = new ClassPathIndex();
+        for (File element : classpathElements) {
+            final List<String> names;
+            if (element.isDirectory()) {
+                names = scanDirectory(element.toPath());
+            } else if (element.isFile()) {
+                names = index.readJar(element, cacheDirectory);
+            } else {
+                continue;
+            }
+
+            final Set<String> elementPackages = index.packages.computeIfAbsent(element,
+                    key -> new HashSet<>());
+            for (String name : names) {
+                index.classes.putIfAbsent(name, element);
+                final int dot = name.lastIndexOf('.');
+                elementPackages.add(dot < 0 ? "" : name.substring(0, dot));
+            }
+        }
+        return index;
+    }
+
+    /**
+     * Tests if a class is supplied by the class path.
+     *
+     * @param className the binary name of the class
+     *
+     * @return {@code true} if the class path contains the class-file
+     */
+    public boolean contains(String className) {
+        return classes.containsKey(className);
+    }
+
+    /**
+     * Tests if a class is neither supplied by the class path nor a platform class, so it can't
+     * be loaded.
+     *
+     * @param className the binary name of the class
+     *
+     * @return {@code true} if the class is missing for sure
+     */
+    public boolean isMissing(String className) {
+        return !classes.containsKey(className) && ClassLoader.getPlatformClassLoader()
+                .getResource(className.replace('.', '/') + CLASS_SUFFIX) == null;
+    }
+
+    /**
+     * Returns the class path element supplying a class.
+     *
+     * @param className the binary name of the class
+     *
+     * @return the jar or class directory or {@code null} if the class is not in the class path
+     */
+    public File getLocation(String className) {
+        return classes.get(className);
+    }
+
+    /**
+     * Returns the packages of all classes of a class path element, regardless whether another
+     * element of the class path supplies the same classes before.
+     *
+     * @param element the jar or class directory
+     *
+     * @return the package names, the unnamed package as empty string
+     */
+    public Set<String> getPackages(File element) {
+        return Collections.unmodifiableSet(packages.getOrDefault(element,
+                Collections.emptySet()));
+    }
+
+    /**
+     * Returns the number of indexed classes.
+     *
+     * @return the number of indexed classes
+     */
+    public int size() {
+        return classes.size();
+    }
+
+    /**
+     * Returns the number of jars, whose class names were read from the cache.
+     *
+     * @return the number of jars read from the cache
+     */
+    public int getCachedJars() {
+        return cachedJars;
+    }
+
+    /**
+     * Returns the binary names of all classes of a class directory.
+     *
+     * @param directory the class directory
+     *
+     * @return the binary class names
+     *
+     * @throws IOException if the directory could not be read
+     */
+    private static List<String> scanDirectory(Path directory) throws IOException {
+        final List<String> names = new ArrayList<>();
+        try (Stream<Path> files = Files.walk(directory)) {
+            files.filter(Files::isRegularFile).forEach(file -> {
+                final String name = toClassName(
+                        directory.relativize(file).toString().replace(File.separatorChar, '/'));
+                if (name != null) {
+                    names.add(name);
+                }
+            });
+        }
+        return names;
+    }
+
+    /**
+     * Returns the binary names of all classes of a jar, from the cache if the jar is unchanged.
+     *
+     * @param jar            the jar
+     * @param cacheDirectory the directory of the cached class names, may be {@code null}
+     *
+     * @return the binary class names
+     *
+     * @throws IOException if the jar could not be read
+     */
+    private List<String> readJar(File jar, File cacheDirectory) throws IOException {
+        final Path cacheFile = cacheDirectory == null ? null : cacheDirectory.toPath().resolve(
+                Digests.sha256(jar.getAbsolutePath().getBytes(StandardCharsets.UTF_8)) + ".idx");
+
+        if (cacheFile != null) {
+            final List<String> names = readCache(cacheFile, jar);
+            if (names != null) {
+                cachedJars++;
+                return names;
+            }
+        }
+
+        final List<String> names = new ArrayList<>();
+        try (ZipFile zipFile = new ZipFile(jar)) {
+            final Enumeration<? extends ZipEntry> entries = zipFile.entries();
+            while (entries.hasMoreElements()) {
+                final ZipEntry entry = entries.nextElement();
+                final String name = entry.isDirectory() ? null : toClassName(entry.getName());
+                if (name != null) {
+                    names.add(name);
+                }
+            }
+        }
+
+        if (cacheFile != null) {
+            writeCache(cacheFile, jar, names);
+        }
+        return names;
+    }
+
+    /**
+     * Converts the path of a class-file to the binary name of the class.
+     *
+     * @param path the path of the file relative to the class path element, separated by
+     *             {@code /}
+     *
+     * @return the binary name or {@code null} if the file is not a class-file of a class
+     */
+    private static String toClassName(String path) {
+        if (!path.endsWith(CLASS_SUFFIX) || path.startsWith("META-INF/")
+                || path.endsWith("module-info.class") || path.endsWith("package-info.class")) {
+            return null;
+        }
+        return path.substring(0, path.length() - CLASS_SUFFIX.length()).replace('/', '.');
+    }
+
+    /**
+     * Reads the cached class names of a jar.
+     *
+     * @param cacheFile the cache file
+     * @param jar       the jar
+     *
+     * @return the class names or {@code null} if there is no valid entry for the jar
+     */
+    private static List<String> readCache(Path cacheFile, File jar) {
+        try (DataInputStream in = new DataInputStream(
+                new BufferedInputStream(Files.newInputStream(cacheFile)))) {
+
+            if (in.readInt() != MAGIC || in.readInt() != FORMAT_VERSION
+                    || !jar.getAbsolutePath().equals(in.readUTF())
+                    || in.readLong() != jar.length() || in.readLong() != jar.lastModified()) {
+                return null;
+            }
+
+            final int count = in.readInt();
+            final List<String> names = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                names.add(in.readUTF());
+            }
+            return names;
+        } catch (NoSuchFileException e) {
+            return null;
+        } catch (IOException | RuntimeException e) {
+            // A damaged cache file is treated like a missing one
+            return null;
+        }
+    }
+
+    /**
+     * Writes the class names of a jar to the cache. The cache file is written to a temporary file
+     * first and then moved, so a concurrent reader never sees a partially written file.
+     *
+     * @param cacheFile the cache file
+     * @param jar       the jar
+     * @param names     the class names of the jar
+     *
+     * @throws IOException if the cache file could not be written
+     */
+    private static void writeCache(Path cacheFile, File jar, List<String> names)
+            throws IOException {
+
+        final Path directory = cacheFile.getParent();
+        Files.createDirectories(directory);
+
+        final Path tempFile = Files.createTempFile(directory, "idx", ".tmp");
+        try {
+            try (DataOutputStream out = new DataOutputStream(
+                    new BufferedOutputStream(Files.newOutputStream(tempFile)))) {
+                out.writeInt(MAGIC);
+                out.writeInt(FORMAT_VERSION);
+                out.writeUTF(jar.getAbsolutePath());
+                out.writeLong(jar.length());
+                out.writeLong(jar.lastModified());
+                out.writeInt(names.size());
+                for (String name : names) {
+                    out.writeUTF(name);
+                }
+            }
+
+            Files.move(tempFile, cacheFile, StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(tempFile);
+        }
+    }
+}
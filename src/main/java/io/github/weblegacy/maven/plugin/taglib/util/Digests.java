@@ -0,0 +1,132 @@
+/*
+ * The MIT License
+ * Copyright © 2004-2014 Fabrizio Giustina
+ * Copyright © 2022-2026 Web-Legacy
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package io.github.weblegacy.maven.plugin.taglib.util;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * Utilities to compute content hashes of files.
+ *
+ * @author Stefan Graff
+ */
+public final class Digests {
+
+    /**
+     * Size of the buffer to read the files.
+     */
+    private static final int BUFFER_SIZE = 8192;
+
+    /**
+     * Hexadecimal digits.
+     */
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    /**
+     * Don't instantiate.
+     */
+    private Digests() {
+        // unused
+    }
+
+    /**
+     * Creates a new SHA-256 message digest.
+     *
+     * @return the message digest
+     */
+    public static MessageDigest newSha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            // Every Java platform is required to support SHA-256
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Computes the SHA-256 hash of the content of a file.
+     *
+     * @param file the file
+     *
+     * @return the hash as lower-case hexadecimal string
+     *
+     * @throws IOException if the file could not be read
+     */
+    public static String sha256(File file) throws IOException {
+        try (InputStream in = Files.newInputStream(file.toPath())) {
+            return sha256(in);
+        }
+    }
+
+    /**
+     * Computes the SHA-256 hash of the remaining content of a stream. The stream is not closed.
+     *
+     * @param in the stream
+     *
+     * @return the hash as lower-case hexadecimal string
+     *
+     * @throws IOException if the stream could not be read
+     */
+    public static String sha256(InputStream in) throws IOException {
+        final MessageDigest digest = newSha256();
+        final byte[] buffer = new byte[BUFFER_SIZE];
+        int read;
+        while ((read = in.read(buffer)) != -1) {
+            digest.update(buffer, 0, read);
+        }
+        return toHex(digest.digest());
+    }
+
+    /**
+     * Computes the SHA-256 hash of a byte-array.
+     *
+     * @param bytes the bytes
+     *
+     * @return the hash as lower-case hexadecimal string
+     */
+    public static String sha256(byte[] bytes) {
+        return toHex(newSha256().digest(bytes));
+    }
+
+    /**
+     * Converts bytes to a lower-case hexadecimal string.
+     *
+     * @param bytes the bytes
+     *
+     * @return the hexadecimal string
+     */
+    public static String toHex(byte[] bytes) {
+        final char[] chars = new char[bytes.length * 2];
+        for (int i = 0; i < bytes.length; i++) {
+            chars[i * 2] = HEX[(bytes[i] >> 4) & 0x0f];
+            chars[i * 2 + 1] = HEX[bytes[i] & 0x0f];
+        }
+        return new String(chars);
+    }
+}
@@ -25,7 +25,11 @@
 package io.github.weblegacy.maven.plugin.taglib.util;
 
 import io.github.weblegacy.maven.plugin.taglib.Messages;
+import io.github.weblegacy.maven.plugin.taglib.util.ProjectClassLoaders.ApiClassLoader;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 import org.apache.maven.plugin.logging.Log;
 
 /**
@@ -35,6 +39,40 @@ import org.apache.maven.plugin.logging.Log;
  */
 public class JspCheck {
 
+    /**
+     * The classes of the servlet-, jsp- and el-API of all namespaces, whose class path elements
+     * are loaded by a shared {@link ApiClassLoader}.
+     */
+    private static final List<String> API_CLASSES;
+
+    static {
+        final List<String> apiClasses = new ArrayList<>();
+        for (JspNamespace jspNamespace : JspNamespace.values()) {
+            final String prefix = jspNamespace.getJspName();
+            for (JspClass jspClass : JspClass.values()) {
+                apiClasses.add(prefix + ".servlet.jsp.tagext." + jspClass.getJspName());
+            }
+            apiClasses.add(prefix + ".servlet.jsp.JspPage");
+            apiClasses.add(prefix + ".servlet.Servlet");
+            apiClasses.add(prefix + ".el.ELContext");
+        }
+        API_CLASSES = Collections.unmodifiableList(apiClasses);
+    }
+
+    /**
+     * The packages of the servlet- and el-API of all namespaces, including their sub-packages.
+     */
+    private static final List<String> API_PACKAGES;
+
+    static {
+        final List<String> apiPackages = new ArrayList<>();
+        for (JspNamespace jspNamespace : JspNamespace.values()) {
+            apiPackages.add(jspNamespace.getJspName() + ".servlet");
+            apiPackages.add(jspNamespace.getJspName() + ".el");
+        }
+        API_PACKAGES = Collections.unmodifiableList(apiPackages);
+    }
+
     /**
      * All loaded tag-classes for all tag-classes in all JavaEE-/JakartaEE-Environments.
      * <ol>
@@ -44,6 +82,26 @@ public class JspCheck {
      */
     private final Class<?>[][] clazzes;
 
+    /**
+     * Whether a class is assignable to the tag-classes, by the ordinal of the {@link JspClass}.
+     * The results are kept with the tested classes, so they don't keep the classes loaded.
+     */
+    private final ClassValue<boolean[]> assignable = new ClassValue<>() {
+        @Override
+        protected boolean[] computeValue(Class<?> type) {
+            final boolean[] result = new boolean[clazzes.length];
+            for (int i = 0; i < clazzes.length; i++) {
+                for (Class<?> jspClazz : clazzes[i]) {
+                    if (jspClazz != null && jspClazz.isAssignableFrom(type)) {
+                        result[i] = true;
+                        break;
+                    }
+                }
+            }
+            return result;
+        }
+    };
+
     /**
      * Construct and initialize this class. It loads all tag-classes for all namespaces with the
      * given classloader.
@@ -70,6 +128,54 @@ public class JspCheck {
         }
     }
 
+    /**
+     * Returns the check for the tag-classes of a classloader. The tag-classes of a
+     * {@link ProjectClassLoaders.ProjectClassLoader} with a shared {@link ApiClassLoader} are
+     * loaded only once for all projects using the same API jars.
+     *
+     * @param log         for Logging
+     * @param classLoader the classloader which is used to load the tag-classes
+     *
+     * @return the check
+     */
+    public static JspCheck of(final Log log, final ClassLoader classLoader) {
+        if (classLoader != null && classLoader.getParent() instanceof ApiClassLoader) {
+            return ((ApiClassLoader) classLoader.getParent()).getJspCheck(log);
+        }
+        return new JspCheck(log, classLoader);
+    }
+
+    /**
+     * Returns the names of the classes of the servlet-, jsp- and el-API of all namespaces. The
+     * class path elements supplying these classes can be loaded by a shared
+     * {@link ApiClassLoader}.
+     *
+     * @return the names of the API classes
+     */
+    public static List<String> getApiClasses() {
+        return API_CLASSES;
+    }
+
+    /**
+     * Tests if a package belongs to the servlet-, jsp- or el-API of any namespace. Only class
+     * path elements consisting of such packages can be loaded by a shared
+     * {@link ApiClassLoader}, because their classes never refer to classes of the project.
+     *
+     * @param packageName the name of the package
+     *
+     * @return {@code true} if the package is part of the API
+     */
+    public static boolean isApiPackage(String packageName) {
+        for (String apiPackage : API_PACKAGES) {
+            if (packageName.startsWith(apiPackage)
+                    && (packageName.length() == apiPackage.length()
+                    || packageName.charAt(apiPackage.length()) == '.')) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     /**
      * Load all tag-classes with the given classloader and namespace.
      *
@@ -132,14 +238,6 @@ public class JspCheck {
      * @return {@code true} specific class is assignable to the test-class
      */
     public boolean check(final JspClass jspClass, final Class<?> clazz) {
-        final Class<?>[] jspNamespaceClazzes = clazzes[jspClass.ordinal()];
-
-        for (Class<?> jspClazz : jspNamespaceClazzes) {
-            if (jspClazz != null && jspClazz.isAssignableFrom(clazz)) {
-                return true;
-            }
-        }
-
-        return false;
+        return assignable.get(clazz)[jspClass.ordinal()];
     }
 }
@@ -0,0 +1,160 @@
+/*
+ * The MIT License
+ * Copyright © 2004-2014 Fabrizio Giustina
+ * Copyright © 2022-2026 Web-Legacy
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package io.github.weblegacy.maven.plugin.taglib.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Utilities to process items concurrently on a bounded pool of worker threads while keeping the
+ * results in the order of the items.
+ *
+ * @author Stefan Graff
+ */
+public final class Parallel {
+
+    /**
+     * Counter for the names of the worker threads.
+     */
+    private static final AtomicInteger THREAD_COUNTER = new AtomicInteger();
+
+    /**
+     * Don't instantiate.
+     */
+    private Parallel() {
+        // unused
+    }
+
+    /**
+     * A task which processes one item.
+     *
+     * @param <T> the type of the items
+     * @param <R> the type of the results
+     */
+    @FunctionalInterface
+    public interface Task<T, R> {
+
+        /**
+         * Processes one item.
+         *
+         * @param item the item to process
+         *
+         * @return the result for the item
+         *
+         * @throws Exception if the item could not be processed
+         */
+        R apply(T item) throws Exception;
+    }
+
+    /**
+     * Returns the effective number of threads for a configured value. A value less than
+     * {@code 1} means one thread per available processor.
+     *
+     * @param threads the configured number of threads
+     *
+     * @return the effective number of threads, at least {@code 1}
+     */
+    public static int threads(int threads) {
+        return threads < 1 ? Runtime.getRuntime().availableProcessors() : threads;
+    }
+
+    /**
+     * Processes all items with the given task and returns the results in the order of the items.
+     * With more than one thread the items are processed concurrently on a bounded pool, otherwise
+     * they are processed one after another on the calling thread.
+     *
+     * @param <T>     the type of the items
+     * @param <R>     the type of the results
+     * @param threads the configured number of threads, see {@link #threads(int)}
+     * @param items   the items to process
+     * @param task    the task to process one item, must be thread-safe
+     *
+     * @return the results in the order of the items
+     *
+     * @throws ExecutionException if the task fails for an item, the cause is the exception of the
+     *                            first failing item in the order of the items
+     */
+    public static <T, R> List<R> map(int threads, List<T> items,
+            Task<? super T, ? extends R> task) throws ExecutionException {
+
+        final int poolSize = Math.min(threads(threads), items.size());
+        final List<R> results = new ArrayList<>(items.size());
+
+        if (poolSize <= 1) {
+            for (T item : items) {
+                try {
+                    results.add(task.apply(item));
+                } catch (Exception e) {
+                    throw new ExecutionException(e);
+                }
+            }
+            return results;
+        }
+
+        final ExecutorService executor = Executors.newFixedThreadPool(poolSize,
+                newThreadFactory());
+        try {
+            final List<Future<? extends R>> futures = new ArrayList<>(items.size());
+            for (T item : items) {
+                futures.add(executor.submit(() -> task.apply(item)));
+            }
+
+            for (Future<? extends R> future : futures) {
+                results.add(future.get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ExecutionException(e);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        return results;
+    }
+
+    /**
+     * Creates a factory for daemon worker threads, which inherit the context class-loader of the
+     * calling thread.
+     *
+     * @return the thread factory
+     */
+    public static ThreadFactory newThreadFactory() {
+        final ClassLoader contextClassLoader = Thread.currentThread().getContextClassLoader();
+
+        return runnable -> {
+            final Thread thread = new Thread(runnable,
+                    "taglib-worker-" + THREAD_COUNTER.incrementAndGet());
+            thread.setDaemon(true);
+            thread.setContextClassLoader(contextClassLoader);
+            return thread;
+        };
+    }
+}
@@ -0,0 +1,370 @@
+/*
+ * The MIT License
+ * Copyright © 2004-2014 Fabrizio Giustina
+ * Copyright © 2022-2026 Web-Legacy
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package io.github.weblegacy.maven.plugin.taglib.util;
+
+import io.github.weblegacy.maven.plugin.taglib.Messages;
+import java.io.File;
+import java.io.IOException;
+import java.lang.ref.WeakReference;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.security.AccessController;
+import java.security.PrivilegedAction;
+import java.text.MessageFormat;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.inject.Named;
+import javax.inject.Singleton;
+import org.apache.maven.execution.MavenSession;
+import org.apache.maven.plugin.logging.Log;
+import org.apache.maven.project.MavenProject;
+
+/**
+ * Provides the class-loaders over the compile classpath of the projects of a build. The
+ * class-loader of a project is created once and shared by all goals of this plugin, which load
+ * project classes. It is closed, when its classpath changes or when the session ends, so no jar
+ * file handles of an old session are kept open in a long-lived build daemon. The end of the
+ * session is signaled by {@link ProjectClassLoadersParticipant}, which Maven only calls for
+ * plugins declared with {@code <extensions>true</extensions>}; otherwise the class-loaders are
+ * closed when the next session requests its first class-loader. The sessions are only referenced
+ * weakly.
+ *
+ * <p>The jars of the servlet-, jsp- and el-API are loaded by a shared parent class-loader, which
+ * is reused by all projects with the same API jars, identified by their path, size and
+ * modification time. It is kept for the next session, as long as the last session used it.</p>
+ *
+ * @author Stefan Graff
+ */
+@Named
+@Singleton
+public class ProjectClassLoaders {
+
+    /**
+     * The class-loaders of the current session by the id of their project.
+     */
+    private final Map<String, ProjectClassLoader> classLoaders = new HashMap<>();
+
+    /**
+     * The shared class-loaders of the API jars by the key of the jars.
+     */
+    private final Map<String, ApiClassLoader> apiClassLoaders = new HashMap<>();
+
+    /**
+     * The current session, referenced weakly.
+     */
+    private WeakReference<MavenSession> currentSession = new WeakReference<>(null);
+
+    /**
+     * The number of the current session, incremented for every new session.
+     */
+    private int generation;
+
+    /**
+     * The logger of the last request, used to close the class-loaders at the end of the session.
+     */
+    private Log lastLog;
+
+    /**
+     * Returns the class-loader of a project. A class-loader created for the same project and
+     * classpath in the same session is reused, otherwise a new class-loader is created. The first
+     * call of a new session closes the class-loaders of the previous sessions.
+     *
+     * @param session           the current session
+     * @param project           the project
+     * @param classpathElements the output directory and the compile classpath of the project
+     * @param apiElements       the elements of the classpath, which supply the servlet-, jsp- and
+     *                          el-API, see {@link JspCheck#getApiClasses()}
+     * @param log               the logger
+     *
+     * @return the class-loader of the project, its parent is the shared class-loader of the API
+     *         jars or the bootstrap class-loader without API jars
+     *
+     * @throws IOException if a classpath element is not a valid URL
+     */
+    public synchronized ProjectClassLoader get(MavenSession session, MavenProject project,
+            List<File> classpathElements, List<File> apiElements, Log log) throws IOException {
+
+        if (currentSession.get() != session) {
+            startSession(session, log);
+        }
+        lastLog = log;
+
+        final String id = project.getId();
+        ProjectClassLoader classLoader = classLoaders.get(id);
+        if (classLoader != null && classLoader.classpathElements.equals(classpathElements)) {
+            classLoader.uses.incrementAndGet();
+            return classLoader;
+        }
+
+        if (classLoader != null) {
+            close(id, classLoader, log);
+        }
+
+        final ApiClassLoader apiClassLoader = getApiClassLoader(apiElements, log);
+
+        final List<URL> urls = new ArrayList<>(classpathElements.size());
+        for (File classpathElement : classpathElements) {
+            if (!apiElements.contains(classpathElement)) {
+                urls.add(classpathElement.toURI().toURL());
+            }
+        }
+
+        classLoader = AccessController.doPrivileged((PrivilegedAction<ProjectClassLoader>) ()
+                -> new ProjectClassLoader(urls.toArray(URL[]::new), apiClassLoader,
+                        new ArrayList<>(classpathElements)));
+        classLoaders.put(id, classLoader);
+
+        return classLoader;
+    }
+
+    /**
+     * Ends a session: closes the class-loaders of its projects and the API class-loaders, which
+     * it did not use. The API class-loaders used by the session are kept for the next session.
+     * Nothing is done, if the session is not the current session.
+     *
+     * @param session the ended session
+     */
+    public synchronized void endSession(MavenSession session) {
+        if (session == null || currentSession.get() != session) {
+            return;
+        }
+
+        closeSession(lastLog);
+        currentSession = new WeakReference<>(null);
+        lastLog = null;
+    }
+
+    /**
+     * Starts a new session: closes the class-loaders of the projects of the previous sessions
+     * and the API class-loaders, which the previous session did not use.
+     *
+     * @param session the new session
+     * @param log     the logger
+     */
+    private void startSession(MavenSession session, Log log) {
+        closeSession(log);
+        currentSession = new WeakReference<>(session);
+        generation++;
+    }
+
+    /**
+     * Closes the class-loaders of the projects and the API class-loaders, which the current
+     * session did not use.
+     *
+     * @param log the logger
+     */
+    private void closeSession(Log log) {
+        for (Map.Entry<String, ProjectClassLoader> entry : classLoaders.entrySet()) {
+            close(entry.getKey(), entry.getValue(), log);
+        }
+        classLoaders.clear();
+
+        // API class-loaders not used by the previous session are outdated
+        final Iterator<ApiClassLoader> apiIt = apiClassLoaders.values().iterator();
+        while (apiIt.hasNext()) {
+            final ApiClassLoader apiClassLoader = apiIt.next();
+            if (apiClassLoader.generation != generation) {
+                apiIt.remove();
+                try {
+                    apiClassLoader.close();
+                } catch (IOException e) {
+                    log.warn(MessageFormat.format(
+                            Messages.getString("Taglib.classloader.closeerror"),
+                            Arrays.toString(apiClassLoader.getURLs()), e.getMessage()));
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the shared class-loader of API jars. A class-loader is reused, as long as the
+     * jars have the same path, size and modification time.
+     *
+     * @param apiElements the API jars
+     * @param log         the logger
+     *
+     * @return the class-loader or {@code null} if there are no API jars
+     *
+     * @throws IOException if an API jar is not a valid URL
+     */
+    private ApiClassLoader getApiClassLoader(List<File> apiElements, Log log) throws IOException {
+        if (apiElements.isEmpty()) {
+            return null;
+        }
+
+        final StringBuilder key = new StringBuilder();
+        final List<URL> urls = new ArrayList<>(apiElements.size());
+        for (File apiElement : apiElements) {
+            key.append(apiElement.getAbsolutePath()).append('|').append(apiElement.length())
+                    .append('|').append(apiElement.lastModified()).append(File.pathSeparatorChar);
+            urls.add(apiElement.toURI().toURL());
+        }
+
+        ApiClassLoader apiClassLoader = apiClassLoaders.get(key.toString());
+        if (apiClassLoader == null) {
+            apiClassLoader = AccessController.doPrivileged((PrivilegedAction<ApiClassLoader>) ()
+                    -> new ApiClassLoader(urls.toArray(URL[]::new)));
+            apiClassLoaders.put(key.toString(), apiClassLoader);
+        } else {
+            log.debug(MessageFormat.format(Messages.getString("Taglib.classloader.api"),
+                    apiElements.size()));
+        }
+        apiClassLoader.generation = generation;
+        return apiClassLoader;
+    }
+
+    /**
+     * Closes a class-loader and logs its statistics.
+     *
+     * @param id          the id of the project
+     * @param classLoader the class-loader
+     * @param log         the logger
+     */
+    private static void close(String id, ProjectClassLoader classLoader, Log log) {
+        log.debug(MessageFormat.format(Messages.getString("Taglib.classloader.close"), id,
+                classLoader.getUses(), classLoader.getLoadedClasses()));
+        try {
+            classLoader.close();
+        } catch (IOException e) {
+            log.warn(MessageFormat.format(Messages.getString("Taglib.classloader.closeerror"),
+                    id, e.getMessage()));
+        }
+    }
+
+    /**
+     * A class-loader over the compile classpath of a project, which counts the loaded classes.
+     */
+    public static final class ProjectClassLoader extends URLClassLoader {
+
+        static {
+            ClassLoader.registerAsParallelCapable();
+        }
+
+        /**
+         * The output directory and the compile classpath of the project.
+         */
+        private final List<File> classpathElements;
+
+        /**
+         * Number of the classes defined by this class-loader.
+         */
+        private final AtomicInteger loadedClasses = new AtomicInteger();
+
+        /**
+         * Number of the uses of this class-loader.
+         */
+        private final AtomicInteger uses = new AtomicInteger(1);
+
+        /**
+         * Creates a class-loader.
+         *
+         * @param urls              the urls of the classpath without the API jars
+         * @param parent            the class-loader of the API jars, may be {@code null}
+         * @param classpathElements the output directory and the compile classpath of the project
+         */
+        private ProjectClassLoader(URL[] urls, ApiClassLoader parent,
+                List<File> classpathElements) {
+
+            super(urls, parent);
+            this.classpathElements = classpathElements;
+        }
+
+        @Override
+        protected Class<?> findClass(String name) throws ClassNotFoundException {
+            final Class<?> clazz = super.findClass(name);
+            loadedClasses.incrementAndGet();
+            return clazz;
+        }
+
+        /**
+         * Returns the number of classes defined by this class-loader.
+         *
+         * @return the number of loaded classes
+         */
+        public int getLoadedClasses() {
+            return loadedClasses.get();
+        }
+
+        /**
+         * Returns how often this class-loader was provided.
+         *
+         * @return the number of uses
+         */
+        public int getUses() {
+            return uses.get();
+        }
+    }
+
+    /**
+     * A class-loader over the jars of the servlet-, jsp- and el-API, which is shared by the
+     * class-loaders of all projects using the same jars. It keeps the resolved tag-classes of
+     * the API.
+     */
+    public static final class ApiClassLoader extends URLClassLoader {
+
+        static {
+            ClassLoader.registerAsParallelCapable();
+        }
+
+        /**
+         * The number of the last session, which used this class-loader.
+         */
+        private int generation;
+
+        /**
+         * The check of the tag-classes of the API, created on first use.
+         */
+        private JspCheck jspCheck;
+
+        /**
+         * Creates a class-loader.
+         *
+         * @param urls the urls of the API jars
+         */
+        private ApiClassLoader(URL[] urls) {
+            super(urls, null);
+        }
+
+        /**
+         * Returns the check of the tag-classes of the API, the tag-classes are loaded on the
+         * first call.
+         *
+         * @param log for Logging
+         *
+         * @return the check
+         */
+        synchronized JspCheck getJspCheck(Log log) {
+            if (jspCheck == null) {
+                jspCheck = new JspCheck(log, this);
+            }
+            return jspCheck;
+        }
+    }
+}
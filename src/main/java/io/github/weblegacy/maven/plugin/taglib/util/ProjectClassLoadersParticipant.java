@@ -0,0 +1,62 @@
+/*
+ * The MIT License
+ * Copyright © 2004-2014 Fabrizio Giustina
+ * Copyright © 2022-2026 Web-Legacy
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package io.github.weblegacy.maven.plugin.taglib.util;
+
+import javax.inject.Inject;
+import javax.inject.Named;
+import javax.inject.Singleton;
+import org.apache.maven.AbstractMavenLifecycleParticipant;
+import org.apache.maven.execution.MavenSession;
+
+/**
+ * Closes the class-loaders of the projects at the end of a session. Maven calls this participant
+ * only, if the plugin is declared with {@code <extensions>true</extensions>}.
+ *
+ * @author Stefan Graff
+ */
+@Named
+@Singleton
+public class ProjectClassLoadersParticipant extends AbstractMavenLifecycleParticipant {
+
+    /**
+     * The class-loaders of the projects.
+     */
+    private final ProjectClassLoaders classLoaders;
+
+    /**
+     * Creates the participant.
+     *
+     * @param classLoaders the class-loaders of the projects
+     */
+    @Inject
+    public ProjectClassLoadersParticipant(ProjectClassLoaders classLoaders) {
+        this.classLoaders = classLoaders;
+    }
+
+    @Override
+    public void afterSessionEnd(MavenSession session) {
+        classLoaders.endSession(session);
+    }
+}
@@ -24,11 +24,13 @@
 
 package io.github.weblegacy.maven.plugin.taglib.util;
 
+import java.io.ByteArrayInputStream;
 import java.io.CharArrayReader;
 import javax.xml.parsers.DocumentBuilder;
 import javax.xml.parsers.DocumentBuilderFactory;
 import javax.xml.parsers.FactoryConfigurationError;
 import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.stream.XMLInputFactory;
 import org.apache.maven.plugin.MojoExecutionException;
 import org.w3c.dom.DOMException;
 import org.w3c.dom.Node;
@@ -68,6 +70,25 @@ public class XmlHelper {
         }
     }
 
+    /**
+     * Returns a XMLInputFactory instance configured like the {@link #getDocumentBuilder()
+     * DocumentBuilder}: not validating, not namespace aware and without loading external DTDs or
+     * entities.
+     *
+     * @return XMLInputFactory instance
+     */
+    public static XMLInputFactory getXmlInputFactory() {
+        XMLInputFactory factory = XMLInputFactory.newInstance();
+        factory.setProperty(XMLInputFactory.IS_VALIDATING, Boolean.FALSE);
+        factory.setProperty(XMLInputFactory.IS_NAMESPACE_AWARE, Boolean.FALSE);
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, Boolean.FALSE);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, Boolean.FALSE);
+        factory.setXMLResolver((publicId, systemId, baseUri, namespace)
+                -> new ByteArrayInputStream(new byte[0]));
+
+        return factory;
+    }
+
     /**
      * Get Node text content.
      *
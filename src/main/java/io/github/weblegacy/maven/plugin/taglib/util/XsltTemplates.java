@@ -0,0 +1,242 @@
+/*
+ * The MIT License
+ * Copyright © 2004-2014 Fabrizio Giustina
+ * Copyright © 2022-2026 Web-Legacy
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package io.github.weblegacy.maven.plugin.taglib.util;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.net.URLConnection;
+import java.net.URLStreamHandler;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.inject.Named;
+import javax.inject.Singleton;
+import javax.xml.transform.Source;
+import javax.xml.transform.Templates;
+import javax.xml.transform.TransformerConfigurationException;
+import javax.xml.transform.TransformerFactory;
+import org.apache.maven.execution.MavenSession;
+
+/**
+ * Provides the caches of the compiled XSLT stylesheets of the sessions of a build. A stylesheet
+ * is compiled once per session into thread-safe {@link Templates}, identified by the hash of its
+ * content, and reused by all projects and worker threads.
+ *
+ * <p>Libraries like tlddoc create a new {@link TransformerFactory} for every page. While a
+ * {@link Cache#newContextClassLoader(ClassLoader) context class-loader} of a cache is set, the
+ * {@link TransformerFactory#newInstance()} lookup returns a {@link CachingTransformerFactory},
+ * which compiles the stylesheets through the cache.</p>
+ *
+ * @author Stefan Graff
+ */
+@Named
+@Singleton
+public class XsltTemplates {
+
+    /**
+     * The caches by their session.
+     */
+    private final Map<MavenSession, Cache> caches = new WeakHashMap<>();
+
+    /**
+     * Returns the cache of the compiled stylesheets of a session.
+     *
+     * @param session the current session
+     *
+     * @return the cache of the session
+     */
+    public synchronized Cache get(MavenSession session) {
+        return caches.computeIfAbsent(session, key -> new Cache());
+    }
+
+    /**
+     * A cache of compiled stylesheets.
+     */
+    public static final class Cache {
+
+        /**
+         * The compiled stylesheets by the hash of their content and their system-id.
+         */
+        private final ConcurrentMap<String, Templates> templates = new ConcurrentHashMap<>();
+
+        /**
+         * Number of stylesheets taken from the cache.
+         */
+        private final AtomicInteger reused = new AtomicInteger();
+
+        /**
+         * Returns the compiled form of a stylesheet. The stylesheet is compiled with the given
+         * factory, if it is not in the cache.
+         *
+         * @param stylesheet the content of the stylesheet
+         * @param systemId   the system-id of the stylesheet, could be {@code null}
+         * @param source     the source of the stylesheet to compile
+         * @param factory    the factory to compile the stylesheet
+         *
+         * @return the compiled stylesheet
+         *
+         * @throws TransformerConfigurationException if the stylesheet could not be compiled
+         */
+        Templates get(byte[] stylesheet, String systemId, Source source, TransformerFactory factory)
+                throws TransformerConfigurationException {
+
+            final String key = Digests.sha256(stylesheet) + (systemId == null ? "" : systemId);
+
+            Templates compiled = templates.get(key);
+            if (compiled != null) {
+                reused.incrementAndGet();
+                return compiled;
+            }
+
+            compiled = factory.newTemplates(source);
+            final Templates previous = templates.putIfAbsent(key, compiled);
+            return previous == null ? compiled : previous;
+        }
+
+        /**
+         * Returns the number of compiled stylesheets in the cache.
+         *
+         * @return the number of compiled stylesheets
+         */
+        public int getCompiled() {
+            return templates.size();
+        }
+
+        /**
+         * Returns the number of stylesheets taken from the cache.
+         *
+         * @return the number of reused stylesheets
+         */
+        public int getReused() {
+            return reused.get();
+        }
+
+        /**
+         * Creates a context class-loader, which provides the {@link CachingTransformerFactory}
+         * of this cache to {@link TransformerFactory#newInstance()}. All other classes and
+         * resources are delegated to the parent.
+         *
+         * @param parent the current context class-loader
+         *
+         * @return the context class-loader
+         */
+        public ClassLoader newContextClassLoader(ClassLoader parent) {
+            return new CacheClassLoader(parent, this);
+        }
+    }
+
+    /**
+     * A context class-loader providing the {@link CachingTransformerFactory} as service of
+     * {@link TransformerFactory}.
+     */
+    static final class CacheClassLoader extends ClassLoader {
+
+        /**
+         * The service file of the {@link TransformerFactory}.
+         */
+        private static final String SERVICE = "META-INF/services/"
+                + TransformerFactory.class.getName();
+
+        /**
+         * The service file naming the {@link CachingTransformerFactory}, provided in memory.
+         */
+        private static final URL PROVIDER;
+
+        static {
+            try {
+                PROVIDER = new URL(null, "taglib-xslt:" + SERVICE, new ProviderHandler());
+            } catch (MalformedURLException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        /**
+         * The cache of the compiled stylesheets.
+         */
+        private final Cache cache;
+
+        /**
+         * The class-constructor.
+         *
+         * @param parent the parent class-loader
+         * @param cache  the cache of the compiled stylesheets
+         */
+        CacheClassLoader(ClassLoader parent, Cache cache) {
+            super(parent);
+            this.cache = cache;
+        }
+
+        /**
+         * Returns the cache of the compiled stylesheets.
+         *
+         * @return the cache
+         */
+        Cache getCache() {
+            return cache;
+        }
+
+        @Override
+        public URL getResource(String name) {
+            return SERVICE.equals(name) ? PROVIDER : super.getResource(name);
+        }
+
+        @Override
+        public Enumeration<URL> getResources(String name) throws IOException {
+            return SERVICE.equals(name) ? Collections.enumeration(Collections.singleton(PROVIDER))
+                    : super.getResources(name);
+        }
+    }
+
+    /**
+     * Opens the service file naming the {@link CachingTransformerFactory}.
+     */
+    private static final class ProviderHandler extends URLStreamHandler {
+
+        @Override
+        protected URLConnection openConnection(URL url) {
+            return new URLConnection(url) {
+
+                @Override
+                public void connect() {
+                    connected = true;
+                }
+
+                @Override
+                public InputStream getInputStream() {
+                    return new ByteArrayInputStream((CachingTransformerFactory.class.getName()
+                            + '\n').getBytes(StandardCharsets.UTF_8));
+                }
+            };
+        }
+    }
+}
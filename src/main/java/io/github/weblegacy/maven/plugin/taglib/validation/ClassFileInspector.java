@@ -0,0 +1,465 @@
+/*
+ * The MIT License
+ * Copyright © 2004-2014 Fabrizio Giustina
+ * Copyright © 2022-2026 Web-Legacy
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package io.github.weblegacy.maven.plugin.taglib.validation;
+
+import io.github.weblegacy.maven.plugin.taglib.Messages;
+import io.github.weblegacy.maven.plugin.taglib.checker.ElFunction;
+import io.github.weblegacy.maven.plugin.taglib.util.ClassFile;
+import io.github.weblegacy.maven.plugin.taglib.util.ClassFile.MethodInfo;
+import io.github.weblegacy.maven.plugin.taglib.util.ClassPath;
+import io.github.weblegacy.maven.plugin.taglib.util.ClassPathIndex;
+import io.github.weblegacy.maven.plugin.taglib.util.JspClass;
+import io.github.weblegacy.maven.plugin.taglib.util.JspNamespace;
+import java.beans.Introspector;
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.Modifier;
+import java.text.MessageFormat;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.Strings;
+import org.apache.maven.plugin.logging.Log;
+
+/**
+ * Inspects the classes by reading their class-files from the class path of the project. No class
+ * is loaded, initialized or instantiated.
+ *
+ * <p>
+ * The answers follow the reflection based inspection: a class is found if the class-files of the
+ * class and all its supertypes are found, it is loadable if it is a public concrete class with a
+ * public no-arg constructor, and a bean property is writeable if the class or a superclass
+ * declares a public {@code void} setter for it. A constructor, which fails at runtime, is not
+ * detected.
+ * </p>
+ *
+ * @author Stefan Graff
+ */
+public class ClassFileInspector implements TagClassInspector, Closeable {
+
+    /**
+     * The names of the primitive types declared in tlds, mapped like the reflection based
+     * inspection does.
+     */
+    private static final Map<String, String> PRIMITIVES = Map.of("byte", "byte", "short", "int",
+            "int", "int", "long", "long", "float", "double", "double", "double", "boolean",
+            "boolean", "char", "char");
+
+    /**
+     * The descriptors of the primitive types.
+     */
+    private static final Map<String, String> DESCRIPTORS = Map.of("byte", "B", "int", "I",
+            "long", "J", "double", "D", "boolean", "Z", "char", "C");
+
+    /**
+     * The supertypes of all arrays.
+     */
+    private static final Set<String> ARRAY_SUPERTYPES = Set.of("java.lang.Object",
+            "java.lang.Cloneable", "java.io.Serializable");
+
+    /**
+     * For logging.
+     */
+    private final Log log;
+
+    /**
+     * The class path of the project.
+     */
+    private final ClassPath classPath;
+
+    /**
+     * The index of the class path, {@code null} to search the class path.
+     */
+    private final ClassPathIndex index;
+
+    /**
+     * The read class-files by class name, empty if not found.
+     */
+    private final Map<String, Optional<ClassFile>> classFiles = new ConcurrentHashMap<>();
+
+    /**
+     * The class-constructor.
+     *
+     * @param log               the logger that has been injected into the mojo.
+     * @param classpathElements the output directory and the compile classpath of the project
+     * @param index             the index of the class path to answer missing classes without a
+     *                          search, may be {@code null}
+     */
+    public ClassFileInspector(final Log log, final List<File> classpathElements,
+            final ClassPathIndex index) {
+
+        this.log = log;
+        this.classPath = new ClassPath(classpathElements);
+        this.index = index;
+    }
+
+    @Override
+    public Inspection inspect(String className, JspClass... jspClasses) {
+        final ClassFile classFile = classFile(className);
+        final Set<String> supertypes = supertypes(classFile);
+        if (supertypes == null) {
+            return new ClassFileInspection(null, false, false, false);
+        }
+
+        boolean extend = false;
+        for (JspClass jspClass : jspClasses) {
+            for (JspNamespace jspNamespace : JspNamespace.values()) {
+                extend |= supertypes.contains(jspNamespace.getJspName() + ".servlet.jsp.tagext."
+                        + jspClass.getJspName());
+            }
+        }
+
+        final int access = classFile.getAccess();
+        boolean loadable = Modifier.isPublic(access)
+                && (access & (Modifier.ABSTRACT | Modifier.INTERFACE)) == 0;
+        if (loadable) {
+            loadable = false;
+            for (MethodInfo method : classFile.getMethods()) {
+                loadable |= "<init>".equals(method.getName())
+                        && "()V".equals(method.getDescriptor())
+                        && Modifier.isPublic(method.getAccess());
+            }
+        }
+
+        return new ClassFileInspection(loadable ? classFile : null, true, loadable, extend);
+    }
+
+    @Override
+    public boolean hasFunction(ElFunction function) {
+        final ClassFile classFile = classFile(function.getFunctionClass());
+        if (supertypes(classFile) == null) {
+            return false;
+        }
+
+        String methodName = StringUtils.trim(StringUtils.substringBefore(
+                function.getFunctionSignature(), "("));
+        String returnvalue = null;
+        if (Strings.CS.contains(methodName, " ")) {
+            returnvalue = StringUtils.substringBefore(methodName, " ");
+            methodName = StringUtils.substringAfter(methodName, " ");
+        }
+
+        final List<String> parameters = new ArrayList<>();
+        for (String parameter : StringUtils.split(function.getParameters(), ",")) {
+            final String name = StringUtils.trim(parameter);
+            if (classFile(name) == null) {
+                // the reflection based inspection can not load it either
+                return false;
+            }
+            parameters.add(name);
+        }
+
+        final MethodInfo method = findPublicMethod(classFile, methodName, parameters);
+        return method != null
+                && (returnvalue == null || method.getReturnType().equals(returnvalue));
+    }
+
+    /**
+     * Looks up a public method in a class and its supertypes.
+     *
+     * @param classFile  the class
+     * @param name       the name of the method
+     * @param parameters the binary names of the parameter types
+     *
+     * @return the method or {@code null} if not found
+     */
+    private MethodInfo findPublicMethod(ClassFile classFile, String name, List<String> parameters) {
+        final Deque<ClassFile> queue = new ArrayDeque<>();
+        final Set<String> visited = new HashSet<>();
+        queue.add(classFile);
+
+        while (!queue.isEmpty()) {
+            final ClassFile current = queue.poll();
+            if (!visited.add(current.getName())) {
+                continue;
+            }
+
+            for (MethodInfo method : current.getMethods()) {
+                if (Modifier.isPublic(method.getAccess()) && name.equals(method.getName())
+                        && parameters.equals(method.getParameterClassNames())) {
+                    return method;
+                }
+            }
+
+            for (String supertype : directSupertypes(current)) {
+                final ClassFile superClassFile = classFile(supertype);
+                if (superClassFile != null) {
+                    queue.add(superClassFile);
+                }
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Returns the names of all supertypes of a class, including the class itself.
+     *
+     * @param classFile the class, may be {@code null}
+     *
+     * @return the binary names of the supertypes or {@code null} if the class or one of its
+     *         supertypes was not found
+     */
+    private Set<String> supertypes(ClassFile classFile) {
+        if (classFile == null) {
+            return null;
+        }
+
+        final Set<String> supertypes = new HashSet<>();
+        final Deque<ClassFile> queue = new ArrayDeque<>();
+        queue.add(classFile);
+
+        while (!queue.isEmpty()) {
+            final ClassFile current = queue.poll();
+            if (!supertypes.add(current.getName())) {
+                continue;
+            }
+
+            for (String supertype : directSupertypes(current)) {
+                final ClassFile superClassFile = classFile(supertype);
+                if (superClassFile == null) {
+                    return null;
+                }
+                queue.add(superClassFile);
+            }
+        }
+
+        return supertypes;
+    }
+
+    /**
+     * Returns the direct superclass and the directly implemented interfaces of a class.
+     *
+     * @param classFile the class
+     *
+     * @return the binary names of the direct supertypes
+     */
+    private static List<String> directSupertypes(ClassFile classFile) {
+        final List<String> supertypes = new ArrayList<>(classFile.getInterfaces().size() + 1);
+        if (classFile.getSuperName() != null) {
+            supertypes.add(classFile.getSuperName());
+        }
+        supertypes.addAll(classFile.getInterfaces());
+        return supertypes;
+    }
+
+    /**
+     * Reads the class-file of a class.
+     *
+     * @param className the binary name of the class
+     *
+     * @return the class-file or {@code null} if not found or not readable
+     */
+    private ClassFile classFile(String className) {
+        return classFiles.computeIfAbsent(className, name -> {
+            if (index != null && index.isMissing(name)) {
+                return Optional.empty();
+            }
+
+            try {
+                return Optional.ofNullable(classPath.load(name));
+            } catch (IOException e) {
+                log.warn(e);
+                return Optional.empty();
+            }
+        }).orElse(null);
+    }
+
+    /**
+     * Tests if a type accepts values of a type declared in the tld.
+     *
+     * @param target  the binary name of the accepting type
+     * @param tldType the name of the type declared in the tld
+     *
+     * @return {@code true} if the target type is assignable from the declared type
+     */
+    private boolean isAssignable(String target, String tldType) {
+        final String primitive = PRIMITIVES.get(tldType);
+        if (primitive != null) {
+            return primitive.equals(target);
+        }
+
+        if (tldType.endsWith("[]")) {
+            final String element = Strings.CS.replace(tldType, "[]", "");
+            final String elementPrimitive = PRIMITIVES.get(element);
+            final String array = elementPrimitive != null
+                    ? "[" + DESCRIPTORS.get(elementPrimitive) : "[L" + element + ";";
+
+            if (target.equals(array) || ARRAY_SUPERTYPES.contains(target)) {
+                return true;
+            }
+            return elementPrimitive == null && target.startsWith("[L")
+                    && isAssignable(target.substring(2, target.length() - 1), element);
+        }
+
+        final Set<String> supertypes = supertypes(classFile(tldType));
+        if (supertypes == null) {
+            log.error(MessageFormat.format(
+                    Messages.getString("Validate.error.unabletofindclass"), tldType));
+            return false;
+        }
+        return supertypes.contains(target) || "java.lang.Object".equals(target);
+    }
+
+    @Override
+    public void close() throws IOException {
+        classPath.close();
+    }
+
+    /**
+     * The inspection of a class-file, with the bean properties of the class and its
+     * superclasses.
+     */
+    private final class ClassFileInspection implements Inspection {
+
+        /**
+         * The inspected class, {@code null} if not loadable.
+         */
+        private final ClassFile classFile;
+
+        /**
+         * Whether the class was found.
+         */
+        private final boolean found;
+
+        /**
+         * Whether the class can be instantiated.
+         */
+        private final boolean loadable;
+
+        /**
+         * Whether the class extends one of the expected jsp classes.
+         */
+        private final boolean extend;
+
+        /**
+         * Creates the inspection of a class.
+         *
+         * @param classFile the inspected class, {@code null} if not found or not loadable
+         * @param found     whether the class was found
+         * @param loadable  whether the class can be instantiated
+         * @param extend    whether the class extends one of the expected jsp classes
+         */
+        ClassFileInspection(ClassFile classFile, boolean found, boolean loadable,
+                boolean extend) {
+            this.classFile = classFile;
+            this.found = found;
+            this.loadable = loadable;
+            this.extend = extend;
+        }
+
+        @Override
+        public boolean isFound() {
+            return found;
+        }
+
+        @Override
+        public boolean isLoadable() {
+            return loadable;
+        }
+
+        @Override
+        public boolean isExtend() {
+            return extend;
+        }
+
+        @Override
+        public String getPropertyType(String property) {
+            return propertyType(property);
+        }
+
+        @Override
+        public boolean accepts(String property, String type) {
+            return isAssignable(propertyType(property), type);
+        }
+
+        /**
+         * Returns the type of a writeable bean property. If a getter of the same property is
+         * declared, the setter with the type of the getter is preferred, like the JavaBeans
+         * introspection does.
+         *
+         * @param property the name of the property
+         *
+         * @return the binary name of the type or {@code null} if the property has no setter
+         */
+        private String propertyType(String property) {
+            final List<MethodInfo> setters = new ArrayList<>();
+            String getterType = null;
+
+            for (ClassFile current = classFile; current != null;
+                    current = current.getSuperName() == null ? null
+                            : classFile(current.getSuperName())) {
+
+                for (MethodInfo method : current.getMethods()) {
+                    final int access = method.getAccess();
+                    if (!Modifier.isPublic(access) || Modifier.isStatic(access)) {
+                        continue;
+                    }
+
+                    final String name = method.getName();
+                    final List<String> parameters = method.getParameterTypes();
+                    final String returnType = method.getReturnType();
+                    if (parameters.size() == 1 && "void".equals(returnType)
+                            && isAccessor(name, "set", property)) {
+                        setters.add(method);
+                    } else if (getterType == null && parameters.isEmpty()
+                            && (isAccessor(name, "get", property) && !"void".equals(returnType)
+                            || isAccessor(name, "is", property) && "boolean".equals(returnType))) {
+                        getterType = returnType;
+                    }
+                }
+            }
+
+            for (MethodInfo setter : setters) {
+                if (setter.getParameterTypes().get(0).equals(getterType)) {
+                    return setter.getParameterClassNames().get(0);
+                }
+            }
+            return setters.isEmpty() ? null : setters.get(0).getParameterClassNames().get(0);
+        }
+    }
+
+    /**
+     * Tests if a method name is an accessor of a bean property.
+     *
+     * @param name     the name of the method
+     * @param prefix   the prefix of the accessor
+     * @param property the name of the property
+     *
+     * @return {@code true} if the method name is the accessor of the property
+     */
+    private static boolean isAccessor(String name, String prefix, String property) {
+        return name.length() > prefix.length() && name.startsWith(prefix)
+                && property.equals(Introspector.decapitalize(name.substring(prefix.length())));
+    }
+}
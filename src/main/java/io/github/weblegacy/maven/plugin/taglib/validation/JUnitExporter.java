@@ -0,0 +1,136 @@
+/*
+ * The MIT License
+ * Copyright © 2004-2014 Fabrizio Giustina
+ * Copyright © 2022-2026 Web-Legacy
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package io.github.weblegacy.maven.plugin.taglib.validation;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.util.List;
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+
+/**
+ * Exports all checks of the validation as JUnit XML report. Every tld is a test suite, every
+ * check a test case. Errors are reported as failures, warnings and infos as output of the test
+ * case.
+ *
+ * @author Stefan Graff
+ */
+public final class JUnitExporter implements ValidationExporter {
+
+    /**
+     * The stream of the export file.
+     */
+    private final OutputStream stream;
+
+    /**
+     * The writer of the export file.
+     */
+    private final XMLStreamWriter out;
+
+    /**
+     * Creates the exporter and writes the root element.
+     *
+     * @param file the export file
+     *
+     * @throws IOException if the export file could not be created
+     */
+    public JUnitExporter(File file) throws IOException {
+        Files.createDirectories(file.getAbsoluteFile().getParentFile().toPath());
+        this.stream = Files.newOutputStream(file.toPath());
+
+        try {
+            this.out = XMLOutputFactory.newFactory().createXMLStreamWriter(stream, "UTF-8");
+            out.writeStartDocument("UTF-8", "1.0");
+            out.writeCharacters("\n");
+            out.writeStartElement("testsuites");
+            out.writeAttribute("name", "taglib-validation");
+        } catch (XMLStreamException e) {
+            stream.close();
+            throw new IOException(e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public void export(ValidationResult result) throws IOException {
+        final List<ValidationCheck> checks = ValidationCheck.of(result);
+        int failures = 0;
+        for (ValidationCheck check : checks) {
+            if (check.getLevel() == ValidationError.LEVEL_ERROR) {
+                failures++;
+            }
+        }
+
+        try {
+            out.writeCharacters("\n  ");
+            out.writeStartElement("testsuite");
+            out.writeAttribute("name", result.getTld().getFilename());
+            out.writeAttribute("tests", Integer.toString(checks.size()));
+            out.writeAttribute("failures", Integer.toString(failures));
+            out.writeAttribute("errors", "0");
+
+            for (ValidationCheck check : checks) {
+                out.writeCharacters("\n    ");
+                out.writeStartElement("testcase");
+                out.writeAttribute("classname", check.getClassName());
+                out.writeAttribute("name", check.getAttribute() == null ? check.getTag()
+                        : check.getTag() + '@' + check.getAttribute());
+
+                if (check.getLevel() == ValidationError.LEVEL_ERROR) {
+                    out.writeStartElement("failure");
+                    out.writeAttribute("type", check.getKey());
+                    out.writeAttribute("message", check.getMessage());
+                    out.writeEndElement();
+                } else if (check.getLevel() != 0) {
+                    out.writeStartElement("system-out");
+                    out.writeCharacters(check.getLevelName() + ": " + check.getMessage());
+                    out.writeEndElement();
+                }
+                out.writeEndElement();
+            }
+
+            out.writeCharacters("\n  ");
+            out.writeEndElement();
+        } catch (XMLStreamException e) {
+            throw new IOException(e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            out.writeCharacters("\n");
+            out.writeEndElement();
+            out.writeEndDocument();
+            out.close();
+        } catch (XMLStreamException e) {
+            throw new IOException(e.getMessage(), e);
+        } finally {
+            stream.close();
+        }
+    }
+}
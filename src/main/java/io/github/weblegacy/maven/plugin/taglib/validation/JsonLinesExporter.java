@@ -0,0 +1,86 @@
+/*
+ * The MIT License
+ * Copyright © 2004-2014 Fabrizio Giustina
+ * Copyright © 2022-2026 Web-Legacy
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package io.github.weblegacy.maven.plugin.taglib.validation;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+/**
+ * Exports the failed checks of the validation as JSON Lines, one JSON object per line.
+ *
+ * @author Stefan Graff
+ */
+public final class JsonLinesExporter implements ValidationExporter {
+
+    /**
+     * The writer of the export file.
+     */
+    private final Writer out;
+
+    /**
+     * Creates the exporter.
+     *
+     * @param file the export file
+     *
+     * @throws IOException if the export file could not be created
+     */
+    public JsonLinesExporter(File file) throws IOException {
+        Files.createDirectories(file.getAbsoluteFile().getParentFile().toPath());
+        this.out = Files.newBufferedWriter(file.toPath(), StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public void export(ValidationResult result) throws IOException {
+        for (ValidationCheck check : ValidationCheck.of(result)) {
+            if (check.getLevel() == 0) {
+                continue;
+            }
+
+            out.write('{');
+            Json.member(out, "level", check.getLevelName());
+            out.write(',');
+            Json.member(out, "tld", check.getTld());
+            out.write(',');
+            Json.member(out, "tag", check.getTag());
+            out.write(',');
+            Json.member(out, "attribute", check.getAttribute());
+            out.write(',');
+            Json.member(out, "class", check.getClassName());
+            out.write(',');
+            Json.member(out, "key", check.getKey());
+            out.write(',');
+            Json.member(out, "message", check.getMessage());
+            out.write("}\n");
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        out.close();
+    }
+}
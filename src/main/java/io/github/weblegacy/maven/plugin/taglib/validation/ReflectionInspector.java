@@ -0,0 +1,606 @@
+/*
+ * The MIT License
+ * Copyright © 2004-2014 Fabrizio Giustina
+ * Copyright © 2022-2026 Web-Legacy
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package io.github.weblegacy.maven.plugin.taglib.validation;
+
+import io.github.weblegacy.maven.plugin.taglib.Messages;
+import io.github.weblegacy.maven.plugin.taglib.checker.ElFunction;
+import io.github.weblegacy.maven.plugin.taglib.util.ClassPathIndex;
+import io.github.weblegacy.maven.plugin.taglib.util.JspCheck;
+import io.github.weblegacy.maven.plugin.taglib.util.JspClass;
+import io.github.weblegacy.maven.plugin.taglib.util.Parallel;
+import io.github.weblegacy.maven.plugin.taglib.validation.ValidationResult.FunctionResult;
+import java.beans.IndexedPropertyDescriptor;
+import java.beans.PropertyDescriptor;
+import java.io.Closeable;
+import java.lang.reflect.Array;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.text.MessageFormat;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import org.apache.commons.beanutils.MethodUtils;
+import org.apache.commons.beanutils.PropertyUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.Strings;
+import org.apache.maven.plugin.logging.Log;
+
+/**
+ * Inspects the classes by loading them with the class-loader of the project. Tag handler and
+ * TagExtraInfo classes are initialized and instantiated. The writeable bean properties of a class
+ * are introspected only once and shared by all tags of all tlds. With a timeout the classes are
+ * loaded, instantiated and introspected on worker threads, so a class blocking in its initializer
+ * or constructor can't hang the build. There are as many workers as threads validate the tlds,
+ * plus one replacement for each worker left behind by a timed out class.
+ *
+ * @author Fabrizio Giustina
+ * @author Stefan Graff
+ */
+public class ReflectionInspector implements TagClassInspector, Closeable {
+
+    /**
+     * For logging.
+     */
+    private final Log log;
+
+    /**
+     * The class-loader for the project.
+     */
+    private final ClassLoader projectClassLoader;
+
+    /**
+     * The index of the class path of the project, {@code null} to search the class path.
+     */
+    private final ClassPathIndex index;
+
+    /**
+     * Utility to check for the loaded Jsp-Classes.
+     */
+    private final JspCheck jspCheck;
+
+    /**
+     * The writeable bean properties by class, mapped to their types.
+     */
+    private final Map<Class<?>, Map<String, Class<?>>> setters = new ConcurrentHashMap<>();
+
+    /**
+     * The number of lookups of the writeable bean properties.
+     */
+    private final AtomicInteger setterLookups = new AtomicInteger();
+
+    /**
+     * The number of lookups of the writeable bean properties, which needed an introspection.
+     */
+    private final AtomicInteger setterMisses = new AtomicInteger();
+
+    /**
+     * The timeout in seconds to load, instantiate and introspect a class, {@code 0} for no
+     * timeout.
+     */
+    private final int timeout;
+
+    /**
+     * The worker threads to inspect the classes, {@code null} without timeout.
+     */
+    private final ThreadPoolExecutor workers;
+
+    /**
+     * The class-constructor.
+     *
+     * @param log                the logger that has been injected into the mojo.
+     * @param projectClassLoader ClassLoader for all compile-classpaths
+     * @param index              the index of the compile-classpaths to answer missing classes
+     *                           without a search, may be {@code null}
+     */
+    public ReflectionInspector(final Log log, final ClassLoader projectClassLoader,
+            final ClassPathIndex index) {
+
+        this(log, projectClassLoader, index, 0, 1);
+    }
+
+    /**
+     * The class-constructor.
+     *
+     * @param log                the logger that has been injected into the mojo.
+     * @param projectClassLoader ClassLoader for all compile-classpaths
+     * @param index              the index of the compile-classpaths to answer missing classes
+     *                           without a search, may be {@code null}
+     * @param timeout            the timeout in seconds to load, instantiate and introspect a
+     *                           class, {@code 0} to inspect the classes on the calling thread
+     *                           without timeout
+     * @param threads            the configured number of threads calling this inspector, which
+     *                           bounds the number of workers with a timeout, see
+     *                           {@link Parallel#threads(int)}
+     */
+    public ReflectionInspector(final Log log, final ClassLoader projectClassLoader,
+            final ClassPathIndex index, final int timeout, final int threads) {
+
+        this.log = log;
+        this.projectClassLoader = projectClassLoader;
+        this.index = index;
+        this.timeout = timeout;
+        this.workers = timeout > 0 ? newWorkers(Parallel.threads(threads)) : null;
+
+        // Load all jsp-classes for all namespaces.
+        this.jspCheck = JspCheck.of(log, projectClassLoader);
+    }
+
+    @Override
+    public Inspection inspect(String className, JspClass... jspClasses) {
+        if (isMissing(className)) {
+            return new ReflectionInspection(false, false, false, Collections.emptyMap(), null);
+        }
+
+        return withTimeout(className, () -> inspectClass(className, jspClasses),
+                () -> new ReflectionInspection(true, false, false, Collections.emptyMap(),
+                        new ValidationError(ValidationError.LEVEL_ERROR,
+                                "Validate.error.classtimeout", className, timeout)));
+    }
+
+    /**
+     * Loads, instantiates and introspects a tag handler or TagExtraInfo class.
+     *
+     * @param className  the name of the class
+     * @param jspClasses the jsp classes, of which the class must extend at least one
+     *
+     * @return the inspection of the class
+     */
+    private Inspection inspectClass(String className, JspClass... jspClasses) {
+
+        boolean found = true;
+        boolean loadable = true;
+        boolean extend = false;
+
+        Class<?> clazz = null;
+        ClassLoader currentClassLoader = Thread.currentThread().getContextClassLoader();
+        Thread.currentThread().setContextClassLoader(this.projectClassLoader);
+
+        try {
+            clazz = Class.forName(className, true, this.projectClassLoader);
+
+            // extend only true, if the class derives from one of the jsp-classes
+            for (JspClass jspClass : jspClasses) {
+                extend |= jspCheck.check(jspClass, clazz);
+            }
+
+            try {
+                clazz.getDeclaredConstructor().newInstance();
+            } catch (IllegalAccessException | IllegalArgumentException | InstantiationException
+                    | NoSuchMethodException | SecurityException | InvocationTargetException e) {
+                loadable = false;
+            }
+        } catch (ClassNotFoundException | NoClassDefFoundError e) {
+            found = false;
+            loadable = false;
+            extend = false;
+        } finally {
+            Thread.currentThread().setContextClassLoader(currentClassLoader);
+        }
+
+        return new ReflectionInspection(found, loadable, extend,
+                loadable ? getSetters(clazz) : Collections.emptyMap(), null);
+    }
+
+    /**
+     * Creates the pool of the worker threads. Idle workers are stopped after a minute.
+     *
+     * @param size the number of workers
+     *
+     * @return the pool
+     */
+    private static ThreadPoolExecutor newWorkers(int size) {
+        final ThreadPoolExecutor pool = new ThreadPoolExecutor(size, size, 1L, TimeUnit.MINUTES,
+                new LinkedBlockingQueue<>(), Parallel.newThreadFactory());
+        pool.allowCoreThreadTimeOut(true);
+        return pool;
+    }
+
+    /**
+     * Runs the inspection of a class on a worker thread and waits at most the timeout for it.
+     * Without timeout the inspection is run on the calling thread. The worker of a timed out
+     * inspection is interrupted and left behind, the pool grows by one worker to replace it.
+     *
+     * @param <T>       the type of the inspection
+     * @param className the name of the inspected class
+     * @param task      the inspection
+     * @param timedOut  supplies the inspection of a timed out class
+     *
+     * @return the inspection
+     */
+    private <T> T withTimeout(String className, Supplier<T> task, Supplier<T> timedOut) {
+        if (workers == null) {
+            return task.get();
+        }
+
+        final Future<T> future = workers.submit(task::get);
+        try {
+            return future.get(timeout, TimeUnit.SECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            replaceWorker();
+            log.warn(MessageFormat.format(Messages.getString("Validate.timeout"), className,
+                    timeout));
+            return timedOut.get();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof Error) {
+                throw (Error) e.getCause();
+            }
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    /**
+     * Grows the pool by one worker, replacing a worker, which may still block in a timed out
+     * inspection.
+     */
+    private void replaceWorker() {
+        synchronized (workers) {
+            final int size = workers.getMaximumPoolSize() + 1;
+            workers.setMaximumPoolSize(size);
+            workers.setCorePoolSize(size);
+        }
+    }
+
+    /**
+     * Returns the maximum number of worker threads.
+     *
+     * @return the maximum number of workers, {@code 0} without timeout
+     */
+    int getMaximumWorkers() {
+        if (workers == null) {
+            return 0;
+        }
+        synchronized (workers) {
+            return workers.getMaximumPoolSize();
+        }
+    }
+
+    /**
+     * Stops the worker threads. Workers of timed out inspections are interrupted.
+     */
+    @Override
+    public void close() {
+        if (workers != null) {
+            workers.shutdownNow();
+        }
+    }
+
+    /**
+     * Returns the writeable bean properties of a class, introspected on the first lookup.
+     *
+     * @param clazz the class
+     *
+     * @return the writeable bean properties mapped to their types
+     */
+    private Map<String, Class<?>> getSetters(Class<?> clazz) {
+        setterLookups.incrementAndGet();
+        return setters.computeIfAbsent(clazz, key -> {
+            setterMisses.incrementAndGet();
+
+            final Map<String, Class<?>> properties = new HashMap<>();
+            for (PropertyDescriptor descriptor : PropertyUtils.getPropertyDescriptors(key)) {
+                Method writeMethod = PropertyUtils.getWriteMethod(descriptor);
+                Class<?> type = descriptor.getPropertyType();
+
+                if (descriptor instanceof IndexedPropertyDescriptor) {
+                    final IndexedPropertyDescriptor indexed =
+                            (IndexedPropertyDescriptor) descriptor;
+                    if (writeMethod == null) {
+                        writeMethod = MethodUtils.getAccessibleMethod(key,
+                                indexed.getIndexedWriteMethod());
+                    }
+                    type = indexed.getIndexedPropertyType();
+                }
+
+                if (writeMethod != null) {
+                    properties.put(descriptor.getName(), type);
+                }
+            }
+            return Collections.unmodifiableMap(properties);
+        });
+    }
+
+    /**
+     * Logs the hit rate of the introspected bean properties as debug output.
+     */
+    public void logStatistics() {
+        final int lookups = setterLookups.get();
+        final int misses = setterMisses.get();
+        log.debug(MessageFormat.format(Messages.getString("Validate.setters.hits"),
+                lookups - misses, lookups, misses));
+    }
+
+    @Override
+    public boolean hasFunction(ElFunction tag) {
+        return inspectFunction(tag).isFound();
+    }
+
+    @Override
+    public FunctionResult inspectFunction(ElFunction tag) {
+        String className = tag.getFunctionClass();
+        if (isMissing(className)) {
+            return new FunctionResult(tag, false);
+        }
+
+        return withTimeout(className, () -> new FunctionResult(tag, hasMethod(tag)),
+                () -> new FunctionResult(tag, false, new ValidationError(
+                        ValidationError.LEVEL_ERROR, "Validate.error.classtimeout", className,
+                        timeout)));
+    }
+
+    /**
+     * Loads the class of an EL function and searches the method of the function.
+     *
+     * @param tag the EL function
+     *
+     * @return {@code true} if the class and the method are found and the return type matches
+     */
+    private boolean hasMethod(ElFunction tag) {
+        String className = tag.getFunctionClass();
+        boolean found = true;
+
+        ClassLoader currentClassLoader = Thread.currentThread().getContextClassLoader();
+        Thread.currentThread().setContextClassLoader(this.projectClassLoader);
+
+        try {
+            Class<?> functionClass = Class.forName(className, true, this.projectClassLoader);
+
+            String fullSignature = tag.getFunctionSignature();
+            String paramsString = tag.getParameters();
+            String returnvalue = null;
+
+            String methodName = StringUtils.trim(StringUtils.substringBefore(fullSignature, "("));
+            if (Strings.CS.contains(methodName, " ")) {
+                returnvalue = StringUtils.substringBefore(methodName, " ");
+                methodName = StringUtils.substringAfter(methodName, " ");
+            }
+
+            String[] params = StringUtils.split(paramsString, ",");
+
+            List<Class<?>> parClasses = new ArrayList<>(params.length);
+
+            for (String stringClass : params) {
+                parClasses.add(Class.forName(StringUtils.trim(stringClass), true,
+                        this.projectClassLoader));
+            }
+
+            Method method = functionClass.getMethod(methodName,
+                    parClasses.toArray(Class<?>[]::new));
+
+            Class<?> returnType = method.getReturnType();
+
+            if (!(returnvalue == null || returnType.getCanonicalName().equals(returnvalue))) {
+                found = false;
+            }
+        } catch (ClassNotFoundException | NoSuchMethodException | SecurityException e) {
+            found = false;
+        } finally {
+            Thread.currentThread().setContextClassLoader(currentClassLoader);
+        }
+
+        return found;
+    }
+
+    /**
+     * Tests with the index if a class can't be loaded.
+     *
+     * @param className the name of the class
+     *
+     * @return {@code true} if the class is missing for sure
+     */
+    private boolean isMissing(String className) {
+        return index != null && index.isMissing(className);
+    }
+
+    /**
+     * Returns a class from its name, handling primitives. The class is loaded without being
+     * initialized, so no initializer of the project runs outside the timeout.
+     *
+     * @param className clss name
+     *
+     * @return Class loaded using Class.forName or the matching primitive, {@code null} if the
+     *         class could not be found
+     */
+    private Class<?> getClassFromName(String className) {
+
+        Class<?> tldTypeClass = tryGettingPrimitiveClass(className);
+
+        if (tldTypeClass == null) {
+            // not a primitive type
+            try {
+                if (isArrayClassName(className)) {
+                    tldTypeClass = getArrayClass(className);
+                } else {
+                    tldTypeClass = Class.forName(className, false, this.projectClassLoader);
+                }
+            } catch (ClassNotFoundException | LinkageError e) {
+                log.error(MessageFormat.format(
+                        Messages.getString("Validate.error.unabletofindclass"), className));
+            }
+        }
+        return tldTypeClass;
+    }
+
+    private Class<?> tryGettingPrimitiveClass(String className) {
+        if (className == null) {
+            return null;
+        }
+
+        switch (className) {
+            case "byte":
+                return byte.class;
+            case "short":
+                return int.class;
+            case "int":
+                return int.class;
+            case "long":
+                return long.class;
+            case "float":
+                return double.class;
+            case "double":
+                return double.class;
+            case "boolean":
+                return boolean.class;
+            case "char":
+                return char.class;
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * Tests if the given {@code className} as an array.
+     *
+     * @param className the className to test
+     *
+     * @return {@code true} if the given {@code className} as an array
+     */
+    private boolean isArrayClassName(String className) {
+        return className.endsWith("[]");
+    }
+
+    /**
+     * Gets the class of an array with the elements of {@code className}.
+     *
+     * @param className elements-class of the array
+     *
+     * @return the array-class
+     *
+     * @throws ClassNotFoundException if the class is not found
+     */
+    private Class<?> getArrayClass(String className) throws ClassNotFoundException {
+        String elementClassName = Strings.CS.replace(className, "[]", "");
+        Class<?> elementClass = tryGettingPrimitiveClass(elementClassName);
+        if (elementClass == null) {
+            elementClass = Class.forName(elementClassName, false, this.projectClassLoader);
+        }
+        return Array.newInstance(elementClass, 0).getClass();
+    }
+
+    /**
+     * The inspection of a loaded class, with its writeable bean properties.
+     */
+    private final class ReflectionInspection implements Inspection {
+
+        /**
+         * Whether the class was found.
+         */
+        private final boolean found;
+
+        /**
+         * Whether the class could be instantiated.
+         */
+        private final boolean loadable;
+
+        /**
+         * Whether the class extends one of the expected jsp classes.
+         */
+        private final boolean extend;
+
+        /**
+         * The writeable bean properties mapped to their types.
+         */
+        private final Map<String, Class<?>> properties;
+
+        /**
+         * The error, which prevented a complete inspection.
+         */
+        private final ValidationError error;
+
+        /**
+         * Creates the inspection of a class.
+         *
+         * @param found      whether the class was found
+         * @param loadable   whether the class could be instantiated
+         * @param extend     whether the class extends one of the expected jsp classes
+         * @param properties the writeable bean properties mapped to their types
+         * @param error      the error, which prevented a complete inspection, may be
+         *                   {@code null}
+         */
+        ReflectionInspection(boolean found, boolean loadable, boolean extend,
+                Map<String, Class<?>> properties, ValidationError error) {
+
+            this.found = found;
+            this.loadable = loadable;
+            this.extend = extend;
+            this.properties = properties;
+            this.error = error;
+        }
+
+        @Override
+        public ValidationError getError() {
+            return error;
+        }
+
+        @Override
+        public boolean isFound() {
+            return found;
+        }
+
+        @Override
+        public boolean isLoadable() {
+            return loadable;
+        }
+
+        @Override
+        public boolean isExtend() {
+            return extend;
+        }
+
+        @Override
+        public String getPropertyType(String property) {
+            if (!properties.containsKey(property)) {
+                return null;
+            }
+
+            Class<?> type = properties.get(property);
+            return type == null ? StringUtils.EMPTY : type.getName();
+        }
+
+        @Override
+        public boolean accepts(String property, String type) {
+            final Class<?> typeClass = getClassFromName(type);
+            return typeClass != null && properties.get(property).isAssignableFrom(typeClass);
+        }
+    }
+}
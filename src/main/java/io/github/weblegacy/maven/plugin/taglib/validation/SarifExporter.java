@@ -0,0 +1,129 @@
+/*
+ * The MIT License
+ * Copyright © 2004-2014 Fabrizio Giustina
+ * Copyright © 2022-2026 Web-Legacy
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package io.github.weblegacy.maven.plugin.taglib.validation;
+
+import io.github.weblegacy.maven.plugin.taglib.Messages;
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.List;
+
+/**
+ * Exports the failed checks of the validation as SARIF 2.1.0 log. The results are streamed into
+ * the {@code results} array of a single run.
+ *
+ * @author Stefan Graff
+ */
+public final class SarifExporter implements ValidationExporter {
+
+    /**
+     * The keys of all messages, which may be reported, declared as rules of the tool.
+     */
+    private static final List<String> RULES = List.of("Validate.error.classnotfound",
+            "Validate.error.classnotloadable", "Validate.error.classtimeout",
+            "Validate.error.classnotextend",
+            "Validate.error.functionnotfound", "Validate.error.setternotfound",
+            "Validate.error.attributetypemismatch", "Validate.error.attributetypeinexactmatch",
+            "Validate.error.attributetype");
+
+    /**
+     * The writer of the export file.
+     */
+    private final Writer out;
+
+    /**
+     * Whether a result was written, so the next result needs a separator.
+     */
+    private boolean separator;
+
+    /**
+     * Creates the exporter and writes the header of the log.
+     *
+     * @param file the export file
+     *
+     * @throws IOException if the export file could not be created
+     */
+    public SarifExporter(File file) throws IOException {
+        Files.createDirectories(file.getAbsoluteFile().getParentFile().toPath());
+        this.out = Files.newBufferedWriter(file.toPath(), StandardCharsets.UTF_8);
+
+        out.write("{\"$schema\":\"https://json.schemastore.org/sarif-2.1.0.json\","
+                + "\"version\":\"2.1.0\",\"runs\":[{\"tool\":{\"driver\":{");
+        Json.member(out, "name", "taglib-maven-plugin");
+        out.write(",\"rules\":[");
+        for (int i = 0; i < RULES.size(); i++) {
+            if (i > 0) {
+                out.write(',');
+            }
+            out.write('{');
+            Json.member(out, "id", RULES.get(i));
+            out.write(",\"shortDescription\":{");
+            Json.member(out, "text", Messages.getString(RULES.get(i)));
+            out.write("}}");
+        }
+        out.write("]}},\"results\":[");
+    }
+
+    @Override
+    public void export(ValidationResult result) throws IOException {
+        for (ValidationCheck check : ValidationCheck.of(result)) {
+            if (check.getLevel() == 0) {
+                continue;
+            }
+
+            out.write(separator ? ",\n" : "\n");
+            separator = true;
+
+            out.write('{');
+            Json.member(out, "ruleId", check.getKey());
+            out.write(',');
+            Json.member(out, "level", check.getLevel() == ValidationError.LEVEL_ERROR ? "error"
+                    : check.getLevel() == ValidationError.LEVEL_WARNING ? "warning" : "note");
+            out.write(",\"message\":{");
+            Json.member(out, "text", check.getMessage());
+            out.write("},\"locations\":[{\"physicalLocation\":{\"artifactLocation\":{");
+            Json.member(out, "uri", check.getTld());
+            out.write("}},\"logicalLocations\":[{");
+            Json.member(out, "fullyQualifiedName", check.getAttribute() == null
+                    ? check.getTag() : check.getTag() + '@' + check.getAttribute());
+            out.write(',');
+            Json.member(out, "kind", check.getAttribute() == null ? "type" : "member");
+            out.write("}]}],\"properties\":{");
+            Json.member(out, "class", check.getClassName());
+            out.write("}}");
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            out.write("\n]}]}\n");
+        } finally {
+            out.close();
+        }
+    }
+}
@@ -0,0 +1,126 @@
+/*
+ * The MIT License
+ * Copyright © 2004-2014 Fabrizio Giustina
+ * Copyright © 2022-2026 Web-Legacy
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package io.github.weblegacy.maven.plugin.taglib.validation;
+
+import io.github.weblegacy.maven.plugin.taglib.checker.ElFunction;
+import io.github.weblegacy.maven.plugin.taglib.util.JspClass;
+import io.github.weblegacy.maven.plugin.taglib.validation.ValidationResult.FunctionResult;
+
+/**
+ * Answers the questions of the validation about tag handler, TagExtraInfo and EL function
+ * classes. Implementations must be thread-safe.
+ *
+ * @author Stefan Graff
+ */
+public interface TagClassInspector {
+
+    /**
+     * Inspects a tag handler or TagExtraInfo class.
+     *
+     * @param className  the name of the class
+     * @param jspClasses the jsp classes, of which the class must extend at least one
+     *
+     * @return the inspection of the class
+     */
+    Inspection inspect(String className, JspClass... jspClasses);
+
+    /**
+     * Tests if the class of an EL function declares a public method with the signature of the
+     * function.
+     *
+     * @param function the EL function
+     *
+     * @return {@code true} if the class and the method are found and the return type matches
+     */
+    boolean hasFunction(ElFunction function);
+
+    /**
+     * Validates the class of an EL function. An inspector, which can't complete the validation
+     * of a class, reports the reason as error of the result.
+     *
+     * @param function the EL function
+     *
+     * @return the validation result of the function
+     */
+    default FunctionResult inspectFunction(ElFunction function) {
+        return new FunctionResult(function, hasFunction(function));
+    }
+
+    /**
+     * The inspection of a tag handler or TagExtraInfo class.
+     */
+    interface Inspection {
+
+        /**
+         * Returns whether the class and all its supertypes were found.
+         *
+         * @return {@code true} if the class was found
+         */
+        boolean isFound();
+
+        /**
+         * Returns whether the class can be instantiated with its public no-arg constructor.
+         *
+         * @return {@code true} if the class can be instantiated
+         */
+        boolean isLoadable();
+
+        /**
+         * Returns whether the class extends one of the expected jsp classes.
+         *
+         * @return {@code true} if the class extends one of the expected jsp classes
+         */
+        boolean isExtend();
+
+        /**
+         * Returns the type of a writeable bean property of a loadable class.
+         *
+         * @param property the name of the property
+         *
+         * @return the binary name of the type, an empty string if the type could not be
+         *         determined or {@code null} if the property has no setter
+         */
+        String getPropertyType(String property);
+
+        /**
+         * Tests if a writeable bean property of a loadable class accepts values of a type.
+         *
+         * @param property the name of the property
+         * @param type     the name of the type declared in the tld
+         *
+         * @return {@code true} if the type of the property is assignable from the type
+         */
+        boolean accepts(String property, String type);
+
+        /**
+         * Returns the error, which prevented a complete inspection of the class.
+         *
+         * @return the error, e.g. a timeout, or {@code null} if the inspection was completed
+         */
+        default ValidationError getError() {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,542 @@
+/*
+ * The MIT License
+ * Copyright © 2004-2014 Fabrizio Giustina
+ * Copyright © 2022-2026 Web-Legacy
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package io.github.weblegacy.maven.plugin.taglib.validation;
+
+import io.github.weblegacy.maven.plugin.taglib.checker.ElFunction;
+import io.github.weblegacy.maven.plugin.taglib.checker.Tag;
+import io.github.weblegacy.maven.plugin.taglib.checker.TagAttribute;
+import io.github.weblegacy.maven.plugin.taglib.util.ClassFile;
+import io.github.weblegacy.maven.plugin.taglib.util.ClassPath;
+import io.github.weblegacy.maven.plugin.taglib.util.Digests;
+import io.github.weblegacy.maven.plugin.taglib.validation.ValidationResult.AttributeResult;
+import io.github.weblegacy.maven.plugin.taglib.validation.ValidationResult.ClassResult;
+import io.github.weblegacy.maven.plugin.taglib.validation.ValidationResult.FunctionResult;
+import io.github.weblegacy.maven.plugin.taglib.validation.ValidationResult.TagResult;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.UnaryOperator;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.Strings;
+
+/**
+ * A persistent cache of the validation results of tags and EL functions. An entry is keyed by the
+ * hash of the validated tld item and the content hashes of all classes the validation touched,
+ * including their supertypes. So only items, whose tld declaration or classes changed, are
+ * validated again. Side effects of static initializers of the classes are not considered.
+ *
+ * <p>
+ * The cache may be used concurrently by several threads. Only the entries used by the current
+ * run are stored, so entries of removed items are dropped. A run, which stopped early, keeps all
+ * entries of the last run.
+ * </p>
+ *
+ * @author Stefan Graff
+ */
+public final class ValidationCache {
+
+    /**
+     * Magic number at the beginning of the cache file.
+     */
+    private static final int MAGIC = 0x564c4443;
+
+    /**
+     * Version of the binary format, must be incremented on every change of the format or the
+     * validation.
+     */
+    private static final int FORMAT_VERSION = 1;
+
+    /**
+     * Marker for {@code null}-values of strings.
+     */
+    private static final int NULL = -1;
+
+    /**
+     * Fingerprint of a class, which is not in the class path.
+     */
+    private static final String MISSING = "-";
+
+    /**
+     * The names of the primitive types, which have no class-file.
+     */
+    private static final List<String> PRIMITIVES = List.of("byte", "short", "int", "long",
+            "float", "double", "boolean", "char", "void");
+
+    /**
+     * The cache file.
+     */
+    private final File file;
+
+    /**
+     * The class path of the project to hash the touched classes.
+     */
+    private final ClassPath classPath;
+
+    /**
+     * The validation mode, the results of different modes are never mixed.
+     */
+    private final String mode;
+
+    /**
+     * The entries of the last run by key.
+     */
+    private final Map<String, byte[]> stored;
+
+    /**
+     * The entries of the current run by key.
+     */
+    private final Map<String, byte[]> used = new ConcurrentHashMap<>();
+
+    /**
+     * The fingerprints of the classes by class name, including the fingerprints of their
+     * supertypes.
+     */
+    private final Map<String, String> fingerprints = new ConcurrentHashMap<>();
+
+    /**
+     * The number of lookups.
+     */
+    private final AtomicInteger lookups = new AtomicInteger();
+
+    /**
+     * The number of lookups, which were answered from the cache.
+     */
+    private final AtomicInteger hits = new AtomicInteger();
+
+    /**
+     * Creates a cache and loads the entries of the last run.
+     *
+     * @param file      the cache file
+     * @param classPath the class path of the project
+     * @param mode      the validation mode
+     */
+    public ValidationCache(File file, ClassPath classPath, String mode) {
+        this.file = file;
+        this.classPath = classPath;
+        this.mode = mode;
+        this.stored = load(file);
+    }
+
+    /**
+     * Returns the cached validation result of a tag.
+     *
+     * @param tag     the tag
+     * @param locator returns the class path element supplying a class, may return {@code null}
+     *
+     * @return the cached result or {@code null} if the tag must be validated
+     */
+    public TagResult getTag(Tag tag, UnaryOperator<String> locator) {
+        final String key = tagKey(tag);
+        final byte[] value = lookup(key);
+        if (value == null) {
+            return null;
+        }
+
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(value))) {
+            final ClassResult tagClass = readClassResult(in, tag.getTagClass(), locator);
+            final ClassResult teiClass = in.readBoolean()
+                    ? readClassResult(in, tag.getTeiClass(), locator) : null;
+
+            final int count = in.readInt();
+            final List<AttributeResult> attributes = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                final String tagType = readString(in);
+                final int errorCount = in.readInt();
+                final List<ValidationError> errors = new ArrayList<>(errorCount);
+                for (int k = 0; k < errorCount; k++) {
+                    final int level = in.readInt();
+                    final String errorKey = readString(in);
+                    final Object[] arguments = new Object[in.readInt()];
+                    for (int j = 0; j < arguments.length; j++) {
+                        arguments[j] = readString(in);
+                    }
+                    errors.add(new ValidationError(level, errorKey, arguments));
+                }
+                attributes.add(new AttributeResult(tag.getAttributes()[i], tagType, errors));
+            }
+
+            used.put(key, value);
+            hits.incrementAndGet();
+            return new TagResult(tag, tagClass, teiClass, attributes);
+        } catch (IOException | RuntimeException e) {
+            // A damaged entry is treated like a missing one
+            return null;
+        }
+    }
+
+    /**
+     * Stores the validation result of a tag.
+     *
+     * @param result the validation result of the tag
+     */
+    public void putTag(TagResult result) {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            writeClassResult(out, result.getTagClass());
+            out.writeBoolean(result.getTeiClass() != null);
+            if (result.getTeiClass() != null) {
+                writeClassResult(out, result.getTeiClass());
+            }
+
+            out.writeInt(result.getAttributes().size());
+            for (AttributeResult attribute : result.getAttributes()) {
+                writeString(out, attribute.getTagType());
+                out.writeInt(attribute.getErrors().size());
+                for (ValidationError error : attribute.getErrors()) {
+                    out.writeInt(error.getLevel());
+                    writeString(out, error.getKey());
+                    final Object[] arguments = error.getArguments();
+                    out.writeInt(arguments.length);
+                    for (Object argument : arguments) {
+                        writeString(out, String.valueOf(argument));
+                    }
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        used.put(tagKey(result.getTag()), bytes.toByteArray());
+    }
+
+    /**
+     * Returns the cached validation result of an EL function.
+     *
+     * @param function the EL function
+     *
+     * @return the cached result or {@code null} if the function must be validated
+     */
+    public FunctionResult getFunction(ElFunction function) {
+        final String key = functionKey(function);
+        final byte[] value = lookup(key);
+        if (value == null || value.length != 1) {
+            return null;
+        }
+
+        used.put(key, value);
+        hits.incrementAndGet();
+        return new FunctionResult(function, value[0] != 0);
+    }
+
+    /**
+     * Stores the validation result of an EL function.
+     *
+     * @param result the validation result of the EL function
+     */
+    public void putFunction(FunctionResult result) {
+        used.put(functionKey(result.getFunction()), new byte[] {
+            (byte) (result.isFound() ? 1 : 0)
+        });
+    }
+
+    /**
+     * Keeps the entries of the last run, which were not used by the current run. A run, which
+     * stopped early, calls this, so the entries of the items it skipped are stored again.
+     */
+    public void retainStored() {
+        stored.forEach(used::putIfAbsent);
+    }
+
+    /**
+     * Returns the number of lookups.
+     *
+     * @return the number of lookups
+     */
+    public int getLookups() {
+        return lookups.get();
+    }
+
+    /**
+     * Returns the number of lookups, which were answered from the cache.
+     *
+     * @return the number of hits
+     */
+    public int getHits() {
+        return hits.get();
+    }
+
+    /**
+     * Stores the entries used by the current run. The cache file is written to a temporary file
+     * first and then moved, so a concurrent reader never sees a partially written file.
+     *
+     * @throws IOException if the cache file could not be written
+     */
+    public void store() throws IOException {
+        final Path directory = file.getAbsoluteFile().getParentFile().toPath();
+        Files.createDirectories(directory);
+
+        final Path tempFile = Files.createTempFile(directory, "validation", ".tmp");
+        try {
+            try (DataOutputStream out = new DataOutputStream(
+                    new BufferedOutputStream(Files.newOutputStream(tempFile)))) {
+                out.writeInt(MAGIC);
+                out.writeInt(FORMAT_VERSION);
+                out.writeInt(used.size());
+                for (Map.Entry<String, byte[]> entry : used.entrySet()) {
+                    writeString(out, entry.getKey());
+                    out.writeInt(entry.getValue().length);
+                    out.write(entry.getValue());
+                }
+            }
+
+            Files.move(tempFile, file.toPath(), StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(tempFile);
+        }
+    }
+
+    /**
+     * Looks up an entry of the last run.
+     *
+     * @param key the key of the entry
+     *
+     * @return the value of the entry or {@code null} if there is no entry
+     */
+    private byte[] lookup(String key) {
+        lookups.incrementAndGet();
+        return stored.get(key);
+    }
+
+    /**
+     * Returns the key of a tag, derived from its tld declaration and the fingerprints of its
+     * tag handler, TagExtraInfo and attribute type classes.
+     *
+     * @param tag the tag
+     *
+     * @return the key
+     */
+    private String tagKey(Tag tag) {
+        final StringBuilder buf = new StringBuilder(256).append("tag\n").append(mode)
+                .append('\n').append(tag.getTagClass()).append('=')
+                .append(fingerprint(tag.getTagClass())).append('\n').append(tag.getTeiClass())
+                .append('=').append(fingerprint(tag.getTeiClass())).append('\n');
+
+        for (TagAttribute attribute : tag.getAttributes()) {
+            final String type = attribute.getType();
+            buf.append(attribute.getName()).append(':').append(type).append('=')
+                    .append(fingerprint(Strings.CS.replace(type, "[]", ""))).append('\n');
+        }
+
+        return Digests.sha256(buf.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Returns the key of an EL function, derived from its tld declaration and the fingerprints
+     * of its function and parameter classes.
+     *
+     * @param function the EL function
+     *
+     * @return the key
+     */
+    private String functionKey(ElFunction function) {
+        final StringBuilder buf = new StringBuilder(256).append("function\n").append(mode)
+                .append('\n').append(function.getName()).append('\n')
+                .append(function.getFunctionSignature()).append('\n')
+                .append(function.getFunctionClass()).append('=')
+                .append(fingerprint(function.getFunctionClass())).append('\n');
+
+        for (String parameter : StringUtils.split(function.getParameters(), ",")) {
+            final String type = StringUtils.trim(parameter);
+            buf.append(type).append('=').append(fingerprint(type)).append('\n');
+        }
+
+        return Digests.sha256(buf.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Returns the fingerprint of a class: the content hash of its class-file and the
+     * fingerprints of its supertypes.
+     *
+     * @param className the name of the class, may be {@code null}
+     *
+     * @return the fingerprint
+     */
+    private String fingerprint(String className) {
+        if (className == null || PRIMITIVES.contains(className)) {
+            return MISSING;
+        }
+
+        final String fingerprint = fingerprints.get(className);
+        if (fingerprint != null) {
+            return fingerprint;
+        }
+
+        // not computeIfAbsent, the fingerprints of the supertypes are added recursively
+        final String computed = computeFingerprint(className);
+        fingerprints.put(className, computed);
+        return computed;
+    }
+
+    /**
+     * Computes the fingerprint of a class.
+     *
+     * @param className the name of the class
+     *
+     * @return the fingerprint
+     */
+    private String computeFingerprint(String className) {
+        final ClassFile classFile;
+        final StringBuilder buf = new StringBuilder(128);
+        try {
+            classFile = classPath.load(className);
+            if (classFile == null) {
+                return MISSING;
+            }
+            buf.append(classPath.sha256(className));
+        } catch (IOException e) {
+            return MISSING;
+        }
+
+        buf.append(',').append(fingerprint(classFile.getSuperName()));
+        for (String name : classFile.getInterfaces()) {
+            buf.append(',').append(fingerprint(name));
+        }
+        return Digests.sha256(buf.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Loads the entries of the last run.
+     *
+     * @param file the cache file
+     *
+     * @return the entries, empty if there is no valid cache file
+     */
+    private static Map<String, byte[]> load(File file) {
+        try (DataInputStream in = new DataInputStream(
+                new BufferedInputStream(Files.newInputStream(file.toPath())))) {
+
+            if (in.readInt() != MAGIC || in.readInt() != FORMAT_VERSION) {
+                return Collections.emptyMap();
+            }
+
+            final int count = in.readInt();
+            final Map<String, byte[]> entries = new HashMap<>(count * 2);
+            for (int i = 0; i < count; i++) {
+                final String key = readString(in);
+                final byte[] value = new byte[in.readInt()];
+                in.readFully(value);
+                entries.put(key, value);
+            }
+            return entries;
+        } catch (NoSuchFileException e) {
+            return Collections.emptyMap();
+        } catch (IOException | RuntimeException e) {
+            // A damaged cache file is treated like a missing one
+            return Collections.emptyMap();
+        }
+    }
+
+    /**
+     * Writes the result of a class, without its location.
+     *
+     * @param out    the output stream
+     * @param result the result of the class
+     *
+     * @throws IOException if an I/O error occurs
+     */
+    private static void writeClassResult(DataOutputStream out, ClassResult result)
+            throws IOException {
+
+        out.writeBoolean(result.isFound());
+        out.writeBoolean(result.isLoadable());
+        out.writeBoolean(result.isExtend());
+    }
+
+    /**
+     * Reads the result of a class written by
+     * {@link #writeClassResult(DataOutputStream, ClassResult)}.
+     *
+     * @param in        the input stream
+     * @param className the name of the class
+     * @param locator   returns the class path element supplying a class
+     *
+     * @return the result of the class
+     *
+     * @throws IOException if an I/O error occurs
+     */
+    private static ClassResult readClassResult(DataInputStream in, String className,
+            UnaryOperator<String> locator) throws IOException {
+
+        return new ClassResult(className, in.readBoolean(), in.readBoolean(), in.readBoolean(),
+                locator.apply(className));
+    }
+
+    /**
+     * Writes a string, which may be {@code null}.
+     *
+     * @param out   the output stream
+     * @param value the string or {@code null}
+     *
+     * @throws IOException if an I/O error occurs
+     */
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(NULL);
+        } else {
+            final byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            out.writeInt(bytes.length);
+            out.write(bytes);
+        }
+    }
+
+    /**
+     * Reads a string written by {@link #writeString(DataOutputStream, String)}.
+     *
+     * @param in the input stream
+     *
+     * @return the string or {@code null}
+     *
+     * @throws IOException if an I/O error occurs
+     */
+    private static String readString(DataInputStream in) throws IOException {
+        final int length = in.readInt();
+        if (length == NULL) {
+            return null;
+        }
+
+        final byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,269 @@
+/*
+ * The MIT License
+ * Copyright © 2004-2014 Fabrizio Giustina
+ * Copyright © 2022-2026 Web-Legacy
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package io.github.weblegacy.maven.plugin.taglib.validation;
+
+import io.github.weblegacy.maven.plugin.taglib.Messages;
+import io.github.weblegacy.maven.plugin.taglib.checker.Tld;
+import io.github.weblegacy.maven.plugin.taglib.validation.ValidationResult.AttributeResult;
+import io.github.weblegacy.maven.plugin.taglib.validation.ValidationResult.ClassResult;
+import io.github.weblegacy.maven.plugin.taglib.validation.ValidationResult.FunctionResult;
+import io.github.weblegacy.maven.plugin.taglib.validation.ValidationResult.TagResult;
+import java.text.MessageFormat;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A single check of the validation in a flat form for the export of the results: a tag handler,
+ * TagExtraInfo or EL function class, or an attribute of a tag. A passed check has the level
+ * {@code 0} and no message.
+ *
+ * @author Stefan Graff
+ */
+public final class ValidationCheck {
+
+    /**
+     * The file name of the tld.
+     */
+    private final String tld;
+
+    /**
+     * The name of the tag or the name of the EL function followed by {@code ()}.
+     */
+    private final String tag;
+
+    /**
+     * The name of the attribute or {@code null}.
+     */
+    private final String attribute;
+
+    /**
+     * The name of the checked class.
+     */
+    private final String className;
+
+    /**
+     * The level of the check.
+     */
+    private final int level;
+
+    /**
+     * The key of the message or {@code null}.
+     */
+    private final String key;
+
+    /**
+     * The text of the message or {@code null}.
+     */
+    private final String message;
+
+    /**
+     * Creates a check.
+     *
+     * @param tld       the file name of the tld
+     * @param tag       the name of the tag or function
+     * @param attribute the name of the attribute or {@code null}
+     * @param className the name of the checked class
+     * @param level     the level of the check, {@code 0} if passed
+     * @param key       the key of the message or {@code null}
+     * @param arguments the arguments of the message
+     */
+    private ValidationCheck(String tld, String tag, String attribute, String className, int level,
+            String key, Object... arguments) {
+
+        this.tld = tld;
+        this.tag = tag;
+        this.attribute = attribute;
+        this.className = className;
+        this.level = level;
+        this.key = key;
+        this.message = key == null ? null : arguments.length == 0 ? Messages.getString(key)
+                : MessageFormat.format(Messages.getString(key), arguments);
+    }
+
+    /**
+     * Returns the checks of the validation results of a tld.
+     *
+     * @param result the validation results of the tld
+     *
+     * @return the checks in the order of the report
+     */
+    public static List<ValidationCheck> of(ValidationResult result) {
+        final String tld = result.getTld().getFilename();
+        final List<ValidationCheck> checks = new ArrayList<>();
+
+        for (TagResult tag : result.getTags()) {
+            final String name = tag.getTag().getName();
+            addClass(checks, tld, name, tag.getTagClass());
+            if (tag.getTeiClass() != null) {
+                addClass(checks, tld, name, tag.getTeiClass());
+            }
+
+            for (AttributeResult attribute : tag.getAttributes()) {
+                final String attributeName = attribute.getAttribute().getName();
+                final String className = tag.getTagClass().getClassName();
+                if (attribute.getErrors().isEmpty()) {
+                    checks.add(new ValidationCheck(tld, name, attributeName, className, 0, null));
+                }
+                for (ValidationError error : attribute.getErrors()) {
+                    checks.add(new ValidationCheck(tld, name, attributeName, className,
+                            error.getLevel(), error.getKey(), error.getArguments()));
+                }
+            }
+        }
+
+        for (FunctionResult function : result.getFunctions()) {
+            final String name = function.getFunction().getName() + "()";
+            final String className = function.getFunction().getFunctionClass();
+            final ValidationError error = function.getError();
+            if (error != null) {
+                checks.add(new ValidationCheck(tld, name, null, className, function.getLevel(),
+                        error.getKey(), error.getArguments()));
+            } else if (function.isFound()) {
+                checks.add(new ValidationCheck(tld, name, null, className, 0, null));
+            } else {
+                checks.add(new ValidationCheck(tld, name, null, className,
+                        ValidationError.LEVEL_ERROR, "Validate.error.functionnotfound", className,
+                        function.getFunction().getFunctionSignature()));
+            }
+        }
+
+        return checks;
+    }
+
+    /**
+     * Adds the check of a class, only the first failed property is reported.
+     *
+     * @param checks the checks
+     * @param tld    the file name of the tld
+     * @param tag    the name of the tag
+     * @param result the validation result of the class
+     */
+    private static void addClass(List<ValidationCheck> checks, String tld, String tag,
+            ClassResult result) {
+
+        final String className = result.getClassName();
+        final ValidationError error = result.getError();
+        if (error != null) {
+            checks.add(new ValidationCheck(tld, tag, null, className, result.getLevel(),
+                    error.getKey(), error.getArguments()));
+            return;
+        }
+
+        final String key;
+        if (!result.isFound()) {
+            key = "Validate.error.classnotfound";
+        } else if (!result.isLoadable()) {
+            key = "Validate.error.classnotloadable";
+        } else if (!result.isExtend()) {
+            key = "Validate.error.classnotextend";
+        } else {
+            key = null;
+        }
+
+        checks.add(new ValidationCheck(tld, tag, null, className,
+                key == null ? 0 : ValidationError.LEVEL_ERROR, key, className));
+    }
+
+    /**
+     * Returns the file name of the tld.
+     *
+     * @return the file name of the tld, see {@link Tld#getFilename()}
+     */
+    public String getTld() {
+        return tld;
+    }
+
+    /**
+     * Returns the name of the tag or the name of the EL function followed by {@code ()}.
+     *
+     * @return the name of the tag or function
+     */
+    public String getTag() {
+        return tag;
+    }
+
+    /**
+     * Returns the name of the attribute.
+     *
+     * @return the name of the attribute or {@code null} for the check of a class
+     */
+    public String getAttribute() {
+        return attribute;
+    }
+
+    /**
+     * Returns the name of the checked class.
+     *
+     * @return the name of the class
+     */
+    public String getClassName() {
+        return className;
+    }
+
+    /**
+     * Returns the level of the check.
+     *
+     * @return one of the levels of {@link ValidationError} or {@code 0} if passed
+     */
+    public int getLevel() {
+        return level;
+    }
+
+    /**
+     * Returns the key of the message.
+     *
+     * @return the key of the message or {@code null} if passed
+     */
+    public String getKey() {
+        return key;
+    }
+
+    /**
+     * Returns the text of the message.
+     *
+     * @return the text of the message or {@code null} if passed
+     */
+    public String getMessage() {
+        return message;
+    }
+
+    /**
+     * Returns the name of the level.
+     *
+     * @return {@code error}, {@code warning}, {@code info} or {@code success}
+     */
+    public String getLevelName() {
+        switch (level) {
+            case ValidationError.LEVEL_ERROR:
+                return "error";
+            case ValidationError.LEVEL_WARNING:
+                return "warning";
+            case ValidationError.LEVEL_INFO:
+                return "info";
+            default:
+                return "success";
+        }
+    }
+}
@@ -0,0 +1,437 @@
+/*
+ * The MIT License
+ * Copyright © 2004-2014 Fabrizio Giustina
+ * Copyright © 2022-2026 Web-Legacy
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package io.github.weblegacy.maven.plugin.taglib.validation;
+
+import io.github.weblegacy.maven.plugin.taglib.checker.ElFunction;
+import io.github.weblegacy.maven.plugin.taglib.checker.Tag;
+import io.github.weblegacy.maven.plugin.taglib.checker.TagAttribute;
+import io.github.weblegacy.maven.plugin.taglib.checker.Tld;
+import io.github.weblegacy.maven.plugin.taglib.util.ClassPathIndex;
+import io.github.weblegacy.maven.plugin.taglib.util.JspClass;
+import io.github.weblegacy.maven.plugin.taglib.util.Parallel;
+import io.github.weblegacy.maven.plugin.taglib.validation.ValidationResult.AttributeResult;
+import io.github.weblegacy.maven.plugin.taglib.validation.ValidationResult.ClassResult;
+import io.github.weblegacy.maven.plugin.taglib.validation.ValidationResult.FunctionResult;
+import io.github.weblegacy.maven.plugin.taglib.validation.TagClassInspector.Inspection;
+import io.github.weblegacy.maven.plugin.taglib.validation.ValidationResult.TagResult;
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.apache.maven.plugin.logging.Log;
+
+/**
+ * Validates the tag handler classes, TagExtraInfo classes and EL functions of tlds with a
+ * {@link TagClassInspector}, which either loads the classes with the class-loader of the project
+ * or reads their class-files. The tags and functions are validated on a bounded pool of worker
+ * threads, the results are always in the order of the tlds.
+ *
+ * @author Fabrizio Giustina
+ * @author Stefan Graff
+ */
+public class ValidationEngine {
+
+    /**
+     * The inspector of the classes.
+     */
+    private final TagClassInspector inspector;
+
+    /**
+     * The index of the class path, {@code null} if the locations of the classes are unknown.
+     */
+    private final ClassPathIndex index;
+
+    /**
+     * The cache of the validation results, {@code null} to validate all items.
+     */
+    private final ValidationCache cache;
+
+    /**
+     * The configured number of threads, see {@link Parallel#threads(int)}.
+     */
+    private final int threads;
+
+    /**
+     * The class-constructor, which loads the classes with the class-loader of the project.
+     *
+     * @param log                the logger that has been injected into the mojo.
+     * @param projectClassLoader ClassLoader for all compile-classpaths
+     * @param threads            the number of threads, a value less than {@code 1} uses one
+     *                           thread per available processor
+     */
+    public ValidationEngine(final Log log, final ClassLoader projectClassLoader,
+            final int threads) {
+
+        this(new ReflectionInspector(log, projectClassLoader, null), null, threads);
+    }
+
+    /**
+     * The class-constructor.
+     *
+     * @param inspector the inspector of the classes
+     * @param index     the index of the class path to report the locations of the classes, may
+     *                  be {@code null}
+     * @param threads   the number of threads, a value less than {@code 1} uses one thread per
+     *                  available processor
+     */
+    public ValidationEngine(final TagClassInspector inspector, final ClassPathIndex index,
+            final int threads) {
+
+        this(inspector, index, null, threads);
+    }
+
+    /**
+     * The class-constructor.
+     *
+     * @param inspector the inspector of the classes
+     * @param index     the index of the class path to report the locations of the classes, may
+     *                  be {@code null}
+     * @param cache     the cache of the validation results, only the items with changed inputs
+     *                  are validated, may be {@code null}
+     * @param threads   the number of threads, a value less than {@code 1} uses one thread per
+     *                  available processor
+     */
+    public ValidationEngine(final TagClassInspector inspector, final ClassPathIndex index,
+            final ValidationCache cache, final int threads) {
+
+        this.inspector = inspector;
+        this.index = index;
+        this.cache = cache;
+        this.threads = threads;
+    }
+
+    /**
+     * Validates the tlds. Assure that:
+     * <ul>
+     * <li>Any tag class is loadable</li>
+     * <li>the tag class has a setter for any of the declared attribute</li>
+     * <li>the type declared in the dtd for an attribute (if any) matches the type accepted by the
+     * getter</li>
+     * </ul>
+     *
+     * @param tlds list of TLDs to check.
+     *
+     * @return the results in the order of the tlds
+     */
+    public List<ValidationResult> validate(final Tld[] tlds) {
+        return validate(tlds, 0);
+    }
+
+    /**
+     * Validates the tlds until the result of a tag or function reaches a level. The items, which
+     * were not validated yet, are skipped then and are missing in the results. With more than one
+     * thread the items already in progress are completed. The cache keeps the entries of the
+     * skipped items.
+     *
+     * @param tlds      list of TLDs to check.
+     * @param stopLevel the level of {@link ValidationError}, at which the validation stops,
+     *                  {@code 0} to validate all items
+     *
+     * @return the results in the order of the tlds
+     */
+    public List<ValidationResult> validate(final Tld[] tlds, final int stopLevel) {
+        final List<Tag> tags = new ArrayList<>();
+        final List<ElFunction> functions = new ArrayList<>();
+        for (Tld tld : tlds) {
+            tags.addAll(asList(tld.getTags()));
+            functions.addAll(asList(tld.getFunctions()));
+        }
+
+        final AtomicBoolean stopped = new AtomicBoolean();
+        final List<TagResult> tagResults = map(tags, tag -> {
+            if (stopped.get()) {
+                return null;
+            }
+            final TagResult result = checkCachedTag(tag);
+            if (stopLevel > 0 && result.getLevel() >= stopLevel) {
+                stopped.set(true);
+            }
+            return result;
+        });
+        final List<FunctionResult> functionResults = map(functions, function -> {
+            if (stopped.get()) {
+                return null;
+            }
+            final FunctionResult result = checkCachedFunction(function);
+            if (stopLevel > 0 && result.getLevel() >= stopLevel) {
+                stopped.set(true);
+            }
+            return result;
+        });
+
+        if (stopped.get() && cache != null) {
+            // the skipped items keep their entries of the last run
+            cache.retainStored();
+        }
+
+        final List<ValidationResult> results = new ArrayList<>(tlds.length);
+        int tagIndex = 0;
+        int functionIndex = 0;
+        for (Tld tld : tlds) {
+            final int tagCount = asList(tld.getTags()).size();
+            final int functionCount = asList(tld.getFunctions()).size();
+
+            results.add(new ValidationResult(tld,
+                    validated(tagResults.subList(tagIndex, tagIndex + tagCount)),
+                    validated(functionResults.subList(functionIndex,
+                            functionIndex + functionCount))));
+
+            tagIndex += tagCount;
+            functionIndex += functionCount;
+        }
+        return results;
+    }
+
+    /**
+     * Returns the results of the validated items.
+     *
+     * @param <T>     the type of the results
+     * @param results the results, {@code null} for a skipped item
+     *
+     * @return the results without the skipped items
+     */
+    private static <T> List<T> validated(List<T> results) {
+        if (!results.contains(null)) {
+            return results;
+        }
+
+        final List<T> validated = new ArrayList<>(results.size());
+        for (T result : results) {
+            if (result != null) {
+                validated.add(result);
+            }
+        }
+        return validated;
+    }
+
+    /**
+     * Returns the items of a tld as list.
+     *
+     * @param <T>   the type of the items
+     * @param items the items, may be {@code null}
+     *
+     * @return the items, never {@code null}
+     */
+    private static <T> List<T> asList(T[] items) {
+        return items == null ? Collections.emptyList() : Arrays.asList(items);
+    }
+
+    /**
+     * Checks all items on the worker pool.
+     *
+     * @param <T>   the type of the items
+     * @param <R>   the type of the results
+     * @param items the items to check
+     * @param task  the check of one item
+     *
+     * @return the results in the order of the items
+     */
+    private <T, R> List<R> map(List<T> items, Parallel.Task<T, R> task) {
+        try {
+            return Parallel.map(threads, items, task);
+        } catch (ExecutionException e) {
+            final Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IllegalStateException(cause);
+        }
+    }
+
+    /**
+     * Returns the cached validation result of a function or checks it.
+     *
+     * @param function the function
+     *
+     * @return the validation result
+     */
+    private FunctionResult checkCachedFunction(ElFunction function) {
+        if (cache == null) {
+            return checkFunction(function);
+        }
+
+        FunctionResult result = cache.getFunction(function);
+        if (result == null) {
+            result = checkFunction(function);
+            if (result.getError() == null) {
+                cache.putFunction(result);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns the cached validation result of a tag or checks it.
+     *
+     * @param tag the tag
+     *
+     * @return the validation result
+     */
+    private TagResult checkCachedTag(Tag tag) {
+        if (cache == null) {
+            return checkTag(tag);
+        }
+
+        TagResult result = cache.getTag(tag, this::getLocation);
+        if (result == null) {
+            result = checkTag(tag);
+            if (isComplete(result)) {
+                cache.putTag(result);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Checks a function and returns the validation result.
+     *
+     * @param tag the function
+     *
+     * @return the validation result
+     */
+    private FunctionResult checkFunction(ElFunction tag) {
+        return inspector.inspectFunction(tag);
+    }
+
+    /**
+     * Checks a single tag and returns validation results.
+     *
+     * @param tag Tag
+     *
+     * @return the validation result
+     */
+    private TagResult checkTag(Tag tag) {
+        String className = tag.getTagClass();
+
+        // extend only true, if tagClass derives from TagSupport or derives from SimpleTag
+        Inspection tagClass = inspector.inspect(className, JspClass.TAG_SUPPORT,
+                JspClass.SIMPLE_TAG);
+
+        ClassResult teiClass = null;
+        if (tag.getTeiClass() != null) {
+            teiClass = checkTeiClass(tag.getTeiClass());
+        }
+
+        List<AttributeResult> attributeResults = new ArrayList<>();
+        if (tagClass.isLoadable()) {
+            for (TagAttribute attribute : tag.getAttributes()) {
+                attributeResults.add(checkAttribute(tagClass, attribute));
+            }
+        }
+
+        return new TagResult(tag, new ClassResult(className, tagClass.isFound(),
+                tagClass.isLoadable(), tagClass.isExtend(), getLocation(className),
+                tagClass.getError()), teiClass, attributeResults);
+    }
+
+    /**
+     * Tests if the classes of a tag were completely validated. Only complete results are cached,
+     * since e.g. a timeout depends on the load of the machine.
+     *
+     * @param result the validation result of the tag
+     *
+     * @return {@code true} if no class has an error
+     */
+    private static boolean isComplete(TagResult result) {
+        return result.getTagClass().getError() == null
+                && (result.getTeiClass() == null || result.getTeiClass().getError() == null);
+    }
+
+    /**
+     * Check a declared TagExtraInfo class.
+     *
+     * @param className TEI class name
+     *
+     * @return the validation result
+     */
+    private ClassResult checkTeiClass(String className) {
+        Inspection teiClass = inspector.inspect(className, JspClass.TAG_EXTRA_INFO);
+
+        return new ClassResult(className, teiClass.isFound(), teiClass.isLoadable(),
+                teiClass.isExtend(), getLocation(className), teiClass.getError());
+    }
+
+    /**
+     * Returns the class path element supplying a class.
+     *
+     * @param className the name of the class
+     *
+     * @return the path of the jar or class directory or {@code null} if unknown
+     */
+    private String getLocation(String className) {
+        final File location = index == null ? null : index.getLocation(className);
+        return location == null ? null : location.getPath();
+    }
+
+    /**
+     * Checks a single attribute and returns validation results.
+     *
+     * @param tag       inspection of the tag handler class
+     * @param attribute TagAttribute
+     *
+     * @return the validation result
+     */
+    private AttributeResult checkAttribute(Inspection tag, TagAttribute attribute) {
+
+        String tldType = attribute.getType();
+        String tldName = attribute.getName();
+        String tagType = tag.getPropertyType(tldName);
+
+        List<ValidationError> validationErrors = new ArrayList<>(3);
+
+        if (tagType == null) {
+            validationErrors.add(new ValidationError(ValidationError.LEVEL_ERROR,
+                    "Validate.error.setternotfound"));
+        }
+
+        // don't check if setter is missing
+        if (validationErrors.isEmpty() && tldType != null && !tagType.isEmpty()
+                && !tag.accepts(tldName, tldType)) {
+
+            validationErrors.add(new ValidationError(ValidationError.LEVEL_ERROR,
+                    "Validate.error.attributetypemismatch", tldType, tagType));
+        }
+
+        // don't check if we already know type is different
+        if (validationErrors.isEmpty()) {
+
+            if (tldType != null && !tagType.isEmpty() && !tldType.equals(tagType)) {
+                validationErrors.add(new ValidationError(ValidationError.LEVEL_WARNING,
+                        "Validate.error.attributetypeinexactmatch", tldType, tagType));
+            } else if (tldType == null && !String.class.getName().equals(tagType)) {
+                validationErrors.add(new ValidationError(ValidationError.LEVEL_INFO,
+                        "Validate.error.attributetype"));
+            }
+        }
+
+        return new AttributeResult(attribute, tagType, validationErrors);
+    }
+}
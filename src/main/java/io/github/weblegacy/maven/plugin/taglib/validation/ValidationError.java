@@ -0,0 +1,104 @@
+/*
+ * The MIT License
+ * Copyright © 2004-2014 Fabrizio Giustina
+ * Copyright © 2022-2026 Web-Legacy
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package io.github.weblegacy.maven.plugin.taglib.validation;
+
+/**
+ * A message of the validation of a tag attribute. The text is kept as message key with its
+ * arguments, so it is formatted in the locale of the report.
+ *
+ * @author Fabrizio Giustina
+ */
+public final class ValidationError {
+
+    /**
+     * Level of validation is information.
+     */
+    public static final int LEVEL_INFO = 1;
+
+    /**
+     * Level of validation is warning.
+     */
+    public static final int LEVEL_WARNING = 2;
+
+    /**
+     * Level of validation is error.
+     */
+    public static final int LEVEL_ERROR = 3;
+
+    /**
+     * The level of the validation.
+     */
+    private final int level;
+
+    /**
+     * The message key of the text of the validation.
+     */
+    private final String key;
+
+    /**
+     * The arguments of the text of the validation.
+     */
+    private final Object[] arguments;
+
+    /**
+     * The class-constructor.
+     *
+     * @param level     the level of the validation
+     * @param key       the message key of the text of the validation
+     * @param arguments the arguments of the text, none if the text is not a message format
+     */
+    public ValidationError(int level, String key, Object... arguments) {
+        this.level = level;
+        this.key = key;
+        this.arguments = arguments.clone();
+    }
+
+    /**
+     * Getter for {@code level}.
+     *
+     * @return Returns the level.
+     */
+    public int getLevel() {
+        return this.level;
+    }
+
+    /**
+     * Getter for {@code key}.
+     *
+     * @return Returns the message key of the text.
+     */
+    public String getKey() {
+        return this.key;
+    }
+
+    /**
+     * Getter for {@code arguments}.
+     *
+     * @return Returns the arguments of the text.
+     */
+    public Object[] getArguments() {
+        return this.arguments.clone();
+    }
+}
@@ -0,0 +1,491 @@
+/*
+ * The MIT License
+ * Copyright © 2004-2014 Fabrizio Giustina
+ * Copyright © 2022-2026 Web-Legacy
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package io.github.weblegacy.maven.plugin.taglib.validation;
+
+import io.github.weblegacy.maven.plugin.taglib.checker.ElFunction;
+import io.github.weblegacy.maven.plugin.taglib.checker.Tag;
+import io.github.weblegacy.maven.plugin.taglib.checker.TagAttribute;
+import io.github.weblegacy.maven.plugin.taglib.checker.Tld;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The immutable result of the validation of a tld, with the results of its tags, their
+ * attributes and its EL functions in the order of the tld.
+ *
+ * @author Stefan Graff
+ */
+public final class ValidationResult {
+
+    /**
+     * The validated tld.
+     */
+    private final Tld tld;
+
+    /**
+     * The results of the tags.
+     */
+    private final List<TagResult> tags;
+
+    /**
+     * The results of the EL functions.
+     */
+    private final List<FunctionResult> functions;
+
+    /**
+     * Creates the result of a tld.
+     *
+     * @param tld       the validated tld
+     * @param tags      the results of the tags
+     * @param functions the results of the EL functions
+     */
+    public ValidationResult(Tld tld, List<TagResult> tags, List<FunctionResult> functions) {
+        this.tld = tld;
+        this.tags = Collections.unmodifiableList(tags);
+        this.functions = Collections.unmodifiableList(functions);
+    }
+
+    /**
+     * Returns the validated tld.
+     *
+     * @return the tld
+     */
+    public Tld getTld() {
+        return tld;
+    }
+
+    /**
+     * Returns the results of the tags.
+     *
+     * @return the results in the order of the tld
+     */
+    public List<TagResult> getTags() {
+        return tags;
+    }
+
+    /**
+     * Returns the results of the EL functions.
+     *
+     * @return the results in the order of the tld
+     */
+    public List<FunctionResult> getFunctions() {
+        return functions;
+    }
+
+    /**
+     * The result of the check of a tag handler or TagExtraInfo class.
+     */
+    public static final class ClassResult {
+
+        /**
+         * The name of the class.
+         */
+        private final String className;
+
+        /**
+         * Whether the class was found.
+         */
+        private final boolean found;
+
+        /**
+         * Whether the class could be instantiated.
+         */
+        private final boolean loadable;
+
+        /**
+         * Whether the class extends the expected jsp class.
+         */
+        private final boolean extend;
+
+        /**
+         * The class path element supplying the class.
+         */
+        private final String location;
+
+        /**
+         * The error, which prevented a complete validation of the class.
+         */
+        private final ValidationError error;
+
+        /**
+         * Creates the result of a class.
+         *
+         * @param className the name of the class
+         * @param found     whether the class was found
+         * @param loadable  whether the class could be instantiated
+         * @param extend    whether the class extends the expected jsp class
+         * @param location  the class path element supplying the class, {@code null} if unknown
+         */
+        public ClassResult(String className, boolean found, boolean loadable, boolean extend,
+                String location) {
+
+            this(className, found, loadable, extend, location, null);
+        }
+
+        /**
+         * Creates the result of a class, whose validation could not be completed.
+         *
+         * @param className the name of the class
+         * @param found     whether the class was found
+         * @param loadable  whether the class could be instantiated
+         * @param extend    whether the class extends the expected jsp class
+         * @param location  the class path element supplying the class, {@code null} if unknown
+         * @param error     the error, which prevented a complete validation, may be {@code null}
+         */
+        public ClassResult(String className, boolean found, boolean loadable, boolean extend,
+                String location, ValidationError error) {
+
+            this.className = className;
+            this.found = found;
+            this.loadable = loadable;
+            this.extend = extend;
+            this.location = location;
+            this.error = error;
+        }
+
+        /**
+         * Returns the name of the class.
+         *
+         * @return the name of the class
+         */
+        public String getClassName() {
+            return className;
+        }
+
+        /**
+         * Returns whether the class was found.
+         *
+         * @return {@code true} if the class was found
+         */
+        public boolean isFound() {
+            return found;
+        }
+
+        /**
+         * Returns whether the class could be instantiated.
+         *
+         * @return {@code true} if the class could be instantiated
+         */
+        public boolean isLoadable() {
+            return loadable;
+        }
+
+        /**
+         * Returns whether the class extends the expected jsp class.
+         *
+         * @return {@code true} if the class extends TagSupport, SimpleTag or TagExtraInfo
+         */
+        public boolean isExtend() {
+            return extend;
+        }
+
+        /**
+         * Returns the class path element supplying the class.
+         *
+         * @return the path of the jar or class directory or {@code null} if unknown
+         */
+        public String getLocation() {
+            return location;
+        }
+
+        /**
+         * Returns the error, which prevented a complete validation of the class, e.g. a timeout.
+         *
+         * @return the error or {@code null}
+         */
+        public ValidationError getError() {
+            return error;
+        }
+
+        /**
+         * Returns the level of the result.
+         *
+         * @return {@link ValidationError#LEVEL_ERROR} if the class was not found, is not loadable
+         *         or does not extend the expected jsp class, the level of the error if the
+         *         validation could not be completed, otherwise {@code 0}
+         */
+        public int getLevel() {
+            if (error != null) {
+                return Math.max(error.getLevel(), found && loadable && extend ? 0
+                        : ValidationError.LEVEL_ERROR);
+            }
+            return found && loadable && extend ? 0 : ValidationError.LEVEL_ERROR;
+        }
+    }
+
+    /**
+     * The result of the validation of a tag.
+     */
+    public static final class TagResult {
+
+        /**
+         * The validated tag.
+         */
+        private final Tag tag;
+
+        /**
+         * The result of the tag handler class.
+         */
+        private final ClassResult tagClass;
+
+        /**
+         * The result of the TagExtraInfo class.
+         */
+        private final ClassResult teiClass;
+
+        /**
+         * The results of the attributes.
+         */
+        private final List<AttributeResult> attributes;
+
+        /**
+         * Creates the result of a tag.
+         *
+         * @param tag        the validated tag
+         * @param tagClass   the result of the tag handler class
+         * @param teiClass   the result of the TagExtraInfo class, {@code null} if none is declared
+         * @param attributes the results of the attributes, empty if the tag handler could not be
+         *                   instantiated
+         */
+        public TagResult(Tag tag, ClassResult tagClass, ClassResult teiClass,
+                List<AttributeResult> attributes) {
+
+            this.tag = tag;
+            this.tagClass = tagClass;
+            this.teiClass = teiClass;
+            this.attributes = Collections.unmodifiableList(attributes);
+        }
+
+        /**
+         * Returns the validated tag.
+         *
+         * @return the tag
+         */
+        public Tag getTag() {
+            return tag;
+        }
+
+        /**
+         * Returns the result of the tag handler class.
+         *
+         * @return the result of the tag handler class
+         */
+        public ClassResult getTagClass() {
+            return tagClass;
+        }
+
+        /**
+         * Returns the result of the TagExtraInfo class.
+         *
+         * @return the result of the TagExtraInfo class, {@code null} if none is declared
+         */
+        public ClassResult getTeiClass() {
+            return teiClass;
+        }
+
+        /**
+         * Returns the results of the attributes.
+         *
+         * @return the results in the order of the tld, empty if the tag handler could not be
+         *         instantiated
+         */
+        public List<AttributeResult> getAttributes() {
+            return attributes;
+        }
+
+        /**
+         * Returns the highest level of the results of the classes and attributes.
+         *
+         * @return the highest level, {@code 0} if there are no messages
+         */
+        public int getLevel() {
+            int level = tagClass.getLevel();
+            if (teiClass != null) {
+                level = Math.max(level, teiClass.getLevel());
+            }
+            for (AttributeResult attribute : attributes) {
+                level = Math.max(level, attribute.getLevel());
+            }
+            return level;
+        }
+    }
+
+    /**
+     * The result of the validation of a tag attribute.
+     */
+    public static final class AttributeResult {
+
+        /**
+         * The validated attribute.
+         */
+        private final TagAttribute attribute;
+
+        /**
+         * The name of the type of the setter.
+         */
+        private final String tagType;
+
+        /**
+         * The messages of the validation.
+         */
+        private final List<ValidationError> errors;
+
+        /**
+         * Creates the result of an attribute.
+         *
+         * @param attribute the validated attribute
+         * @param tagType   the name of the type of the setter, {@code null} if no setter was found
+         * @param errors    the messages of the validation
+         */
+        public AttributeResult(TagAttribute attribute, String tagType,
+                List<ValidationError> errors) {
+
+            this.attribute = attribute;
+            this.tagType = tagType;
+            this.errors = Collections.unmodifiableList(errors);
+        }
+
+        /**
+         * Returns the validated attribute.
+         *
+         * @return the attribute
+         */
+        public TagAttribute getAttribute() {
+            return attribute;
+        }
+
+        /**
+         * Returns the name of the type of the setter.
+         *
+         * @return the name of the type, {@code null} if no setter was found
+         */
+        public String getTagType() {
+            return tagType;
+        }
+
+        /**
+         * Returns the messages of the validation.
+         *
+         * @return the messages
+         */
+        public List<ValidationError> getErrors() {
+            return errors;
+        }
+
+        /**
+         * Returns the highest level of the messages.
+         *
+         * @return the highest level, {@code 0} if there are no messages
+         */
+        public int getLevel() {
+            int level = 0;
+            for (ValidationError error : errors) {
+                level = Math.max(level, error.getLevel());
+            }
+            return level;
+        }
+    }
+
+    /**
+     * The result of the validation of an EL function.
+     */
+    public static final class FunctionResult {
+
+        /**
+         * The validated function.
+         */
+        private final ElFunction function;
+
+        /**
+         * Whether the function was found.
+         */
+        private final boolean found;
+
+        /**
+         * The error, which prevented a complete validation of the function.
+         */
+        private final ValidationError error;
+
+        /**
+         * Creates the result of a function.
+         *
+         * @param function the validated function
+         * @param found    whether the class and a method with the signature was found
+         */
+        public FunctionResult(ElFunction function, boolean found) {
+            this(function, found, null);
+        }
+
+        /**
+         * Creates the result of a function, whose validation could not be completed.
+         *
+         * @param function the validated function
+         * @param found    whether the class and a method with the signature was found
+         * @param error    the error, which prevented a complete validation, may be {@code null}
+         */
+        public FunctionResult(ElFunction function, boolean found, ValidationError error) {
+            this.function = function;
+            this.found = found;
+            this.error = error;
+        }
+
+        /**
+         * Returns the validated function.
+         *
+         * @return the function
+         */
+        public ElFunction getFunction() {
+            return function;
+        }
+
+        /**
+         * Returns whether the function was found.
+         *
+         * @return {@code true} if the class and a method with the signature was found
+         */
+        public boolean isFound() {
+            return found;
+        }
+
+        /**
+         * Returns the error, which prevented a complete validation of the function.
+         *
+         * @return the error, e.g. a timeout, or {@code null} if the validation was completed
+         */
+        public ValidationError getError() {
+            return error;
+        }
+
+        /**
+         * Returns the level of the result.
+         *
+         * @return {@link ValidationError#LEVEL_ERROR} if the function was not found, otherwise
+         *         {@code 0}
+         */
+        public int getLevel() {
+            return found ? 0 : ValidationError.LEVEL_ERROR;
+        }
+    }
+}
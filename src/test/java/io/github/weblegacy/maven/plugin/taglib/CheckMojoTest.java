@@ -0,0 +1,98 @@
+/*
+ * The MIT License
+ * Copyright © 2004-2014 Fabrizio Giustina
+ * Copyright © 2022-2026 Web-Legacy
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package io.github.weblegacy.maven.plugin.taglib;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.apache.maven.api.plugin.testing.Basedir;
+import org.apache.maven.api.plugin.testing.InjectMojo;
+import org.apache.maven.api.plugin.testing.MojoParameter;
+import org.apache.maven.api.plugin.testing.MojoTest;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugin.MojoFailureException;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test for the check goal.
+ *
+ * @author Stefan Graff
+ *
+ * @version 3.1.0
+ */
+@MojoTest(realRepositorySession = true)
+public class CheckMojoTest extends TaglibPluginTestBase {
+
+    /**
+     * The check must fail for tlds with classes, which are not found.
+     *
+     * @throws Exception any exception thrown during test
+     */
+    @Test
+    @Basedir(TEST_DIR + "project1")
+    @InjectMojo(goal = "check")
+    public void testCheckFails(CheckMojo mojo) throws Exception {
+        assertThrows(MojoFailureException.class, () -> execute(mojo));
+    }
+
+    /**
+     * The check must fail at the first error, when reading the class-files only.
+     *
+     * @throws Exception any exception thrown during test
+     */
+    @Test
+    @Basedir(TEST_DIR + "project1")
+    @InjectMojo(goal = "check")
+    @MojoParameter(name = "failFast", value = "true")
+    @MojoParameter(name = "validationMode", value = "bytecode")
+    public void testCheckFailFast(CheckMojo mojo) throws Exception {
+        assertThrows(MojoFailureException.class, () -> execute(mojo));
+    }
+
+    /**
+     * A skipped check must not fail.
+     *
+     * @throws Exception any exception thrown during test
+     */
+    @Test
+    @Basedir(TEST_DIR + "project1")
+    @InjectMojo(goal = "check")
+    @MojoParameter(name = "skip", value = "true")
+    public void testCheckSkipped(CheckMojo mojo) throws Exception {
+        execute(mojo);
+    }
+
+    /**
+     * An unknown severity must be rejected.
+     *
+     * @throws Exception any exception thrown during test
+     */
+    @Test
+    @Basedir(TEST_DIR + "project1")
+    @InjectMojo(goal = "check")
+    @MojoParameter(name = "failOnSeverity", value = "fatal")
+    public void testCheckInvalidSeverity(CheckMojo mojo) throws Exception {
+        assertThrows(MojoExecutionException.class, () -> execute(mojo));
+    }
+}
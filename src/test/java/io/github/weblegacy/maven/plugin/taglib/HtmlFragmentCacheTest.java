@@ -0,0 +1,126 @@
+/*
+ * The MIT License
+ * Copyright © 2004-2014 Fabrizio Giustina
+ * Copyright © 2022-2026 Web-Legacy
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package io.github.weblegacy.maven.plugin.taglib;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.List;
+import org.apache.maven.doxia.module.xhtml5.Xhtml5Parser;
+import org.apache.maven.doxia.sink.EmptyLocator;
+import org.apache.maven.doxia.sink.Locator;
+import org.apache.maven.doxia.sink.Sink;
+import org.apache.maven.doxia.sink.impl.Xhtml5BaseSink;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test for the cache of parsed html fragments.
+ *
+ * @author Stefan Graff
+ *
+ * @version 3.1.0
+ */
+public class HtmlFragmentCacheTest {
+
+    /**
+     * A description with nested elements and attributes.
+     */
+    private static final String DESCRIPTION = "<div>The <b>value</b> of the"
+            + " <a href=\"https://example.org/\" class=\"externalLink\">attribute</a>."
+            + "<ul><li>first</li><li>second</li></ul></div>";
+
+    /**
+     * A replayed fragment must produce the same output as a direct parse.
+     *
+     * @throws Exception any exception thrown during test
+     */
+    @Test
+    public void testReplaySameAsParse() throws Exception {
+        final StringWriter expected = new StringWriter();
+        final Sink expectedSink = new Xhtml5BaseSink(expected);
+        new Xhtml5Parser().parse(new StringReader(DESCRIPTION), expectedSink);
+        expectedSink.flush();
+
+        final HtmlFragmentCache cache = new HtmlFragmentCache(8);
+        for (int i = 0; i < 3; i++) {
+            final StringWriter actual = new StringWriter();
+            final Sink actualSink = new Xhtml5BaseSink(actual);
+            cache.render(DESCRIPTION, actualSink);
+            actualSink.flush();
+
+            assertEquals(expected.toString(), actual.toString());
+        }
+
+        assertEquals(1, cache.getParsed());
+        assertEquals(2, cache.getReplayed());
+    }
+
+    /**
+     * The least recently used fragment must be evicted from a full cache.
+     *
+     * @throws Exception any exception thrown during test
+     */
+    @Test
+    public void testEviction() throws Exception {
+        final HtmlFragmentCache cache = new HtmlFragmentCache(2);
+        final Sink sink = new Xhtml5BaseSink(new StringWriter());
+
+        cache.render("<div>a</div>", sink);
+        cache.render("<div>b</div>", sink);
+        cache.render("<div>a</div>", sink);
+        cache.render("<div>c</div>", sink);
+        cache.render("<div>a</div>", sink);
+        cache.render("<div>b</div>", sink);
+
+        assertEquals(4, cache.getParsed());
+        assertEquals(2, cache.getReplayed());
+    }
+
+    /**
+     * The recording sink must behave like an object and return the document locator of the
+     * parser, only the other events are recorded.
+     */
+    @Test
+    public void testRecordingSink() {
+        final List<HtmlFragmentCache.SinkEvent> events = new ArrayList<>();
+        final Sink sink = HtmlFragmentCache.newRecordingSink(events);
+
+        assertEquals(sink, sink);
+        assertNotEquals(sink, HtmlFragmentCache.newRecordingSink(events));
+        assertEquals(System.identityHashCode(sink), sink.hashCode());
+        assertSame(EmptyLocator.INSTANCE, sink.getDocumentLocator());
+
+        final Locator locator = new EmptyLocator();
+        sink.setDocumentLocator(locator);
+        sink.text("a");
+        assertSame(locator, sink.getDocumentLocator());
+        assertEquals(1, events.size());
+        assertEquals("RecordingSink[events=1]", sink.toString());
+    }
+}
@@ -0,0 +1,710 @@
+/*
+ * The MIT License
+ * Copyright © 2004-2014 Fabrizio Giustina
+ * Copyright © 2022-2026 Web-Legacy
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package io.github.weblegacy.maven.plugin.taglib;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+import org.codehaus.plexus.util.FileUtils;
+
+/**
+ * Generates a deterministic synthetic taglib corpus from a seed for scale tests and benchmarks:
+ * a tld file, a tree of {@code .tag}/{@code .tagx} tag-files and the matching compiled tag
+ * handler classes. The same seed and settings always produce byte-identical output.
+ *
+ * @author Stefan Graff
+ *
+ * @version 3.1.0
+ */
+public class TaglibCorpusGenerator {
+
+    /**
+     * The package of the generated tag handler and function classes.
+     */
+    public static final String PACKAGE = "org.example.corpus";
+
+    /**
+     * The types of the attributes, {@code null} means an attribute without type.
+     */
+    private static final String[] ATTRIBUTE_TYPES = {
+        "java.lang.String", "int", "boolean", "long", "java.lang.Integer", "java.lang.Object",
+        null
+    };
+
+    /**
+     * The scopes of the variables.
+     */
+    private static final String[] VARIABLE_SCOPES = {"NESTED", "AT_BEGIN", "AT_END"};
+
+    /**
+     * The words of the descriptions.
+     */
+    private static final String[] WORDS = {
+        "tag", "value", "renders", "the", "current", "page", "attribute", "optional", "list",
+        "element", "body", "content", "request", "scope", "output", "format", "link", "table",
+        "column", "row", "message", "resource", "bundle", "locale", "escape", "html", "url"
+    };
+
+    /**
+     * The seed of the generator.
+     */
+    private final long seed;
+
+    /**
+     * The number of tags.
+     */
+    private int tags = 100;
+
+    /**
+     * The number of attributes per tag.
+     */
+    private int attributesPerTag = 5;
+
+    /**
+     * The number of variables per tag.
+     */
+    private int variablesPerTag = 1;
+
+    /**
+     * The number of EL functions.
+     */
+    private int functions = 10;
+
+    /**
+     * The approximate number of characters of a description.
+     */
+    private int descriptionSize = 200;
+
+    /**
+     * Whether the descriptions contain html markup.
+     */
+    private boolean htmlDescriptions;
+
+    /**
+     * The number of tag-files.
+     */
+    private int tagFiles = 100;
+
+    /**
+     * The depth of the directory tree of the tag-files.
+     */
+    private int directoryDepth = 1;
+
+    /**
+     * The number of tag handlers, whose constructor blocks until the thread is interrupted.
+     */
+    private int blockingTags;
+
+    /**
+     * Whether the static initializer of the class with the EL functions blocks forever.
+     */
+    private boolean blockingFunctions;
+
+    /**
+     * Creates a generator.
+     *
+     * @param seed the seed of the generator
+     */
+    public TaglibCorpusGenerator(long seed) {
+        this.seed = seed;
+    }
+
+    /**
+     * Sets the number of tags.
+     *
+     * @param tags the number of tags
+     */
+    public void setTags(int tags) {
+        this.tags = tags;
+    }
+
+    /**
+     * Sets the number of attributes per tag.
+     *
+     * @param attributesPerTag the number of attributes per tag
+     */
+    public void setAttributesPerTag(int attributesPerTag) {
+        this.attributesPerTag = attributesPerTag;
+    }
+
+    /**
+     * Sets the number of variables per tag.
+     *
+     * @param variablesPerTag the number of variables per tag
+     */
+    public void setVariablesPerTag(int variablesPerTag) {
+        this.variablesPerTag = variablesPerTag;
+    }
+
+    /**
+     * Sets the number of EL functions.
+     *
+     * @param functions the number of EL functions
+     */
+    public void setFunctions(int functions) {
+        this.functions = functions;
+    }
+
+    /**
+     * Sets the approximate number of characters of a description.
+     *
+     * @param descriptionSize the approximate number of characters of a description
+     */
+    public void setDescriptionSize(int descriptionSize) {
+        this.descriptionSize = descriptionSize;
+    }
+
+    /**
+     * Sets whether the descriptions contain html markup.
+     *
+     * @param htmlDescriptions {@code true} for html descriptions
+     */
+    public void setHtmlDescriptions(boolean htmlDescriptions) {
+        this.htmlDescriptions = htmlDescriptions;
+    }
+
+    /**
+     * Sets the number of tag-files.
+     *
+     * @param tagFiles the number of tag-files
+     */
+    public void setTagFiles(int tagFiles) {
+        this.tagFiles = tagFiles;
+    }
+
+    /**
+     * Sets the depth of the directory tree of the tag-files.
+     *
+     * @param directoryDepth the depth of the directory tree, {@code 0} puts all tag-files into
+     *                       one directory
+     */
+    public void setDirectoryDepth(int directoryDepth) {
+        this.directoryDepth = directoryDepth;
+    }
+
+    /**
+     * Sets the number of tag handlers, whose constructor blocks until the thread is interrupted.
+     * The handlers of the first tags are blocking.
+     *
+     * @param blockingTags the number of blocking tag handlers
+     */
+    public void setBlockingTags(int blockingTags) {
+        this.blockingTags = blockingTags;
+    }
+
+    /**
+     * Sets whether the static initializer of the class with the EL functions blocks forever,
+     * also if the thread is interrupted.
+     *
+     * @param blockingFunctions {@code true} to block in the static initializer
+     */
+    public void setBlockingFunctions(boolean blockingFunctions) {
+        this.blockingFunctions = blockingFunctions;
+    }
+
+    /**
+     * Creates the content of the tld.
+     *
+     * @return the content of the tld
+     */
+    public byte[] createTld() {
+        final Random random = new Random(seed);
+        final StringBuilder buf = new StringBuilder(
+                tags * (300 + descriptionSize + attributesPerTag * (150 + descriptionSize)));
+
+        buf.append("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n")
+                .append("<taglib xmlns=\"http://java.sun.com/xml/ns/javaee\" version=\"2.1\">\n")
+                .append("  <description>").append(escape(description(random)))
+                .append("</description>\n")
+                .append("  <tlib-version>1.0</tlib-version>\n")
+                .append("  <short-name>corpus").append(seed).append("</short-name>\n")
+                .append("  <uri>http://example.org/corpus/").append(seed).append("</uri>\n");
+
+        for (TagSpec tag : tagSpecs()) {
+            buf.append("  <tag>\n")
+                    .append("    <description>").append(escape(description(random)))
+                    .append("</description>\n")
+                    .append("    <name>").append(tag.name).append("</name>\n")
+                    .append("    <tag-class>").append(PACKAGE).append('.').append(tag.className)
+                    .append("</tag-class>\n");
+            if (tag.tei) {
+                buf.append("    <tei-class>").append(PACKAGE).append('.').append(tag.className)
+                        .append("Tei</tei-class>\n");
+            }
+            buf.append("    <body-content>").append(tag.simple ? "scriptless" : "JSP")
+                    .append("</body-content>\n");
+
+            for (int k = 0; k < variablesPerTag; k++) {
+                buf.append("    <variable>\n")
+                        .append("      <description>").append(escape(description(random)))
+                        .append("</description>\n")
+                        .append("      <name-given>").append(tag.name).append("Var").append(k)
+                        .append("</name-given>\n")
+                        .append("      <variable-class>java.lang.String</variable-class>\n")
+                        .append("      <scope>")
+                        .append(VARIABLE_SCOPES[random.nextInt(VARIABLE_SCOPES.length)])
+                        .append("</scope>\n")
+                        .append("    </variable>\n");
+            }
+
+            for (int k = 0; k < tag.attributeTypes.length; k++) {
+                buf.append("    <attribute>\n")
+                        .append("      <description>").append(escape(description(random)))
+                        .append("</description>\n")
+                        .append("      <name>attr").append(k).append("</name>\n")
+                        .append("      <required>").append(random.nextInt(4) == 0)
+                        .append("</required>\n")
+                        .append("      <rtexprvalue>").append(random.nextBoolean())
+                        .append("</rtexprvalue>\n");
+                if (tag.attributeTypes[k] != null) {
+                    buf.append("      <type>").append(tag.attributeTypes[k]).append("</type>\n");
+                }
+                buf.append("    </attribute>\n");
+            }
+            buf.append("  </tag>\n");
+        }
+
+        for (int i = 0; i < functions; i++) {
+            buf.append("  <function>\n")
+                    .append("    <description>").append(escape(description(random)))
+                    .append("</description>\n")
+                    .append("    <name>fn").append(i).append("</name>\n")
+                    .append("    <function-class>").append(PACKAGE)
+                    .append(".Functions</function-class>\n")
+                    .append("    <function-signature>java.lang.String fn").append(i)
+                    .append("(java.lang.String, int)</function-signature>\n")
+                    .append("  </function>\n");
+        }
+
+        return buf.append("</taglib>\n").toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Writes the tld.
+     *
+     * @param file the tld file
+     *
+     * @throws IOException if an I/O error occurs
+     */
+    public void writeTld(File file) throws IOException {
+        final Path path = file.toPath().toAbsolutePath();
+        Files.createDirectories(path.getParent());
+        Files.write(path, createTld());
+    }
+
+    /**
+     * Writes the tag-files into a directory tree with a depth of {@code directoryDepth}. Every
+     * third tag-file is a {@code .tagx} file.
+     *
+     * @param dir the root directory of the tag-files
+     *
+     * @return the directories, which contain tag-files
+     *
+     * @throws IOException if an I/O error occurs
+     */
+    public List<File> writeTagFiles(File dir) throws IOException {
+        final Random random = new Random(seed);
+
+        final List<File> dirs = new ArrayList<>(directoryDepth + 1);
+        File current = dir;
+        dirs.add(current);
+        for (int level = 1; level <= directoryDepth; level++) {
+            current = new File(current, "level" + level);
+            dirs.add(current);
+        }
+        for (File d : dirs) {
+            Files.createDirectories(d.toPath());
+        }
+
+        for (int i = 0; i < tagFiles; i++) {
+            final File target = dirs.get(i % dirs.size());
+            final String name;
+            final StringBuilder content = new StringBuilder(512 + descriptionSize);
+
+            if (i % 3 == 2) {
+                name = "file" + i + ".tagx";
+                content.append("<jsp:root version=\"2.0\"")
+                        .append(" xmlns:jsp=\"http://java.sun.com/JSP/Page\">\n")
+                        .append("  <jsp:directive.tag description=\"")
+                        .append(escape(description(random))).append("\" />\n");
+                for (int k = 0; k < attributesPerTag; k++) {
+                    content.append("  <jsp:directive.attribute name=\"attr").append(k)
+                            .append("\" required=\"").append(random.nextInt(4) == 0)
+                            .append("\" />\n");
+                }
+                content.append("  <span>${attr0}</span>\n</jsp:root>\n");
+            } else {
+                name = "file" + i + ".tag";
+                content.append("<%@ tag description=\"").append(escape(description(random)))
+                        .append("\" example=\"&lt;c:file").append(i).append(" /&gt;\" %>\n");
+                for (int k = 0; k < attributesPerTag; k++) {
+                    content.append("<%@ attribute name=\"attr").append(k)
+                            .append("\" required=\"").append(random.nextInt(4) == 0)
+                            .append("\" type=\"java.lang.String\" description=\"attribute ")
+                            .append(k).append("\" %>\n");
+                }
+                for (int k = 0; k < variablesPerTag; k++) {
+                    content.append("<%@ variable name-given=\"file").append(i).append("Var")
+                            .append(k).append("\" variable-class=\"java.lang.String\" scope=\"")
+                            .append(VARIABLE_SCOPES[random.nextInt(VARIABLE_SCOPES.length)])
+                            .append("\" %>\n");
+                }
+                content.append("<span>${attr0}</span>\n");
+            }
+
+            Files.write(target.toPath().resolve(name),
+                    content.toString().getBytes(StandardCharsets.UTF_8));
+        }
+
+        return dirs;
+    }
+
+    /**
+     * Compiles the tag handler, tag extra info and function classes of the tld into a directory.
+     * The classes are compiled against stubs of the {@code javax.servlet.jsp.tagext} API, which
+     * are compiled into the same directory, so the directory is a self-contained class-path.
+     *
+     * @param classesDir the output directory of the classes
+     *
+     * @throws IOException if the sources could not be written or compiled
+     */
+    public void compileHandlers(File classesDir) throws IOException {
+        final Path sourceDir = Files.createTempDirectory("taglib-corpus");
+        try {
+            final List<File> sources = new ArrayList<>(tags * 2 + 8);
+
+            writeJspStubs(sourceDir, sources);
+
+            final Path packageDir = sourceDir.resolve(PACKAGE.replace('.', '/'));
+            Files.createDirectories(packageDir);
+
+            final List<TagSpec> specs = tagSpecs();
+            for (int i = 0; i < specs.size(); i++) {
+                final TagSpec tag = specs.get(i);
+                sources.add(writeSource(packageDir, tag.className,
+                        handlerSource(tag, i < blockingTags)));
+                if (tag.tei) {
+                    sources.add(writeSource(packageDir, tag.className + "Tei",
+                            "package " + PACKAGE + ";\n\npublic class " + tag.className
+                            + "Tei extends javax.servlet.jsp.tagext.TagExtraInfo {\n}\n"));
+                }
+            }
+            sources.add(writeSource(packageDir, "Functions", functionsSource()));
+
+            compile(sources, classesDir);
+        } finally {
+            FileUtils.deleteDirectory(sourceDir.toFile());
+        }
+    }
+
+    /**
+     * Creates the specifications of all tags. The specifications only depend on the seed and the
+     * settings of this generator.
+     *
+     * @return the specifications of all tags
+     */
+    private List<TagSpec> tagSpecs() {
+        final Random random = new Random(seed ^ 0x5deece66dL);
+        final List<TagSpec> specs = new ArrayList<>(tags);
+
+        for (int i = 0; i < tags; i++) {
+            final String[] types = new String[attributesPerTag];
+            for (int k = 0; k < attributesPerTag; k++) {
+                types[k] = ATTRIBUTE_TYPES[random.nextInt(ATTRIBUTE_TYPES.length)];
+            }
+            specs.add(new TagSpec("tag" + i, "Tag" + i, types, i % 4 == 3, i % 10 == 0));
+        }
+
+        return specs;
+    }
+
+    /**
+     * Creates the source of a tag handler class with a setter for every attribute.
+     *
+     * @param tag      the specification of the tag
+     * @param blocking whether the constructor blocks until the thread is interrupted
+     *
+     * @return the source
+     */
+    private static String handlerSource(TagSpec tag, boolean blocking) {
+        final StringBuilder buf = new StringBuilder(256 + tag.attributeTypes.length * 160);
+        buf.append("package ").append(PACKAGE).append(";\n\npublic class ").append(tag.className)
+                .append(" extends javax.servlet.jsp.tagext.")
+                .append(tag.simple ? "SimpleTagSupport" : "TagSupport").append(" {\n");
+
+        if (blocking) {
+            buf.append("    public ").append(tag.className).append("() {\n")
+                    .append("        try {\n")
+                    .append("            Thread.sleep(Long.MAX_VALUE);\n")
+                    .append("        } catch (InterruptedException e) {\n")
+                    .append("            Thread.currentThread().interrupt();\n")
+                    .append("        }\n")
+                    .append("    }\n");
+        }
+
+        for (int k = 0; k < tag.attributeTypes.length; k++) {
+            final String type = tag.attributeTypes[k] == null
+                    ? "java.lang.String" : tag.attributeTypes[k];
+            buf.append("    private ").append(type).append(" attr").append(k).append(";\n")
+                    .append("    public ").append(type).append(" getAttr").append(k)
+                    .append("() { return attr").append(k).append("; }\n")
+                    .append("    public void setAttr").append(k).append('(').append(type)
+                    .append(" value) { this.attr").append(k).append(" = value; }\n");
+        }
+
+        return buf.append("}\n").toString();
+    }
+
+    /**
+     * Creates the source of the class with the EL functions.
+     *
+     * @return the source
+     */
+    private String functionsSource() {
+        final StringBuilder buf = new StringBuilder(128 + functions * 96);
+        buf.append("package ").append(PACKAGE).append(";\n\npublic final class Functions {\n");
+        if (blockingFunctions) {
+            buf.append("    static {\n")
+                    .append("        while (System.nanoTime() != 0L) {\n")
+                    .append("            try {\n")
+                    .append("                Thread.sleep(60_000L);\n")
+                    .append("            } catch (InterruptedException e) {\n")
+                    .append("                // keep blocking\n")
+                    .append("            }\n")
+                    .append("        }\n")
+                    .append("    }\n");
+        }
+        for (int i = 0; i < functions; i++) {
+            buf.append("    public static String fn").append(i)
+                    .append("(String value, int count) { return value + count; }\n");
+        }
+        return buf.append("}\n").toString();
+    }
+
+    /**
+     * Writes the sources of the stubs of the {@code javax.servlet.jsp.tagext} API.
+     *
+     * @param sourceDir the source directory
+     * @param sources   the list of the sources to add the stubs to
+     *
+     * @throws IOException if an I/O error occurs
+     */
+    private static void writeJspStubs(Path sourceDir, List<File> sources) throws IOException {
+        final Path dir = sourceDir.resolve("javax/servlet/jsp/tagext");
+        Files.createDirectories(dir);
+
+        final String pkg = "package javax.servlet.jsp.tagext;\n\n";
+        sources.add(writeSource(dir, "JspTag", pkg + "public interface JspTag {\n}\n"));
+        sources.add(writeSource(dir, "Tag", pkg + "public interface Tag extends JspTag {\n}\n"));
+        sources.add(writeSource(dir, "SimpleTag",
+                pkg + "public interface SimpleTag extends JspTag {\n}\n"));
+        sources.add(writeSource(dir, "TagSupport",
+                pkg + "public class TagSupport implements Tag {\n}\n"));
+        sources.add(writeSource(dir, "SimpleTagSupport",
+                pkg + "public class SimpleTagSupport implements SimpleTag {\n}\n"));
+        sources.add(writeSource(dir, "TagExtraInfo", pkg + "public class TagExtraInfo {\n}\n"));
+    }
+
+    /**
+     * Writes the source of a class.
+     *
+     * @param dir       the directory of the package
+     * @param className the simple name of the class
+     * @param source    the source
+     *
+     * @return the source file
+     *
+     * @throws IOException if an I/O error occurs
+     */
+    private static File writeSource(Path dir, String className, String source)
+            throws IOException {
+
+        final Path file = dir.resolve(className + ".java");
+        Files.write(file, source.getBytes(StandardCharsets.UTF_8));
+        return file.toFile();
+    }
+
+    /**
+     * Compiles sources with the system java compiler.
+     *
+     * @param sources    the sources
+     * @param classesDir the output directory of the classes
+     *
+     * @throws IOException if the sources could not be compiled
+     */
+    private static void compile(List<File> sources, File classesDir) throws IOException {
+        final JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        if (compiler == null) {
+            throw new IOException("No system java compiler available");
+        }
+        Files.createDirectories(classesDir.toPath());
+
+        final Writer out = new StringWriter();
+        try (StandardJavaFileManager fileManager = compiler.getStandardFileManager(null, null,
+                StandardCharsets.UTF_8)) {
+
+            final Iterable<? extends JavaFileObject> units =
+                    fileManager.getJavaFileObjectsFromFiles(sources);
+            final List<String> options = Arrays.asList("-d", classesDir.getAbsolutePath(),
+                    "-proc:none", "-nowarn", "-implicit:none");
+
+            if (!compiler.getTask(out, fileManager, null, options, null, units).call()) {
+                throw new IOException("Unable to compile the corpus classes:\n" + out);
+            }
+        }
+    }
+
+    /**
+     * Creates a description of about {@code descriptionSize} characters. Some descriptions are
+     * marked as deprecated.
+     *
+     * @param random the random generator
+     *
+     * @return the description, not yet escaped for xml
+     */
+    private String description(Random random) {
+        final StringBuilder buf = new StringBuilder(descriptionSize + 64);
+        if (htmlDescriptions) {
+            buf.append("<p>");
+        }
+
+        int word = 0;
+        while (buf.length() < descriptionSize) {
+            final String text = WORDS[random.nextInt(WORDS.length)];
+            if (htmlDescriptions && word % 12 == 5) {
+                buf.append("<code>").append(text).append("</code> ");
+            } else if (htmlDescriptions && word % 12 == 9) {
+                buf.append("<a href=\"#").append(text).append("\">").append(text).append("</a> ");
+            } else if (htmlDescriptions && word % 24 == 17) {
+                buf.append("</p><ul><li>").append(text).append("</li></ul><p>");
+            } else {
+                buf.append(text).append(' ');
+            }
+            word++;
+        }
+
+        if (random.nextInt(20) == 0) {
+            buf.append("@deprecated");
+        }
+        if (htmlDescriptions) {
+            buf.append("</p>");
+        }
+        return buf.toString().trim();
+    }
+
+    /**
+     * Escapes a text for xml content and attribute values.
+     *
+     * @param text the text
+     *
+     * @return the escaped text
+     */
+    private static String escape(String text) {
+        final StringBuilder buf = new StringBuilder(text.length() + 16);
+        for (int i = 0; i < text.length(); i++) {
+            final char c = text.charAt(i);
+            switch (c) {
+                case '&':
+                    buf.append("&amp;");
+                    break;
+                case '<':
+                    buf.append("&lt;");
+                    break;
+                case '>':
+                    buf.append("&gt;");
+                    break;
+                case '"':
+                    buf.append("&quot;");
+                    break;
+                default:
+                    buf.append(c);
+                    break;
+            }
+        }
+        return buf.toString();
+    }
+
+    /**
+     * The specification of a generated tag.
+     */
+    private static final class TagSpec {
+
+        /**
+         * The name of the tag.
+         */
+        private final String name;
+
+        /**
+         * The simple name of the tag handler class.
+         */
+        private final String className;
+
+        /**
+         * The types of the attributes.
+         */
+        private final String[] attributeTypes;
+
+        /**
+         * Whether the tag handler is a simple tag.
+         */
+        private final boolean simple;
+
+        /**
+         * Whether the tag has a tag extra info class.
+         */
+        private final boolean tei;
+
+        /**
+         * Creates a specification.
+         *
+         * @param name           the name of the tag
+         * @param className      the simple name of the tag handler class
+         * @param attributeTypes the types of the attributes
+         * @param simple         whether the tag handler is a simple tag
+         * @param tei            whether the tag has a tag extra info class
+         */
+        private TagSpec(String name, String className, String[] attributeTypes, boolean simple,
+                boolean tei) {
+
+            this.name = name;
+            this.className = className;
+            this.attributeTypes = attributeTypes;
+            this.simple = simple;
+            this.tei = tei;
+        }
+    }
+}
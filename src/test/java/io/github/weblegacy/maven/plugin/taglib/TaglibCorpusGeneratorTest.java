@@ -0,0 +1,160 @@
+/*
+ * The MIT License
+ * Copyright © 2004-2014 Fabrizio Giustina
+ * Copyright © 2022-2026 Web-Legacy
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package io.github.weblegacy.maven.plugin.taglib;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.github.weblegacy.maven.plugin.taglib.checker.Tag;
+import io.github.weblegacy.maven.plugin.taglib.checker.TagAttribute;
+import io.github.weblegacy.maven.plugin.taglib.checker.Tld;
+import io.github.weblegacy.maven.plugin.taglib.checker.TldStreamParser;
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.stream.Stream;
+import org.apache.commons.beanutils.PropertyUtils;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Test for the synthetic taglib corpus generator.
+ *
+ * @author Stefan Graff
+ *
+ * @version 3.1.0
+ */
+public class TaglibCorpusGeneratorTest {
+
+    /**
+     * The same seed must produce the same tld, another seed a different one.
+     */
+    @Test
+    public void testDeterministic() {
+        assertArrayEquals(createGenerator(42L).createTld(), createGenerator(42L).createTld());
+        assertFalse(Arrays.equals(createGenerator(42L).createTld(),
+                createGenerator(43L).createTld()));
+    }
+
+    /**
+     * The generated tld must contain the configured number of items.
+     *
+     * @throws Exception any exception thrown during test
+     */
+    @Test
+    public void testTld() throws Exception {
+        final TaglibCorpusGenerator generator = createGenerator(1L);
+        generator.setHtmlDescriptions(true);
+
+        final Tld tld = new TldStreamParser().parse(
+                new ByteArrayInputStream(generator.createTld()), "corpus.tld");
+
+        assertEquals(20, tld.getTags().length);
+        assertEquals(4, tld.getFunctions().length);
+        for (Tag tag : tld.getTags()) {
+            assertEquals(3, tag.getAttributes().length);
+            assertEquals(2, tag.getVariables().length);
+            assertTrue(tag.getDescription().contains("<p>"));
+        }
+    }
+
+    /**
+     * The tag-files must be distributed over the configured directory tree.
+     *
+     * @param tempDir temporary directory
+     *
+     * @throws Exception any exception thrown during test
+     */
+    @Test
+    public void testTagFiles(@TempDir Path tempDir) throws Exception {
+        final TaglibCorpusGenerator generator = createGenerator(1L);
+        generator.setTagFiles(30);
+        generator.setDirectoryDepth(2);
+
+        assertEquals(3, generator.writeTagFiles(tempDir.toFile()).size());
+        try (Stream<Path> files = Files.walk(tempDir)) {
+            assertEquals(30, files.filter(Files::isRegularFile).count());
+        }
+    }
+
+    /**
+     * The compiled tag handlers must be loadable and must have a setter for every attribute.
+     *
+     * @param tempDir temporary directory
+     *
+     * @throws Exception any exception thrown during test
+     */
+    @Test
+    public void testCompileHandlers(@TempDir Path tempDir) throws Exception {
+        final TaglibCorpusGenerator generator = createGenerator(7L);
+        final File classesDir = tempDir.resolve("classes").toFile();
+        generator.compileHandlers(classesDir);
+
+        final Tld tld = new TldStreamParser().parse(
+                new ByteArrayInputStream(generator.createTld()), "corpus.tld");
+
+        try (URLClassLoader loader = new URLClassLoader(
+                new URL[] {classesDir.toURI().toURL()}, null)) {
+
+            final Class<?> jspTag = Class.forName("javax.servlet.jsp.tagext.JspTag", true,
+                    loader);
+
+            for (Tag tag : tld.getTags()) {
+                final Class<?> tagClass = Class.forName(tag.getTagClass(), true, loader);
+                assertTrue(jspTag.isAssignableFrom(tagClass));
+
+                final Object handler = tagClass.getDeclaredConstructor().newInstance();
+                for (TagAttribute attribute : tag.getAttributes()) {
+                    assertTrue(PropertyUtils.isWriteable(handler, attribute.getName()));
+                }
+            }
+
+            Class.forName(tld.getFunctions()[0].getFunctionClass(), true, loader);
+        }
+    }
+
+    /**
+     * Creates a small generator.
+     *
+     * @param seed the seed of the generator
+     *
+     * @return the generator
+     */
+    private static TaglibCorpusGenerator createGenerator(long seed) {
+        final TaglibCorpusGenerator generator = new TaglibCorpusGenerator(seed);
+        generator.setTags(20);
+        generator.setAttributesPerTag(3);
+        generator.setVariablesPerTag(2);
+        generator.setFunctions(4);
+        generator.setDescriptionSize(120);
+        return generator;
+    }
+}
@@ -0,0 +1,197 @@
+/*
+ * The MIT License
+ * Copyright © 2004-2014 Fabrizio Giustina
+ * Copyright © 2022-2026 Web-Legacy
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package io.github.weblegacy.maven.plugin.taglib;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.github.weblegacy.maven.plugin.taglib.checker.Tld;
+import io.github.weblegacy.maven.plugin.taglib.checker.TldStreamParser;
+import io.github.weblegacy.maven.plugin.taglib.util.ProjectClassLoaders;
+import io.github.weblegacy.maven.plugin.taglib.validation.ValidationResult;
+import io.github.weblegacy.maven.plugin.taglib.validation.ValidationResult.ClassResult;
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+import javax.tools.JavaCompiler;
+import javax.tools.ToolProvider;
+import org.apache.maven.execution.DefaultMavenExecutionRequest;
+import org.apache.maven.execution.DefaultMavenExecutionResult;
+import org.apache.maven.execution.MavenSession;
+import org.apache.maven.plugin.logging.SystemStreamLog;
+import org.apache.maven.project.MavenProject;
+import org.codehaus.plexus.util.FileUtils;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Test for the validator of the tag libraries.
+ *
+ * @author Stefan Graff
+ *
+ * @version 3.1.0
+ */
+public class TaglibValidatorTest {
+
+    /**
+     * A jar bundling the jsp-API with a tag-class, which extends a class of the project, must not
+     * be loaded by the shared API class-loader, otherwise the tag-class can't be linked.
+     *
+     * @param tempDir temporary directory
+     *
+     * @throws Exception any exception thrown during test
+     */
+    @Test
+    public void testMixedApiJar(@TempDir Path tempDir) throws Exception {
+        final File apiDir = tempDir.resolve("api").toFile();
+        final TaglibCorpusGenerator generator = new TaglibCorpusGenerator(29L);
+        generator.setTags(1);
+        generator.compileHandlers(apiDir);
+        FileUtils.deleteDirectory(new File(apiDir, "org"));
+
+        final File projectDir = tempDir.resolve("project").toFile();
+        compile(tempDir, projectDir, "org.example.project.BaseTag",
+                "package org.example.project;\n\npublic class BaseTag"
+                + " extends javax.servlet.jsp.tagext.TagSupport {\n}\n", apiDir);
+        final File implDir = tempDir.resolve("impl").toFile();
+        compile(tempDir, implDir, "org.example.impl.MixedTag",
+                "package org.example.impl;\n\npublic class MixedTag"
+                + " extends org.example.project.BaseTag {\n}\n", apiDir, projectDir);
+
+        final File pureJar = tempDir.resolve("api.jar").toFile();
+        writeJar(pureJar, apiDir);
+        final File mixedJar = tempDir.resolve("mixed.jar").toFile();
+        writeJar(mixedJar, apiDir, implDir);
+
+        assertEquals(List.of(pureJar), validate(List.of(projectDir, implDir, pureJar)));
+        assertEquals(List.of(), validate(List.of(projectDir, mixedJar)));
+    }
+
+    /**
+     * Validates a tld with the tag-class of the mixed jar, which must be loadable, and returns the
+     * shared API jars.
+     *
+     * @param classpath the classpath of the project
+     *
+     * @return the API jars passed to the class-loader provider
+     *
+     * @throws Exception any exception thrown during test
+     */
+    @SuppressWarnings("deprecation")
+    private static List<File> validate(List<File> classpath) throws Exception {
+        final ProjectClassLoaders classLoaders = new ProjectClassLoaders();
+        final MavenSession session = new MavenSession(null, null,
+                new DefaultMavenExecutionRequest(), new DefaultMavenExecutionResult());
+        final List<File> shared = new ArrayList<>();
+
+        final String tld = "<taglib xmlns=\"http://java.sun.com/xml/ns/j2ee\" version=\"2.0\">"
+                + "<tlib-version>1.0</tlib-version><short-name>mixed</short-name>"
+                + "<uri>urn:mixed</uri><tag><name>mixed</name>"
+                + "<tag-class>org.example.impl.MixedTag</tag-class>"
+                + "<body-content>empty</body-content></tag></taglib>";
+        final Tld parsed = new TldStreamParser().parse(
+                new ByteArrayInputStream(tld.getBytes(StandardCharsets.UTF_8)), "mixed.tld");
+
+        final List<ValidationResult> results = new TaglibValidator(new SystemStreamLog(),
+                classpath, TaglibValidator.REFLECTION, 1, null, apiElements -> {
+                    shared.addAll(apiElements);
+                    return classLoaders.get(session, new MavenProject(), classpath, apiElements,
+                            new SystemStreamLog());
+                }, 0).validate(List.of(parsed), 0);
+
+        final ClassResult tagClass = results.get(0).getTags().get(0).getTagClass();
+        assertNotNull(tagClass);
+        assertTrue(tagClass.isLoadable());
+        assertTrue(tagClass.isExtend());
+        return shared;
+    }
+
+    /**
+     * Compiles a single class.
+     *
+     * @param tempDir    the directory of the source
+     * @param classesDir the output directory of the class
+     * @param className  the binary name of the class
+     * @param source     the source of the class
+     * @param classpath  the classpath of the compiler
+     *
+     * @throws IOException if the class could not be compiled
+     */
+    private static void compile(Path tempDir, File classesDir, String className, String source,
+            File... classpath) throws IOException {
+
+        final Path sourceFile = tempDir.resolve(className.substring(className.lastIndexOf('.') + 1)
+                + ".java");
+        Files.writeString(sourceFile, source);
+        Files.createDirectories(classesDir.toPath());
+
+        final JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        final StringWriter out = new StringWriter();
+        final String path = Arrays.stream(classpath).map(File::getAbsolutePath)
+                .collect(Collectors.joining(File.pathSeparator));
+        final List<String> options = Arrays.asList("-d", classesDir.getAbsolutePath(),
+                "-cp", path, "-proc:none", "-nowarn", "-implicit:none");
+
+        assertTrue(compiler.getTask(out, null, null, options, null,
+                compiler.getStandardFileManager(null, null, StandardCharsets.UTF_8)
+                        .getJavaFileObjects(sourceFile.toFile())).call(), out::toString);
+    }
+
+    /**
+     * Writes a jar with the files of class directories.
+     *
+     * @param jar         the jar
+     * @param directories the class directories
+     *
+     * @throws IOException if the jar could not be written
+     */
+    private static void writeJar(File jar, File... directories) throws IOException {
+        try (ZipOutputStream out = new ZipOutputStream(Files.newOutputStream(jar.toPath()))) {
+            for (File directory : directories) {
+                final Path root = directory.toPath();
+                try (Stream<Path> files = Files.walk(root)) {
+                    for (Path path : files.filter(Files::isRegularFile)
+                            .collect(Collectors.toList())) {
+                        out.putNextEntry(new ZipEntry(
+                                root.relativize(path).toString().replace(File.separatorChar, '/')));
+                        Files.copy(path, out);
+                    }
+                }
+            }
+        }
+    }
+}
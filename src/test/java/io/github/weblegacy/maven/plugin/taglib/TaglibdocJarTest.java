@@ -0,0 +1,152 @@
+/*
+ * The MIT License
+ * Copyright © 2004-2014 Fabrizio Giustina
+ * Copyright © 2022-2026 Web-Legacy
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package io.github.weblegacy.maven.plugin.taglib;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.zip.ZipEntry;
+import org.apache.maven.artifact.DefaultArtifact;
+import org.apache.maven.artifact.handler.DefaultArtifactHandler;
+import org.apache.maven.api.plugin.testing.Basedir;
+import org.apache.maven.api.plugin.testing.InjectMojo;
+import org.apache.maven.api.plugin.testing.MojoExtension;
+import org.apache.maven.api.plugin.testing.MojoParameter;
+import org.apache.maven.api.plugin.testing.MojoTest;
+import org.apache.maven.project.MavenProject;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test for the tlddoc jar generation.
+ *
+ * @author Stefan Graff
+ *
+ * @version 3.1.0
+ */
+@MojoTest(realRepositorySession = true)
+public class TaglibdocJarTest extends TaglibPluginTestBase {
+
+    /**
+     * The jar must be reproducible and skipped, if the tlddoc files are unchanged.
+     *
+     * @param mojo the taglibdocjar mojo
+     *
+     * @throws Exception any exception thrown during test
+     */
+    @Test
+    @Basedir(TEST_DIR + "project1")
+    @InjectMojo(goal = "taglibdocjar")
+    @MojoParameter(name = "tldDocDir", value = "src/main/resources/META-INF")
+    @MojoParameter(name = "tlddocJar", value = "target/reproducible-tlddoc.jar")
+    @MojoParameter(name = "manifestFile", value = "target/taglibdocjar.properties")
+    @MojoParameter(name = "outputTimestamp", value = "2024-01-01T00:00:00Z")
+    @MojoParameter(name = "attach", value = "false")
+    public void testReproducibleAndIncremental(TaglibdocJar mojo) throws Exception {
+        setJavaArtifact(mojo);
+        final File jar = new File(MojoExtension.getBasedir(), "target/reproducible-tlddoc.jar");
+
+        execute(mojo);
+        final byte[] content = Files.readAllBytes(jar.toPath());
+
+        final List<String> names = new ArrayList<>();
+        try (JarFile jarFile = new JarFile(jar)) {
+            for (JarEntry entry : Collections.list(jarFile.entries())) {
+                names.add(entry.getName());
+                // the DOS time of an entry is in the local time-zone
+                assertTrue(Math.abs(entry.getTime() - 1_704_067_200_000L) <= 86_400_000L,
+                        entry.getName());
+            }
+        }
+        final List<String> sorted = new ArrayList<>(names);
+        Collections.sort(sorted);
+        assertEquals(sorted, names);
+
+        // up-to-date: the jar is not written again
+        final long lastModified = 1_000_000_000_000L;
+        jar.setLastModified(lastModified);
+        execute(mojo);
+        assertEquals(lastModified, jar.lastModified());
+
+        // rebuilt jar has the same content
+        MojoExtension.setVariableValueToObject(mojo, "incremental", false);
+        execute(mojo);
+        assertNotEquals(lastModified, jar.lastModified());
+        assertArrayEquals(content, Files.readAllBytes(jar.toPath()));
+    }
+
+    /**
+     * The entries of the jar must only be stored, if the compression is disabled.
+     *
+     * @param mojo the taglibdocjar mojo
+     *
+     * @throws Exception any exception thrown during test
+     */
+    @Test
+    @Basedir(TEST_DIR + "project1")
+    @InjectMojo(goal = "taglibdocjar")
+    @MojoParameter(name = "tldDocDir", value = "src/main/resources/META-INF")
+    @MojoParameter(name = "tlddocJar", value = "target/stored-tlddoc.jar")
+    @MojoParameter(name = "compress", value = "false")
+    @MojoParameter(name = "incremental", value = "false")
+    @MojoParameter(name = "attach", value = "false")
+    public void testStored(TaglibdocJar mojo) throws Exception {
+        setJavaArtifact(mojo);
+        execute(mojo);
+
+        try (JarFile jarFile = new JarFile(
+                new File(MojoExtension.getBasedir(), "target/stored-tlddoc.jar"))) {
+            for (JarEntry entry : Collections.list(jarFile.entries())) {
+                if (!entry.isDirectory()) {
+                    assertEquals(ZipEntry.STORED, entry.getMethod(), entry.getName());
+                }
+            }
+        }
+    }
+
+    /**
+     * Sets a java artifact to the project of the mojo, as the test-harness creates no artifact.
+     *
+     * @param mojo the taglibdocjar mojo
+     *
+     * @throws Exception any exception thrown during test
+     */
+    private static void setJavaArtifact(TaglibdocJar mojo) throws Exception {
+        final DefaultArtifactHandler handler = new DefaultArtifactHandler("jar");
+        handler.setLanguage("java");
+
+        final MavenProject project = MojoExtension.getVariableValueFromObject(mojo, "project");
+        project.setArtifact(new DefaultArtifact(project.getGroupId(), project.getArtifactId(),
+                project.getVersion(), null, "jar", null, handler));
+    }
+}
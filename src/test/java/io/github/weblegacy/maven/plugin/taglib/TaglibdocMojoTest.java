@@ -24,8 +24,20 @@
 
 package io.github.weblegacy.maven.plugin.taglib;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import org.apache.maven.api.plugin.testing.Basedir;
 import org.apache.maven.api.plugin.testing.InjectMojo;
+import org.apache.maven.api.plugin.testing.MojoExtension;
 import org.apache.maven.api.plugin.testing.MojoParameter;
 import org.apache.maven.api.plugin.testing.MojoTest;
 import org.junit.jupiter.api.Test;
@@ -70,4 +82,84 @@ public class TaglibdocMojoTest extends TaglibPluginTestBase {
 
         assertFileExists("taglibdoc", "test-12-tld-a", "jsp12tldtag1.html");
     }
+
+    /**
+     * Test that the taglibdoc goal skips the generation, if the inputs are unchanged.
+     *
+     * @throws Exception any exception thrown during test
+     */
+    @Test
+    @Basedir(TEST_DIR + "project1")
+    @InjectMojo(goal = "taglibdoc")
+    @MojoParameter(name = "tldDocDir", value = "taglibdoc-incremental")
+    public void testGoalTaglibDocIncremental(TaglibdocMojo mojo) throws Exception {
+        execute(mojo);
+        assertFileExists("taglibdoc-incremental", "index.html");
+
+        final File index = new File(MojoExtension.getBasedir(),
+                "taglibdoc-incremental/index.html");
+        final long lastModified = 1_000_000_000_000L;
+        index.setLastModified(lastModified);
+
+        // up-to-date: the generation is skipped
+        execute(mojo);
+        assertEquals(lastModified, index.lastModified());
+
+        // changed title: the documentation is generated again
+        MojoExtension.setVariableValueToObject(mojo, "title", "Changed title");
+        execute(mojo);
+        assertNotEquals(lastModified, index.lastModified());
+    }
+
+    /**
+     * Test that the taglibdoc goal renders the same documentation, if the tld-file and the
+     * tag-files are rendered concurrently.
+     *
+     * @throws Exception any exception thrown during test
+     */
+    @Test
+    @Basedir(TEST_DIR + "project2")
+    @InjectMojo(goal = "taglibdoc")
+    @MojoParameter(name = "incremental", value = "false")
+    public void testGoalTaglibDocParallel(TaglibdocMojo mojo) throws Exception {
+        assertSameDocumentation(mojo);
+    }
+
+    /**
+     * Renders the documentation with one and with four threads and compares all pages.
+     *
+     * @param mojo the taglibdoc mojo
+     *
+     * @throws Exception any exception thrown during test
+     */
+    private void assertSameDocumentation(TaglibdocMojo mojo) throws Exception {
+        // the stylesheets of tlddoc are known, so the documentation is rendered partitioned
+        assertNull(TldDocPartitions.missingXslt());
+
+        final Path serial = Paths.get(MojoExtension.getBasedir(), "taglibdoc-serial");
+        final Path parallel = Paths.get(MojoExtension.getBasedir(), "taglibdoc-parallel");
+
+        MojoExtension.setVariableValueToObject(mojo, "tldDocDir", serial.toFile());
+        MojoExtension.setVariableValueToObject(mojo, "threads", 1);
+        execute(mojo);
+
+        MojoExtension.setVariableValueToObject(mojo, "tldDocDir", parallel.toFile());
+        MojoExtension.setVariableValueToObject(mojo, "threads", 4);
+        execute(mojo);
+
+        final List<Path> pages;
+        try (Stream<Path> files = Files.walk(serial)) {
+            pages = files.filter(Files::isRegularFile).map(serial::relativize)
+                    .sorted().collect(Collectors.toList());
+        }
+        try (Stream<Path> files = Files.walk(parallel)) {
+            assertEquals(pages, files.filter(Files::isRegularFile).map(parallel::relativize)
+                    .sorted().collect(Collectors.toList()));
+        }
+
+        for (Path page : pages) {
+            assertEquals(Files.readString(serial.resolve(page)),
+                    Files.readString(parallel.resolve(page)), page.toString());
+        }
+    }
 }
@@ -26,6 +26,7 @@ package io.github.weblegacy.maven.plugin.taglib;
 
 import org.apache.maven.api.plugin.testing.Basedir;
 import org.apache.maven.api.plugin.testing.InjectMojo;
+import org.apache.maven.api.plugin.testing.MojoParameter;
 import org.apache.maven.api.plugin.testing.MojoTest;
 import org.junit.jupiter.api.Test;
 
@@ -52,4 +53,19 @@ public class TagreferenceMojoTest extends TaglibPluginTestBase {
 
         assertFileExists("tagreference", "tagreference.html");
     }
+
+    /**
+     * Test for the tag reference goal with html parsing of the descriptions.
+     *
+     * @throws Exception any exception thrown during test
+     */
+    @Test
+    @Basedir(TEST_DIR + "project2")
+    @InjectMojo(goal = "tagreference")
+    @MojoParameter(name = "parseHtml", value = "true")
+    public void testGoalTagreferenceParseHtml(TagreferenceMojo mojo) throws Exception {
+        execute(mojo);
+
+        assertFileExists("tagreference", "tagreference.html");
+    }
 }
@@ -24,10 +24,21 @@
 
 package io.github.weblegacy.maven.plugin.taglib;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.Collections;
+import org.apache.commons.lang3.StringUtils;
 import org.apache.maven.api.plugin.testing.Basedir;
 import org.apache.maven.api.plugin.testing.InjectMojo;
+import org.apache.maven.api.plugin.testing.MojoExtension;
 import org.apache.maven.api.plugin.testing.MojoParameter;
 import org.apache.maven.api.plugin.testing.MojoTest;
+import org.apache.maven.plugin.MojoExecutionException;
 import org.junit.jupiter.api.Test;
 
 /**
@@ -69,4 +80,105 @@ public class TldGenerateMojoTest extends TaglibPluginTestBase {
 
         assertFileExists("tldgenerate", "testtaglib.tld");
     }
+
+    /**
+     * Test that unchanged tld files are not rewritten, with and without incremental mode.
+     *
+     * @throws Exception any exception thrown during test
+     */
+    @Test
+    @Basedir(TEST_DIR + "project3")
+    @InjectMojo(goal = "tldgenerate")
+    @MojoParameter(name = "outputDir", value = "tldgenerate-incremental")
+    public void testTldGenerateIncremental(TldGenerateMojo mojo) throws Exception {
+        execute(mojo);
+        assertFileExists("tldgenerate-incremental", "testtaglib.tld");
+
+        final File tld = new File(MojoExtension.getBasedir(),
+                "tldgenerate-incremental/testtaglib.tld");
+        final long lastModified = 1_000_000_000_000L;
+        tld.setLastModified(lastModified);
+
+        // up-to-date: the generation is skipped
+        execute(mojo);
+        assertEquals(lastModified, tld.lastModified());
+
+        // not incremental: the tld is generated, but the identical bytes are not rewritten
+        MojoExtension.setVariableValueToObject(mojo, "incremental", false);
+        execute(mojo);
+        assertEquals(lastModified, tld.lastModified());
+    }
+
+    /**
+     * Test that parsing the tag files concurrently generates the same tld as serial parsing.
+     *
+     * @throws Exception any exception thrown during test
+     */
+    @Test
+    @Basedir(TEST_DIR + "project2")
+    @InjectMojo(goal = "tldgenerate")
+    @MojoParameter(name = "outputDir", value = "tldgenerate-parallel")
+    @MojoParameter(name = "incremental", value = "false")
+    public void testTldGenerateParallel(TldGenerateMojo mojo) throws Exception {
+        final File tld = new File(MojoExtension.getBasedir(), "tldgenerate-parallel/testtag.tld");
+
+        MojoExtension.setVariableValueToObject(mojo, "threads", 1);
+        execute(mojo);
+        assertFileExists("tldgenerate-parallel", "testtag.tld");
+        final byte[] serial = Files.readAllBytes(tld.toPath());
+
+        MojoExtension.setVariableValueToObject(mojo, "threads", 4);
+        Files.delete(tld.toPath());
+        execute(mojo);
+        assertArrayEquals(serial, Files.readAllBytes(tld.toPath()));
+    }
+
+    /**
+     * Test that reading the function classes from class-files generates the same tld as
+     * reflection.
+     *
+     * @throws Exception any exception thrown during test
+     */
+    @Test
+    @Basedir(TEST_DIR + "project3")
+    @InjectMojo(goal = "tldgenerate")
+    @MojoParameter(name = "outputDir", value = "tldgenerate-bytecode")
+    @MojoParameter(name = "incremental", value = "false")
+    public void testTldGenerateBytecode(TldGenerateMojo mojo) throws Exception {
+        final File tld = new File(MojoExtension.getBasedir(),
+                "tldgenerate-bytecode/testtaglib.tld");
+
+        execute(mojo);
+        assertFileExists("tldgenerate-bytecode", "testtaglib.tld");
+        final byte[] reflection = Files.readAllBytes(tld.toPath());
+
+        final File jar = new File(StringUtils.class.getProtectionDomain().getCodeSource()
+                .getLocation().toURI());
+        MojoExtension.setVariableValueToObject(mojo, "functionMode", "bytecode");
+        MojoExtension.setVariableValueToObject(mojo, "classpathElements",
+                Collections.singletonList(jar.getAbsolutePath()));
+        Files.delete(tld.toPath());
+        execute(mojo);
+        assertArrayEquals(reflection, Files.readAllBytes(tld.toPath()));
+    }
+
+    /**
+     * Test that a function class, whose class-file is not found, fails the goal in bytecode
+     * mode.
+     *
+     * @throws Exception any exception thrown during test
+     */
+    @Test
+    @Basedir(TEST_DIR + "project3")
+    @InjectMojo(goal = "tldgenerate")
+    @MojoParameter(name = "outputDir", value = "tldgenerate-bytecode-missing")
+    public void testTldGenerateBytecodeMissingClass(TldGenerateMojo mojo) throws Exception {
+        MojoExtension.setVariableValueToObject(mojo, "functionMode", "bytecode");
+        MojoExtension.setVariableValueToObject(mojo, "classpathElements",
+                Collections.emptyList());
+
+        assertThrows(MojoExecutionException.class, () -> execute(mojo));
+        assertFalse(new File(MojoExtension.getBasedir(),
+                "tldgenerate-bytecode-missing/testtaglib.tld").exists());
+    }
 }
@@ -0,0 +1,87 @@
+/*
+ * The MIT License
+ * Copyright © 2004-2014 Fabrizio Giustina
+ * Copyright © 2022-2026 Web-Legacy
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package io.github.weblegacy.maven.plugin.taglib;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test for the streaming tld writer.
+ *
+ * @author Stefan Graff
+ *
+ * @version 3.1.0
+ */
+public class TldWriterTest {
+
+    /**
+     * The writer must produce the pretty format of the former JDOM-based output.
+     *
+     * @throws IOException any exception thrown during test
+     */
+    @Test
+    public void testPrettyFormat() throws IOException {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        final TldWriter writer = new TldWriter(out);
+
+        writer.startTaglib(null, "1.0", "test", "http://example.org/test");
+        writer.startTagFile("hello", "/META-INF/tags/test/hello.tag");
+        writer.tagFileElement("description", "  A <b>bold</b> & \r\nmultiline\ttext\n ");
+        writer.tagFileElement("example", " \t ");
+        writer.tagFileElement("display-name", "Smile 😀");
+        writer.endTagFile();
+        writer.function("max", "java.lang.Math", "java.lang.Integer max(int, int)");
+        writer.endTaglib();
+
+        assertEquals("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\r\n"
+                + "<taglib xmlns=\"http://java.sun.com/xml/ns/javaee\""
+                + " xmlns:xsi=\"http://www.w3.org/2001/XMLSchema-instance\" version=\"2.1\""
+                + " xsi:schemaLocation=\"http://java.sun.com/xml/ns/javaee"
+                + " http://java.sun.com/xml/ns/javaee/web-jsptaglibrary_2_1.xsd\">\r\n"
+                + "  <description />\r\n"
+                + "  <tlib-version>1.0</tlib-version>\r\n"
+                + "  <short-name>test</short-name>\r\n"
+                + "  <uri>http://example.org/test</uri>\r\n"
+                + "  <tag-file>\r\n"
+                + "    <name>hello</name>\r\n"
+                + "    <path>/META-INF/tags/test/hello.tag</path>\r\n"
+                + "    <description>A &lt;b&gt;bold&lt;/b&gt; &amp; &#xD;\r\n"
+                + "multiline\ttext</description>\r\n"
+                + "    <example />\r\n"
+                + "    <display-name>Smile &#x1f600;</display-name>\r\n"
+                + "  </tag-file>\r\n"
+                + "  <function>\r\n"
+                + "    <name>max</name>\r\n"
+                + "    <function-class>java.lang.Math</function-class>\r\n"
+                + "    <function-signature>java.lang.Integer max(int, int)</function-signature>\r\n"
+                + "  </function>\r\n"
+                + "</taglib>\r\n",
+                new String(out.toByteArray(), StandardCharsets.UTF_8));
+    }
+}
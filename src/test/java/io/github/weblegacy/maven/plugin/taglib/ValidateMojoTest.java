@@ -26,6 +26,7 @@ package io.github.weblegacy.maven.plugin.taglib;
 
 import org.apache.maven.api.plugin.testing.Basedir;
 import org.apache.maven.api.plugin.testing.InjectMojo;
+import org.apache.maven.api.plugin.testing.MojoParameter;
 import org.apache.maven.api.plugin.testing.MojoTest;
 import org.junit.jupiter.api.Test;
 
@@ -66,4 +67,38 @@ public class ValidateMojoTest extends TaglibPluginTestBase {
 
         assertFileExists("validate", "taglibvalidation.html");
     }
+
+    /**
+     * Test for the tag validate goal, which reads the class-files only.
+     *
+     * @throws Exception any exception thrown during test
+     */
+    @Test
+    @Basedir(TEST_DIR + "project1")
+    @InjectMojo(goal = "validate")
+    @MojoParameter(name = "validationMode", value = "bytecode")
+    public void testValidateBytecode(ValidateMojo mojo) throws Exception {
+        execute(mojo);
+
+        assertFileExists("validate", "taglibvalidation.html");
+    }
+
+    /**
+     * Test for the tag validate goal with the export of the results.
+     *
+     * @throws Exception any exception thrown during test
+     */
+    @Test
+    @Basedir(TEST_DIR + "project1")
+    @InjectMojo(goal = "validate")
+    @MojoParameter(name = "exportFormats", value = "json,sarif,junit")
+    @MojoParameter(name = "exportDirectory", value = "export")
+    public void testValidateExport(ValidateMojo mojo) throws Exception {
+        execute(mojo);
+
+        assertFileExists("validate", "taglibvalidation.html");
+        assertFileExists("export", "taglib-validation.jsonl");
+        assertFileExists("export", "taglib-validation.sarif");
+        assertFileExists("export", "TEST-taglib-validation.xml");
+    }
 }
@@ -0,0 +1,136 @@
+/*
+ * The MIT License
+ * Copyright © 2004-2014 Fabrizio Giustina
+ * Copyright © 2022-2026 Web-Legacy
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package io.github.weblegacy.maven.plugin.taglib.checker;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.github.weblegacy.maven.plugin.taglib.util.XmlHelper;
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Regression test for the tld parsers with very large tld files. The parse times of such files are
+ * measured by the {@code TldParserBenchmark} of the {@code benchmarks} profile.
+ *
+ * @author Stefan Graff
+ *
+ * @version 3.1.0
+ */
+public class LargeTldParserTest {
+
+    /**
+     * Number of tags of the large tld.
+     */
+    private static final int LARGE = 20_000;
+
+    /**
+     * The DOM-based parser must build the complete model of a large tld.
+     *
+     * @throws Exception any exception thrown during test
+     */
+    @Test
+    public void testDomParserLargeTld() throws Exception {
+        assertComplete(tld -> TldParser.parse(XmlHelper.getDocumentBuilder().parse(
+                new ByteArrayInputStream(tld)), "large.tld"));
+    }
+
+    /**
+     * The streaming parser must build the complete model of a large tld.
+     *
+     * @throws Exception any exception thrown during test
+     */
+    @Test
+    public void testStreamParserLargeTld() throws Exception {
+        assertComplete(tld -> new TldStreamParser().parse(new ByteArrayInputStream(tld),
+                "large.tld"));
+    }
+
+    /**
+     * Checks that all tags of the large tld are parsed sorted by name, each with its attributes
+     * and its variable.
+     *
+     * @param parser the parser to check
+     *
+     * @throws Exception any exception thrown during test
+     */
+    private static void assertComplete(Parser parser) throws Exception {
+        final Tag[] tags = parser.parse(createTld(LARGE)).getTags();
+
+        assertEquals(LARGE, tags.length);
+        for (int i = 0; i < tags.length; i++) {
+            assertTrue(i == 0 || tags[i - 1].getName().compareTo(tags[i].getName()) < 0);
+            assertEquals(2, tags[i].getAttributes().length);
+            assertEquals(1, tags[i].getVariables().length);
+        }
+    }
+
+    /**
+     * Creates a tld with the given number of tags, each with two attributes and a variable.
+     *
+     * @param tags the number of tags
+     *
+     * @return the content of the tld
+     */
+    private static byte[] createTld(int tags) {
+        final StringBuilder buf = new StringBuilder(tags * 400);
+        buf.append("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n<taglib>\n")
+                .append("<tlib-version>1.0</tlib-version>\n")
+                .append("<short-name>large</short-name>\n")
+                .append("<uri>http://example.org/large</uri>\n");
+
+        for (int i = 0; i < tags; i++) {
+            buf.append("<tag><name>tag").append(i).append("</name>")
+                    .append("<tag-class>org.example.Tag").append(i).append("</tag-class>")
+                    .append("<body-content>empty</body-content>")
+                    .append("<description>Tag number ").append(i).append("</description>")
+                    .append("<attribute><name>a</name><required>true</required></attribute>")
+                    .append("<attribute><name>b</name><type>int</type></attribute>")
+                    .append("<variable><name-given>v").append(i).append("</name-given>")
+                    .append("</variable></tag>\n");
+        }
+
+        return buf.append("</taglib>\n").toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * A parser of the content of a tld.
+     */
+    @FunctionalInterface
+    private interface Parser {
+
+        /**
+         * Parses the content of a tld.
+         *
+         * @param tld the content of the tld
+         *
+         * @return Tld instance
+         *
+         * @throws Exception if the tld could not be parsed
+         */
+        Tld parse(byte[] tld) throws Exception;
+    }
+}
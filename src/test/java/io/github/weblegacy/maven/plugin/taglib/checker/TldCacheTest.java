@@ -0,0 +1,95 @@
+/*
+ * The MIT License
+ * Copyright © 2004-2014 Fabrizio Giustina
+ * Copyright © 2022-2026 Web-Legacy
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package io.github.weblegacy.maven.plugin.taglib.checker;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Test for the persistent tld cache.
+ *
+ * @author Stefan Graff
+ *
+ * @version 3.1.0
+ */
+public class TldCacheTest {
+
+    /**
+     * A cached model must be equal to the parsed one and must be invalidated by a change of the
+     * tld file.
+     *
+     * @param tempDir temporary directory
+     *
+     * @throws Exception any exception thrown during test
+     */
+    @Test
+    public void testCacheRoundTrip(@TempDir Path tempDir) throws Exception {
+        final Path tldFile = tempDir.resolve("project2.tld");
+        Files.copy(new File("src/test/resources/project2/src/main/resources/META-INF/project2.tld")
+                .toPath(), tldFile);
+
+        final TldCache cache = new TldCache(tempDir.resolve("cache").toFile());
+        final TldCache.Key key = TldCache.Key.of(tldFile.toFile());
+        assertNull(cache.get(key));
+
+        final Tld expected = new TldStreamParser().parse(tldFile.toFile());
+        cache.put(key, expected);
+
+        final Tld actual = new TldCache(tempDir.resolve("cache").toFile())
+                .get(TldCache.Key.of(tldFile.toFile()));
+        assertNotNull(actual);
+        assertEquals(expected.getFilename(), actual.getFilename());
+        assertEquals(expected.getShortname(), actual.getShortname());
+        assertEquals(expected.getUri(), actual.getUri());
+        assertEquals(expected.getInfo(), actual.getInfo());
+        assertArrayEquals(expected.getTags(), actual.getTags());
+        assertArrayEquals(expected.getFunctions(), actual.getFunctions());
+        assertArrayEquals(expected.getTagfiles(), actual.getTagfiles());
+
+        for (int i = 0; i < expected.getTags().length; i++) {
+            final Tag expectedTag = expected.getTags()[i];
+            final Tag actualTag = actual.getTags()[i];
+
+            assertEquals(expectedTag.getDescription(), actualTag.getDescription());
+            assertEquals(expectedTag.getTagClass(), actualTag.getTagClass());
+            assertArrayEquals(expectedTag.getAttributes(), actualTag.getAttributes());
+            assertArrayEquals(expectedTag.getVariables(), actualTag.getVariables());
+        }
+
+        Files.write(tldFile, "<!-- changed -->".getBytes(StandardCharsets.UTF_8),
+                StandardOpenOption.APPEND);
+        assertNull(cache.get(TldCache.Key.of(tldFile.toFile())));
+    }
+}
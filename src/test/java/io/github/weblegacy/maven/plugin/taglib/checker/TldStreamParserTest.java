@@ -0,0 +1,82 @@
+/*
+ * The MIT License
+ * Copyright © 2004-2014 Fabrizio Giustina
+ * Copyright © 2022-2026 Web-Legacy
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package io.github.weblegacy.maven.plugin.taglib.checker;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import io.github.weblegacy.maven.plugin.taglib.util.XmlHelper;
+import java.io.File;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+/**
+ * Test for the streaming tld parser.
+ *
+ * @author Stefan Graff
+ *
+ * @version 3.1.0
+ */
+public class TldStreamParserTest {
+
+    /**
+     * The streaming parser must produce the same model as the DOM-based parser.
+     *
+     * @param path the tld file to parse
+     *
+     * @throws Exception any exception thrown during test
+     */
+    @ParameterizedTest
+    @ValueSource(strings = {
+        "src/test/resources/project1/src/main/resources/META-INF/tld12.tld",
+        "src/test/resources/project2/src/main/resources/META-INF/project2.tld"
+    })
+    public void testSameModelAsDomParser(String path) throws Exception {
+        final File file = new File(path);
+
+        final Tld expected = TldParser.parse(XmlHelper.getDocumentBuilder().parse(file),
+                file.getName());
+        final Tld actual = new TldStreamParser().parse(file);
+
+        assertEquals(expected.getFilename(), actual.getFilename());
+        assertEquals(expected.getName(), actual.getName());
+        assertEquals(expected.getShortname(), actual.getShortname());
+        assertEquals(expected.getTlibversion(), actual.getTlibversion());
+        assertEquals(expected.getUri(), actual.getUri());
+        assertEquals(expected.getInfo(), actual.getInfo());
+        assertArrayEquals(expected.getTags(), actual.getTags());
+        assertArrayEquals(expected.getFunctions(), actual.getFunctions());
+        assertArrayEquals(expected.getTagfiles(), actual.getTagfiles());
+
+        for (int i = 0; i < expected.getTags().length; i++) {
+            final Tag expectedTag = expected.getTags()[i];
+            final Tag actualTag = actual.getTags()[i];
+
+            assertEquals(expectedTag.getDescription(), actualTag.getDescription());
+            assertEquals(expectedTag.getBodycontent(), actualTag.getBodycontent());
+            assertArrayEquals(expectedTag.getVariables(), actualTag.getVariables());
+        }
+    }
+}
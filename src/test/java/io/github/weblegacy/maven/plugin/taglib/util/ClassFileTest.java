@@ -0,0 +1,112 @@
+/*
+ * The MIT License
+ * Copyright © 2004-2014 Fabrizio Giustina
+ * Copyright © 2022-2026 Web-Legacy
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package io.github.weblegacy.maven.plugin.taglib.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.Collections;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test for the class-file reader.
+ *
+ * @author Stefan Graff
+ *
+ * @version 3.1.0
+ */
+public class ClassFileTest {
+
+    /**
+     * The declarations of a class-file must match the declarations of the loaded class.
+     *
+     * @throws IOException any exception thrown during test
+     */
+    @Test
+    public void testRead() throws IOException {
+        final ClassFile classFile;
+        try (InputStream in = Parallel.class.getResourceAsStream("Parallel.class")) {
+            classFile = ClassFile.read(in);
+        }
+
+        assertEquals(Parallel.class.getName(), classFile.getName());
+        assertEquals(Object.class.getName(), classFile.getSuperName());
+        assertEquals(Collections.emptyList(), classFile.getInterfaces());
+
+        final ClassFile.MethodInfo map = method(classFile, "map");
+        assertTrue(map.isPublicStatic());
+        assertEquals("(ILjava/util/List;L" + Parallel.Task.class.getName().replace('.', '/')
+                + ";)Ljava/util/List;", map.getDescriptor());
+        assertEquals(Arrays.asList("int", "java.util.List", Parallel.Task.class.getCanonicalName()),
+                map.getParameterTypes());
+        assertEquals("java.util.List", map.getReturnType());
+
+        assertFalse(method(classFile, "<init>").isPublicStatic());
+    }
+
+    /**
+     * The class path must find class-files in directories and jars.
+     *
+     * @throws Exception any exception thrown during test
+     */
+    @Test
+    public void testClassPath() throws Exception {
+        final File classes = new File(Parallel.class.getProtectionDomain().getCodeSource()
+                .getLocation().toURI());
+        final File jar = new File(Test.class.getProtectionDomain().getCodeSource().getLocation()
+                .toURI());
+
+        try (ClassPath classPath = new ClassPath(Arrays.asList(classes, jar,
+                new File("missing")))) {
+
+            assertEquals(Parallel.class.getName(),
+                    classPath.load(Parallel.class.getName()).getName());
+            assertEquals("java.lang.annotation.Annotation",
+                    classPath.load(Test.class.getName()).getInterfaces().get(0));
+            assertNotNull(classPath.sha256(Test.class.getName()));
+            assertNull(classPath.load("org.example.Missing"));
+        }
+    }
+
+    /**
+     * Returns the first method with a name.
+     *
+     * @param classFile the class-file
+     * @param name      the name of the method
+     *
+     * @return the method
+     */
+    private static ClassFile.MethodInfo method(ClassFile classFile, String name) {
+        return classFile.getMethods().stream().filter(m -> name.equals(m.getName())).findFirst()
+                .orElseThrow();
+    }
+}
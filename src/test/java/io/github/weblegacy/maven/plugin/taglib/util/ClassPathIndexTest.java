@@ -0,0 +1,87 @@
+/*
+ * The MIT License
+ * Copyright © 2004-2014 Fabrizio Giustina
+ * Copyright © 2022-2026 Web-Legacy
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package io.github.weblegacy.maven.plugin.taglib.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Test for the class path index.
+ *
+ * @author Stefan Graff
+ *
+ * @version 3.1.0
+ */
+public class ClassPathIndexTest {
+
+    /**
+     * The index must locate the classes of directories and jars and must reuse the cached class
+     * names of unchanged jars only.
+     *
+     * @param tempDir temporary directory
+     *
+     * @throws Exception any exception thrown during test
+     */
+    @Test
+    public void testBuild(@TempDir Path tempDir) throws Exception {
+        final File classes = new File(Parallel.class.getProtectionDomain().getCodeSource()
+                .getLocation().toURI());
+        final File jar = tempDir.resolve("junit.jar").toFile();
+        Files.copy(new File(Test.class.getProtectionDomain().getCodeSource().getLocation()
+                .toURI()).toPath(), jar.toPath());
+        final File cacheDirectory = tempDir.resolve("cache").toFile();
+        final List<File> classpathElements = Arrays.asList(classes, jar, new File("missing"));
+
+        final ClassPathIndex index = ClassPathIndex.build(classpathElements, cacheDirectory);
+        assertEquals(classes, index.getLocation(Parallel.class.getName()));
+        assertEquals(classes, index.getLocation(Parallel.Task.class.getName()));
+        assertEquals(jar, index.getLocation(Test.class.getName()));
+        assertNull(index.getLocation("org.example.Missing"));
+        assertTrue(index.isMissing("org.example.Missing"));
+        assertFalse(index.isMissing(String.class.getName()));
+        assertEquals(0, index.getCachedJars());
+        assertTrue(index.getPackages(classes).contains(Parallel.class.getPackageName()));
+        assertTrue(index.getPackages(jar).contains(Test.class.getPackageName()));
+        assertTrue(index.getPackages(new File("missing")).isEmpty());
+
+        final ClassPathIndex cached = ClassPathIndex.build(classpathElements, cacheDirectory);
+        assertEquals(1, cached.getCachedJars());
+        assertEquals(index.size(), cached.size());
+        assertEquals(jar, cached.getLocation(Test.class.getName()));
+
+        assertTrue(jar.setLastModified(jar.lastModified() - 10_000L));
+        assertEquals(0, ClassPathIndex.build(classpathElements, cacheDirectory).getCachedJars());
+    }
+}
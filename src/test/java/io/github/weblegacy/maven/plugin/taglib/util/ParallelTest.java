@@ -0,0 +1,81 @@
+/*
+ * The MIT License
+ * Copyright © 2004-2014 Fabrizio Giustina
+ * Copyright © 2022-2026 Web-Legacy
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package io.github.weblegacy.maven.plugin.taglib.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test for the ordered parallel processing.
+ *
+ * @author Stefan Graff
+ *
+ * @version 3.1.0
+ */
+public class ParallelTest {
+
+    /**
+     * The results must keep the order of the items, regardless of the number of threads.
+     *
+     * @throws Exception any exception thrown during test
+     */
+    @Test
+    public void testMapKeepsOrder() throws Exception {
+        final List<Integer> items = IntStream.range(0, 200).boxed().collect(Collectors.toList());
+
+        final List<String> serial = Parallel.map(1, items, item -> "item" + item);
+        final List<String> parallel = Parallel.map(8, items, item -> {
+            Thread.sleep(item % 3);
+            return "item" + item;
+        });
+
+        assertEquals(items.size(), serial.size());
+        assertEquals(serial, parallel);
+    }
+
+    /**
+     * The first failing item in the order of the items must be reported.
+     */
+    @Test
+    public void testMapReportsFirstFailure() {
+        final List<Integer> items = IntStream.range(0, 50).boxed().collect(Collectors.toList());
+
+        final ExecutionException e = assertThrows(ExecutionException.class,
+                () -> Parallel.map(4, items, item -> {
+                    if (item >= 10) {
+                        throw new IllegalStateException("item" + item);
+                    }
+                    return item;
+                }));
+
+        assertEquals("item10", e.getCause().getMessage());
+    }
+}
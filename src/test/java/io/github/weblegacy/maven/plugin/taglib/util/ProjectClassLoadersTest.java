@@ -0,0 +1,174 @@
+/*
+ * The MIT License
+ * Copyright © 2004-2014 Fabrizio Giustina
+ * Copyright © 2022-2026 Web-Legacy
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package io.github.weblegacy.maven.plugin.taglib.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.github.weblegacy.maven.plugin.taglib.TaglibCorpusGenerator;
+import io.github.weblegacy.maven.plugin.taglib.util.ProjectClassLoaders.ProjectClassLoader;
+import java.io.File;
+import java.nio.file.Path;
+import java.util.List;
+import org.apache.maven.execution.DefaultMavenExecutionRequest;
+import org.apache.maven.execution.DefaultMavenExecutionResult;
+import org.apache.maven.execution.MavenSession;
+import org.apache.maven.plugin.logging.SystemStreamLog;
+import org.apache.maven.project.MavenProject;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Test for the class-loaders of the projects.
+ *
+ * @author Stefan Graff
+ *
+ * @version 3.1.0
+ */
+public class ProjectClassLoadersTest {
+
+    /**
+     * The class-loader must be reused for the same classpath and closed, when the next session
+     * starts.
+     *
+     * @throws Exception any exception thrown during test
+     */
+    @Test
+    @SuppressWarnings("deprecation")
+    public void testReuseAndClose() throws Exception {
+        final ProjectClassLoaders classLoaders = new ProjectClassLoaders();
+        final MavenSession session = new MavenSession(null, null,
+                new DefaultMavenExecutionRequest(), new DefaultMavenExecutionResult());
+        final MavenProject project = new MavenProject();
+        final List<File> classpath = List.of(new File("target/test-classes"));
+        final String className = ProjectClassLoadersTest.class.getName();
+
+        final ProjectClassLoader first = classLoaders.get(session, project, classpath,
+                List.of(), new SystemStreamLog());
+        first.loadClass(className);
+        assertSame(first, classLoaders.get(session, project, classpath, List.of(),
+                new SystemStreamLog()));
+        assertEquals(1, first.getLoadedClasses());
+        assertEquals(2, first.getUses());
+
+        final ProjectClassLoader second = classLoaders.get(session, project,
+                List.of(new File("target/classes")), List.of(), new SystemStreamLog());
+        assertNotSame(first, second);
+        assertThrows(ClassNotFoundException.class, () -> first.loadClass(Parallel.class.getName()));
+
+        second.loadClass(Parallel.class.getName());
+        final MavenSession next = new MavenSession(null, null,
+                new DefaultMavenExecutionRequest(), new DefaultMavenExecutionResult());
+        assertNotSame(second, classLoaders.get(next, project,
+                List.of(new File("target/classes")), List.of(), new SystemStreamLog()));
+        assertThrows(ClassNotFoundException.class,
+                () -> second.loadClass(ClassPath.class.getName()));
+    }
+
+    /**
+     * The class-loaders must be closed at the end of the session, but not at the end of another
+     * session.
+     *
+     * @throws Exception any exception thrown during test
+     */
+    @Test
+    @SuppressWarnings("deprecation")
+    public void testCloseAtSessionEnd() throws Exception {
+        final ProjectClassLoaders classLoaders = new ProjectClassLoaders();
+        final ProjectClassLoadersParticipant participant =
+                new ProjectClassLoadersParticipant(classLoaders);
+        final MavenSession session = new MavenSession(null, null,
+                new DefaultMavenExecutionRequest(), new DefaultMavenExecutionResult());
+        final MavenSession other = new MavenSession(null, null,
+                new DefaultMavenExecutionRequest(), new DefaultMavenExecutionResult());
+        final List<File> classpath = List.of(new File("target/classes"));
+
+        final ProjectClassLoader classLoader = classLoaders.get(session, new MavenProject(),
+                classpath, List.of(), new SystemStreamLog());
+        classLoader.loadClass(Parallel.class.getName());
+
+        participant.afterSessionEnd(other);
+        classLoader.loadClass(ClassPath.class.getName());
+
+        participant.afterSessionEnd(session);
+        assertThrows(ClassNotFoundException.class,
+                () -> classLoader.loadClass(ClassFile.class.getName()));
+        assertNotSame(classLoader, classLoaders.get(session, new MavenProject(), classpath,
+                List.of(), new SystemStreamLog()));
+    }
+
+    /**
+     * The projects with the same API jars must share the class-loader and the tag-classes of the
+     * API, also in the next session.
+     *
+     * @param tempDir temporary directory for the compiled classes
+     *
+     * @throws Exception any exception thrown during test
+     */
+    @Test
+    @SuppressWarnings("deprecation")
+    public void testSharedApiClassLoader(@TempDir Path tempDir) throws Exception {
+        final TaglibCorpusGenerator generator = new TaglibCorpusGenerator(23L);
+        generator.setTags(4);
+        generator.setFunctions(1);
+
+        final File apiDir = tempDir.resolve("api").toFile();
+        generator.compileHandlers(apiDir);
+        final List<File> api = List.of(apiDir);
+        final List<File> classpath = List.of(new File("target/test-classes"), apiDir);
+
+        final ProjectClassLoaders classLoaders = new ProjectClassLoaders();
+        final MavenSession session = new MavenSession(null, null,
+                new DefaultMavenExecutionRequest(), new DefaultMavenExecutionResult());
+        final MavenProject first = new MavenProject();
+        first.setArtifactId("first");
+        final MavenProject second = new MavenProject();
+        second.setArtifactId("second");
+
+        final ProjectClassLoader firstLoader = classLoaders.get(session, first, classpath, api,
+                new SystemStreamLog());
+        final ProjectClassLoader secondLoader = classLoaders.get(session, second, classpath, api,
+                new SystemStreamLog());
+        assertNotSame(firstLoader, secondLoader);
+        assertSame(firstLoader.getParent(), secondLoader.getParent());
+
+        final JspCheck jspCheck = JspCheck.of(new SystemStreamLog(), firstLoader);
+        assertSame(jspCheck, JspCheck.of(new SystemStreamLog(), secondLoader));
+
+        final Class<?> tag = secondLoader.loadClass(TaglibCorpusGenerator.PACKAGE + ".Tag0");
+        assertTrue(jspCheck.check(JspClass.TAG_SUPPORT, tag));
+        assertFalse(jspCheck.check(JspClass.TAG_EXTRA_INFO, tag));
+        assertEquals(0, secondLoader.getLoadedClasses());
+
+        final MavenSession next = new MavenSession(null, null,
+                new DefaultMavenExecutionRequest(), new DefaultMavenExecutionResult());
+        assertSame(firstLoader.getParent(), classLoaders.get(next, first, classpath, api,
+                new SystemStreamLog()).getParent());
+    }
+}
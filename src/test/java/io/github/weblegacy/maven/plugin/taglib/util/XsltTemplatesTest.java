@@ -0,0 +1,184 @@
+/*
+ * The MIT License
+ * Copyright © 2004-2014 Fabrizio Giustina
+ * Copyright © 2022-2026 Web-Legacy
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package io.github.weblegacy.maven.plugin.taglib.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import javax.xml.XMLConstants;
+import javax.xml.transform.ErrorListener;
+import javax.xml.transform.Transformer;
+import javax.xml.transform.TransformerException;
+import javax.xml.transform.TransformerFactory;
+import javax.xml.transform.stream.StreamResult;
+import javax.xml.transform.stream.StreamSource;
+import org.apache.maven.execution.DefaultMavenExecutionRequest;
+import org.apache.maven.execution.DefaultMavenExecutionResult;
+import org.apache.maven.execution.MavenSession;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test for the caches of the compiled xsl stylesheets.
+ *
+ * @author Stefan Graff
+ *
+ * @version 3.1.0
+ */
+public class XsltTemplatesTest {
+
+    /**
+     * A stylesheet copying the name of the root element.
+     */
+    private static final String STYLESHEET = "<xsl:stylesheet version=\"1.0\""
+            + " xmlns:xsl=\"http://www.w3.org/1999/XSL/Transform\">"
+            + "<xsl:output method=\"text\"/>"
+            + "<xsl:template match=\"/\"><xsl:value-of select=\"name(*)\"/></xsl:template>"
+            + "</xsl:stylesheet>";
+
+    /**
+     * A stylesheet must be compiled once per session, while the context class-loader of the cache
+     * is set.
+     *
+     * @throws Exception any exception thrown during test
+     */
+    @Test
+    @SuppressWarnings("deprecation")
+    public void testCompileOncePerSession() throws Exception {
+        final XsltTemplates templates = new XsltTemplates();
+        final MavenSession session = new MavenSession(null, null,
+                new DefaultMavenExecutionRequest(), new DefaultMavenExecutionResult());
+        final XsltTemplates.Cache cache = templates.get(session);
+        assertSame(cache, templates.get(session));
+        assertNotSame(cache, templates.get(new MavenSession(null, null,
+                new DefaultMavenExecutionRequest(), new DefaultMavenExecutionResult())));
+
+        final Thread thread = Thread.currentThread();
+        final ClassLoader contextClassLoader = thread.getContextClassLoader();
+        thread.setContextClassLoader(cache.newContextClassLoader(contextClassLoader));
+        try {
+            for (int i = 0; i < 3; i++) {
+                final TransformerFactory factory = TransformerFactory.newInstance();
+                assertTrue(factory instanceof CachingTransformerFactory);
+                assertEquals("taglib", transform(factory));
+            }
+        } finally {
+            thread.setContextClassLoader(contextClassLoader);
+        }
+
+        assertEquals(1, cache.getCompiled());
+        assertEquals(2, cache.getReused());
+
+        assertFalse(TransformerFactory.newInstance() instanceof CachingTransformerFactory);
+    }
+
+    /**
+     * A stylesheet must be compiled without the cache, if a feature, an attribute or the error
+     * listener of the factory differs from the defaults.
+     *
+     * @throws Exception any exception thrown during test
+     */
+    @Test
+    @SuppressWarnings("deprecation")
+    public void testCustomizedFactory() throws Exception {
+        final XsltTemplates.Cache cache = new XsltTemplates().get(new MavenSession(null, null,
+                new DefaultMavenExecutionRequest(), new DefaultMavenExecutionResult()));
+
+        final Thread thread = Thread.currentThread();
+        final ClassLoader contextClassLoader = thread.getContextClassLoader();
+        thread.setContextClassLoader(cache.newContextClassLoader(contextClassLoader));
+        try {
+            final TransformerFactory defaults = TransformerFactory.newInstance();
+            defaults.setFeature(XMLConstants.FEATURE_SECURE_PROCESSING,
+                    defaults.getFeature(XMLConstants.FEATURE_SECURE_PROCESSING));
+            defaults.setErrorListener(defaults.getErrorListener());
+            assertEquals("taglib", transform(defaults));
+            assertEquals(1, cache.getCompiled());
+
+            final TransformerFactory feature = TransformerFactory.newInstance();
+            feature.setFeature(XMLConstants.FEATURE_SECURE_PROCESSING,
+                    !feature.getFeature(XMLConstants.FEATURE_SECURE_PROCESSING));
+            assertEquals("taglib", transform(feature));
+
+            final TransformerFactory attribute = TransformerFactory.newInstance();
+            attribute.setAttribute(XMLConstants.ACCESS_EXTERNAL_STYLESHEET, "");
+            assertEquals("taglib", transform(attribute));
+
+            final TransformerFactory listener = TransformerFactory.newInstance();
+            listener.setErrorListener(new FailingErrorListener());
+            assertEquals("taglib", transform(listener));
+        } finally {
+            thread.setContextClassLoader(contextClassLoader);
+        }
+
+        assertEquals(1, cache.getCompiled());
+        assertEquals(0, cache.getReused());
+    }
+
+    /**
+     * Transforms a document with the stylesheet.
+     *
+     * @param factory the factory to compile the stylesheet
+     *
+     * @return the result of the transformation
+     *
+     * @throws Exception any exception thrown during test
+     */
+    private static String transform(TransformerFactory factory) throws Exception {
+        final Transformer transformer = factory.newTransformer(new StreamSource(
+                new ByteArrayInputStream(STYLESHEET.getBytes(StandardCharsets.UTF_8))));
+        final StringWriter result = new StringWriter();
+        transformer.transform(new StreamSource(new StringReader("<taglib/>")),
+                new StreamResult(result));
+        return result.toString();
+    }
+
+    /**
+     * An error listener failing on every warning and error.
+     */
+    private static final class FailingErrorListener implements ErrorListener {
+
+        @Override
+        public void warning(TransformerException exception) throws TransformerException {
+            throw exception;
+        }
+
+        @Override
+        public void error(TransformerException exception) throws TransformerException {
+            throw exception;
+        }
+
+        @Override
+        public void fatalError(TransformerException exception) throws TransformerException {
+            throw exception;
+        }
+    }
+}
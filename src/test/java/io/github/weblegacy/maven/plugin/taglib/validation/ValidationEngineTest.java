@@ -0,0 +1,475 @@
+/*
+ * The MIT License
+ * Copyright © 2004-2014 Fabrizio Giustina
+ * Copyright © 2022-2026 Web-Legacy
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package io.github.weblegacy.maven.plugin.taglib.validation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.github.weblegacy.maven.plugin.taglib.TaglibCorpusGenerator;
+import io.github.weblegacy.maven.plugin.taglib.checker.Tld;
+import io.github.weblegacy.maven.plugin.taglib.checker.TldStreamParser;
+import io.github.weblegacy.maven.plugin.taglib.util.ClassPath;
+import io.github.weblegacy.maven.plugin.taglib.validation.ValidationResult.AttributeResult;
+import io.github.weblegacy.maven.plugin.taglib.validation.ValidationResult.ClassResult;
+import io.github.weblegacy.maven.plugin.taglib.validation.ValidationResult.FunctionResult;
+import io.github.weblegacy.maven.plugin.taglib.validation.ValidationResult.TagResult;
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import org.apache.maven.plugin.logging.SystemStreamLog;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Test for the validation engine.
+ *
+ * @author Stefan Graff
+ *
+ * @version 3.1.0
+ */
+public class ValidationEngineTest {
+
+    /**
+     * The validation on a pool must produce the same results in the same order as the serial
+     * validation.
+     *
+     * @param tempDir temporary directory
+     *
+     * @throws Exception any exception thrown during test
+     */
+    @Test
+    public void testParallelSameAsSerial(@TempDir Path tempDir) throws Exception {
+        final TaglibCorpusGenerator generator = new TaglibCorpusGenerator(11L);
+        generator.setTags(120);
+        generator.setAttributesPerTag(4);
+        generator.setFunctions(10);
+
+        final File classesDir = tempDir.resolve("classes").toFile();
+        generator.compileHandlers(classesDir);
+
+        final Tld[] tlds = new Tld[] {
+            new TldStreamParser().parse(new ByteArrayInputStream(generator.createTld()), "a.tld"),
+            new TldStreamParser().parse(new ByteArrayInputStream(generator.createTld()), "b.tld")
+        };
+
+        try (URLClassLoader loader = new URLClassLoader(
+                new URL[] {classesDir.toURI().toURL()}, null)) {
+
+            final List<ValidationResult> serial = new ValidationEngine(new SystemStreamLog(),
+                    loader, 1).validate(tlds);
+            final List<ValidationResult> parallel = new ValidationEngine(new SystemStreamLog(),
+                    loader, 4).validate(tlds);
+
+            assertEquals(tlds.length, parallel.size());
+            for (int i = 0; i < tlds.length; i++) {
+                assertSame(tlds[i], parallel.get(i).getTld());
+                assertEquals(tlds[i].getTags().length, parallel.get(i).getTags().size());
+            }
+            assertEquals(describe(serial), describe(parallel));
+
+            final TagResult first = parallel.get(0).getTags().get(0);
+            assertTrue(first.getTagClass().isFound());
+            assertTrue(first.getTagClass().isLoadable());
+            assertTrue(first.getTagClass().isExtend());
+        }
+    }
+
+    /**
+     * The validation of the class-files must produce the same results as the validation of the
+     * loaded classes.
+     *
+     * @param tempDir temporary directory
+     *
+     * @throws Exception any exception thrown during test
+     */
+    @Test
+    public void testBytecodeSameAsReflection(@TempDir Path tempDir) throws Exception {
+        final TaglibCorpusGenerator generator = new TaglibCorpusGenerator(17L);
+        generator.setTags(60);
+        generator.setAttributesPerTag(6);
+        generator.setFunctions(10);
+
+        final File classesDir = tempDir.resolve("classes").toFile();
+        generator.compileHandlers(classesDir);
+
+        final Tld[] tlds = new Tld[] {
+            new TldStreamParser().parse(new ByteArrayInputStream(generator.createTld()), "a.tld")
+        };
+
+        final List<ValidationResult> reflection;
+        try (URLClassLoader loader = new URLClassLoader(
+                new URL[] {classesDir.toURI().toURL()}, null)) {
+
+            reflection = new ValidationEngine(new SystemStreamLog(), loader, 1).validate(tlds);
+        }
+
+        final List<ValidationResult> bytecode;
+        try (ClassFileInspector inspector = new ClassFileInspector(new SystemStreamLog(),
+                Collections.singletonList(classesDir), null)) {
+
+            bytecode = new ValidationEngine(inspector, null, 4).validate(tlds);
+        }
+
+        assertEquals(describe(reflection), describe(bytecode));
+    }
+
+    /**
+     * A rerun with the cache must produce the same results and must only validate the items,
+     * whose classes changed.
+     *
+     * @param tempDir temporary directory
+     *
+     * @throws Exception any exception thrown during test
+     */
+    @Test
+    public void testCacheSameAsValidation(@TempDir Path tempDir) throws Exception {
+        final TaglibCorpusGenerator generator = new TaglibCorpusGenerator(23L);
+        generator.setTags(40);
+        generator.setAttributesPerTag(4);
+        generator.setFunctions(5);
+
+        final File classesDir = tempDir.resolve("classes").toFile();
+        generator.compileHandlers(classesDir);
+        final File cacheFile = tempDir.resolve("validation.bin").toFile();
+
+        final Tld[] tlds = new Tld[] {
+            new TldStreamParser().parse(new ByteArrayInputStream(generator.createTld()), "a.tld")
+        };
+        final int items = tlds[0].getTags().length + tlds[0].getFunctions().length;
+
+        final List<ValidationResult> uncached = validateCached(tlds, classesDir, cacheFile, 0);
+        assertEquals(describe(uncached), describe(
+                validateCached(tlds, classesDir, cacheFile, items)));
+
+        final String tagClass = tlds[0].getTags()[0].getTagClass();
+        Files.delete(classesDir.toPath().resolve(tagClass.replace('.', '/') + ".class"));
+
+        final List<ValidationResult> changed = validateCached(tlds, classesDir, cacheFile,
+                items - 1);
+        assertFalse(changed.get(0).getTags().get(0).getTagClass().isFound());
+        final List<String> expected = describe(uncached);
+        final List<String> actual = describe(changed);
+        assertEquals(expected.subList(expected.indexOf(actual.get(2)), expected.size()),
+                actual.subList(2, actual.size()));
+    }
+
+    /**
+     * A validation stopping at the first error must keep the cache entries of the skipped items.
+     *
+     * @param tempDir temporary directory
+     *
+     * @throws Exception any exception thrown during test
+     */
+    @Test
+    public void testStopLevelKeepsCache(@TempDir Path tempDir) throws Exception {
+        final TaglibCorpusGenerator generator = new TaglibCorpusGenerator(41L);
+        generator.setTags(20);
+        generator.setAttributesPerTag(2);
+        generator.setFunctions(3);
+
+        final File classesDir = tempDir.resolve("classes").toFile();
+        generator.compileHandlers(classesDir);
+        final File cacheFile = tempDir.resolve("validation.bin").toFile();
+
+        final Tld[] tlds = new Tld[] {
+            new TldStreamParser().parse(new ByteArrayInputStream(generator.createTld()), "a.tld")
+        };
+        final int items = tlds[0].getTags().length + tlds[0].getFunctions().length;
+        final String tagClass = tlds[0].getTags()[0].getTagClass();
+        Files.delete(classesDir.toPath().resolve(tagClass.replace('.', '/') + ".class"));
+
+        validateCached(tlds, classesDir, cacheFile, 0);
+
+        try (URLClassLoader loader = new URLClassLoader(
+                new URL[] {classesDir.toURI().toURL()}, null);
+                ClassPath classPath = new ClassPath(Collections.singletonList(classesDir))) {
+
+            final ValidationCache cache = new ValidationCache(cacheFile, classPath, "reflection");
+            final List<ValidationResult> stopped = new ValidationEngine(
+                    new ReflectionInspector(new SystemStreamLog(), loader, null), null, cache, 1)
+                    .validate(tlds, ValidationError.LEVEL_ERROR);
+            cache.store();
+
+            assertEquals(1, stopped.get(0).getTags().size());
+            assertEquals(1, cache.getHits());
+        }
+
+        validateCached(tlds, classesDir, cacheFile, items);
+    }
+
+    /**
+     * The validation must stop at the first tag, whose result reaches the stop level.
+     *
+     * @throws Exception any exception thrown during test
+     */
+    @Test
+    public void testStopLevel() throws Exception {
+        final TaglibCorpusGenerator generator = new TaglibCorpusGenerator(17L);
+        generator.setTags(20);
+        generator.setAttributesPerTag(2);
+        generator.setFunctions(5);
+
+        final Tld[] tlds = new Tld[] {
+            new TldStreamParser().parse(new ByteArrayInputStream(generator.createTld()), "a.tld"),
+            new TldStreamParser().parse(new ByteArrayInputStream(generator.createTld()), "b.tld")
+        };
+
+        try (URLClassLoader loader = new URLClassLoader(new URL[0], null)) {
+            final List<ValidationResult> all = new ValidationEngine(new SystemStreamLog(),
+                    loader, 1).validate(tlds);
+            final List<ValidationResult> stopped = new ValidationEngine(new SystemStreamLog(),
+                    loader, 1).validate(tlds, ValidationError.LEVEL_ERROR);
+
+            assertEquals(20, all.get(0).getTags().size());
+            assertEquals(5, all.get(1).getFunctions().size());
+
+            assertEquals(tlds.length, stopped.size());
+            assertEquals(1, stopped.get(0).getTags().size());
+            assertEquals(ValidationError.LEVEL_ERROR, stopped.get(0).getTags().get(0).getLevel());
+            assertTrue(stopped.get(0).getFunctions().isEmpty());
+            assertTrue(stopped.get(1).getTags().isEmpty());
+            assertTrue(stopped.get(1).getFunctions().isEmpty());
+        }
+    }
+
+    /**
+     * A tag handler blocking in its constructor must be reported as timed out, the other tags
+     * must be validated. The blocking tag handler adds one worker to the two workers of the
+     * validation threads.
+     *
+     * @param tempDir temporary directory for the compiled classes
+     *
+     * @throws Exception any exception thrown during test
+     */
+    @Test
+    public void testTimeout(@TempDir Path tempDir) throws Exception {
+        final TaglibCorpusGenerator generator = new TaglibCorpusGenerator(19L);
+        generator.setTags(6);
+        generator.setAttributesPerTag(2);
+        generator.setFunctions(1);
+        generator.setBlockingTags(1);
+
+        final File classesDir = tempDir.resolve("classes").toFile();
+        generator.compileHandlers(classesDir);
+
+        final Tld[] tlds = new Tld[] {
+            new TldStreamParser().parse(new ByteArrayInputStream(generator.createTld()), "a.tld")
+        };
+
+        try (URLClassLoader loader = new URLClassLoader(
+                new URL[] {classesDir.toURI().toURL()}, null);
+                ReflectionInspector inspector = new ReflectionInspector(new SystemStreamLog(),
+                        loader, null, 1, 2)) {
+
+            final List<TagResult> tags = new ValidationEngine(inspector, null, 2)
+                    .validate(tlds).get(0).getTags();
+
+            assertEquals(6, tags.size());
+            assertEquals(3, inspector.getMaximumWorkers());
+            final ClassResult blocking = tags.get(0).getTagClass();
+            assertTrue(blocking.isFound());
+            assertFalse(blocking.isLoadable());
+            assertEquals("Validate.error.classtimeout", blocking.getError().getKey());
+            assertEquals(ValidationError.LEVEL_ERROR, tags.get(0).getLevel());
+            assertEquals("Validate.error.classtimeout",
+                    ValidationCheck.of(new ValidationResult(tlds[0], tags,
+                            Collections.emptyList())).get(0).getKey());
+
+            for (TagResult tag : tags.subList(1, tags.size())) {
+                assertTrue(tag.getTagClass().isLoadable());
+                assertNull(tag.getTagClass().getError());
+            }
+        }
+    }
+
+    /**
+     * A function class blocking in its static initializer must be reported as timed out and its
+     * result must not be cached.
+     *
+     * @param tempDir temporary directory for the compiled classes
+     *
+     * @throws Exception any exception thrown during test
+     */
+    @Test
+    public void testFunctionTimeout(@TempDir Path tempDir) throws Exception {
+        final TaglibCorpusGenerator generator = new TaglibCorpusGenerator(37L);
+        generator.setTags(2);
+        generator.setFunctions(2);
+        generator.setBlockingFunctions(true);
+
+        final File classesDir = tempDir.resolve("classes").toFile();
+        generator.compileHandlers(classesDir);
+        final File cacheFile = tempDir.resolve("validation.bin").toFile();
+
+        final Tld[] tlds = new Tld[] {
+            new TldStreamParser().parse(new ByteArrayInputStream(generator.createTld()), "a.tld")
+        };
+
+        for (int run = 0; run < 2; run++) {
+            try (URLClassLoader loader = new URLClassLoader(
+                    new URL[] {classesDir.toURI().toURL()}, null);
+                    ClassPath classPath = new ClassPath(Collections.singletonList(classesDir));
+                    ReflectionInspector inspector = new ReflectionInspector(
+                            new SystemStreamLog(), loader, null, 1, 1)) {
+
+                final ValidationCache cache = new ValidationCache(cacheFile, classPath,
+                        "reflection");
+                final ValidationResult result = new ValidationEngine(inspector, null, cache, 1)
+                        .validate(tlds).get(0);
+                cache.store();
+
+                assertEquals(run * tlds[0].getTags().length, cache.getHits());
+                assertEquals(2, result.getFunctions().size());
+                for (FunctionResult function : result.getFunctions()) {
+                    assertFalse(function.isFound());
+                    assertEquals(ValidationError.LEVEL_ERROR, function.getLevel());
+                    assertEquals("Validate.error.classtimeout", function.getError().getKey());
+                }
+                assertEquals("Validate.error.classtimeout", ValidationCheck.of(result).stream()
+                        .filter(check -> check.getTag().endsWith("()")).findFirst()
+                        .orElseThrow().getKey());
+            }
+        }
+    }
+
+    /**
+     * An attribute type of the tld, which can't be found, must be reported as type mismatch
+     * instead of failing the validation.
+     *
+     * @param tempDir temporary directory for the compiled classes
+     *
+     * @throws Exception any exception thrown during test
+     */
+    @Test
+    public void testMissingAttributeType(@TempDir Path tempDir) throws Exception {
+        final TaglibCorpusGenerator generator = new TaglibCorpusGenerator(31L);
+        generator.setTags(1);
+        generator.setAttributesPerTag(2);
+
+        final File classesDir = tempDir.resolve("classes").toFile();
+        generator.compileHandlers(classesDir);
+
+        final Tld[] tlds = new Tld[] {
+            new TldStreamParser().parse(new ByteArrayInputStream(generator.createTld()), "a.tld")
+        };
+        tlds[0].getTags()[0].getAttributes()[0].setType("org.example.Missing");
+
+        try (URLClassLoader loader = new URLClassLoader(
+                new URL[] {classesDir.toURI().toURL()}, null);
+                ReflectionInspector inspector = new ReflectionInspector(new SystemStreamLog(),
+                        loader, null, 1, 1)) {
+
+            final AttributeResult attribute = new ValidationEngine(inspector, null, 1)
+                    .validate(tlds).get(0).getTags().get(0).getAttributes().get(0);
+            assertEquals(ValidationError.LEVEL_ERROR, attribute.getLevel());
+            assertEquals("Validate.error.attributetypemismatch",
+                    attribute.getErrors().get(0).getKey());
+        }
+    }
+
+    /**
+     * Validates the tlds with a cache and checks the number of cache hits.
+     *
+     * @param tlds       the tlds to validate
+     * @param classesDir the directory of the classes
+     * @param cacheFile  the cache file
+     * @param hits       the expected number of cache hits
+     *
+     * @return the validation results
+     *
+     * @throws Exception any exception thrown during validation
+     */
+    private static List<ValidationResult> validateCached(Tld[] tlds, File classesDir,
+            File cacheFile, int hits) throws Exception {
+
+        try (URLClassLoader loader = new URLClassLoader(
+                new URL[] {classesDir.toURI().toURL()}, null);
+                ClassPath classPath = new ClassPath(Collections.singletonList(classesDir))) {
+
+            final ValidationCache cache = new ValidationCache(cacheFile, classPath, "reflection");
+            final List<ValidationResult> results = new ValidationEngine(
+                    new ReflectionInspector(new SystemStreamLog(), loader, null), null, cache, 2)
+                    .validate(tlds);
+            cache.store();
+
+            assertEquals(hits, cache.getHits());
+            return results;
+        }
+    }
+
+    /**
+     * Describes the results as list of lines.
+     *
+     * @param results the results to describe
+     *
+     * @return the description of the results
+     */
+    private static List<String> describe(List<ValidationResult> results) {
+        final List<String> lines = new ArrayList<>();
+        for (ValidationResult result : results) {
+            lines.add(result.getTld().getFilename());
+            for (TagResult tag : result.getTags()) {
+                lines.add(tag.getTag().getName() + ' ' + describe(tag.getTagClass()) + ' '
+                        + (tag.getTeiClass() == null ? "-" : describe(tag.getTeiClass())));
+                for (AttributeResult attribute : tag.getAttributes()) {
+                    final StringBuilder line = new StringBuilder(attribute.getAttribute().getName())
+                            .append(' ').append(attribute.getTagType())
+                            .append(' ').append(attribute.getLevel());
+                    for (ValidationError error : attribute.getErrors()) {
+                        line.append(' ').append(error.getKey())
+                                .append(Arrays.toString(error.getArguments()));
+                    }
+                    lines.add(line.toString());
+                }
+            }
+            for (FunctionResult function : result.getFunctions()) {
+                lines.add(function.getFunction().getName() + ' ' + function.isFound());
+            }
+        }
+        return lines;
+    }
+
+    /**
+     * Describes the result of a class.
+     *
+     * @param result the result to describe
+     *
+     * @return the description of the result
+     */
+    private static String describe(ClassResult result) {
+        return result.getClassName() + ':' + result.isFound() + ':' + result.isLoadable() + ':'
+                + result.isExtend();
+    }
+}
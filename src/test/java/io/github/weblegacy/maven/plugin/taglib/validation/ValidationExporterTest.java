@@ -0,0 +1,177 @@
+/*
+ * The MIT License
+ * Copyright © 2004-2014 Fabrizio Giustina
+ * Copyright © 2022-2026 Web-Legacy
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package io.github.weblegacy.maven.plugin.taglib.validation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.github.weblegacy.maven.plugin.taglib.TaglibCorpusGenerator;
+import io.github.weblegacy.maven.plugin.taglib.checker.Tld;
+import io.github.weblegacy.maven.plugin.taglib.checker.TldStreamParser;
+import io.github.weblegacy.maven.plugin.taglib.util.XmlHelper;
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import org.apache.maven.plugin.logging.SystemStreamLog;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.w3c.dom.Document;
+
+/**
+ * Test for the export of the validation results.
+ *
+ * @author Stefan Graff
+ *
+ * @version 3.1.0
+ */
+public class ValidationExporterTest {
+
+    /**
+     * All exports must contain the failed checks of the validation.
+     *
+     * @param tempDir temporary directory
+     *
+     * @throws Exception any exception thrown during test
+     */
+    @Test
+    public void testExport(@TempDir Path tempDir) throws Exception {
+        final TaglibCorpusGenerator generator = new TaglibCorpusGenerator(29L);
+        generator.setTags(20);
+        generator.setAttributesPerTag(3);
+        generator.setFunctions(3);
+
+        final File classesDir = tempDir.resolve("classes").toFile();
+        generator.compileHandlers(classesDir);
+
+        final Tld[] tlds = new Tld[] {
+            new TldStreamParser().parse(new ByteArrayInputStream(generator.createTld()), "a.tld")
+        };
+        final String missing = tlds[0].getTags()[1].getTagClass();
+        Files.delete(classesDir.toPath().resolve(missing.replace('.', '/') + ".class"));
+
+        final List<ValidationResult> results;
+        try (URLClassLoader loader = new URLClassLoader(
+                new URL[] {classesDir.toURI().toURL()}, null)) {
+
+            results = new ValidationEngine(new SystemStreamLog(), loader, 1).validate(tlds);
+        }
+
+        final List<ValidationCheck> checks = ValidationCheck.of(results.get(0));
+        long failed = 0;
+        long errors = 0;
+        for (ValidationCheck check : checks) {
+            failed += check.getLevel() == 0 ? 0 : 1;
+            errors += check.getLevel() == ValidationError.LEVEL_ERROR ? 1 : 0;
+        }
+        assertTrue(errors > 0);
+
+        final File json = tempDir.resolve("export.jsonl").toFile();
+        final File sarif = tempDir.resolve("export.sarif").toFile();
+        final File junit = tempDir.resolve("export.xml").toFile();
+        try (ValidationExporter jsonExporter = new JsonLinesExporter(json);
+                ValidationExporter sarifExporter = new SarifExporter(sarif);
+                ValidationExporter junitExporter = new JUnitExporter(junit)) {
+
+            for (ValidationResult result : results) {
+                jsonExporter.export(result);
+                sarifExporter.export(result);
+                junitExporter.export(result);
+            }
+        }
+
+        final List<String> lines = Files.readAllLines(json.toPath(), StandardCharsets.UTF_8);
+        assertEquals(failed, lines.size());
+        assertTrue(lines.contains("{\"level\":\"error\",\"tld\":\"a.tld\",\"tag\":\""
+                + tlds[0].getTags()[1].getName() + "\",\"attribute\":null,\"class\":\""
+                + missing + "\",\"key\":\"Validate.error.classnotfound\",\"message\":\"Class "
+                + missing + " not found\"}"));
+
+        final String log = new String(Files.readAllBytes(sarif.toPath()), StandardCharsets.UTF_8);
+        assertTrue(log.startsWith("{\"$schema\""));
+        assertTrue(log.endsWith("]}]}\n"));
+        assertEquals(failed, log.split("\"ruleId\"", -1).length - 1);
+
+        final Document document = XmlHelper.getDocumentBuilder().parse(junit);
+        assertEquals(checks.size(), document.getElementsByTagName("testcase").getLength());
+        assertEquals(errors, document.getElementsByTagName("failure").getLength());
+        assertEquals(Long.toString(errors), document.getDocumentElement().getFirstChild()
+                .getNextSibling().getAttributes().getNamedItem("failures").getNodeValue());
+    }
+
+    /**
+     * The SARIF log must declare the rules of all reported results, also of the classes, which
+     * were not loaded within the timeout.
+     *
+     * @param tempDir temporary directory
+     *
+     * @throws Exception any exception thrown during test
+     */
+    @Test
+    public void testExportTimeout(@TempDir Path tempDir) throws Exception {
+        final TaglibCorpusGenerator generator = new TaglibCorpusGenerator(31L);
+        generator.setTags(2);
+        generator.setFunctions(2);
+        generator.setBlockingFunctions(true);
+
+        final File classesDir = tempDir.resolve("classes").toFile();
+        generator.compileHandlers(classesDir);
+
+        final Tld[] tlds = new Tld[] {
+            new TldStreamParser().parse(new ByteArrayInputStream(generator.createTld()), "a.tld")
+        };
+
+        final List<ValidationResult> results;
+        try (URLClassLoader loader = new URLClassLoader(
+                new URL[] {classesDir.toURI().toURL()}, null);
+                ReflectionInspector inspector = new ReflectionInspector(
+                        new SystemStreamLog(), loader, null, 1, 1)) {
+
+            results = new ValidationEngine(inspector, null, 1).validate(tlds);
+        }
+
+        final File sarif = tempDir.resolve("export.sarif").toFile();
+        try (ValidationExporter sarifExporter = new SarifExporter(sarif)) {
+            for (ValidationResult result : results) {
+                sarifExporter.export(result);
+            }
+        }
+
+        final String log = new String(Files.readAllBytes(sarif.toPath()), StandardCharsets.UTF_8);
+        final List<ValidationCheck> checks = ValidationCheck.of(results.get(0));
+        assertTrue(checks.stream()
+                .anyMatch(check -> "Validate.error.classtimeout".equals(check.getKey())));
+        for (ValidationCheck check : checks) {
+            if (check.getLevel() != 0) {
+                assertTrue(log.contains("{\"id\":\"" + check.getKey() + "\","),
+                        check.getKey());
+            }
+        }
+    }
+}